@@ -0,0 +1,89 @@
+package com.JohnBravos.bookhub_manager.config;
+
+import com.JohnBravos.bookhub_manager.core.bulkhead.BulkheadInterceptor;
+import com.JohnBravos.bookhub_manager.core.bulkhead.BulkheadRegistry;
+import com.JohnBravos.bookhub_manager.core.datasource.BulkheadDataSource;
+import com.JohnBravos.bookhub_manager.core.enums.BulkheadType;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Bulkheads ανάμεσα σε circulation, catalog και reporting endpoints ({@code bulkhead.enabled}).
+ * Όρια ανά bulkhead από {@code bulkhead.<name>.*}. Το DataSource τυλίγεται τελευταίο (μετά τον
+ * connection limiter), ώστε τα partitions να μετράνε πάνω από το ίδιο κοινό pool.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "bulkhead.enabled", havingValue = "true")
+public class BulkheadConfig implements WebMvcConfigurer {
+
+    private final Environment environment;
+    private final ObjectProvider<BulkheadInterceptor> bulkheadInterceptor;
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(MeterRegistry meterRegistry) {
+        Map<BulkheadType, BulkheadRegistry.Limits> limits = new EnumMap<>(BulkheadType.class);
+        for (BulkheadType type : BulkheadType.values()) {
+            String prefix = "bulkhead." + type.key() + ".";
+            BulkheadRegistry.Limits limit = new BulkheadRegistry.Limits(
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, 50),
+                    environment.getProperty(prefix + "max-wait-ms", Long.class, 0L),
+                    environment.getProperty(prefix + "connections", Integer.class, 5),
+                    environment.getProperty(prefix + "connection-wait-ms", Long.class, 2000L));
+            log.info("Bulkhead '{}': {}", type.key(), limit);
+            limits.put(type, limit);
+        }
+        return new BulkheadRegistry(limits, meterRegistry);
+    }
+
+    @Bean
+    public BulkheadInterceptor bulkheadInterceptor(BulkheadRegistry bulkheadRegistry) {
+        return new BulkheadInterceptor(bulkheadRegistry, environment);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(bulkheadInterceptor.getObject());
+    }
+
+    @Bean
+    public static BeanPostProcessor bulkheadDataSourcePostProcessor(ObjectProvider<BulkheadRegistry> registry) {
+        return new BulkheadDataSourcePostProcessor(registry);
+    }
+
+    // Ordered: τρέχει μετά το PriorityOrdered BPP του ConnectionLimiterConfig
+    @RequiredArgsConstructor
+    private static class BulkheadDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<BulkheadRegistry> registry;
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            log.info("Partitioning '{}' between bulkheads", beanName);
+            return new BulkheadDataSource(dataSource, registry::getObject);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
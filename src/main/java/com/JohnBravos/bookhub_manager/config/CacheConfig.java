@@ -0,0 +1,48 @@
+package com.JohnBravos.bookhub_manager.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Bounded Caffeine caches (W-TinyLFU eviction) με στατιστικά, που το actuator εκθέτει ως
+ * {@code cache.gets / cache.puts / cache.evictions} στο /actuator/metrics.
+ * <p>
+ * Κάθε cache έχει δικό του spec ({@code cache.specs.bookById=maximumSize=5000,expireAfterWrite=10m}).
+ * Δεν δημιουργούνται caches on demand: ένα όνομα εκτός {@link CacheNames} αποτυγχάνει αντί να
+ * γίνει unbounded cache. Τα evictions μέσα σε transaction εφαρμόζονται μετά το commit.
+ * <p>
+ * Ο cache interceptor τρέχει έξω από το {@code @Transactional}: ένα hit δεν ανοίγει transaction,
+ * και με {@code sync = true} όσοι περιμένουν το ίδιο miss δεν κρατούν connection.
+ */
+@Slf4j
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    private static final String DEFAULT_SPEC = "maximumSize=1000,expireAfterWrite=10m";
+
+    @Bean
+    public CacheManager cacheManager(Environment environment) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCacheNames(List.of());
+        caffeineCacheManager.setAllowNullValues(false);
+
+        for (String name : CacheNames.ALL) {
+            String spec = environment.getProperty("cache.specs." + name, DEFAULT_SPEC);
+            caffeineCacheManager.registerCustomCache(name, Caffeine.from(spec).recordStats().build());
+            log.info("Cache '{}' configured with spec [{}]", name, spec);
+        }
+
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,27 @@
+package com.JohnBravos.bookhub_manager.config;
+
+import java.util.List;
+
+/**
+ * Ονόματα των application caches (Spring Cache). Τα όρια κάθε cache ορίζονται με
+ * {@code cache.specs.<όνομα>} - βλ. {@link CacheConfig}.
+ */
+public final class CacheNames {
+
+    // BookResponse ανά id
+    public static final String BOOK_BY_ID = "bookById";
+
+    // AuthorResponse ανά id και η πλήρης λίστα authors
+    public static final String AUTHOR_BY_ID = "authorById";
+    public static final String ALL_AUTHORS = "allAuthors";
+
+    // Λίστες βιβλίων ανά authorId / genre
+    public static final String BOOKS_BY_AUTHOR = "booksByAuthor";
+    public static final String BOOKS_BY_GENRE = "booksByGenre";
+
+    public static final List<String> ALL = List.of(
+            BOOK_BY_ID, AUTHOR_BY_ID, ALL_AUTHORS, BOOKS_BY_AUTHOR, BOOKS_BY_GENRE);
+
+    private CacheNames() {
+    }
+}
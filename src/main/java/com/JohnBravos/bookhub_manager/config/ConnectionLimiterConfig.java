@@ -0,0 +1,59 @@
+package com.JohnBravos.bookhub_manager.config;
+
+import com.JohnBravos.bookhub_manager.core.datasource.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Τυλίγει κάθε Hikari pool (το default ή primary/replica του ReadReplicaConfig) σε
+ * {@link ConnectionLimitingDataSource} με τόσα permits όσο το maximum-pool-size. Ενεργό μαζί με
+ * τα virtual threads ({@code datasource.limiter.enabled}).
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "datasource.limiter.enabled", havingValue = "true")
+public class ConnectionLimiterConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimiterPostProcessor(Environment environment) {
+        Duration acquireTimeout = Duration.ofMillis(
+                environment.getProperty("datasource.limiter.acquire-timeout-ms", Long.class, 2000L));
+
+        return new LimiterPostProcessor(environment, acquireTimeout);
+    }
+
+    // PriorityOrdered: τυλίγει το Hikari πριν από άλλους wrappers (π.χ. BulkheadConfig)
+    @RequiredArgsConstructor
+    private static class LimiterPostProcessor implements BeanPostProcessor, PriorityOrdered {
+
+        private final Environment environment;
+        private final Duration acquireTimeout;
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource hikari)) {
+                return bean;
+            }
+            int permits = environment.getProperty("datasource.limiter.max-concurrent", Integer.class,
+                    hikari.getMaximumPoolSize());
+            log.info("Limiting '{}' to {} concurrent connections (acquire timeout {} ms)",
+                    beanName, permits, acquireTimeout.toMillis());
+            return new ConnectionLimitingDataSource(hikari, permits, acquireTimeout);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
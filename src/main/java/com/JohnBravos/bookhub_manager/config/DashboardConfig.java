@@ -0,0 +1,34 @@
+package com.JohnBravos.bookhub_manager.config;
+
+import com.JohnBravos.bookhub_manager.core.bulkhead.BulkheadContext;
+import com.JohnBravos.bookhub_manager.core.datasource.SqlRequestStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+/**
+ * Bounded executor για το fan-out του /dashboard. Λίγα threads (κάθε query κρατά connection) και
+ * μικρή ουρά. Όταν γεμίσει, το τμήμα επιστρέφει REJECTED αντί να περιμένει. Τα tasks τρέχουν με
+ * το SecurityContext, το bulkhead και τα SQL stats του request.
+ */
+@Configuration
+public class DashboardConfig {
+
+    public static final String DASHBOARD_EXECUTOR = "dashboardExecutor";
+
+    @Bean(DASHBOARD_EXECUTOR)
+    public ThreadPoolTaskExecutor dashboardExecutor(@Value("${dashboard.executor.threads:6}") int threads,
+                                                    @Value("${dashboard.executor.queue-capacity:24}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setTaskDecorator(task -> DelegatingSecurityContextRunnable.create(
+                BulkheadContext.propagate(SqlRequestStats.propagate(task)), null));
+        return executor;
+    }
+}
@@ -0,0 +1,76 @@
+package com.JohnBravos.bookhub_manager.config;
+
+import com.JohnBravos.bookhub_manager.model.IdGeneration;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Migration από IDENTITY σε pooled table generators.
+ * Πριν δεχτεί η εφαρμογή inserts, κάθε row του id_sequences μετακινείται πάνω από το MAX(id)
+ * του πίνακα του (τουλάχιστον ένα ολόκληρο block), ώστε τα νέα ids να μη συγκρούονται με τα
+ * παλιά AUTO_INCREMENT ids. Είναι idempotent - αν το row είναι ήδη ψηλότερα δεν αλλάζει.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class IdSequenceInitializer {
+
+    // segment (pkColumnValue του generator) -> πίνακας του entity
+    private static final Map<String, String> SEGMENTS = Map.of(
+            "authors", "authors",
+            "books", "books",
+            "users", "users",
+            "loans", "loans",
+            "reservation", "reservation"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ids.sequences.align-on-startup:true}")
+    private boolean alignOnStartup;
+
+    @PostConstruct
+    public void alignSequences() {
+        if (!alignOnStartup) {
+            return;
+        }
+
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + IdGeneration.TABLE + " ("
+                + IdGeneration.SEGMENT_COLUMN + " VARCHAR(64) NOT NULL PRIMARY KEY, "
+                + IdGeneration.VALUE_COLUMN + " BIGINT)");
+
+        transactionTemplate.executeWithoutResult(status -> SEGMENTS.forEach(this::align));
+    }
+
+    private void align(String segment, String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        long target = maxId + IdGeneration.ALLOCATION_SIZE;
+
+        List<Long> current = jdbcTemplate.queryForList(
+                "SELECT " + IdGeneration.VALUE_COLUMN + " FROM " + IdGeneration.TABLE
+                        + " WHERE " + IdGeneration.SEGMENT_COLUMN + " = ? FOR UPDATE",
+                Long.class, segment);
+
+        if (current.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO " + IdGeneration.TABLE + " ("
+                    + IdGeneration.SEGMENT_COLUMN + ", " + IdGeneration.VALUE_COLUMN + ") VALUES (?, ?)",
+                    segment, target);
+            log.info("Initialized id sequence '{}' at {} (max id {})", segment, target, maxId);
+        } else if (current.get(0) == null || current.get(0) < target) {
+            jdbcTemplate.update("UPDATE " + IdGeneration.TABLE + " SET " + IdGeneration.VALUE_COLUMN
+                    + " = ? WHERE " + IdGeneration.SEGMENT_COLUMN + " = ?", target, segment);
+            log.info("Moved id sequence '{}' from {} to {} (max id {})", segment, current.get(0), target, maxId);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.JohnBravos.bookhub_manager.config;
+
+import com.JohnBravos.bookhub_manager.core.actuator.JfrEndpoint;
+import com.JohnBravos.bookhub_manager.core.jfr.JfrRecordings;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Java Flight Recorder ({@code jfr.enabled}, default on): τα bookhub.* events (core/jfr) από τα
+ * circulation / auth / search paths και το {@code /actuator/jfr}. Με {@code jfr.continuous.enabled}
+ * (on στο prod) τρέχει συνεχώς ένα bounded recording, ώστε μετά από ένα περιστατικό να υπάρχουν
+ * οι τελευταίες ώρες με business operations, GC και lock contention στο ίδιο timeline. Τα ad-hoc
+ * recordings φράσσονται από τα {@code jfr.ad-hoc.max-duration-minutes} / {@code jfr.ad-hoc.max-size-mb}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrConfig {
+
+    @Bean
+    public JfrRecordings jfrRecordings(@Value("${jfr.dump-directory:${java.io.tmpdir}/bookhub-jfr}") String dumpDirectory,
+                                       @Value("${jfr.continuous.enabled:false}") boolean continuous,
+                                       @Value("${jfr.continuous.settings:default}") String settings,
+                                       @Value("${jfr.continuous.max-age-minutes:360}") long maxAgeMinutes,
+                                       @Value("${jfr.continuous.max-size-mb:250}") long maxSizeMb,
+                                       @Value("${jfr.ad-hoc.max-duration-minutes:30}") long adHocMaxDurationMinutes,
+                                       @Value("${jfr.ad-hoc.max-size-mb:100}") long adHocMaxSizeMb) {
+        JfrRecordings recordings = new JfrRecordings(Path.of(dumpDirectory),
+                Duration.ofMinutes(adHocMaxDurationMinutes), adHocMaxSizeMb * 1024 * 1024);
+        if (!continuous) {
+            return recordings;
+        }
+        if (!JfrRecordings.isAvailable()) {
+            log.warn("JFR is not available in this JVM - continuous recording not started");
+            return recordings;
+        }
+        try {
+            recordings.startContinuous(settings, Duration.ofMinutes(maxAgeMinutes), maxSizeMb * 1024 * 1024);
+        } catch (RuntimeException e) {
+            // Το profiling δεν πρέπει να εμποδίζει την εκκίνηση
+            log.warn("Could not start continuous JFR recording: {}", e.getMessage());
+        }
+        return recordings;
+    }
+
+    @Bean
+    public JfrEndpoint jfrEndpoint(JfrRecordings jfrRecordings) {
+        return new JfrEndpoint(jfrRecordings);
+    }
+}
@@ -0,0 +1,29 @@
+package com.JohnBravos.bookhub_manager.config;
+
+/**
+ * Ονόματα των domain metrics. Τα tags μένουν low-cardinality: class/method, status, event -
+ * ποτέ ids ή τιμές από το request.
+ */
+public final class MetricNames {
+
+    // Timer ανά service method (tags: class, method, exception)
+    public static final String SERVICE = "bookhub.service";
+
+    // Timer ανά method των JDBC repositories. Τα Spring Data repositories μετριούνται ήδη
+    // από το spring.data.repository.invocations
+    public static final String JDBC = "bookhub.jdbc";
+
+    // Counters για business events (tag: event)
+    public static final String LOAN_EVENTS = "bookhub.loans.events";
+    public static final String RESERVATION_EVENTS = "bookhub.reservations.events";
+
+    // JDBC ανά HTTP request (tags: method, uri = route pattern)
+    public static final String REQUEST_SQL_STATEMENTS = "bookhub.request.sql.statements";
+    public static final String REQUEST_SQL_ROWS = "bookhub.request.sql.rows";
+    public static final String REQUEST_SQL_TIME = "bookhub.request.sql.time";
+    public static final String REQUEST_SQL_BUDGET_EXCEEDED = "bookhub.request.sql.budget.exceeded";
+    public static final String REQUEST_SQL_REPEATED = "bookhub.request.sql.repeated";
+
+    private MetricNames() {
+    }
+}
@@ -0,0 +1,82 @@
+package com.JohnBravos.bookhub_manager.config;
+
+import com.JohnBravos.bookhub_manager.core.actuator.SlowQueriesEndpoint;
+import com.JohnBravos.bookhub_manager.core.datasource.SlowQueryLog;
+import com.JohnBravos.bookhub_manager.core.datasource.StatementStatsDataSource;
+import com.JohnBravos.bookhub_manager.core.http.SqlStatsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * JDBC instrumentation πάνω στο {@code dataSource}:
+ * <ul>
+ *   <li>statements / rows / χρόνος βάσης ανά HTTP request ({@code sql.stats.enabled}, default on) -
+ *   metrics και warnings παντού, headers ({@code SqlStatsHeaderAdvice}) μόνο όπου
+ *   {@code sql.stats.headers.enabled} (off στο prod),</li>
+ *   <li>slow-query fingerprints για όλα τα statements ({@code sql.slow-query.enabled}, default on),
+ *   στο {@code /actuator/slowqueries}.</li>
+ * </ul>
+ */
+@Slf4j
+@Configuration
+public class SqlStatsConfig {
+
+    @Bean
+    public static BeanPostProcessor statementStatsPostProcessor(Environment environment,
+                                                                ObjectProvider<SlowQueryLog> slowQueryLog) {
+        boolean requestStats = environment.getProperty("sql.stats.enabled", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                SlowQueryLog queries = slowQueryLog.getIfAvailable();
+                if (!requestStats && queries == null) {
+                    return bean;
+                }
+                log.info("Instrumenting JDBC statements on '{}' (per-request stats: {}, slow-query log: {})",
+                        beanName, requestStats, queries != null);
+                return new StatementStatsDataSource(dataSource, queries);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "sql.stats.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<SqlStatsFilter> sqlStatsFilter(MeterRegistry meterRegistry,
+                                                                 @Value("${sql.stats.statement-budget:20}") int statementBudget,
+                                                                 @Value("${sql.stats.repeated-threshold:5}") int repeatedThreshold) {
+        FilterRegistrationBean<SqlStatsFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatsFilter(meterRegistry, statementBudget, repeatedThreshold));
+        // Πριν από το Spring Security (-100), ώστε να μετρά και το authentication
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    // static: το χρειάζεται ο BeanPostProcessor πριν δημιουργηθεί το config
+    @Bean
+    @ConditionalOnProperty(name = "sql.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+    public static SlowQueryLog slowQueryLog(@Value("${sql.slow-query.threshold-ms:200}") long thresholdMs,
+                                            @Value("${sql.slow-query.max-fingerprints:2000}") int maxFingerprints) {
+        return new SlowQueryLog(Duration.ofMillis(thresholdMs), maxFingerprints);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "sql.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+    public SlowQueriesEndpoint slowQueriesEndpoint(SlowQueryLog slowQueryLog) {
+        return new SlowQueriesEndpoint(slowQueryLog);
+    }
+}
@@ -0,0 +1,70 @@
+package com.JohnBravos.bookhub_manager.controller;
+
+import com.JohnBravos.bookhub_manager.core.bulkhead.Bulkhead;
+import com.JohnBravos.bookhub_manager.core.enums.BulkheadType;
+import com.JohnBravos.bookhub_manager.core.enums.RollupGranularity;
+import com.JohnBravos.bookhub_manager.dto.Response.ApiResponse;
+import com.JohnBravos.bookhub_manager.dto.Response.CirculationPointResponse;
+import com.JohnBravos.bookhub_manager.dto.Response.GenreCirculationResponse;
+import com.JohnBravos.bookhub_manager.service.IAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Slf4j
+@Tag(name = "Analytics", description = "Circulation Analytics API")
+@RestController
+@Bulkhead(BulkheadType.REPORTING)
+@RequestMapping("/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final IAnalyticsService analyticsService;
+
+    @GetMapping("/circulation")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+    @Operation(summary = "Get circulation time series", description = "Loans, returns, overdue returns and reservations per time bucket (ADMIN or LIBRARIAN only)")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Circulation series retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid range or too many points for the granularity"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<ApiResponse<List<CirculationPointResponse>>> getCirculationSeries(
+            @Parameter(description = "Bucket size (HOUR, DAY, MONTH)") @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @Parameter(description = "Start date (inclusive, yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "End date (inclusive, yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Filter by genre (all genres if omitted)") @RequestParam(required = false) String genre) {
+        log.info("Fetching {} circulation series from {} to {}", granularity, from, to);
+        List<CirculationPointResponse> series = analyticsService.getCirculationSeries(granularity, from, to, genre);
+        return ResponseEntity.ok(ApiResponse.success(series, "Circulation series retrieved successfully"));
+    }
+
+    @GetMapping("/circulation/genres")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+    @Operation(summary = "Get circulation by genre", description = "Circulation totals per genre for a date range (ADMIN or LIBRARIAN only)")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Genre circulation retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid range"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<ApiResponse<List<GenreCirculationResponse>>> getCirculationByGenre(
+            @Parameter(description = "Start date (inclusive, yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "End date (inclusive, yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Fetching circulation by genre from {} to {}", from, to);
+        List<GenreCirculationResponse> genres = analyticsService.getCirculationByGenre(from, to);
+        return ResponseEntity.ok(ApiResponse.success(genres, "Genre circulation retrieved successfully"));
+    }
+}
@@ -1,5 +1,8 @@
 package com.JohnBravos.bookhub_manager.controller;
 
+import com.JohnBravos.bookhub_manager.core.bulkhead.Bulkhead;
+import com.JohnBravos.bookhub_manager.core.enums.BulkheadType;
+import com.JohnBravos.bookhub_manager.core.http.ConditionalGet;
 import com.JohnBravos.bookhub_manager.dto.Request.CreateAuthorRequest;
 import com.JohnBravos.bookhub_manager.dto.Request.UpdateAuthorRequest;
 import com.JohnBravos.bookhub_manager.dto.Response.ApiResponse;
@@ -17,65 +20,74 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 @Slf4j
 @Tag(name = "Authors", description = "Author Management API")
 @RestController
+@Bulkhead(BulkheadType.CATALOG)
 @RequestMapping("/authors")
 @RequiredArgsConstructor
 public class AuthorController {
 
     private final IAuthorService authorService;
+    private final ConditionalGet conditionalGet;
 
     @GetMapping
     @Operation(summary = "Get all authors", description = "Retrieve all authors with pagination support")
     @ApiResponses(value = {
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Authors retrieved successfully")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Authors retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified (If-None-Match)")
     })
     public ResponseEntity<ApiResponse<Page<AuthorResponse>>> getAllAuthors(
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "Sort format (e.g., id,asc)") @RequestParam(defaultValue = "id,asc") String sort) {
-        Page<AuthorResponse> authorsPage = authorService.getAllAuthors(page, size, sort);
-        return ResponseEntity.ok(ApiResponse.success(authorsPage));
+            @Parameter(description = "Sort format (e.g., id,asc)") @RequestParam(defaultValue = "id,asc") String sort,
+            WebRequest webRequest) {
+        return conditionalGet.authors(webRequest, () -> ApiResponse.success(authorService.getAllAuthors(page, size, sort)));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get author by ID", description = "Retrieve a specific author by their ID")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Author retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified (If-None-Match)"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Author not found")
     })
     public ResponseEntity<ApiResponse<AuthorResponse>> getAuthorById(
-            @Parameter(description = "Author ID") @PathVariable Long id) {
+            @Parameter(description = "Author ID") @PathVariable Long id,
+            WebRequest webRequest) {
         log.info("Fetching author with ID: {}", id);
-        AuthorResponse author = authorService.getAuthorById(id);
-        return ResponseEntity.ok(ApiResponse.success(author, "Author retrieved successfully"));
+        return conditionalGet.author(id, webRequest, () ->
+                ApiResponse.success(authorService.getAuthorById(id), "Author retrieved successfully"));
     }
 
     @GetMapping("/search")
     @Operation(summary = "Search authors by name", description = "Search for authors by their name")
     @ApiResponses(value = {
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Authors search completed")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Authors search completed"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified (If-None-Match)")
     })
     public ResponseEntity<ApiResponse<List<AuthorResponse>>> searchAuthors(
-            @Parameter(description = "Author name to search") @RequestParam String name) {
+            @Parameter(description = "Author name to search") @RequestParam String name,
+            WebRequest webRequest) {
         log.info("Searching authors by name: {}", name);
-        List<AuthorResponse> authors = authorService.searchAuthorsByName(name);
-        return ResponseEntity.ok(ApiResponse.success(authors, "Authors search completed"));
+        return conditionalGet.authors(webRequest, () ->
+                ApiResponse.success(authorService.searchAuthorsByName(name), "Authors search completed"));
     }
 
     @GetMapping("/with-books")
     @Operation(summary = "Get authors with books", description = "Retrieve only authors that have associated books")
     @ApiResponses(value = {
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Authors with books retrieved")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Authors with books retrieved"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified (If-None-Match)")
     })
-    public ResponseEntity<ApiResponse<List<AuthorResponse>>> getAuthorsWithBooks() {
+    public ResponseEntity<ApiResponse<List<AuthorResponse>>> getAuthorsWithBooks(WebRequest webRequest) {
         log.info("Fetching authors with books");
-        List<AuthorResponse> authors = authorService.getAuthorsWithBooks();
-        return ResponseEntity.ok(ApiResponse.success(authors, "Authors with books retrieved"));
+        return conditionalGet.authors(webRequest, () ->
+                ApiResponse.success(authorService.getAuthorsWithBooks(), "Authors with books retrieved"));
     }
 
     @PostMapping
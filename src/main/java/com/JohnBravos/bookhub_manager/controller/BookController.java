@@ -1,13 +1,19 @@
 package com.JohnBravos.bookhub_manager.controller;
 
+import com.JohnBravos.bookhub_manager.core.bulkhead.Bulkhead;
+import com.JohnBravos.bookhub_manager.core.enums.BulkheadType;
 import com.JohnBravos.bookhub_manager.core.enums.BookStatus;
+import com.JohnBravos.bookhub_manager.core.enums.ImportFormat;
+import com.JohnBravos.bookhub_manager.core.http.ConditionalGet;
 import com.JohnBravos.bookhub_manager.dto.Request.CreateBookRequest;
 import com.JohnBravos.bookhub_manager.dto.Request.UpdateBookRequest;
 import com.JohnBravos.bookhub_manager.dto.Response.ApiResponse;
 import com.JohnBravos.bookhub_manager.dto.Response.BookDetailsResponse;
 import com.JohnBravos.bookhub_manager.dto.Response.BookResponse;
+import com.JohnBravos.bookhub_manager.dto.Response.ImportProgressResponse;
 import com.JohnBravos.bookhub_manager.dto.Response.SearchBookRequest;
 import com.JohnBravos.bookhub_manager.service.IBookService;
+import com.JohnBravos.bookhub_manager.service.ICatalogImportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,9 +23,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.Map;
@@ -27,36 +36,73 @@ import java.util.Map;
 @Slf4j
 @Tag(name = "Books", description = "Book Management API")
 @RestController
+@Bulkhead(BulkheadType.CATALOG)
 @RequestMapping("/books")
 @RequiredArgsConstructor
 public class BookController {
 
     private final IBookService bookService;
+    private final ICatalogImportService catalogImportService;
+    private final ConditionalGet conditionalGet;
 
     @GetMapping
     @Operation(summary = "Get all books", description = "Retrieve all books with pagination support")
     @ApiResponses(value = {
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Books retrieved successfully")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Books retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified (If-None-Match)")
     })
     public ResponseEntity<ApiResponse<Page<BookResponse>>> getAllBooks(
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort format (e.g., id,asc)") @RequestParam(defaultValue = "id,asc") String sort,
+            WebRequest webRequest) {
+        return conditionalGet.catalog(webRequest, () ->
+                ApiResponse.success(bookService.getAllBooks(page, size, sort), "Books fetched successfully"));
+    }
+
+    @GetMapping(params = "fields")
+    @Operation(summary = "Get all books (selected fields)", description = "Retrieve books with only the requested fields; authors are loaded only when asked for")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Books retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified (If-None-Match)"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unknown field requested")
+    })
+    public ResponseEntity<ApiResponse<Page<Map<String, Object>>>> getAllBooksFields(
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort format (e.g., id,asc)") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "Comma-separated fields to return (e.g., id,title,availableCopies)") @RequestParam String fields,
+            WebRequest webRequest) {
+        return conditionalGet.catalog(webRequest, () ->
+                ApiResponse.success(bookService.getAllBooks(page, size, sort, fields), "Books fetched successfully"));
+    }
+
+    @GetMapping("/details")
+    @Operation(summary = "Get book details page", description = "Retrieve a page of books with availability, queue length and loan statistics")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Book details retrieved successfully")
+    })
+    public ResponseEntity<ApiResponse<Page<BookDetailsResponse>>> getBookDetailsPage(
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort format (e.g., id,asc)") @RequestParam(defaultValue = "id,asc") String sort) {
-        Page<BookResponse> booksPage = bookService.getAllBooks(page, size, sort);
-        return ResponseEntity.ok(ApiResponse.success(booksPage, "Books fetched successfully"));
+        Page<BookDetailsResponse> detailsPage = bookService.getBookDetailsPage(page, size, sort);
+        return ResponseEntity.ok(ApiResponse.success(detailsPage, "Book details retrieved successfully"));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get book by ID", description = "Retrieve a specific book by its ID")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Book retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified (If-None-Match)"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Book not found")
     })
     public ResponseEntity<ApiResponse<BookResponse>> getBookById(
-            @Parameter(description = "Book ID") @PathVariable Long id) {
+            @Parameter(description = "Book ID") @PathVariable Long id,
+            WebRequest webRequest) {
         log.info("Fetching book with ID: {}", id);
-        BookResponse book = bookService.getBookById(id);
-        return ResponseEntity.ok(ApiResponse.success(book, "Book retrieved successfully"));
+        return conditionalGet.book(id, webRequest, () ->
+                ApiResponse.success(bookService.getBookById(id), "Book retrieved successfully"));
     }
 
     @GetMapping("/{id}/details")
@@ -75,7 +121,8 @@ public class BookController {
     @GetMapping("/search")
     @Operation(summary = "Search books", description = "Search for books with optional filters (query, genre, author, publication year)")
     @ApiResponses(value = {
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search completed successfully")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search completed successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified (If-None-Match)")
     })
     public ResponseEntity<ApiResponse<List<BookResponse>>> searchBooks(
             @Parameter(description = "Search query") @RequestParam(required = false) String query,
@@ -83,49 +130,55 @@ public class BookController {
             @Parameter(description = "Author filter") @RequestParam(required = false) String author,
             @Parameter(description = "Publication year from") @RequestParam(required = false) Integer publicationYearFrom,
             @Parameter(description = "Publication year to") @RequestParam(required = false) Integer publicationYearTo,
-            @Parameter(description = "Show only available books") @RequestParam(required = false) Boolean availableOnly) {
+            @Parameter(description = "Show only available books") @RequestParam(required = false) Boolean availableOnly,
+            WebRequest webRequest) {
         log.info("Searching books with query: {}, genre: {}, author: {}", query, genre, author);
         SearchBookRequest searchRequest = new SearchBookRequest(
                 query, genre, author, publicationYearFrom,
                 publicationYearTo, availableOnly, null, null);
-        List<BookResponse> books = bookService.searchBooks(searchRequest);
-        return ResponseEntity.ok(ApiResponse.success(books, "Search completed successfully"));
+        return conditionalGet.catalog(webRequest, () ->
+                ApiResponse.success(bookService.searchBooks(searchRequest), "Search completed successfully"));
     }
 
     @GetMapping("/available")
     @Operation(summary = "Get available books", description = "Retrieve all books that are currently available for borrowing")
     @ApiResponses(value = {
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Available books retrieved successfully")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Available books retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified (If-None-Match)")
     })
-    public ResponseEntity<ApiResponse<List<BookResponse>>> getAvailableBooks() {
+    public ResponseEntity<ApiResponse<List<BookResponse>>> getAvailableBooks(WebRequest webRequest) {
         log.info("Fetching available books");
-        List<BookResponse> books = bookService.getAvailableBooks();
-        return ResponseEntity.ok(ApiResponse.success(books, "Available books retrieved successfully"));
+        return conditionalGet.catalog(webRequest, () ->
+                ApiResponse.success(bookService.getAvailableBooks(), "Available books retrieved successfully"));
     }
 
     @GetMapping("/author/{authorId}")
     @Operation(summary = "Get books by author", description = "Retrieve all books written by a specific author")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Books by author retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified (If-None-Match)"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Author not found")
     })
     public ResponseEntity<ApiResponse<List<BookResponse>>> getBooksByAuthor(
-            @Parameter(description = "Author ID") @PathVariable Long authorId) {
+            @Parameter(description = "Author ID") @PathVariable Long authorId,
+            WebRequest webRequest) {
         log.info("Fetching books by author ID: {}", authorId);
-        List<BookResponse> books = bookService.getBooksByAuthor(authorId);
-        return ResponseEntity.ok(ApiResponse.success(books, "Books by author retrieved successfully"));
+        return conditionalGet.catalog(webRequest, () ->
+                ApiResponse.success(bookService.getBooksByAuthor(authorId), "Books by author retrieved successfully"));
     }
 
     @GetMapping("/genre/{genre}")
     @Operation(summary = "Get books by genre", description = "Retrieve all books in a specific genre")
     @ApiResponses(value = {
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Books by genre retrieved successfully")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Books by genre retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified (If-None-Match)")
     })
     public ResponseEntity<ApiResponse<List<BookResponse>>> getBooksByGenre(
-            @Parameter(description = "Genre name") @PathVariable String genre) {
+            @Parameter(description = "Genre name") @PathVariable String genre,
+            WebRequest webRequest) {
         log.info("Fetching books by genre: {}", genre);
-        List<BookResponse> books = bookService.getBooksByGenre(genre);
-        return ResponseEntity.ok(ApiResponse.success(books, "Books by genre retrieved successfully"));
+        return conditionalGet.catalog(webRequest, () ->
+                ApiResponse.success(bookService.getBooksByGenre(genre), "Books by genre retrieved successfully"));
     }
 
     @PostMapping
@@ -144,6 +197,48 @@ public class BookController {
                 .body(ApiResponse.success(book, "Book created successfully"));
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyRole('LIBRARIAN', 'ADMIN')")
+    @Operation(summary = "Bulk import catalog", description = "Upload a CSV or MARC-like file; books are imported in the background (LIBRARIAN or ADMIN only)")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Import started"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Empty file"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<ApiResponse<ImportProgressResponse>> importCatalog(
+            @Parameter(description = "Catalog file") @RequestParam("file") MultipartFile file,
+            @Parameter(description = "File format (CSV, MARC)") @RequestParam(defaultValue = "CSV") ImportFormat format) {
+        log.info("Starting {} catalog import: {}", format, file.getOriginalFilename());
+        ImportProgressResponse job = catalogImportService.startImport(file, format);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(job, "Import started"));
+    }
+
+    @GetMapping("/import/{jobId}")
+    @PreAuthorize("hasAnyRole('LIBRARIAN', 'ADMIN')")
+    @Operation(summary = "Get import progress", description = "Progress and counters of a catalog import (LIBRARIAN or ADMIN only)")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Import progress retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Import job not found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<ApiResponse<ImportProgressResponse>> getImportProgress(
+            @Parameter(description = "Import job ID") @PathVariable String jobId) {
+        ImportProgressResponse job = catalogImportService.getProgress(jobId);
+        return ResponseEntity.ok(ApiResponse.success(job, "Import progress retrieved successfully"));
+    }
+
+    @GetMapping("/import")
+    @PreAuthorize("hasAnyRole('LIBRARIAN', 'ADMIN')")
+    @Operation(summary = "List imports", description = "Recent catalog imports (LIBRARIAN or ADMIN only)")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Imports retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<ApiResponse<List<ImportProgressResponse>>> getImports() {
+        return ResponseEntity.ok(ApiResponse.success(catalogImportService.getJobs(), "Imports retrieved successfully"));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('LIBRARIAN', 'ADMIN')")
     @Operation(summary = "Update book", description = "Update an existing book (LIBRARIAN or ADMIN only)")
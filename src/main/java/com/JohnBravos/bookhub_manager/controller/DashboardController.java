@@ -0,0 +1,45 @@
+package com.JohnBravos.bookhub_manager.controller;
+
+import com.JohnBravos.bookhub_manager.core.bulkhead.Bulkhead;
+import com.JohnBravos.bookhub_manager.core.enums.BulkheadType;
+import com.JohnBravos.bookhub_manager.dto.Response.ApiResponse;
+import com.JohnBravos.bookhub_manager.dto.Response.DashboardResponse;
+import com.JohnBravos.bookhub_manager.service.IDashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@Tag(name = "Dashboard", description = "Admin Dashboard API")
+@RestController
+@Bulkhead(BulkheadType.REPORTING)
+@RequestMapping("/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final IDashboardService dashboardService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+    @Operation(summary = "Get admin dashboard", description = "System and user statistics, active/overdue/recent loans and expiring reservations in one call. Sections that time out or fail are returned as unavailable (ADMIN or LIBRARIAN only)")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Dashboard retrieved (check 'partial' for missing sections)"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Insufficient permissions"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Reporting bulkhead is full")
+    })
+    public ResponseEntity<ApiResponse<DashboardResponse>> getDashboard() {
+        log.info("Fetching admin dashboard");
+        DashboardResponse dashboard = dashboardService.getDashboard();
+        String message = dashboard.partial()
+                ? "Dashboard retrieved with partial results"
+                : "Dashboard retrieved successfully";
+        return ResponseEntity.ok(ApiResponse.success(dashboard, message));
+    }
+}
@@ -1,5 +1,7 @@
 package com.JohnBravos.bookhub_manager.controller;
 
+import com.JohnBravos.bookhub_manager.core.bulkhead.Bulkhead;
+import com.JohnBravos.bookhub_manager.core.enums.BulkheadType;
 import com.JohnBravos.bookhub_manager.core.exceptions.custom.AccessDeniedException;
 import com.JohnBravos.bookhub_manager.dto.Request.CreateLoanRequest;
 import com.JohnBravos.bookhub_manager.dto.Request.ReturnLoanRequest;
@@ -26,10 +28,12 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Tag(name = "Loans", description = "Loan Management API")
 @RestController
+@Bulkhead(BulkheadType.CIRCULATION)
 @RequestMapping("/loans")
 @RequiredArgsConstructor
 public class LoanController {
@@ -37,6 +41,7 @@ public class LoanController {
     private final ILoanService loanService;
     private final UserRepository userRepository;
 
+    @Bulkhead(BulkheadType.REPORTING)
     @GetMapping
     @PreAuthorize("hasAnyRole('LIBRARIAN', 'ADMIN')")
     @Operation(summary = "Get all loans", description = "Retrieve all loans (LIBRARIAN or ADMIN only)")
@@ -54,6 +59,26 @@ public class LoanController {
         return ResponseEntity.ok(ApiResponse.success(loans, "Loans retrieved successfully"));
     }
 
+    @Bulkhead(BulkheadType.REPORTING)
+    @GetMapping(params = "fields")
+    @PreAuthorize("hasAnyRole('LIBRARIAN', 'ADMIN')")
+    @Operation(summary = "Get all loans (selected fields)", description = "Retrieve all loans with only the requested fields; book/user are joined only when asked for (LIBRARIAN or ADMIN only)")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Loans retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unknown field requested"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<ApiResponse<Page<Map<String, Object>>>> getAllLoansFields(
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort format (e.g., id,asc)") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "Filter by status (ALL, ACTIVE, RETURNED, OVERDUE)") @RequestParam(defaultValue = "ALL") String status,
+            @Parameter(description = "Comma-separated fields to return (e.g., id,dueDate,book.title,user.username)") @RequestParam String fields) {
+        log.info("Fetching all loans with fields: {}", fields);
+        Page<Map<String, Object>> loans = loanService.getAllLoans(page, size, sort, status, fields);
+        return ResponseEntity.ok(ApiResponse.success(loans, "Loans retrieved successfully"));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('LIBRARIAN', 'ADMIN')")
     @Operation(summary = "Get loan by ID", description = "Retrieve a specific loan (LIBRARIAN or ADMIN only)")
@@ -81,19 +106,30 @@ public class LoanController {
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort format (e.g., id,asc)") @RequestParam(defaultValue = "id,asc") String sort) {
         log.info("Fetching loans for user ID: {}", userId);
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-        User currentUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found"));
-        if (!(currentUser.getRole() == UserRole.ADMIN || currentUser.getRole() == UserRole.LIBRARIAN)) {
-            if (!currentUser.getId().equals(userId)) {
-                throw new AccessDeniedException("You can only access your own loans");
-            }
-        }
+        checkOwnLoans(userId);
         Page<LoanResponse> loans = loanService.getLoansByUser(userId, page, size, sort);
         return ResponseEntity.ok(ApiResponse.success(loans, "User loans retrieved successfully"));
     }
 
+    @GetMapping(value = "/user/{userId}", params = "fields")
+    @Operation(summary = "Get loans by user (selected fields)", description = "Retrieve user loans with only the requested fields (users can see their own, staff can see all)")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "User loans retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unknown field requested"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<ApiResponse<Page<Map<String, Object>>>> getLoansByUserFields(
+            @Parameter(description = "User ID") @PathVariable Long userId,
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort format (e.g., id,asc)") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "Comma-separated fields to return (e.g., id,dueDate,book.title)") @RequestParam String fields) {
+        log.info("Fetching loans for user ID: {} with fields: {}", userId, fields);
+        checkOwnLoans(userId);
+        Page<Map<String, Object>> loans = loanService.getLoansByUser(userId, page, size, sort, fields);
+        return ResponseEntity.ok(ApiResponse.success(loans, "User loans retrieved successfully"));
+    }
+
     @GetMapping("/active")
     @PreAuthorize("hasAnyRole('LIBRARIAN', 'ADMIN')")
     @Operation(summary = "Get active loans", description = "Retrieve all active loans (LIBRARIAN or ADMIN only)")
@@ -229,4 +265,17 @@ public class LoanController {
         loanService.deleteLoan(id);
         return ResponseEntity.ok(ApiResponse.success("Loan deleted successfully"));
     }
+
+    // Members βλέπουν μόνο τα δικά τους loans, το staff όλα
+    private void checkOwnLoans(Long userId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String username = auth.getName();
+        User currentUser = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("Authenticated user not found"));
+        if (!(currentUser.getRole() == UserRole.ADMIN || currentUser.getRole() == UserRole.LIBRARIAN)) {
+            if (!currentUser.getId().equals(userId)) {
+                throw new AccessDeniedException("You can only access your own loans");
+            }
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package com.JohnBravos.bookhub_manager.controller;
 
+import com.JohnBravos.bookhub_manager.core.bulkhead.Bulkhead;
+import com.JohnBravos.bookhub_manager.core.enums.BulkheadType;
 import com.JohnBravos.bookhub_manager.core.enums.UserRole;
 import com.JohnBravos.bookhub_manager.core.exceptions.custom.AccessDeniedException;
 import com.JohnBravos.bookhub_manager.dto.Request.CreateReservationRequest;
@@ -25,10 +27,12 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Tag(name = "Reservations", description = "Reservation Management API")
 @RestController
+@Bulkhead(BulkheadType.CIRCULATION)
 @RequestMapping("/reservations")
 @RequiredArgsConstructor
 public class ReservationController {
@@ -53,6 +57,25 @@ public class ReservationController {
         return ResponseEntity.ok(ApiResponse.success(reservations, "Reservations retrieved successfully"));
     }
 
+    @GetMapping(params = "fields")
+    @PreAuthorize("hasAnyRole('LIBRARIAN', 'ADMIN')")
+    @Operation(summary = "Get all reservations (selected fields)", description = "Retrieve all reservations with only the requested fields; book/user are joined only when asked for (LIBRARIAN or ADMIN only)")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Reservations retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unknown field requested"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<ApiResponse<Page<Map<String, Object>>>> getAllReservationsFields(
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort format (e.g., id,asc)") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "Filter by status (ALL, PENDING, ACTIVE, READY, FULFILLED, CANCELLED)") @RequestParam(defaultValue = "ALL") String status,
+            @Parameter(description = "Comma-separated fields to return (e.g., id,expiryDate,book.title,user.username)") @RequestParam String fields) {
+        log.info("Fetching all reservations with fields: {}", fields);
+        Page<Map<String, Object>> reservations = reservationService.getAllReservations(page, size, sort, status, fields);
+        return ResponseEntity.ok(ApiResponse.success(reservations, "Reservations retrieved successfully"));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('LIBRARIAN', 'ADMIN')")
     @Operation(summary = "Get reservation by ID", description = "Retrieve a specific reservation (LIBRARIAN or ADMIN only)")
@@ -80,20 +103,32 @@ public class ReservationController {
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort format (e.g., id,asc)") @RequestParam(defaultValue = "id,asc") String sort) {
         log.info("Fetching reservations for user ID: {}", userId);
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-        User currentUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found"));
-        if (!(currentUser.getRole() == UserRole.ADMIN || currentUser.getRole() == UserRole.LIBRARIAN)) {
-            if (!currentUser.getId().equals(userId)) {
-                throw new AccessDeniedException("You can only access your own reservations");
-            }
-        }
+        checkOwnReservations(userId);
 
         Page<ReservationResponse> reservations = reservationService.getReservationsByUser(userId, page, size, sort);
         return ResponseEntity.ok(ApiResponse.success(reservations, "User reservations retrieved successfully"));
     }
 
+    @GetMapping(value = "/user/{userId}", params = "fields")
+    @Operation(summary = "Get reservations by user (selected fields)", description = "Retrieve user reservations with only the requested fields (users can see their own, staff can see all)")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "User reservations retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unknown field requested"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<ApiResponse<Page<Map<String, Object>>>> getReservationsByUserFields(
+            @Parameter(description = "User ID") @PathVariable Long userId,
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort format (e.g., id,asc)") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "Comma-separated fields to return (e.g., id,expiryDate,status,book.title)") @RequestParam String fields) {
+        log.info("Fetching reservations for user ID: {} with fields: {}", userId, fields);
+        checkOwnReservations(userId);
+
+        Page<Map<String, Object>> reservations = reservationService.getReservationsByUser(userId, page, size, sort, fields);
+        return ResponseEntity.ok(ApiResponse.success(reservations, "User reservations retrieved successfully"));
+    }
+
     @GetMapping("/active")
     @PreAuthorize("hasAnyRole('LIBRARIAN', 'ADMIN')")
     @Operation(summary = "Get active reservations", description = "Retrieve all active reservations (LIBRARIAN or ADMIN only)")
@@ -258,4 +293,17 @@ public class ReservationController {
         reservationService.deleteReservation(id);
         return ResponseEntity.ok(ApiResponse.success("Reservation deleted successfully"));
     }
+
+    // Members βλέπουν μόνο τις δικές τους κρατήσεις, το staff όλες
+    private void checkOwnReservations(Long userId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String username = auth.getName();
+        User currentUser = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("Authenticated user not found"));
+        if (!(currentUser.getRole() == UserRole.ADMIN || currentUser.getRole() == UserRole.LIBRARIAN)) {
+            if (!currentUser.getId().equals(userId)) {
+                throw new AccessDeniedException("You can only access your own reservations");
+            }
+        }
+    }
 }
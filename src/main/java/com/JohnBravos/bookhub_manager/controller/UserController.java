@@ -1,5 +1,7 @@
 package com.JohnBravos.bookhub_manager.controller;
 
+import com.JohnBravos.bookhub_manager.core.bulkhead.Bulkhead;
+import com.JohnBravos.bookhub_manager.core.enums.BulkheadType;
 import com.JohnBravos.bookhub_manager.core.enums.UserStatus;
 import com.JohnBravos.bookhub_manager.dto.Request.ChangePasswordRequest;
 import com.JohnBravos.bookhub_manager.dto.Request.CreateUserRequest;
@@ -20,6 +22,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @Slf4j
 @Tag(name = "Users", description = "User Management and Profile API")
 @RestController
@@ -56,6 +60,7 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success(updatedProfile, "Profile updated successfully"));
     }
 
+    @Bulkhead(BulkheadType.REPORTING)
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
     @Operation(summary = "Get all users", description = "Retrieve all users with pagination (ADMIN or LIBRARIAN only)")
@@ -70,6 +75,23 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success(userService.getAllUsers(page, size, sort)));
     }
 
+    @Bulkhead(BulkheadType.REPORTING)
+    @GetMapping(params = "fields")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+    @Operation(summary = "Get all users (selected fields)", description = "Retrieve users with only the requested fields (ADMIN or LIBRARIAN only)")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unknown field requested"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<ApiResponse<Page<Map<String, Object>>>> getAllUsersFields(
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort format (e.g., id,asc)") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "Comma-separated fields to return (e.g., id,username,email)") @RequestParam String fields) {
+        return ResponseEntity.ok(ApiResponse.success(userService.getAllUsers(page, size, sort, fields)));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
     @Operation(summary = "Get user by ID", description = "Retrieve a specific user details (ADMIN or LIBRARIAN only)")
@@ -149,6 +171,7 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success("User deleted successfully"));
     }
 
+    @Bulkhead(BulkheadType.REPORTING)
     @GetMapping("/stats")
     @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
     @Operation(summary = "Get user statistics", description = "Retrieve user statistics (ADMIN or LIBRARIAN only)")
@@ -204,6 +227,7 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success(settings, "System settings updated successfully"));
     }
 
+    @Bulkhead(BulkheadType.REPORTING)
     @GetMapping("/stats/system")
     @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
     @Operation(summary = "Get system statistics", description = "Retrieve comprehensive system statistics (ADMIN or LIBRARIAN only)")
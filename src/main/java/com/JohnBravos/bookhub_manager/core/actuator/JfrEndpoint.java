@@ -0,0 +1,79 @@
+package com.JohnBravos.bookhub_manager.core.actuator;
+
+import com.JohnBravos.bookhub_manager.core.jfr.JfrRecordings;
+import com.JohnBravos.bookhub_manager.core.jfr.JfrRecordings.RecordingInfo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Java Flight Recorder πάνω από HTTP:
+ * <ul>
+ *   <li>{@code GET /actuator/jfr}: τα recordings της JVM,</li>
+ *   <li>{@code POST /actuator/jfr/{name}} με {@code {"settings": "profile", "durationSeconds": 300}}: νέο recording,
+ *   με duration έως {@code jfr.ad-hoc.max-duration-minutes},</li>
+ *   <li>{@code GET /actuator/jfr/{name}}: snapshot ως .jfr (JDK Mission Control / {@code jfr print}), χωρίς αρχείο στον δίσκο,</li>
+ *   <li>{@code DELETE /actuator/jfr/{name}}: stop, με το αρχείο στο dump directory.</li>
+ * </ul>
+ * Τα ονόματα είναι {@code [A-Za-z0-9_-]+} (400 αλλιώς). Όπως όλο το actuator, μόνο για ADMIN (SecurityConfig).
+ */
+@WebEndpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrEndpoint {
+
+    private static final String DEFAULT_SETTINGS = "profile";
+
+    private final JfrRecordings recordings;
+
+    @ReadOperation
+    public List<RecordingInfo> recordings() {
+        return recordings.recordings();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> start(@Selector String name, @Nullable String settings,
+                                             @Nullable Long durationSeconds) {
+        try {
+            RecordingInfo recording = recordings.start(name, settings != null ? settings : DEFAULT_SETTINGS,
+                    durationSeconds != null && durationSeconds > 0 ? Duration.ofSeconds(durationSeconds) : null);
+            return new WebEndpointResponse<>(recording, WebEndpointResponse.STATUS_OK);
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(Map.of("error", e.getMessage()), 409);
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(Map.of("error", e.getMessage()), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Selector String name) {
+        try {
+            return recordings.snapshot(name)
+                    .map(stream -> new WebEndpointResponse<Resource>(new InputStreamResource(stream)))
+                    .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Map<String, String>> stop(@Selector String name) {
+        try {
+            return recordings.stop(name)
+                    .map(file -> new WebEndpointResponse<>(Map.of("file", file.toString())))
+                    .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(Map.of("error", e.getMessage()), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+}
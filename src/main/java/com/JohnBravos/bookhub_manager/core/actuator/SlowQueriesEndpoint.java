@@ -0,0 +1,47 @@
+package com.JohnBravos.bookhub_manager.core.actuator;
+
+import com.JohnBravos.bookhub_manager.core.datasource.SlowQueryLog;
+import com.JohnBravos.bookhub_manager.core.datasource.SlowQueryLog.QueryStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@code GET /actuator/slowqueries?sort=total|max|p99|count|slow&limit=20}: τα SQL fingerprints
+ * με το μεγαλύτερο κόστος. {@code DELETE} μηδενίζει τα στατιστικά (π.χ. πριν από ένα load test).
+ */
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueriesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SlowQueryLog slowQueryLog;
+
+    @ReadOperation
+    public List<QueryStats> topQueries(@Nullable String sort, @Nullable Integer limit) {
+        return slowQueryLog.top(limit != null && limit > 0 ? limit : DEFAULT_LIMIT, order(sort));
+    }
+
+    @DeleteOperation
+    public void reset() {
+        slowQueryLog.reset();
+    }
+
+    private static Comparator<QueryStats> order(String sort) {
+        Comparator<QueryStats> comparator = switch (sort == null ? "total" : sort.toLowerCase(Locale.ROOT)) {
+            case "max" -> Comparator.comparingDouble(QueryStats::maxMs);
+            case "p99" -> Comparator.comparingDouble(QueryStats::p99Ms);
+            case "count" -> Comparator.comparingLong(QueryStats::count);
+            case "slow" -> Comparator.comparingLong(QueryStats::slowCount);
+            default -> Comparator.comparingDouble(QueryStats::totalMs);
+        };
+        return comparator.reversed();
+    }
+}
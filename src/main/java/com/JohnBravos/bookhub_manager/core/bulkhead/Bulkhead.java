@@ -0,0 +1,20 @@
+package com.JohnBravos.bookhub_manager.core.bulkhead;
+
+import com.JohnBravos.bookhub_manager.core.enums.BulkheadType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Σε ποιο bulkhead ανήκει ένας controller ή ένα endpoint. Το annotation της μεθόδου
+ * υπερισχύει του class-level, και τα δύο μπορούν να αλλάξουν από
+ * {@code bulkhead.controllers.<Controller>[.<method>]}.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+
+    BulkheadType value();
+}
@@ -0,0 +1,48 @@
+package com.JohnBravos.bookhub_manager.core.bulkhead;
+
+import com.JohnBravos.bookhub_manager.core.enums.BulkheadType;
+
+/**
+ * Το bulkhead του τρέχοντος request, ώστε το {@code BulkheadDataSource} να χρεώνει τα
+ * connections στο σωστό partition.
+ */
+public final class BulkheadContext {
+
+    private static final ThreadLocal<BulkheadType> CURRENT = new ThreadLocal<>();
+
+    private BulkheadContext() {
+    }
+
+    public static BulkheadType current() {
+        return CURRENT.get();
+    }
+
+    // Μεταφέρει το bulkhead του τρέχοντος thread σε task που θα τρέξει σε άλλο (π.χ. fan-out executor)
+    public static Runnable propagate(Runnable task) {
+        BulkheadType type = CURRENT.get();
+        if (type == null) {
+            return task;
+        }
+        return () -> {
+            BulkheadType previous = CURRENT.get();
+            CURRENT.set(type);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    static void set(BulkheadType type) {
+        CURRENT.set(type);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,71 @@
+package com.JohnBravos.bookhub_manager.core.bulkhead;
+
+import com.JohnBravos.bookhub_manager.core.enums.BulkheadType;
+import com.JohnBravos.bookhub_manager.core.exceptions.custom.BulkheadFullException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Locale;
+
+/**
+ * Βάζει κάθε request στο bulkhead του handler του. Αν το bulkhead είναι γεμάτο το request
+ * απορρίπτεται με 503 πριν πιάσει connection ή κάνει οποιαδήποτε δουλειά.
+ */
+@RequiredArgsConstructor
+public class BulkheadInterceptor implements HandlerInterceptor {
+
+    private static final String ATTRIBUTE = BulkheadInterceptor.class.getName() + ".TYPE";
+
+    private final BulkheadRegistry registry;
+    private final Environment environment;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        BulkheadType type = resolve(handlerMethod);
+        if (type == null) {
+            return true;
+        }
+        if (!registry.get(type).tryEnter()) {
+            throw new BulkheadFullException(type);
+        }
+        request.setAttribute(ATTRIBUTE, type);
+        BulkheadContext.set(type);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ATTRIBUTE) instanceof BulkheadType type) {
+            request.removeAttribute(ATTRIBUTE);
+            BulkheadContext.clear();
+            registry.get(type).exit();
+        }
+    }
+
+    // bulkhead.controllers.<Controller>.<method>, bulkhead.controllers.<Controller>, μετά τα annotations
+    BulkheadType resolve(HandlerMethod handlerMethod) {
+        String controller = handlerMethod.getBeanType().getSimpleName();
+        String configured = environment.getProperty(
+                "bulkhead.controllers." + controller + "." + handlerMethod.getMethod().getName(),
+                environment.getProperty("bulkhead.controllers." + controller));
+        if (configured != null) {
+            return configured.isBlank() || configured.equalsIgnoreCase("none")
+                    ? null
+                    : BulkheadType.valueOf(configured.trim().toUpperCase(Locale.ROOT));
+        }
+
+        Bulkhead annotation = handlerMethod.getMethodAnnotation(Bulkhead.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), Bulkhead.class);
+        }
+        return annotation != null ? annotation.value() : null;
+    }
+}
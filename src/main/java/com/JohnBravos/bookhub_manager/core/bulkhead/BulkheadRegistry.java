@@ -0,0 +1,96 @@
+package com.JohnBravos.bookhub_manager.core.bulkhead;
+
+import com.JohnBravos.bookhub_manager.core.enums.BulkheadType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Τα compartments των bulkheads: για κάθε {@link BulkheadType} ένα όριο ταυτόχρονων requests
+ * και ένα μερίδιο από τα connections του pool.
+ * <p>
+ * Metrics: {@code bulkhead.rejected{bulkhead, resource=requests|connections}},
+ * {@code bulkhead.active} και {@code bulkhead.connections.active}.
+ */
+public class BulkheadRegistry {
+
+    public record Limits(int maxConcurrent, long maxWaitMs, int connections, long connectionWaitMs) {}
+
+    private final Map<BulkheadType, Compartment> compartments = new EnumMap<>(BulkheadType.class);
+
+    public BulkheadRegistry(Map<BulkheadType, Limits> limits, MeterRegistry meterRegistry) {
+        limits.forEach((type, limit) -> compartments.put(type, new Compartment(type, limit, meterRegistry)));
+    }
+
+    public Compartment get(BulkheadType type) {
+        Compartment compartment = compartments.get(type);
+        if (compartment == null) {
+            throw new IllegalArgumentException("No bulkhead configured for " + type);
+        }
+        return compartment;
+    }
+
+    public static final class Compartment {
+
+        private final Limits limits;
+        private final Semaphore requests;
+        private final Semaphore connections;
+        private final Counter rejectedRequests;
+        private final Counter rejectedConnections;
+
+        private Compartment(BulkheadType type, Limits limits, MeterRegistry meterRegistry) {
+            this.limits = limits;
+            this.requests = new Semaphore(limits.maxConcurrent(), true);
+            this.connections = new Semaphore(limits.connections(), true);
+
+            this.rejectedRequests = Counter.builder("bulkhead.rejected")
+                    .tag("bulkhead", type.key()).tag("resource", "requests")
+                    .description("Requests rejected because the bulkhead was full")
+                    .register(meterRegistry);
+            this.rejectedConnections = Counter.builder("bulkhead.rejected")
+                    .tag("bulkhead", type.key()).tag("resource", "connections")
+                    .description("Connection requests that timed out on the bulkhead's pool partition")
+                    .register(meterRegistry);
+            Gauge.builder("bulkhead.active", requests, s -> limits.maxConcurrent() - s.availablePermits())
+                    .tag("bulkhead", type.key())
+                    .register(meterRegistry);
+            Gauge.builder("bulkhead.connections.active", connections, s -> limits.connections() - s.availablePermits())
+                    .tag("bulkhead", type.key())
+                    .register(meterRegistry);
+        }
+
+        // false αν δεν ελευθερώθηκε θέση μέσα σε max-wait-ms (0 = καμία αναμονή)
+        public boolean tryEnter() {
+            try {
+                if (requests.tryAcquire(limits.maxWaitMs(), TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            rejectedRequests.increment();
+            return false;
+        }
+
+        public void exit() {
+            requests.release();
+        }
+
+        public Semaphore connections() {
+            return connections;
+        }
+
+        public Limits limits() {
+            return limits;
+        }
+
+        public void connectionRejected() {
+            rejectedConnections.increment();
+        }
+    }
+}
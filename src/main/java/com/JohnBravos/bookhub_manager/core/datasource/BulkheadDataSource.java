@@ -0,0 +1,67 @@
+package com.JohnBravos.bookhub_manager.core.datasource;
+
+import com.JohnBravos.bookhub_manager.core.bulkhead.BulkheadContext;
+import com.JohnBravos.bookhub_manager.core.bulkhead.BulkheadRegistry;
+import com.JohnBravos.bookhub_manager.core.enums.BulkheadType;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Χωρίζει το pool σε partitions: ένα request μέσα σε bulkhead παίρνει connection μόνο αν το
+ * bulkhead του δεν έχει ήδη εξαντλήσει το μερίδιό του ({@code bulkhead.<name>.connections}).
+ * Έτσι τα reports δεν μπορούν να κρατήσουν όλα τα connections του Hikari. Εκτός bulkhead
+ * (jobs, startup) περνά κατευθείαν στο pool.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    private final Supplier<BulkheadRegistry> registry;
+
+    public BulkheadDataSource(DataSource target, Supplier<BulkheadRegistry> registry) {
+        super(target);
+        this.registry = registry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return partitioned(super::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return partitioned(() -> super.getConnection(username, password));
+    }
+
+    private Connection partitioned(ConnectionSource source) throws SQLException {
+        BulkheadType type = BulkheadContext.current();
+        if (type == null) {
+            return source.get();
+        }
+
+        BulkheadRegistry.Compartment compartment = registry.get().get(type);
+        Semaphore permits = compartment.connections();
+        try {
+            ConnectionLimitingDataSource.acquire(permits, compartment.limits().connectionWaitMs(),
+                    type.key() + " partition of " + compartment.limits().connections() + " connections");
+        } catch (SQLException e) {
+            compartment.connectionRejected();
+            throw e;
+        }
+
+        try {
+            return ConnectionLimitingDataSource.releasingOnClose(source.get(), permits);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.JohnBravos.bookhub_manager.core.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Στέλνει τα readOnly transactions στο replica και όλα τα υπόλοιπα στο primary.
+ * Πρέπει να τυλίγεται σε LazyConnectionDataSourceProxy, ώστε το connection να ζητείται
+ * αφού ο transaction manager έχει ορίσει το readOnly flag.
+ * Ένας χρήστης που μόλις έκανε write διαβάζει από το primary (βλ. {@link ReadYourWritesTracker}).
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final String WRITE_TRACKED = ReadWriteRoutingDataSource.class.getName() + ".writeTracked";
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        // Εκτός transaction (startup, migrations, open-in-view lazy loads) -> primary
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY;
+        }
+
+        String principal = currentPrincipal();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite(principal);
+            return Route.PRIMARY;
+        }
+        if (principal != null && tracker.wroteRecently(principal)) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    // Το write μετράει μόνο αν γίνει commit, μία φορά ανά transaction
+    private void trackWrite(String principal) {
+        if (principal == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_TRACKED)) {
+            return;
+        }
+
+        TransactionSynchronizationManager.bindResource(WRITE_TRACKED, principal);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tracker.recordWrite(principal);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_TRACKED);
+            }
+        });
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
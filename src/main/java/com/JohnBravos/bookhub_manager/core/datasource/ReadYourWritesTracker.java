@@ -0,0 +1,41 @@
+package com.JohnBravos.bookhub_manager.core.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Θυμάται πότε έκανε commit κάποιο write κάθε χρήστης. Για όσο διαρκεί το window (≥ το αναμενόμενο
+ * replica lag) τα reads του ίδιου χρήστη πάνε στο primary, ώστε να βλέπει πάντα τις δικές του αλλαγές.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite(String principal) {
+        long now = System.nanoTime();
+        if (lastWrites.size() >= MAX_ENTRIES) {
+            lastWrites.values().removeIf(at -> now - at >= windowNanos);
+        }
+        lastWrites.put(principal, now);
+    }
+
+    public boolean wroteRecently(String principal) {
+        Long at = lastWrites.get(principal);
+        if (at == null) {
+            return false;
+        }
+        if (System.nanoTime() - at < windowNanos) {
+            return true;
+        }
+        lastWrites.remove(principal, at);
+        return false;
+    }
+}
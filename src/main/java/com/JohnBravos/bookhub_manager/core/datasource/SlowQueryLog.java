@@ -0,0 +1,180 @@
+package com.JohnBravos.bookhub_manager.core.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Στατιστικά ανά {@link SqlFingerprint} για κάθε statement που περνά από το
+ * {@link StatementStatsDataSource}: πλήθος, συνολικός / μέγιστος χρόνος και p99.
+ * <p>
+ * Lock-free: ConcurrentHashMap με LongAdder / AtomicLong counters και ένα log-linear histogram
+ * (AtomicLongArray) ανά fingerprint, ώστε το record να μη συγχρονίζει τα threads μεταξύ τους.
+ * Όσα ξεπερνούν το {@code sql.slow-query.threshold-ms} γράφονται και στον logger
+ * {@code bookhub.slowquery}, με το fingerprint και τη μέθοδο της εφαρμογής που τα εκτέλεσε.
+ */
+@Slf4j(topic = "bookhub.slowquery")
+public class SlowQueryLog {
+
+    public record QueryStats(String fingerprint, long count, long slowCount, double totalMs, double meanMs,
+                             double maxMs, double p99Ms, String lastSlowCaller, Instant lastSlowAt) {}
+
+    // Ό,τι δεν χωράει στον πίνακα (max-fingerprints) μετράει εδώ
+    static final String OTHER = "<other>";
+
+    private static final String APP_PACKAGE = "com.JohnBravos.bookhub_manager.";
+    // Τα frames της ίδιας της instrumentation δεν είναι caller
+    private static final List<String> OWN_CLASSES =
+            List.of(SlowQueryLog.class.getName(), StatementStatsDataSource.class.getName());
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Cache<String, String> fingerprints;
+    private final long thresholdNanos;
+    private final int maxFingerprints;
+
+    public SlowQueryLog(Duration threshold, int maxFingerprints) {
+        this.thresholdNanos = threshold.toNanos();
+        this.maxFingerprints = maxFingerprints;
+        // Τα prepared statements επαναλαμβάνουν το ίδιο SQL: η κανονικοποίηση γίνεται μία φορά
+        this.fingerprints = Caffeine.newBuilder().maximumSize(10_000).build();
+    }
+
+    public void record(String sql, long nanos) {
+        String fingerprint = sql == null ? OTHER : fingerprints.get(sql, SqlFingerprint::of);
+        Entry entry = entries.get(fingerprint);
+        if (entry == null) {
+            entry = entries.size() < maxFingerprints
+                    ? entries.computeIfAbsent(fingerprint, key -> new Entry())
+                    : entries.computeIfAbsent(OTHER, key -> new Entry());
+        }
+        entry.record(nanos);
+
+        if (nanos >= thresholdNanos) {
+            String caller = caller();
+            entry.slow(caller);
+            log.warn("Slow query ({} ms) from {}: {}", TimeUnit.NANOSECONDS.toMillis(nanos), caller, fingerprint);
+        }
+    }
+
+    // Οι πιο ακριβές queries, ταξινομημένες με τον comparator (π.χ. συνολικός χρόνος)
+    public List<QueryStats> top(int limit, Comparator<QueryStats> order) {
+        return entries.entrySet().stream()
+                .map(e -> e.getValue().snapshot(e.getKey()))
+                .sorted(order)
+                .limit(limit)
+                .toList();
+    }
+
+    public void reset() {
+        entries.clear();
+    }
+
+    // Η πρώτη μέθοδος της εφαρμογής στο stack (service / repository), μόνο για τα αργά queries
+    private static String caller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(APP_PACKAGE)
+                        && !isOwnClass(f.getClassName()))
+                .findFirst()
+                .map(f -> f.getClassName().substring(APP_PACKAGE.length()) + "." + f.getMethodName())
+                .orElse("unknown"));
+    }
+
+    // Ακριβές όνομα ή nested class (proxies / lambdas του StatementStatsDataSource), όχι απλό prefix
+    private static boolean isOwnClass(String className) {
+        return OWN_CLASSES.stream().anyMatch(own -> className.equals(own) || className.startsWith(own + "$"));
+    }
+
+    /**
+     * Counters ενός fingerprint. Το histogram έχει 4 sub-buckets ανά δύναμη του 2 μικροδευτερολέπτων
+     * (~19% σχετικό σφάλμα στο p99), από 1 µs μέχρι μερικές ώρες.
+     */
+    static final class Entry {
+
+        private static final int SUB_BUCKET_BITS = 2;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int MAX_EXPONENT = 32;
+        static final int BUCKETS = (MAX_EXPONENT + 1) * SUB_BUCKETS;
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder slowCount = new LongAdder();
+        private final AtomicReference<String> lastSlowCaller = new AtomicReference<>();
+        private volatile Instant lastSlowAt;
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            buckets.incrementAndGet(indexOf(TimeUnit.NANOSECONDS.toMicros(nanos)));
+        }
+
+        void slow(String caller) {
+            slowCount.increment();
+            lastSlowCaller.set(caller);
+            lastSlowAt = Instant.now();
+        }
+
+        QueryStats snapshot(String fingerprint) {
+            long n = count.sum();
+            double totalMs = totalNanos.sum() / 1_000_000.0;
+            return new QueryStats(fingerprint, n, slowCount.sum(), totalMs, n == 0 ? 0 : totalMs / n,
+                    maxNanos.get() / 1_000_000.0, percentileMicros(0.99) / 1000.0,
+                    lastSlowCaller.get(), lastSlowAt);
+        }
+
+        // Άνω όριο του bucket όπου πέφτει το percentile
+        long percentileMicros(double percentile) {
+            long[] snapshot = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = buckets.get(i);
+                total += snapshot[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return upperBound(i);
+                }
+            }
+            return upperBound(BUCKETS - 1);
+        }
+
+        static int indexOf(long micros) {
+            if (micros < SUB_BUCKETS) {
+                return (int) Math.max(0, micros);
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(micros);
+            int sub = (int) ((micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+            return Math.min(BUCKETS - 1, (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub);
+        }
+
+        static long upperBound(int index) {
+            if (index < SUB_BUCKETS) {
+                return index + 1;
+            }
+            int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            int sub = index % SUB_BUCKETS;
+            long width = 1L << (exponent - SUB_BUCKET_BITS);
+            return (1L << exponent) + (sub + 1) * width;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.JohnBravos.bookhub_manager.core.datasource;
+
+import java.util.regex.Pattern;
+
+/**
+ * Κανονικοποιεί ένα SQL ώστε όλες οι εκτελέσεις του ίδιου query να έχουν το ίδιο fingerprint:
+ * literals (strings, αριθμοί) γίνονται {@code ?}, οι λίστες του IN γίνονται {@code (?+)},
+ * σχόλια και πολλαπλά κενά φεύγουν. Τα bind parameters δεν εμφανίζονται ποτέ.
+ */
+public final class SqlFingerprint {
+
+    static final int MAX_LENGTH = 2000;
+
+    private static final Pattern COMMENTS = Pattern.compile("/\\*.*?\\*/|--[^\\n]*", Pattern.DOTALL);
+    private static final Pattern STRINGS = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBERS = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LISTS = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern VALUES_ROWS = Pattern.compile("(\\(\\?\\+\\))(?:\\s*,\\s*\\(\\?\\+\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        if (sql == null) {
+            return "<unknown>";
+        }
+        String normalized = COMMENTS.matcher(sql).replaceAll(" ");
+        normalized = STRINGS.matcher(normalized).replaceAll("?");
+        normalized = NUMBERS.matcher(normalized).replaceAll("?");
+        normalized = IN_LISTS.matcher(normalized).replaceAll("(?+)");
+        // Multi-row INSERT ... VALUES (...), (...) -> ένα row
+        normalized = VALUES_ROWS.matcher(normalized).replaceAll("$1");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return normalized.length() > MAX_LENGTH ? normalized.substring(0, MAX_LENGTH) + "..." : normalized;
+    }
+}
@@ -0,0 +1,111 @@
+package com.JohnBravos.bookhub_manager.core.datasource;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JDBC statements, rows και χρόνος βάσης ενός HTTP request. Γεμίζει από το
+ * {@link StatementStatsDataSource} όσο είναι bound στο thread (βλ. {@code SqlStatsFilter}).
+ * Thread-safe, ώστε να μοιράζεται και με τα tasks ενός fan-out ({@link #propagate}).
+ */
+public class SqlRequestStats {
+
+    public record RepeatedStatement(String sql, int count) {}
+
+    // Όριο διαφορετικών SQL ανά request - πάνω από αυτό μετράνε μόνο τα totals
+    private static final int MAX_DISTINCT_STATEMENTS = 256;
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final LongAdder rows = new LongAdder();
+    private final AtomicLong dbNanos = new AtomicLong();
+    private final Map<String, AtomicInteger> executionsBySql = new ConcurrentHashMap<>();
+
+    // ========== BINDING ==========
+
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    public static SqlRequestStats bind() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    // Τα statements του task μετράνε στο request που το ξεκίνησε
+    public static Runnable propagate(Runnable task) {
+        SqlRequestStats stats = CURRENT.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            SqlRequestStats previous = CURRENT.get();
+            CURRENT.set(stats);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    // ========== RECORDING ==========
+
+    void statementExecuted(String sql, long nanos) {
+        statements.incrementAndGet();
+        dbNanos.addAndGet(nanos);
+        if (sql != null && (executionsBySql.size() < MAX_DISTINCT_STATEMENTS || executionsBySql.containsKey(sql))) {
+            executionsBySql.computeIfAbsent(sql, key -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    void rowFetched() {
+        rows.increment();
+    }
+
+    // ========== READ ==========
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getDbTimeNanos() {
+        return dbNanos.get();
+    }
+
+    public long getDbTimeMs() {
+        return TimeUnit.NANOSECONDS.toMillis(dbNanos.get());
+    }
+
+    /**
+     * Ίδιο SQL εκτελεσμένο τουλάχιστον {@code threshold} φορές στο ίδιο request - το τυπικό
+     * αποτύπωμα ενός N+1 (ένα query ανά γραμμή του προηγούμενου), με το πιο συχνό πρώτο.
+     */
+    public List<RepeatedStatement> repeatedStatements(int threshold) {
+        return executionsBySql.entrySet().stream()
+                .filter(entry -> entry.getValue().get() >= threshold)
+                .map(entry -> new RepeatedStatement(entry.getKey(), entry.getValue().get()))
+                .sorted(Comparator.comparingInt(RepeatedStatement::count).reversed())
+                .toList();
+    }
+}
@@ -0,0 +1,114 @@
+package com.JohnBravos.bookhub_manager.core.datasource;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static com.JohnBravos.bookhub_manager.core.datasource.ConnectionLimitingDataSource.invoke;
+
+/**
+ * Μετρά κάθε JDBC statement (Hibernate και JdbcTemplate), τον χρόνο εκτέλεσής του και τις γραμμές
+ * που διαβάστηκαν, στο {@link SqlRequestStats} του τρέχοντος request, και δίνει τον χρόνο κάθε
+ * statement στο {@link SlowQueryLog} (αν υπάρχει). Χωρίς τίποτα από τα δύο το connection
+ * επιστρέφεται όπως είναι, χωρίς proxies.
+ * <p>
+ * Ένα executeBatch μετρά ως ένα statement (ένα round trip). Οι γραμμές μετρώνται μόνο μέσα σε request.
+ */
+public class StatementStatsDataSource extends DelegatingDataSource {
+
+    private final SlowQueryLog slowQueryLog;
+
+    public StatementStatsDataSource(DataSource target, SlowQueryLog slowQueryLog) {
+        super(target);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return tracked(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return tracked(super.getConnection(username, password));
+    }
+
+    private Connection tracked(Connection target) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats == null && slowQueryLog == null) {
+            return target;
+        }
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "getTargetConnection" -> target;
+                    case "createStatement" -> statement(Statement.class, (Statement) invoke(target, method, args),
+                            null, stats);
+                    case "prepareStatement" -> statement(PreparedStatement.class, (Statement) invoke(target, method, args),
+                            (String) args[0], stats);
+                    case "prepareCall" -> statement(CallableStatement.class, (Statement) invoke(target, method, args),
+                            (String) args[0], stats);
+                    default -> invoke(target, method, args);
+                });
+    }
+
+    private Statement statement(Class<? extends Statement> type, Statement target, String preparedSql,
+                                       SqlRequestStats stats) {
+        return (Statement) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (name.equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (name.startsWith("execute")) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                        long started = System.nanoTime();
+                        try {
+                            Object result = invoke(target, method, args);
+                            return result instanceof ResultSet resultSet && stats != null
+                                    ? resultSet(resultSet, stats)
+                                    : result;
+                        } finally {
+                            executed(stats, sql, System.nanoTime() - started);
+                        }
+                    }
+                    Object result = invoke(target, method, args);
+                    return name.equals("getResultSet") && result instanceof ResultSet resultSet && stats != null
+                            ? resultSet(resultSet, stats)
+                            : result;
+                });
+    }
+
+    private void executed(SqlRequestStats stats, String sql, long nanos) {
+        if (stats != null) {
+            stats.statementExecuted(sql, nanos);
+        }
+        if (slowQueryLog != null) {
+            slowQueryLog.record(sql, nanos);
+        }
+    }
+
+    private static ResultSet resultSet(ResultSet target, SqlRequestStats stats) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                        stats.rowFetched();
+                    }
+                    return result;
+                });
+    }
+}
@@ -0,0 +1,14 @@
+package com.JohnBravos.bookhub_manager.core.enums;
+
+import java.util.Locale;
+
+public enum BulkheadType {
+    CIRCULATION,
+    CATALOG,
+    REPORTING;
+
+    // Όνομα στα properties και στα metric tags (bulkhead.reporting.*)
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,6 @@
+package com.JohnBravos.bookhub_manager.core.enums;
+
+public enum DurationMetric {
+    LOAN_DURATION,      // Ημέρες από το loanDate μέχρι την επιστροφή
+    RESERVATION_WAIT    // Ημέρες από το reservationDate μέχρι το fulfilment
+}
@@ -0,0 +1,6 @@
+package com.JohnBravos.bookhub_manager.core.enums;
+
+public enum ImportFormat {
+    CSV,
+    MARC
+}
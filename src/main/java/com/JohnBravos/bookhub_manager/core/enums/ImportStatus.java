@@ -0,0 +1,8 @@
+package com.JohnBravos.bookhub_manager.core.enums;
+
+public enum ImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -4,8 +4,12 @@ import com.JohnBravos.bookhub_manager.core.exceptions.custom.*;
 import com.JohnBravos.bookhub_manager.dto.Response.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.coyote.BadRequestException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -54,6 +58,12 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex, HttpStatus.NOT_FOUND, request);
     }
 
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<ApiError> handleImportJobNotFound(ImportJobNotFoundException ex, WebRequest request) {
+        log.warn("Import job not found: {}", ex.getMessage());
+        return buildErrorResponse(ex, HttpStatus.NOT_FOUND, request);
+    }
+
     @ExceptionHandler(ReservationNotAllowedException.class)
     public ResponseEntity<ApiError> handleReservationNotAllowed(ReservationNotAllowedException ex, WebRequest request) {
         log.warn("Reservation not allowed: {}", ex.getMessage());
@@ -165,6 +175,35 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage()));
     }
 
+    // Δεν βρέθηκε connection εγκαίρως (connection limiter / pool) - ο client μπορεί να ξαναδοκιμάσει
+
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class,
+            TransientDataAccessResourceException.class})
+    public ResponseEntity<ApiError> handleDatabaseUnavailable(Exception ex, WebRequest request) {
+        log.warn("Database connection unavailable: {}", ex.getMessage());
+
+        ApiError apiError = new ApiError(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "The service is busy. Please try again shortly.",
+                "SERVICE_UNAVAILABLE",
+                LocalDateTime.now()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(apiError);
+    }
+
+    // Γεμάτο bulkhead - τα υπόλοιπα endpoints εξακολουθούν να εξυπηρετούνται
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ApiError> handleBulkheadFull(BulkheadFullException ex, WebRequest request) {
+        log.warn("Bulkhead full: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(buildErrorResponse(ex, HttpStatus.SERVICE_UNAVAILABLE, request).getBody());
+    }
+
     // Global exception handler
 
     @ExceptionHandler(Exception.class)
@@ -0,0 +1,13 @@
+package com.JohnBravos.bookhub_manager.core.exceptions.custom;
+
+import com.JohnBravos.bookhub_manager.core.enums.BulkheadType;
+import com.JohnBravos.bookhub_manager.core.exceptions.BaseException;
+import org.springframework.http.HttpStatus;
+
+public class BulkheadFullException extends BaseException {
+
+    public BulkheadFullException(BulkheadType type) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "BULKHEAD_FULL",
+                "Too many concurrent " + type.key() + " requests. Please try again shortly.");
+    }
+}
@@ -0,0 +1,13 @@
+package com.JohnBravos.bookhub_manager.core.exceptions.custom;
+
+import com.JohnBravos.bookhub_manager.core.exceptions.BaseException;
+import org.springframework.http.HttpStatus;
+
+public class ImportJobNotFoundException extends BaseException
+{
+    public ImportJobNotFoundException(String jobId)
+    {
+        super(HttpStatus.NOT_FOUND, "IMPORT_JOB_NOT_FOUND",
+                "Import job not found with ID: " + jobId);
+    }
+}
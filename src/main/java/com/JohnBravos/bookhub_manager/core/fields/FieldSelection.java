@@ -0,0 +1,83 @@
+package com.JohnBravos.bookhub_manager.core.fields;
+
+import com.JohnBravos.bookhub_manager.core.exceptions.custom.BadRequestException;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Τα πεδία που ζήτησε ο client με {@code fields=id,dueDate,book.title,user.username}.
+ * Το {@code id} περιλαμβάνεται πάντα. Ένα group (book, user) επεκτείνεται σε όλα τα πεδία του.
+ */
+public final class FieldSelection {
+
+    private final SparseResource resource;
+    private final Set<String> fields;
+
+    private FieldSelection(SparseResource resource, Set<String> fields) {
+        this.resource = resource;
+        this.fields = fields;
+    }
+
+    public static FieldSelection parse(SparseResource resource, String raw) {
+        Set<String> requested = new LinkedHashSet<>();
+        requested.add("id");
+
+        if (raw != null) {
+            for (String token : raw.split(",")) {
+                String field = token.trim();
+                if (field.isEmpty()) {
+                    continue;
+                }
+                if (SparseResource.GROUPS.contains(field) && resource.fields().contains(field + ".id")) {
+                    resource.fields().stream()
+                            .filter(f -> f.startsWith(field + "."))
+                            .forEach(requested::add);
+                } else if (resource.fields().contains(field)) {
+                    requested.add(field);
+                } else {
+                    throw new BadRequestException("Unknown field '" + field + "' for " + resource.label()
+                            + ". Allowed: " + String.join(", ", resource.fields()));
+                }
+            }
+        }
+
+        // Σειρά όπως στο πλήρες response, ανεξάρτητα από τη σειρά στο query string
+        Set<String> ordered = new LinkedHashSet<>();
+        for (String field : resource.fields()) {
+            if (requested.contains(field)) {
+                ordered.add(field);
+            }
+        }
+        return new FieldSelection(resource, ordered);
+    }
+
+    public SparseResource resource() {
+        return resource;
+    }
+
+    public Set<String> fields() {
+        return fields;
+    }
+
+    public boolean contains(String field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * Τα columns που πρέπει να φέρει το query: τα ζητούμενα μη-derived πεδία
+     * και όσα χρειάζονται για τον υπολογισμό των derived.
+     */
+    public List<String> columns() {
+        Set<String> columns = new LinkedHashSet<>();
+        for (String field : fields) {
+            if (resource.isDerived(field)) {
+                columns.addAll(resource.dependencies(field));
+            } else {
+                columns.add(field);
+            }
+        }
+        return List.copyOf(columns);
+    }
+}
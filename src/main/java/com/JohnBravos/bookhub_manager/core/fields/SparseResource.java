@@ -0,0 +1,112 @@
+package com.JohnBravos.bookhub_manager.core.fields;
+
+import com.JohnBravos.bookhub_manager.core.exceptions.custom.BadRequestException;
+import com.JohnBravos.bookhub_manager.core.utils.SortParams;
+import com.JohnBravos.bookhub_manager.model.Book;
+import com.JohnBravos.bookhub_manager.model.Loan;
+import com.JohnBravos.bookhub_manager.model.Reservation;
+import com.JohnBravos.bookhub_manager.model.User;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Τα πεδία που μπορεί να ζητήσει ένας client με {@code fields=} ανά resource.
+ * Κάθε πεδίο είναι το path του attribute στο entity (π.χ. book.title), εκτός από τα derived
+ * (authors, isOverdue, daysOverdue) που υπολογίζονται μετά το query.
+ */
+public enum SparseResource {
+    BOOK("books", Book.class, bookFields("")),
+    USER("users", User.class, userFields("")),
+    LOAN("loans", Loan.class, concat(
+            List.of("id", "loanDate", "dueDate", "returnDate", "status", "isOverdue", "daysOverdue"),
+            bookFields("book."), userFields("user."))),
+    RESERVATION("reservations", Reservation.class, concat(
+            List.of("id", "reservationDate", "expiryDate", "status"),
+            bookFields("book."), userFields("user.")));
+
+    // Nested objects που μπορούν να ζητηθούν ολόκληρα (fields=book)
+    public static final Set<String> GROUPS = Set.of("book", "user");
+
+    private final String label;
+    private final Class<?> entityClass;
+    private final List<String> fields;
+
+    SparseResource(String label, Class<?> entityClass, List<String> fields) {
+        this.label = label;
+        this.entityClass = entityClass;
+        this.fields = fields;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public Class<?> entityClass() {
+        return entityClass;
+    }
+
+    // Όλα τα πεδία με τη σειρά του πλήρους response
+    public List<String> fields() {
+        return fields;
+    }
+
+    public boolean isDerived(String field) {
+        return field.endsWith("authors") || field.equals("isOverdue") || field.equals("daysOverdue");
+    }
+
+    // Το sort parameter, μόνο σε πεδία του whitelist που υπάρχουν ως columns (όχι derived)
+    public Sort sort(String raw) {
+        Sort sort = SortParams.parse(raw);
+        for (Sort.Order order : sort) {
+            if (!fields.contains(order.getProperty()) || isDerived(order.getProperty())) {
+                throw new BadRequestException("Cannot sort " + label + " by '" + order.getProperty() + "'");
+            }
+        }
+        return sort;
+    }
+
+    // Columns που χρειάζεται ένα derived πεδίο για να υπολογιστεί
+    public List<String> dependencies(String field) {
+        if (field.equals("authors")) {
+            return List.of("id");
+        }
+        if (field.equals("book.authors")) {
+            return List.of("book.id");
+        }
+        if (field.equals("isOverdue") || field.equals("daysOverdue")) {
+            return List.of("dueDate", "status");
+        }
+        return List.of();
+    }
+
+    private static List<String> bookFields(String prefix) {
+        return prefixed(prefix, "id", "title", "isbn", "publisher", "publicationYear", "genre", "description",
+                "totalCopies", "availableCopies", "status", "authors", "createdAt", "updatedAt");
+    }
+
+    private static List<String> userFields(String prefix) {
+        return prefixed(prefix, "id", "firstName", "lastName", "username", "email", "phoneNumber",
+                "role", "status", "createdAt", "updatedAt");
+    }
+
+    private static List<String> prefixed(String prefix, String... names) {
+        List<String> result = new ArrayList<>(names.length);
+        for (String name : names) {
+            result.add(prefix + name);
+        }
+        return result;
+    }
+
+    @SafeVarargs
+    private static List<String> concat(List<String>... parts) {
+        List<String> result = new ArrayList<>();
+        for (List<String> part : parts) {
+            result.addAll(part);
+        }
+        return List.copyOf(result);
+    }
+}
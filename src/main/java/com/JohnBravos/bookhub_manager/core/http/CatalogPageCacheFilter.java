@@ -0,0 +1,168 @@
+package com.JohnBravos.bookhub_manager.core.http;
+
+import com.JohnBravos.bookhub_manager.service.cache.CatalogPageCache;
+import com.JohnBravos.bookhub_manager.service.cache.CatalogPageCache.CachedPage;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response cache για τις hot σελίδες του καταλόγου: {@code GET /books} (πρώτες σελίδες, ταξινόμηση
+ * από {@code catalog.page-cache.sort-fields}) και {@code GET /books/available}.
+ * <p>
+ * Σε hit γράφονται αυτούσια τα bytes (gzip όταν ο client το δέχεται), χωρίς controller, Hibernate ή
+ * Jackson. Σε miss το response του controller αποθηκεύεται μαζί με τα ETag / Cache-Control του
+ * (βλ. {@link ConditionalGet}). Τρέχει μετά το security filter, οπότε τα CORS headers υπάρχουν ήδη.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogPageCacheFilter extends OncePerRequestFilter {
+
+    private static final Set<String> PAGE_PARAMS = Set.of("page", "size", "sort");
+
+    private final CatalogPageCache pageCache;
+
+    @Value("${catalog.page-cache.enabled:true}")
+    private boolean enabled;
+
+    // Σελίδες 0 .. max-pages-1
+    @Value("${catalog.page-cache.max-pages:5}")
+    private int maxPages;
+
+    @Value("${catalog.page-cache.max-page-size:50}")
+    private int maxPageSize;
+
+    @Value("${catalog.page-cache.sort-fields:title}")
+    private Set<String> sortFields;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String key = cacheKey(request);
+        if (key == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        CachedPage page = pageCache.get(key);
+        if (page != null) {
+            write(request, response, page);
+            return;
+        }
+
+        long generation = pageCache.generation();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK) {
+            byte[] body = wrapper.getContentAsByteArray();
+            pageCache.put(key, generation, new CachedPage(body, gzip(body), wrapper.getContentType(),
+                    wrapper.getHeader(HttpHeaders.ETAG), wrapper.getHeader(HttpHeaders.CACHE_CONTROL)));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Κανονικοποιημένο key (defaults του BookController, sort σε πεζά με κατεύθυνση) ή null όταν
+     * το request δεν είναι hot σελίδα. Μη έγκυρες παράμετροι πάνε στον controller για το 400.
+     */
+    String cacheKey(HttpServletRequest request) {
+        String path = request.getServletPath();
+        if ("/books/available".equals(path)) {
+            return request.getParameterMap().isEmpty() ? "available" : null;
+        }
+        if (!"/books".equals(path) || !PAGE_PARAMS.containsAll(request.getParameterMap().keySet())) {
+            return null;
+        }
+
+        try {
+            int page = intParam(request, "page", 0);
+            int size = intParam(request, "size", 10);
+            if (page < 0 || page >= maxPages || size < 1 || size > maxPageSize) {
+                return null;
+            }
+
+            String sort = request.getParameter("sort");
+            String[] parts = (sort == null ? "id,asc" : sort).split(",");
+            if (parts.length > 2 || !sortFields.contains(parts[0])) {
+                return null;
+            }
+            String direction = parts.length > 1 ? parts[1].toLowerCase() : "asc";
+            if (!direction.equals("asc") && !direction.equals("desc")) {
+                return null;
+            }
+            return "books:" + page + ":" + size + ":" + parts[0] + "," + direction;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void write(HttpServletRequest request, HttpServletResponse response, CachedPage page) throws IOException {
+        if (page.cacheControl() != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, page.cacheControl());
+        }
+        if (page.etag() != null && new ServletWebRequest(request, response).checkNotModified(page.etag())) {
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(page.contentType());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        byte[] body = page.body();
+        if (acceptsGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = page.gzipped();
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    // "gzip", "gzip;q=0.8" - όχι όμως "gzip;q=0"
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        Enumeration<String> values = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (values.hasMoreElements()) {
+            for (String token : values.nextElement().split(",")) {
+                String[] parts = token.trim().split(";");
+                if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                    return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int intParam(HttpServletRequest request, String name, int defaultValue) {
+        String value = request.getParameter(name);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(body);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,81 @@
+package com.JohnBravos.bookhub_manager.core.http;
+
+import com.JohnBravos.bookhub_manager.service.cache.CatalogVersions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET για τα endpoints καταλόγου. Το ETag υπολογίζεται πρώτο, οπότε ένα
+ * {@code If-None-Match} που ταιριάζει απαντάται με 304 χωρίς να εκτελεστεί το service
+ * (ούτε queries ούτε serialization). Τα /books είναι public και μπορούν να μείνουν στο CDN,
+ * τα /authors απαιτούν authentication και κρατιούνται μόνο από τον browser.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGet {
+
+    private final CatalogVersions catalogVersions;
+
+    @Value("${http.cache.catalog.max-age-seconds:5}")
+    private long catalogMaxAge;
+
+    @Value("${http.cache.catalog.shared-max-age-seconds:30}")
+    private long catalogSharedMaxAge;
+
+    @Value("${http.cache.book.max-age-seconds:15}")
+    private long bookMaxAge;
+
+    @Value("${http.cache.book.shared-max-age-seconds:60}")
+    private long bookSharedMaxAge;
+
+    @Value("${http.cache.author.max-age-seconds:60}")
+    private long authorMaxAge;
+
+    // Λίστες βιβλίων (σελίδες, αναζήτηση, ανά genre/author)
+    public <T> ResponseEntity<T> catalog(WebRequest request, Supplier<T> body) {
+        return respond(request, catalogVersions.catalogTag(), shared(catalogMaxAge, catalogSharedMaxAge), body);
+    }
+
+    public <T> ResponseEntity<T> book(Long bookId, WebRequest request, Supplier<T> body) {
+        return respond(request, catalogVersions.bookTag(bookId), shared(bookMaxAge, bookSharedMaxAge), body);
+    }
+
+    // Λίστες authors - ίδιο watermark με τον κατάλογο (with-books εξαρτάται και από τα βιβλία)
+    public <T> ResponseEntity<T> authors(WebRequest request, Supplier<T> body) {
+        return respond(request, catalogVersions.catalogTag(), personal(authorMaxAge), body);
+    }
+
+    public <T> ResponseEntity<T> author(Long authorId, WebRequest request, Supplier<T> body) {
+        return respond(request, catalogVersions.authorTag(authorId), personal(authorMaxAge), body);
+    }
+
+    private static <T> ResponseEntity<T> respond(WebRequest request, String etag, CacheControl cacheControl,
+                                                 Supplier<T> body) {
+        // Χωρίς ETag (άγνωστο id) το service δίνει το 404
+        if (etag == null) {
+            return ResponseEntity.ok(body.get());
+        }
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body.get());
+    }
+
+    private static CacheControl shared(long maxAgeSeconds, long sharedMaxAgeSeconds) {
+        return CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds))
+                .sMaxAge(Duration.ofSeconds(sharedMaxAgeSeconds))
+                .cachePublic();
+    }
+
+    private static CacheControl personal(long maxAgeSeconds) {
+        return CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePrivate();
+    }
+}
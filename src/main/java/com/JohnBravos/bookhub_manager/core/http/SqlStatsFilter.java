@@ -0,0 +1,99 @@
+package com.JohnBravos.bookhub_manager.core.http;
+
+import com.JohnBravos.bookhub_manager.config.MetricNames;
+import com.JohnBravos.bookhub_manager.core.datasource.SqlRequestStats;
+import com.JohnBravos.bookhub_manager.core.datasource.SqlRequestStats.RepeatedStatement;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Δένει ένα {@link SqlRequestStats} σε κάθε request και στο τέλος:
+ * <ul>
+ *   <li>γράφει statements / rows / χρόνο βάσης στα metrics, ανά route pattern,</li>
+ *   <li>κάνει warning όταν ξεπεραστεί το {@code sql.stats.statement-budget} ή όταν το ίδιο SQL
+ *   τρέξει {@code sql.stats.repeated-threshold}+ φορές (πιθανό N+1), με το endpoint και το SQL.</li>
+ * </ul>
+ * Τα headers (X-SQL-*) τα προσθέτει το {@link SqlStatsHeaderAdvice}, πριν γραφτεί το body.
+ * Τρέχει πριν από το security filter, ώστε να μετράει και το φόρτωμα του χρήστη.
+ */
+@Slf4j
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+    private final int repeatedThreshold;
+
+    public SqlStatsFilter(MeterRegistry meterRegistry, int statementBudget, int repeatedThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+        this.repeatedThreshold = repeatedThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.bind();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.unbind();
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlRequestStats stats) {
+        if (stats.getStatements() == 0) {
+            return;
+        }
+
+        String method = request.getMethod();
+        String uri = route(request);
+        Tags tags = Tags.of("method", method, "uri", uri);
+
+        DistributionSummary.builder(MetricNames.REQUEST_SQL_STATEMENTS).tags(tags)
+                .description("JDBC statements per HTTP request")
+                .register(meterRegistry).record(stats.getStatements());
+        DistributionSummary.builder(MetricNames.REQUEST_SQL_ROWS).tags(tags)
+                .description("Rows fetched per HTTP request")
+                .register(meterRegistry).record(stats.getRows());
+        Timer.builder(MetricNames.REQUEST_SQL_TIME).tags(tags)
+                .description("Time spent executing JDBC statements per HTTP request")
+                .register(meterRegistry).record(stats.getDbTimeNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getStatements() > statementBudget) {
+            Counter.builder(MetricNames.REQUEST_SQL_BUDGET_EXCEEDED).tags(tags).register(meterRegistry).increment();
+            log.warn("SQL budget exceeded on {} {}: {} statements (budget {}), {} rows, {} ms in the database",
+                    method, uri, stats.getStatements(), statementBudget, stats.getRows(), stats.getDbTimeMs());
+        }
+
+        List<RepeatedStatement> repeated = stats.repeatedStatements(repeatedThreshold);
+        if (!repeated.isEmpty()) {
+            Counter.builder(MetricNames.REQUEST_SQL_REPEATED).tags(tags).register(meterRegistry).increment();
+            RepeatedStatement worst = repeated.get(0);
+            log.warn("Possible N+1 on {} {}: same statement executed {} times ({} repeated statements): {}",
+                    method, uri, worst.count(), repeated.size(), worst.sql());
+        }
+    }
+
+    // Το pattern του handler (/books/{id}), όχι το πραγματικό URI, για low-cardinality tags
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
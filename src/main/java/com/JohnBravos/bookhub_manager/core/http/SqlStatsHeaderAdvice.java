@@ -0,0 +1,43 @@
+package com.JohnBravos.bookhub_manager.core.http;
+
+import com.JohnBravos.bookhub_manager.core.datasource.SqlRequestStats;
+import lombok.NonNull;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * X-SQL-Statements / X-SQL-Rows / X-SQL-Time-Ms στα responses, για να φαίνεται ένα N+1 από το
+ * browser ή τα integration tests. Μόνο εκτός prod ({@code sql.stats.headers.enabled}).
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "sql.stats.headers.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+                            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  @NonNull MethodParameter returnType,
+                                  @NonNull MediaType selectedContentType,
+                                  @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  @NonNull ServerHttpRequest request,
+                                  @NonNull ServerHttpResponse response) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            response.getHeaders().set("X-SQL-Statements", String.valueOf(stats.getStatements()));
+            response.getHeaders().set("X-SQL-Rows", String.valueOf(stats.getRows()));
+            response.getHeaders().set("X-SQL-Time-Ms", String.valueOf(stats.getDbTimeMs()));
+        }
+        return body;
+    }
+}
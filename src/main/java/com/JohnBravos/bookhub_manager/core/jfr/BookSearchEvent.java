@@ -0,0 +1,38 @@
+package com.JohnBravos.bookhub_manager.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("bookhub.BookSearch")
+@Label("Book Search")
+@Category({"BookHub", "Catalog"})
+@Description("BookService.searchBooks")
+public class BookSearchEvent extends BookhubEvent {
+
+    // Αρκετό για να αναγνωρίζεται το query χωρίς να φουσκώνει το recording
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    @Label("Query")
+    private String query;
+
+    @Label("Full Scan")
+    @Description("Κενό query - επιστρέφονται όλα τα βιβλία")
+    private boolean fullScan;
+
+    @Label("Results")
+    private int results;
+
+    public static BookSearchEvent start(String query) {
+        BookSearchEvent event = new BookSearchEvent();
+        event.query = query == null || query.length() <= MAX_QUERY_LENGTH ? query : query.substring(0, MAX_QUERY_LENGTH);
+        event.fullScan = query == null || query.isEmpty();
+        event.begin();
+        return event;
+    }
+
+    public void results(int results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,41 @@
+package com.JohnBravos.bookhub_manager.core.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+import java.util.function.Supplier;
+
+/**
+ * Κοινή βάση των JFR events της εφαρμογής. Χωρίς stack trace, ώστε το always-on recording να
+ * κοστίζει μόνο ένα timestamp και τα πεδία ανά operation. Η διάρκεια είναι αυτή του event
+ * (begin έως commit) και μπαίνει στο recording δίπλα στα GC / lock events του ίδιου thread.
+ */
+@StackTrace(false)
+public abstract class BookhubEvent extends Event {
+
+    // protected: τα private πεδία της superclass δεν καταγράφονται από το JFR
+    @Label("Failure")
+    @Description("Simple name της exception, null όταν το operation πέτυχε")
+    protected String failure;
+
+    public void failed(Throwable e) {
+        failure = e.getClass().getSimpleName();
+    }
+
+    /**
+     * Τρέχει το operation και κάνει commit το event όταν τελειώσει, με το {@link #failure} αν πέταξε.
+     * Το event πρέπει να έχει ξεκινήσει ({@code start(...)}) πριν από την κλήση.
+     */
+    public <T> T record(Supplier<T> operation) {
+        try {
+            return operation.get();
+        } catch (RuntimeException e) {
+            failed(e);
+            throw e;
+        } finally {
+            commit();
+        }
+    }
+}
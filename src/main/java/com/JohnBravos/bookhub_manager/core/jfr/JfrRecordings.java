@@ -0,0 +1,189 @@
+package com.JohnBravos.bookhub_manager.core.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Διαχείριση των JFR recordings της JVM: το continuous recording (bounded σε ηλικία και μέγεθος,
+ * με dump στο shutdown) και ad-hoc recordings που ξεκινούν / σταματούν από το {@code /actuator/jfr}.
+ * Τα ad-hoc recordings έχουν πάντα ανώτατη διάρκεια και μέγεθος, ώστε ένα ξεχασμένο "profile"
+ * recording να μη γεμίζει τον δίσκο. Το stop γράφει στο dump directory ως {@code <name>-<timestamp>.jfr}·
+ * τα snapshots ({@link #snapshot}) δεν μένουν στον δίσκο.
+ */
+@Slf4j
+public class JfrRecordings {
+
+    public static final String CONTINUOUS = "bookhub-continuous";
+
+    // Το όνομα μπαίνει στο όνομα του αρχείου
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final Path dumpDirectory;
+    private final Duration maxDuration;
+    private final long maxSizeBytes;
+
+    public record RecordingInfo(long id, String name, String state, Instant startTime, Duration duration,
+                                Duration maxAge, long maxSizeBytes, long sizeBytes, String destination) {
+
+        static RecordingInfo of(Recording recording) {
+            return new RecordingInfo(recording.getId(), recording.getName(), recording.getState().name(),
+                    recording.getStartTime(), recording.getDuration(), recording.getMaxAge(),
+                    recording.getMaxSize(), recording.getSize(),
+                    recording.getDestination() != null ? recording.getDestination().toString() : null);
+        }
+    }
+
+    public JfrRecordings(Path dumpDirectory, Duration maxDuration, long maxSizeBytes) {
+        this.dumpDirectory = dumpDirectory;
+        this.maxDuration = maxDuration;
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    public static boolean isAvailable() {
+        return FlightRecorder.isAvailable();
+    }
+
+    /**
+     * Ξεκινά το always-on recording. Τα "default" settings της JVM κοστίζουν περίπου 1% και
+     * περιλαμβάνουν GC, safepoints και monitor contention πάνω από 20ms· τα bookhub.* events
+     * είναι enabled από τα annotations τους.
+     */
+    public RecordingInfo startContinuous(String settings, Duration maxAge, long maxSizeBytes) {
+        Recording recording = new Recording(configuration(settings));
+        recording.setName(CONTINUOUS);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSizeBytes);
+        recording.setDumpOnExit(true);
+        try {
+            recording.setDestination(dumpDirectory().resolve(CONTINUOUS + ".jfr"));
+        } catch (IOException e) {
+            recording.close();
+            throw new UncheckedIOException(e);
+        }
+        recording.start();
+        log.info("Started continuous JFR recording (settings '{}', max age {}, max size {} bytes)",
+                settings, maxAge, maxSizeBytes);
+        return RecordingInfo.of(recording);
+    }
+
+    /**
+     * Ad-hoc recording (π.χ. "profile" settings για λίγα λεπτά). Σταματά μόνο του μετά το duration,
+     * που δεν ξεπερνά το max duration (και χωρίς duration είναι αυτό), ή νωρίτερα με το {@link #stop}.
+     * Τα δεδομένα στον δίσκο κρατιούνται μέχρι το max size.
+     */
+    public RecordingInfo start(String name, String settings, Duration duration) {
+        requireValidName(name);
+        if (find(name).isPresent()) {
+            throw new IllegalStateException("JFR recording '" + name + "' already exists");
+        }
+        Recording recording = new Recording(configuration(settings));
+        recording.setName(name);
+        recording.setToDisk(true);
+        Duration bounded = duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration;
+        recording.setDuration(bounded);
+        recording.setMaxAge(bounded);
+        recording.setMaxSize(maxSizeBytes);
+        recording.start();
+        log.info("Started JFR recording '{}' (settings '{}', duration {}, max size {} bytes)",
+                name, settings, bounded, maxSizeBytes);
+        return RecordingInfo.of(recording);
+    }
+
+    // Σταματά και κλείνει το recording, αφού γράψει ό,τι κατέγραψε στο dump directory
+    public Optional<Path> stop(String name) {
+        requireValidName(name);
+        Optional<Recording> recording = find(name);
+        if (recording.isEmpty()) {
+            return Optional.empty();
+        }
+        try (Recording r = recording.get()) {
+            Path file = dump(r);
+            log.info("Stopped JFR recording '{}' -> {}", name, file);
+            return Optional.of(file);
+        }
+    }
+
+    /**
+     * Snapshot του recording (το recording συνεχίζει) για streaming. Γράφεται σε προσωρινό αρχείο,
+     * που σβήνεται όταν κλείσει το stream.
+     */
+    public Optional<InputStream> snapshot(String name) {
+        requireValidName(name);
+        return find(name).map(recording -> {
+            try {
+                Path file = Files.createTempFile(dumpDirectory(), recording.getName() + "-", ".jfr");
+                try {
+                    recording.dump(file);
+                    return Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE);
+                } catch (IOException | RuntimeException e) {
+                    Files.deleteIfExists(file);
+                    throw e;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public List<RecordingInfo> recordings() {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .map(RecordingInfo::of)
+                .toList();
+    }
+
+    private Path dump(Recording recording) {
+        try {
+            Path file = dumpDirectory().resolve(recording.getName() + "-" + FILE_TIMESTAMP.format(Instant.now()) + ".jfr");
+            recording.dump(file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void requireValidName(String name) {
+        if (name == null || !NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid JFR recording name '" + name + "' (letters, digits, '_' and '-')");
+        }
+    }
+
+    private Optional<Recording> find(String name) {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(r -> r.getName().equals(name) && r.getState() != RecordingState.CLOSED)
+                .findFirst();
+    }
+
+    private Path dumpDirectory() throws IOException {
+        return Files.createDirectories(dumpDirectory);
+    }
+
+    private static Configuration configuration(String settings) {
+        try {
+            return Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings '" + settings + "' (default, profile)", e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.JohnBravos.bookhub_manager.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("bookhub.JwtVerify")
+@Label("JWT Verify")
+@Category({"BookHub", "Security"})
+@Description("Authentication ενός Bearer token στο JwtAuthenticationFilter (parse, user load, validate)")
+public class JwtVerifyEvent extends BookhubEvent {
+
+    @Label("Username")
+    private String username;
+
+    // Requests χωρίς Bearer token δεν καταγράφονται
+    private transient boolean token;
+
+    @Label("Valid")
+    private boolean valid;
+
+    public static JwtVerifyEvent start() {
+        JwtVerifyEvent event = new JwtVerifyEvent();
+        event.begin();
+        return event;
+    }
+
+    public void token() {
+        token = true;
+    }
+
+    public void username(String username) {
+        this.username = username;
+    }
+
+    public void valid(boolean valid) {
+        this.valid = valid;
+    }
+
+    public void finish() {
+        if (token) {
+            commit();
+        }
+    }
+}
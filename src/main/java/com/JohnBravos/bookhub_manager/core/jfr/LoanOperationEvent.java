@@ -0,0 +1,57 @@
+package com.JohnBravos.bookhub_manager.core.jfr;
+
+import com.JohnBravos.bookhub_manager.model.Loan;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("bookhub.LoanOperation")
+@Label("Loan Operation")
+@Category({"BookHub", "Circulation"})
+@Description("Create / approve / return ενός loan στο LoanService")
+public class LoanOperationEvent extends BookhubEvent {
+
+    public static final String CREATE = "CREATE";
+    public static final String APPROVE = "APPROVE";
+    public static final String RETURN = "RETURN";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Loan Id")
+    private long loanId;
+
+    @Label("User Id")
+    private long userId;
+
+    @Label("Book Id")
+    private long bookId;
+
+    @Label("Status")
+    @Description("Status του loan μετά το operation")
+    private String status;
+
+    public static LoanOperationEvent start(String operation, Long loanId) {
+        LoanOperationEvent event = new LoanOperationEvent();
+        event.operation = operation;
+        event.loanId = loanId != null ? loanId : 0;
+        event.begin();
+        return event;
+    }
+
+    public void ids(Long userId, Long bookId) {
+        this.userId = userId != null ? userId : 0;
+        this.bookId = bookId != null ? bookId : 0;
+    }
+
+    public void loan(Loan loan) {
+        if (!shouldCommit()) {
+            return;
+        }
+        loanId = loan.getId() != null ? loan.getId() : 0;
+        ids(loan.getUser() != null ? loan.getUser().getId() : null,
+                loan.getBook() != null ? loan.getBook().getId() : null);
+        status = loan.getStatus() != null ? loan.getStatus().name() : null;
+    }
+}
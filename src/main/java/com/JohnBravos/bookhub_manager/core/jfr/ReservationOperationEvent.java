@@ -0,0 +1,64 @@
+package com.JohnBravos.bookhub_manager.core.jfr;
+
+import com.JohnBravos.bookhub_manager.model.Reservation;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("bookhub.ReservationOperation")
+@Label("Reservation Operation")
+@Category({"BookHub", "Circulation"})
+@Description("Create / fulfil ενός reservation στο ReservationService")
+public class ReservationOperationEvent extends BookhubEvent {
+
+    public static final String CREATE = "CREATE";
+    public static final String FULFIL = "FULFIL";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Reservation Id")
+    private long reservationId;
+
+    @Label("User Id")
+    private long userId;
+
+    @Label("Book Id")
+    private long bookId;
+
+    @Label("Queue Position")
+    @Description("Θέση στην ουρά του βιβλίου κατά το create, 0 στα υπόλοιπα operations")
+    private int queuePosition;
+
+    @Label("Status")
+    @Description("Status του reservation μετά το operation")
+    private String status;
+
+    public static ReservationOperationEvent start(String operation, Long reservationId) {
+        ReservationOperationEvent event = new ReservationOperationEvent();
+        event.operation = operation;
+        event.reservationId = reservationId != null ? reservationId : 0;
+        event.begin();
+        return event;
+    }
+
+    public void ids(Long userId, Long bookId) {
+        this.userId = userId != null ? userId : 0;
+        this.bookId = bookId != null ? bookId : 0;
+    }
+
+    public void queuePosition(int queuePosition) {
+        this.queuePosition = queuePosition;
+    }
+
+    public void reservation(Reservation reservation) {
+        if (!shouldCommit()) {
+            return;
+        }
+        reservationId = reservation.getId() != null ? reservation.getId() : 0;
+        ids(reservation.getUser() != null ? reservation.getUser().getId() : null,
+                reservation.getBook() != null ? reservation.getBook().getId() : null);
+        status = reservation.getStatus() != null ? reservation.getStatus().name() : null;
+    }
+}
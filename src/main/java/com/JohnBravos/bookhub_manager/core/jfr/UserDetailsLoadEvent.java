@@ -0,0 +1,23 @@
+package com.JohnBravos.bookhub_manager.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("bookhub.UserDetailsLoad")
+@Label("User Details Load")
+@Category({"BookHub", "Security"})
+@Description("UserDetailsService.loadUserByUsername για ένα authenticated request (failure UsernameNotFoundException όταν δεν βρέθηκε)")
+public class UserDetailsLoadEvent extends BookhubEvent {
+
+    @Label("Username")
+    private String username;
+
+    public static UserDetailsLoadEvent start(String username) {
+        UserDetailsLoadEvent event = new UserDetailsLoadEvent();
+        event.username = username;
+        event.begin();
+        return event;
+    }
+}
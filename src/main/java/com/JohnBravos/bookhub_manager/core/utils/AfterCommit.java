@@ -0,0 +1,28 @@
+package com.JohnBravos.bookhub_manager.core.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Εκτελεί ενέργειες (counters, cache invalidation) μόνο αφού γίνει commit το τρέχον transaction,
+ * ώστε ένα rollback να μην αφήνει in-memory state που δεν αντιστοιχεί στη βάση.
+ * Εκτός transaction η ενέργεια εκτελείται αμέσως.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
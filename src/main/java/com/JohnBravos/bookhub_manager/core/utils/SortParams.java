@@ -0,0 +1,22 @@
+package com.JohnBravos.bookhub_manager.core.utils;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Μετατρέπει το {@code sort} query parameter ("title,asc" ή "createdAt,desc") σε {@link Sort}.
+ * Χωρίς κατεύθυνση (ή με οτιδήποτε άλλο εκτός από desc) η ταξινόμηση είναι αύξουσα.
+ */
+public final class SortParams {
+
+    private SortParams() {
+    }
+
+    public static Sort parse(String sort) {
+        String[] sortParams = sort.split(",");
+        String sortBy = sortParams[0].trim();
+        Sort.Direction direction = sortParams.length > 1 && sortParams[1].trim().equalsIgnoreCase("desc")
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+        return Sort.by(direction, sortBy);
+    }
+}
@@ -17,6 +17,10 @@ public record BookDetailsResponse(
         // Statistics
         int totalTimesBorrowed,
         double averageLoanDuration,
+        double loanDurationP50,
+        double loanDurationP90,
+        double waitDaysP50,
+        double waitDaysP90,
 
         // Related books
         List<BookResponse> sameAuthorBooks,
@@ -0,0 +1,15 @@
+package com.JohnBravos.bookhub_manager.dto.Response;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Builder
+public record CirculationPointResponse(
+        LocalDateTime bucketStart,
+        long loansCreated,
+        long loansReturned,
+        long loansOverdue,
+        long reservationsCreated,
+        Double averageLoanDays
+) {}
@@ -0,0 +1,19 @@
+package com.JohnBravos.bookhub_manager.dto.Response;
+
+import lombok.Builder;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+@Builder
+public record DashboardResponse(
+        DashboardSection<SystemStatsResponse> systemStats,
+        DashboardSection<Object> userStats,
+        DashboardSection<Page<LoanResponse>> activeLoans,
+        DashboardSection<List<LoanResponse>> overdueLoans,
+        DashboardSection<List<ReservationResponse>> expiringReservations,
+        DashboardSection<List<LoanResponse>> recentLoans,
+        // true αν κάποιο τμήμα λείπει (timeout / σφάλμα)
+        boolean partial,
+        long elapsedMs
+) {}
@@ -0,0 +1,28 @@
+package com.JohnBravos.bookhub_manager.dto.Response;
+
+import com.JohnBravos.bookhub_manager.core.enums.DashboardSectionStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Ένα τμήμα του dashboard: τα δεδομένα του ή, αν δεν πρόλαβε / απέτυχε, το status και το error.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DashboardSection<T>(
+        DashboardSectionStatus status,
+        T data,
+        String error,
+        long elapsedMs
+) {
+
+    public static <T> DashboardSection<T> ok(T data, long elapsedMs) {
+        return new DashboardSection<>(DashboardSectionStatus.OK, data, null, elapsedMs);
+    }
+
+    public static <T> DashboardSection<T> unavailable(DashboardSectionStatus status, String error, long elapsedMs) {
+        return new DashboardSection<>(status, null, error, elapsedMs);
+    }
+
+    public boolean isOk() {
+        return status == DashboardSectionStatus.OK;
+    }
+}
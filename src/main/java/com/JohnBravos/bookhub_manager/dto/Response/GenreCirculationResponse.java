@@ -0,0 +1,13 @@
+package com.JohnBravos.bookhub_manager.dto.Response;
+
+import lombok.Builder;
+
+@Builder
+public record GenreCirculationResponse(
+        String genre,
+        long loansCreated,
+        long loansReturned,
+        long loansOverdue,
+        long reservationsCreated,
+        Double averageLoanDays
+) {}
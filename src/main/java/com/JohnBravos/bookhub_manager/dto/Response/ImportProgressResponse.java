@@ -0,0 +1,28 @@
+package com.JohnBravos.bookhub_manager.dto.Response;
+
+import com.JohnBravos.bookhub_manager.core.enums.ImportFormat;
+import com.JohnBravos.bookhub_manager.core.enums.ImportStatus;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Builder
+public record ImportProgressResponse(
+        String jobId,
+        String fileName,
+        ImportFormat format,
+        ImportStatus status,
+        long bytesTotal,
+        long bytesRead,
+        double percent,
+        long recordsRead,
+        long booksImported,
+        long authorsCreated,
+        long duplicates,
+        long invalid,
+        double recordsPerSecond,
+        List<String> errors,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt
+) {}
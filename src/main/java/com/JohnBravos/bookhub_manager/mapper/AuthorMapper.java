@@ -4,6 +4,7 @@ import com.JohnBravos.bookhub_manager.dto.Request.CreateAuthorRequest;
 import com.JohnBravos.bookhub_manager.dto.Request.UpdateAuthorRequest;
 import com.JohnBravos.bookhub_manager.dto.Response.AuthorResponse;
 import com.JohnBravos.bookhub_manager.model.Author;
+import com.JohnBravos.bookhub_manager.repository.projection.AuthorRow;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -53,6 +54,22 @@ public class AuthorMapper {
         );
     }
 
+    /**
+     * Μετατροπή από AuthorRow (projection) -> AuthorResponse
+     */
+    public AuthorResponse toResponse(AuthorRow row) {
+        return new AuthorResponse(
+                row.id(),
+                row.firstName(),
+                row.lastName(),
+                row.nationality(),
+                row.firstName() + " " + row.lastName(),
+                row.biography(),
+                row.createdAt(),
+                row.updatedAt()
+        );
+    }
+
     /**
      * Μετατροπή λίστας Authors -> AuthorResponses
      */
@@ -1,8 +1,10 @@
 package com.JohnBravos.bookhub_manager.mapper;
 
 import com.JohnBravos.bookhub_manager.dto.Request.UpdateBookRequest;
+import com.JohnBravos.bookhub_manager.dto.Response.AuthorResponse;
 import com.JohnBravos.bookhub_manager.dto.Response.BookResponse;
 import com.JohnBravos.bookhub_manager.model.Book;
+import com.JohnBravos.bookhub_manager.repository.projection.BookRow;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -48,6 +50,27 @@ public class BookMapper {
         );
     }
 
+    /**
+     * Μετατροπή από BookRow (projection) -> BookResponse, με τους authors ήδη φορτωμένους
+     */
+    public BookResponse toResponse(BookRow row, List<AuthorResponse> authors) {
+        return new BookResponse(
+                row.id(),
+                row.title(),
+                row.isbn(),
+                row.publisher(),
+                row.publicationYear(),
+                row.genre(),
+                row.description(),
+                row.totalCopies(),
+                row.availableCopies(),
+                row.status(),
+                authors,
+                row.createdAt(),
+                row.updatedAt()
+        );
+    }
+
     /**
      * Ενημέρωση Book από UpdateBookRequest
      */
@@ -1,14 +1,16 @@
 package com.JohnBravos.bookhub_manager.mapper;
 
+import com.JohnBravos.bookhub_manager.core.enums.LoanStatus;
 import com.JohnBravos.bookhub_manager.dto.Request.CreateLoanRequest;
 import com.JohnBravos.bookhub_manager.dto.Request.UpdateLoanRequest;
+import com.JohnBravos.bookhub_manager.dto.Response.BookResponse;
 import com.JohnBravos.bookhub_manager.dto.Response.LoanResponse;
 import com.JohnBravos.bookhub_manager.model.Loan;
+import com.JohnBravos.bookhub_manager.repository.projection.LoanRow;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.chrono.ChronoLocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -52,11 +54,7 @@ public class LoanMapper {
             return null;
         }
 
-        // Calculate overdue status
-        boolean isOverdue = loan.getDueDate().isBefore(ChronoLocalDate.from(LocalDateTime.now()))
-                && loan.getStatus().toString().equals("ACTIVE");
-        int daysOverdue = isOverdue ?
-                (int) java.time.Duration.between(loan.getDueDate(), LocalDateTime.now()).toDays() : 0;
+        int daysOverdue = daysOverdue(loan.getDueDate(), loan.getStatus());
 
         return new LoanResponse(
                 loan.getId(),
@@ -66,11 +64,39 @@ public class LoanMapper {
                 loan.getDueDate(),
                 loan.getReturnDate(),
                 loan.getStatus(),
-                isOverdue,
+                daysOverdue > 0,
                 daysOverdue
         );
     }
 
+    /**
+     * Μετατροπή από LoanRow (projection) -> LoanResponse, με το BookResponse ήδη έτοιμο (authors)
+     */
+    public LoanResponse toResponse(LoanRow row, BookResponse book) {
+        int daysOverdue = daysOverdue(row.dueDate(), row.status());
+
+        return new LoanResponse(
+                row.id(),
+                book,
+                userMapper.toResponse(row.user()),
+                row.loanDate(),
+                row.dueDate(),
+                row.returnDate(),
+                row.status(),
+                daysOverdue > 0,
+                daysOverdue
+        );
+    }
+
+    // Calculate overdue status - ημέρες καθυστέρησης για ACTIVE loans, αλλιώς 0
+    static int daysOverdue(LocalDate dueDate, LoanStatus status) {
+        LocalDate today = LocalDate.now();
+        if (status != LoanStatus.ACTIVE || !dueDate.isBefore(today)) {
+            return 0;
+        }
+        return (int) ChronoUnit.DAYS.between(dueDate, today);
+    }
+
     /**
      * Μετατροπή λίστας Loans -> LoanResponses
      */
@@ -0,0 +1,150 @@
+package com.JohnBravos.bookhub_manager.mapper;
+
+import com.JohnBravos.bookhub_manager.core.enums.LoanStatus;
+import com.JohnBravos.bookhub_manager.core.fields.FieldSelection;
+import com.JohnBravos.bookhub_manager.dto.Response.AuthorResponse;
+import com.JohnBravos.bookhub_manager.dto.Response.BookResponse;
+import com.JohnBravos.bookhub_manager.dto.Response.LoanResponse;
+import com.JohnBravos.bookhub_manager.dto.Response.ReservationResponse;
+import com.JohnBravos.bookhub_manager.repository.BookRepository;
+import com.JohnBravos.bookhub_manager.repository.projection.AuthorRow;
+import com.JohnBravos.bookhub_manager.repository.projection.BookRow;
+import com.JohnBravos.bookhub_manager.repository.projection.LoanRow;
+import com.JohnBravos.bookhub_manager.repository.projection.ReservationRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Συναρμολογεί response records από flat projection rows (BookRow, LoanRow, ReservationRow).
+ * Οι authors όλων των βιβλίων μιας σελίδας φορτώνονται με ένα query, χωρίς managed entities.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectionMapper {
+
+    private final BookRepository bookRepository;
+    private final AuthorMapper authorMapper;
+    private final BookMapper bookMapper;
+    private final LoanMapper loanMapper;
+    private final ReservationMapper reservationMapper;
+
+    // ========== BOOKS ==========
+
+    public List<BookResponse> toBookResponses(List<BookRow> rows) {
+        Map<Long, List<AuthorResponse>> authors = loadAuthors(rows, BookRow::id);
+        return rows.stream()
+                .map(row -> bookMapper.toResponse(row, authors.getOrDefault(row.id(), List.of())))
+                .toList();
+    }
+
+    public Page<BookResponse> toBookResponses(Page<BookRow> page) {
+        return new PageImpl<>(toBookResponses(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    // ========== LOANS ==========
+
+    public List<LoanResponse> toLoanResponses(List<LoanRow> rows) {
+        Map<Long, List<AuthorResponse>> authors = loadAuthors(rows, row -> row.book().id());
+        return rows.stream()
+                .map(row -> loanMapper.toResponse(row,
+                        bookMapper.toResponse(row.book(), authors.getOrDefault(row.book().id(), List.of()))))
+                .toList();
+    }
+
+    public Page<LoanResponse> toLoanResponses(Page<LoanRow> page) {
+        return new PageImpl<>(toLoanResponses(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    // ========== RESERVATIONS ==========
+
+    public List<ReservationResponse> toReservationResponses(List<ReservationRow> rows) {
+        Map<Long, List<AuthorResponse>> authors = loadAuthors(rows, row -> row.book().id());
+        return rows.stream()
+                .map(row -> reservationMapper.toResponse(row,
+                        bookMapper.toResponse(row.book(), authors.getOrDefault(row.book().id(), List.of()))))
+                .toList();
+    }
+
+    public Page<ReservationResponse> toReservationResponses(Page<ReservationRow> page) {
+        return new PageImpl<>(toReservationResponses(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    // ========== SPARSE FIELDSETS ==========
+
+    /**
+     * Flat rows του SparseFieldRepository -> nested maps με μόνο τα ζητούμενα πεδία.
+     * Τα authors φορτώνονται (ένα query) μόνο αν ζητήθηκαν.
+     */
+    public Page<Map<String, Object>> toSparse(Page<Map<String, Object>> rows, FieldSelection selection) {
+        Map<Long, List<AuthorResponse>> authors = Map.of();
+        String authorsField = selection.contains("authors") ? "authors"
+                : selection.contains("book.authors") ? "book.authors" : null;
+        if (authorsField != null) {
+            String idColumn = authorsField.equals("authors") ? "id" : "book.id";
+            authors = loadAuthors(rows.getContent(), row -> (Long) row.get(idColumn));
+        }
+
+        Map<Long, List<AuthorResponse>> bookAuthors = authors;
+        return rows.map(row -> {
+            Map<String, Object> result = new LinkedHashMap<>();
+            for (String field : selection.fields()) {
+                put(result, field, sparseValue(row, field, bookAuthors));
+            }
+            return result;
+        });
+    }
+
+    private static Object sparseValue(Map<String, Object> row, String field, Map<Long, List<AuthorResponse>> authors) {
+        return switch (field) {
+            case "authors" -> authors.getOrDefault((Long) row.get("id"), List.of());
+            case "book.authors" -> authors.getOrDefault((Long) row.get("book.id"), List.of());
+            case "daysOverdue" -> LoanMapper.daysOverdue((LocalDate) row.get("dueDate"), (LoanStatus) row.get("status"));
+            case "isOverdue" -> LoanMapper.daysOverdue((LocalDate) row.get("dueDate"), (LoanStatus) row.get("status")) > 0;
+            default -> row.get(field);
+        };
+    }
+
+    // book.title -> {"book": {"title": ...}}
+    @SuppressWarnings("unchecked")
+    private static void put(Map<String, Object> target, String field, Object value) {
+        int dot = field.indexOf('.');
+        if (dot < 0) {
+            target.put(field, value);
+            return;
+        }
+        Map<String, Object> nested = (Map<String, Object>) target.computeIfAbsent(
+                field.substring(0, dot), key -> new LinkedHashMap<String, Object>());
+        nested.put(field.substring(dot + 1), value);
+    }
+
+    // ========== HELPERS ==========
+
+    private <T> Map<Long, List<AuthorResponse>> loadAuthors(List<T> rows, Function<T, Long> bookId) {
+        if (rows.isEmpty()) {
+            return Map.of();
+        }
+
+        Set<Long> bookIds = new LinkedHashSet<>();
+        for (T row : rows) {
+            bookIds.add(bookId.apply(row));
+        }
+
+        Map<Long, List<AuthorResponse>> authors = new HashMap<>();
+        for (AuthorRow author : bookRepository.findAuthorRowsByBookIds(bookIds)) {
+            authors.computeIfAbsent(author.bookId(), id -> new ArrayList<>()).add(authorMapper.toResponse(author));
+        }
+        return authors;
+    }
+}
@@ -1,8 +1,10 @@
 package com.JohnBravos.bookhub_manager.mapper;
 
 import com.JohnBravos.bookhub_manager.dto.Request.UpdateReservationRequest;
+import com.JohnBravos.bookhub_manager.dto.Response.BookResponse;
 import com.JohnBravos.bookhub_manager.dto.Response.ReservationResponse;
 import com.JohnBravos.bookhub_manager.model.Reservation;
+import com.JohnBravos.bookhub_manager.repository.projection.ReservationRow;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -38,6 +40,21 @@ public class ReservationMapper {
         );
     }
 
+    /**
+     * Μετατροπή από ReservationRow (projection) -> ReservationResponse, με το BookResponse ήδη έτοιμο (authors)
+     */
+    public ReservationResponse toResponse(ReservationRow row, BookResponse book) {
+        return new ReservationResponse(
+                row.id(),
+                book,
+                userMapper.toResponse(row.user()),
+                row.reservationDate(),
+                row.expiryDate(),
+                row.status(),
+                0 // positionInQueue - θα το υπολογίσουμε στο Service
+        );
+    }
+
     public void updateEntity(UpdateReservationRequest request, Reservation reservation) {
         if (request.bookId() != null) {
             // Θα χρειαστούμε BookRepository για να βρούμε το νέο βιβλίο
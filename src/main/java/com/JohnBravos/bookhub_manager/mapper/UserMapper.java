@@ -1,9 +1,13 @@
 package com.JohnBravos.bookhub_manager.mapper;
 
 import com.JohnBravos.bookhub_manager.dto.Request.UpdateUserRequest;
+import com.JohnBravos.bookhub_manager.dto.Response.LoanResponse;
+import com.JohnBravos.bookhub_manager.dto.Response.ReservationResponse;
 import com.JohnBravos.bookhub_manager.dto.Response.UserProfileResponse;
 import com.JohnBravos.bookhub_manager.dto.Response.UserResponse;
 import com.JohnBravos.bookhub_manager.model.User;
+import com.JohnBravos.bookhub_manager.repository.projection.UserRow;
+import com.JohnBravos.bookhub_manager.service.stats.UserActivityStats;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -34,24 +38,39 @@ public class UserMapper {
 
     }
 
-    public UserProfileResponse toProfileResponse(User user) {
+    public UserResponse toResponse(UserRow row) {
+        return new UserResponse(
+                row.id(),
+                row.firstName(),
+                row.lastName(),
+                row.username(),
+                row.email(),
+                row.phoneNumber(),
+                row.role(),
+                row.status(),
+                row.createdAt(),
+                row.updatedAt()
+        );
+    }
+
+    public UserProfileResponse toProfileResponse(User user,
+                                                 UserActivityStats stats,
+                                                 List<LoanResponse> currentLoans,
+                                                 List<ReservationResponse> currentReservations) {
         if (user == null) {
             return null;
         }
 
-        UserResponse userResponse = toResponse(user);
-
-        // ✅ TEMPORARY VALUES - θα τα βελτιώσουμε ΑΡΓΟΤΕΡΑ
         return new UserProfileResponse(
-                userResponse,
-                0,  // activeLoansCount - temporary
-                0,  // totalLoansCount - temporary
-                0,  // totalReservationsCount - temporary
-                List.of(),  // currentLoans - temporary empty list
-                List.of(),  // currentReservations - temporary empty list
-                0,  // booksReadCount - temporary
-                "N/A",  // favoriteGenre - temporary
-                0.0  // averageRating - temporary
+                toResponse(user),
+                (int) stats.activeLoans(),
+                (int) stats.totalLoans(),
+                (int) stats.totalReservations(),
+                currentLoans,
+                currentReservations,
+                (int) stats.returnedLoans(),  // booksReadCount - ολοκληρωμένα loans
+                stats.favoriteGenre(),
+                0.0  // averageRating - δεν υπάρχουν ακόμα ratings στο model
         );
     }
 
@@ -0,0 +1,50 @@
+package com.JohnBravos.bookhub_manager.model;
+
+import com.JohnBravos.bookhub_manager.core.enums.LoanStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Κλειστό loan (RETURNED/REJECTED) που μετακινήθηκε στο loans_archive από τον CirculationArchiver.
+ * Read-only: γράφεται μόνο με INSERT ... SELECT από τον πίνακα loans.
+ */
+@NoArgsConstructor
+@Getter
+@Entity
+@Immutable
+// Schema: βλ. db/migration/V3__create_archive_tables.sql
+@Table(name = "loans_archive", indexes = {
+        @Index(name = "idx_loans_archive_user_date", columnList = "user_id, loan_date")
+})
+public class ArchivedLoan {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id", nullable = false, foreignKey = @ForeignKey(name = "fk_loans_archive_book"))
+    private Book book;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_loans_archive_user"))
+    private User user;
+
+    @Column(nullable = false)
+    private LocalDate loanDate;
+
+    @Column(nullable = false)
+    private LocalDate dueDate;
+
+    private LocalDateTime returnDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, name = "status", length = 20)
+    private LoanStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
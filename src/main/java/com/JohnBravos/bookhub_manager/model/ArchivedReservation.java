@@ -0,0 +1,48 @@
+package com.JohnBravos.bookhub_manager.model;
+
+import com.JohnBravos.bookhub_manager.core.enums.ReservationStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Κλειστή κράτηση (FULFILLED/CANCELLED/REJECTED/EXPIRED) που μετακινήθηκε στο reservation_archive.
+ * Read-only: γράφεται μόνο με INSERT ... SELECT από τον πίνακα reservation.
+ */
+@NoArgsConstructor
+@Getter
+@Entity
+@Immutable
+// Schema: βλ. db/migration/V3__create_archive_tables.sql
+@Table(name = "reservation_archive", indexes = {
+        @Index(name = "idx_reservation_archive_user_date", columnList = "user_id, reservation_date")
+})
+public class ArchivedReservation {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id", nullable = false, foreignKey = @ForeignKey(name = "fk_reservation_archive_book"))
+    private Book book;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_reservation_archive_user"))
+    private User user;
+
+    @Column(nullable = false)
+    private LocalDate reservationDate;
+
+    @Column(nullable = false)
+    private LocalDate expiryDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, name = "status", length = 20)
+    private ReservationStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -3,6 +3,8 @@ package com.JohnBravos.bookhub_manager.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -17,11 +19,20 @@ import java.util.List;
 @Setter
 @Entity
 @Builder
-@Table(name = "authors")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.AUTHORS)
+// Indexes: βλ. db/migration/V2__add_query_indexes.sql, V4__add_updated_at_indexes.sql
+@Table(name = "authors", indexes = {
+        @Index(name = "idx_authors_name", columnList = "lastname, firstname"),
+        @Index(name = "idx_authors_updated_at", columnList = "updated_at")
+})
 public class Author {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "author_ids")
+    @TableGenerator(name = "author_ids", table = IdGeneration.TABLE,
+            pkColumnName = IdGeneration.SEGMENT_COLUMN, valueColumnName = IdGeneration.VALUE_COLUMN,
+            pkColumnValue = "authors", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "firstname", nullable = false, length = 100)
@@ -4,6 +4,7 @@ import com.JohnBravos.bookhub_manager.core.enums.BookStatus;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Pattern;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -17,10 +18,20 @@ import java.util.List;
 @Setter
 @Builder
 @Entity
-@Table(name = "books")
+// Εκτός second-level cache: τα availableCopies/status αλλάζουν σε κάθε δανεισμό/επιστροφή και ένα
+// cached entity σε άλλο instance θα έγραφε πίσω stale τιμές
+// Indexes: βλ. db/migration/V2__add_query_indexes.sql, V4__add_updated_at_indexes.sql
+@Table(name = "books", indexes = {
+        @Index(name = "idx_books_status_available", columnList = "status, available_copies"),
+        @Index(name = "idx_books_genre", columnList = "genre"),
+        @Index(name = "idx_books_updated_at", columnList = "updated_at")
+})
 public class Book {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "book_ids")
+    @TableGenerator(name = "book_ids", table = IdGeneration.TABLE,
+            pkColumnName = IdGeneration.SEGMENT_COLUMN, valueColumnName = IdGeneration.VALUE_COLUMN,
+            pkColumnValue = "books", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @Column(unique = true, nullable = false, length = 20)
@@ -59,11 +70,14 @@ public class Book {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // Οι authors μιας σελίδας βιβλίων φορτώνονται με ένα IN query αντί για ένα query ανά βιβλίο
+    @BatchSize(size = 50)
     @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable(
             name = "book_authors",
             joinColumns = @JoinColumn(name = "book_id"),
-            inverseJoinColumns = @JoinColumn(name = "author_id")
+            inverseJoinColumns = @JoinColumn(name = "author_id"),
+            indexes = @Index(name = "idx_book_authors_author_book", columnList = "author_id, book_id")
     )
     private List<Author> authors = new ArrayList<>();
 
@@ -0,0 +1,18 @@
+package com.JohnBravos.bookhub_manager.model;
+
+/**
+ * Ονόματα των regions του Hibernate second-level cache. Τα όρια (μέγεθος, expiry) κάθε region
+ * ορίζονται στο hibernate-l2.conf - ένα region που λείπει από εκεί παίρνει τα default όρια.
+ * <p>
+ * Το cache είναι τοπικό σε κάθε instance: μια αλλαγή ακυρώνει το entry μόνο στο instance που την έκανε.
+ * Γι' αυτό περιέχει μόνο δεδομένα που αλλάζουν σπάνια και μόνο από admin (authors), με σύντομο expiry
+ * ως όριο για το πόσο stale μπορεί να δει ένα άλλο instance. Τα Book δεν μπαίνουν (βλ. Book).
+ */
+public final class CacheRegions {
+
+    // Entities καταλόγου που αλλάζουν μόνο από admin
+    public static final String AUTHORS = "authors";
+
+    private CacheRegions() {
+    }
+}
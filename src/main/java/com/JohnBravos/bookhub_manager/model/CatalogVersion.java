@@ -0,0 +1,25 @@
+package com.JohnBravos.bookhub_manager.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Ο αριθμός έκδοσης του καταλόγου (ένα row, από το V5). Αυξάνεται μετά το commit κάθε αλλαγής
+ * βιβλίων/authors/αντιτύπων και από αυτόν βγαίνει το ETag των λιστών καταλόγου.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "catalog_version")
+public class CatalogVersion {
+
+    public static final int SINGLETON = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private long version;
+}
@@ -0,0 +1,41 @@
+package com.JohnBravos.bookhub_manager.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Προ-υπολογισμένα aggregates κυκλοφορίας ανά granularity (HOUR/DAY/MONTH), bucket και genre.
+ * Ενημερώνονται incrementally από τα loans/reservations ώστε τα analytics να μη διαβάζουν τον πίνακα loans.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@Entity
+@Table(name = "circulation_rollups")
+public class CirculationRollup {
+
+    // Γραμμή με τα σύνολα όλων των genres
+    public static final String ALL_GENRES = "*";
+
+    @EmbeddedId
+    private CirculationRollupId id;
+
+    @Column(nullable = false)
+    private long loansCreated;
+
+    @Column(nullable = false)
+    private long loansReturned;
+
+    // Loans που επιστράφηκαν εκπρόθεσμα
+    @Column(nullable = false)
+    private long loansOverdue;
+
+    @Column(nullable = false)
+    private long reservationsCreated;
+
+    // Άθροισμα ημερών δανεισμού των επιστροφών (για μέσο όρο διάρκειας)
+    @Column(nullable = false)
+    private long loanDaysTotal;
+}
@@ -0,0 +1,38 @@
+package com.JohnBravos.bookhub_manager.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted μορφή ενός DurationHistogram (loan duration / reservation wait) ανά βιβλίο.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@Entity
+@Table(name = "duration_sketches")
+public class DurationSketch {
+
+    // Το sketch που καλύπτει όλα τα βιβλία
+    public static final long GLOBAL = 0L;
+
+    @EmbeddedId
+    private DurationSketchId id;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] buckets;
+
+    @Column(nullable = false)
+    private long totalCount;
+
+    @Column(nullable = false)
+    private long totalDays;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
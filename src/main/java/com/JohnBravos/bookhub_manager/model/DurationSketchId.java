@@ -0,0 +1,29 @@
+package com.JohnBravos.bookhub_manager.model;
+
+import com.JohnBravos.bookhub_manager.core.enums.DurationMetric;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class DurationSketchId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metric", nullable = false, length = 20)
+    private DurationMetric metric;
+
+    // Book ID ή DurationSketch.GLOBAL για το sketch όλων των βιβλίων
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+}
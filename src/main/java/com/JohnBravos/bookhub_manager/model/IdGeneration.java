@@ -0,0 +1,19 @@
+package com.JohnBravos.bookhub_manager.model;
+
+/**
+ * Κοινές ρυθμίσεις για τους pooled table generators των entities.
+ * Η MySQL δεν έχει sequences, οπότε τα ids δεσμεύονται σε blocks από τον πίνακα id_sequences
+ * (ένα row ανά entity) - έτσι τα inserts δεν χρειάζονται IDENTITY και γίνονται JDBC batches.
+ */
+public final class IdGeneration {
+
+    public static final String TABLE = "id_sequences";
+    public static final String SEGMENT_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+
+    // Πόσα ids δεσμεύει κάθε round-trip στο id_sequences
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+}
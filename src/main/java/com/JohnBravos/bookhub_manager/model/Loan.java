@@ -15,20 +15,36 @@ import java.time.LocalDateTime;
 @Getter
 @Entity
 @Builder
-@Table(name="loans")
+// Indexes: βλ. db/migration/V2__add_query_indexes.sql, V3__create_archive_tables.sql
+@Table(name="loans", indexes = {
+        @Index(name = "idx_loans_user_status", columnList = "user_id, status"),
+        @Index(name = "idx_loans_book_status", columnList = "book_id, status"),
+        @Index(name = "idx_loans_status_due", columnList = "status, due_date"),
+        @Index(name = "idx_loans_status_returned", columnList = "status, return_date")
+})
+@NamedEntityGraph(name = Loan.WITH_BOOK_AND_USER, attributeNodes = {
+        @NamedAttributeNode("book"),
+        @NamedAttributeNode("user")
+})
 public class Loan {
 
+    // Fetch plan για τα endpoints που επιστρέφουν LoanResponse (book + user σε ένα join)
+    public static final String WITH_BOOK_AND_USER = "Loan.withBookAndUser";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "loan_ids")
+    @TableGenerator(name = "loan_ids", table = IdGeneration.TABLE,
+            pkColumnName = IdGeneration.SEGMENT_COLUMN, valueColumnName = IdGeneration.VALUE_COLUMN,
+            pkColumnValue = "loans", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     // Ποιο βιβλίο δανείζεται
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "book_id", nullable = false)
     private Book book;
 
     // Ποιος χρήστης το δανείζεται
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -13,11 +13,26 @@ import java.time.LocalDate;
 @Setter
 @Entity
 @Builder
-@Table(name = "reservation")
+// Indexes: βλ. db/migration/V2__add_query_indexes.sql
+@Table(name = "reservation", indexes = {
+        @Index(name = "idx_reservation_book_status_date", columnList = "book_id, status, reservation_date"),
+        @Index(name = "idx_reservation_user_status", columnList = "user_id, status"),
+        @Index(name = "idx_reservation_status_expiry", columnList = "status, expiry_date")
+})
+@NamedEntityGraph(name = Reservation.WITH_BOOK_AND_USER, attributeNodes = {
+        @NamedAttributeNode("book"),
+        @NamedAttributeNode("user")
+})
 public class Reservation {
 
+    // Fetch plan για τα endpoints που επιστρέφουν ReservationResponse (book + user σε ένα join)
+    public static final String WITH_BOOK_AND_USER = "Reservation.withBookAndUser";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "reservation_ids")
+    @TableGenerator(name = "reservation_ids", table = IdGeneration.TABLE,
+            pkColumnName = IdGeneration.SEGMENT_COLUMN, valueColumnName = IdGeneration.VALUE_COLUMN,
+            pkColumnValue = "reservation", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -25,7 +25,10 @@ import java.util.List;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_ids")
+    @TableGenerator(name = "user_ids", table = IdGeneration.TABLE,
+            pkColumnName = IdGeneration.SEGMENT_COLUMN, valueColumnName = IdGeneration.VALUE_COLUMN,
+            pkColumnValue = "users", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank
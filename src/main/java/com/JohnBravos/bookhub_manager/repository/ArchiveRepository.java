@@ -0,0 +1,82 @@
+package com.JohnBravos.bookhub_manager.repository;
+
+import com.JohnBravos.bookhub_manager.config.MetricNames;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC moves από τους hot πίνακες (loans, reservation) στα archive tables.
+ * Κάθε κλήση μετακινεί ένα batch (INSERT ... SELECT + DELETE με τα ίδια ids) και πρέπει να τρέχει σε transaction.
+ * Τα closed statuses είναι τελικά, οπότε τα ids που επιλέχθηκαν δεν αλλάζουν μέχρι το move.
+ */
+@Repository
+@Timed(MetricNames.JDBC)
+@RequiredArgsConstructor
+public class ArchiveRepository {
+
+    private static final List<String> CLOSED_RESERVATION_STATUSES = List.of("FULFILLED", "CANCELLED", "REJECTED", "EXPIRED");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // ========== LOANS ==========
+
+    // RETURNED με return_date πριν το cutoff, REJECTED με due_date πριν το cutoff (δεν επιστράφηκαν ποτέ)
+    public List<Long> findClosedLoanIds(LocalDate cutoff, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.valueOf(cutoff.atStartOfDay()))
+                .addValue("cutoffDate", Date.valueOf(cutoff))
+                .addValue("limit", limit);
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM (" +
+                        "  (SELECT id FROM loans WHERE status = 'RETURNED' AND return_date < :cutoff ORDER BY return_date LIMIT :limit)" +
+                        "  UNION ALL" +
+                        "  (SELECT id FROM loans WHERE status = 'REJECTED' AND due_date < :cutoffDate LIMIT :limit)" +
+                        ") closed LIMIT :limit",
+                params, Long.class);
+    }
+
+    public int moveLoans(List<Long> ids, LocalDateTime archivedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("archivedAt", Timestamp.valueOf(archivedAt));
+        jdbcTemplate.update(
+                "INSERT INTO loans_archive (id, book_id, user_id, loan_date, due_date, return_date, status, archived_at) " +
+                        "SELECT id, book_id, user_id, loan_date, due_date, return_date, status, :archivedAt " +
+                        "FROM loans WHERE id IN (:ids)",
+                params);
+        return jdbcTemplate.update("DELETE FROM loans WHERE id IN (:ids)", params);
+    }
+
+    // ========== RESERVATIONS ==========
+
+    public List<Long> findClosedReservationIds(LocalDate cutoff, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("statuses", CLOSED_RESERVATION_STATUSES)
+                .addValue("cutoff", Date.valueOf(cutoff))
+                .addValue("limit", limit);
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM reservation WHERE status IN (:statuses) AND expiry_date < :cutoff LIMIT :limit",
+                params, Long.class);
+    }
+
+    public int moveReservations(List<Long> ids, LocalDateTime archivedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("archivedAt", Timestamp.valueOf(archivedAt));
+        jdbcTemplate.update(
+                "INSERT INTO reservation_archive (id, book_id, user_id, reservation_date, expiry_date, status, archived_at) " +
+                        "SELECT id, book_id, user_id, reservation_date, expiry_date, status, :archivedAt " +
+                        "FROM reservation WHERE id IN (:ids)",
+                params);
+        return jdbcTemplate.update("DELETE FROM reservation WHERE id IN (:ids)", params);
+    }
+}
@@ -0,0 +1,26 @@
+package com.JohnBravos.bookhub_manager.repository;
+
+import com.JohnBravos.bookhub_manager.model.ArchivedLoan;
+import com.JohnBravos.bookhub_manager.repository.projection.GenreCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ArchivedLoanRepository extends JpaRepository<ArchivedLoan, Long> {
+
+    // Count archived loans grouped by status (για τα system counters)
+    @Query("SELECT a.status, COUNT(a) FROM ArchivedLoan a GROUP BY a.status")
+    List<Object[]> countGroupedByStatus();
+
+    // Τα archive FKs είναι RESTRICT: book/user με ιστορικό δεν διαγράφονται
+    boolean existsByBookId(Long bookId);
+
+    boolean existsByUserId(Long userId);
+
+    // Genre histogram των archived loans ενός χρήστη
+    @Query("SELECT b.genre AS genre, COUNT(a) AS count FROM ArchivedLoan a JOIN a.book b " +
+            "WHERE a.user.id = :userId GROUP BY b.genre")
+    List<GenreCount> countLoansByGenreForUser(@Param("userId") Long userId);
+}
@@ -0,0 +1,18 @@
+package com.JohnBravos.bookhub_manager.repository;
+
+import com.JohnBravos.bookhub_manager.model.ArchivedReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface ArchivedReservationRepository extends JpaRepository<ArchivedReservation, Long> {
+
+    // Count archived reservations grouped by status (για τα system counters)
+    @Query("SELECT a.status, COUNT(a) FROM ArchivedReservation a GROUP BY a.status")
+    List<Object[]> countGroupedByStatus();
+
+    boolean existsByBookId(Long bookId);
+
+    boolean existsByUserId(Long userId);
+}
@@ -1,6 +1,7 @@
 package com.JohnBravos.bookhub_manager.repository;
 
 import com.JohnBravos.bookhub_manager.model.Author;
+import com.JohnBravos.bookhub_manager.repository.projection.Watermark;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -62,4 +63,10 @@ public interface AuthorRepository extends JpaRepository<Author, Long> {
     @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END " +
             "FROM Author a JOIN a.books b WHERE a.id = :authorId")
     boolean hasBooks(@Param("authorId") Long authorId);
+
+    // ========== WATERMARKS (ETags) ==========
+
+    // count = 0 όταν ο author δεν υπάρχει
+    @Query("SELECT COUNT(a) AS count, MAX(a.updatedAt) AS lastUpdated FROM Author a WHERE a.id = :authorId")
+    Watermark findWatermarkById(@Param("authorId") Long authorId);
 }
@@ -3,6 +3,10 @@ package com.JohnBravos.bookhub_manager.repository;
 import com.JohnBravos.bookhub_manager.core.enums.BookStatus;
 import com.JohnBravos.bookhub_manager.model.Author;
 import com.JohnBravos.bookhub_manager.model.Book;
+import com.JohnBravos.bookhub_manager.repository.projection.AuthorRow;
+import com.JohnBravos.bookhub_manager.repository.projection.BookCirculationCounts;
+import com.JohnBravos.bookhub_manager.repository.projection.BookRow;
+import com.JohnBravos.bookhub_manager.repository.projection.BookWatermark;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
@@ -10,10 +14,17 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BookRepository extends JpaRepository<Book, Long> {
+
+    // Select list για BookRow (alias b) - χρησιμοποιείται και στα loan/reservation row queries
+    String BOOK_COLUMNS = "b.id, b.title, b.isbn, b.publisher, b.publicationYear, b.genre, b.description, " +
+            "b.totalCopies, b.availableCopies, b.status, b.createdAt, b.updatedAt";
+
+    String BOOK_ROW = "SELECT new com.JohnBravos.bookhub_manager.repository.projection.BookRow(" + BOOK_COLUMNS + ") FROM Book b ";
     // Book by ISBN
     Optional<Book> findByIsbn(String isbn);
 
@@ -23,7 +34,7 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     // Books by title (contains)
     List<Book> findByTitleContainingIgnoreCase(String title);
 
-    @EntityGraph(attributePaths = {"authors"})
+    // Paged list - authors μέσω @BatchSize, γιατί fetch join σε collection με pagination γίνεται στη μνήμη
     Page<Book> findAll(Pageable pageable);
 
     // Books by author name
@@ -67,6 +78,26 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     // Count books by status
     long countByStatus(BookStatus status);
 
+    // Total copies currently on the shelf
+    @Query("SELECT COALESCE(SUM(b.availableCopies), 0) FROM Book b")
+    long sumAvailableCopies();
+
+    // Loan/reservation counts for a set of books in one round trip (details page and catalog lists)
+    @Query(value = "SELECT t.book_id AS bookId, " +
+            "CAST(SUM(t.active_loans) AS SIGNED) AS activeLoans, " +
+            "CAST(SUM(t.total_loans) AS SIGNED) AS totalTimesBorrowed, " +
+            "CAST(SUM(t.pending_reservations) AS SIGNED) AS pendingReservations " +
+            "FROM (" +
+            "  SELECT l.book_id, SUM(l.status = 'ACTIVE') AS active_loans, " +
+            "         SUM(l.status NOT IN ('PENDING', 'REJECTED')) AS total_loans, 0 AS pending_reservations " +
+            "  FROM loans l WHERE l.book_id IN (:bookIds) GROUP BY l.book_id " +
+            "  UNION ALL " +
+            "  SELECT r.book_id, 0, 0, SUM(r.status IN ('PENDING', 'ACTIVE')) " +
+            "  FROM reservation r WHERE r.book_id IN (:bookIds) GROUP BY r.book_id" +
+            ") t GROUP BY t.book_id",
+            nativeQuery = true)
+    List<BookCirculationCounts> countCirculationByBookIds(@Param("bookIds") Collection<Long> bookIds);
+
     // Find books with active loans
     @Query("SELECT DISTINCT b FROM Book b JOIN b.loans l WHERE l.status = 'ACTIVE'")
     List<Book> findBooksWithActiveLoans();
@@ -79,4 +110,38 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     @EntityGraph(attributePaths = {"authors"})
     @Query("SELECT b FROM Book b JOIN b.authors a WHERE a.id = :authorId")
     List<Book> findByAuthorId(@Param("authorId") Long authorId);
+
+    // ========== ROW PROJECTIONS (list endpoints, χωρίς managed entities) ==========
+
+    @Query(value = BOOK_ROW, countQuery = "SELECT COUNT(b) FROM Book b")
+    Page<BookRow> findAllRows(Pageable pageable);
+
+    @Query(BOOK_ROW + "WHERE b.availableCopies > 0 AND b.status = 'AVAILABLE'")
+    List<BookRow> findAvailableRowsForLoan();
+
+    @Query(BOOK_ROW + "WHERE " +
+            "LOWER(b.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+            "LOWER(b.genre) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+            "LOWER(b.publisher) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+            "LOWER(b.isbn) LIKE LOWER(CONCAT('%', :query, '%'))")
+    List<BookRow> searchRows(@Param("query") String query);
+
+    @Query(BOOK_ROW + "JOIN b.authors a WHERE a.id = :authorId")
+    List<BookRow> findRowsByAuthorId(@Param("authorId") Long authorId);
+
+    @Query(BOOK_ROW + "WHERE LOWER(b.genre) LIKE LOWER(CONCAT('%', :genre, '%'))")
+    List<BookRow> findRowsByGenreContaining(@Param("genre") String genre);
+
+    // Authors για μια σελίδα βιβλίων σε ένα query
+    @Query("SELECT new com.JohnBravos.bookhub_manager.repository.projection.AuthorRow(b.id, a.id, a.firstName, a.lastName, " +
+            "a.nationality, a.biography, a.createdAt, a.updatedAt) " +
+            "FROM Book b JOIN b.authors a WHERE b.id IN :bookIds")
+    List<AuthorRow> findAuthorRowsByBookIds(@Param("bookIds") Collection<Long> bookIds);
+
+    // ========== WATERMARKS (ETags) ==========
+
+    // count = 0 όταν το βιβλίο δεν υπάρχει
+    @Query("SELECT COUNT(DISTINCT b.id) AS count, MAX(b.updatedAt) AS lastUpdated, MAX(a.updatedAt) AS authorsUpdated " +
+            "FROM Book b LEFT JOIN b.authors a WHERE b.id = :bookId")
+    BookWatermark findWatermarkById(@Param("bookId") Long bookId);
 }
@@ -0,0 +1,119 @@
+package com.JohnBravos.bookhub_manager.repository;
+
+import com.JohnBravos.bookhub_manager.config.MetricNames;
+import com.JohnBravos.bookhub_manager.model.IdGeneration;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * JDBC writes για το bulk import καταλόγου. Τα inserts γίνονται σε batches, που με
+ * rewriteBatchedStatements φεύγουν ως multi-row INSERT, χωρίς managed entities.
+ */
+@Repository
+@Timed(MetricNames.JDBC)
+@RequiredArgsConstructor
+public class CatalogImportRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record AuthorInsert(long id, String firstName, String lastName) {}
+
+    public record BookInsert(long id, String isbn, String title, String publisher, int publicationYear,
+                             String genre, String description, int copies, String status) {}
+
+    public record BookAuthorInsert(long bookId, long authorId) {}
+
+    // ========== PRELOAD ==========
+
+    // Όλα τα ISBN με ένα query (streaming row-by-row στον consumer)
+    public void forEachIsbn(Consumer<String> consumer) {
+        jdbcTemplate.query("SELECT isbn FROM books", rs -> {
+            consumer.accept(rs.getString(1));
+        });
+    }
+
+    // Όλοι οι authors: {id, firstname, lastname}
+    public void forEachAuthor(Consumer<Object[]> consumer) {
+        jdbcTemplate.query("SELECT id, firstname, lastname FROM authors", rs -> {
+            consumer.accept(new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3)});
+        });
+    }
+
+    // ========== IDS ==========
+
+    /**
+     * Δεσμεύει count συνεχόμενα ids από το id_sequences και επιστρέφει το πρώτο.
+     * Η τιμή μετακινείται και ένα block πιο πάνω, ώστε το επόμενο pooled block του Hibernate
+     * να ξεκινά μετά το range του import.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserveIds(String segment, int count) {
+        Long current = jdbcTemplate.queryForObject(
+                "SELECT " + IdGeneration.VALUE_COLUMN + " FROM " + IdGeneration.TABLE
+                        + " WHERE " + IdGeneration.SEGMENT_COLUMN + " = ? FOR UPDATE",
+                Long.class, segment);
+        if (current == null) {
+            throw new IllegalStateException("Id sequence '" + segment + "' is not initialized");
+        }
+
+        jdbcTemplate.update("UPDATE " + IdGeneration.TABLE + " SET " + IdGeneration.VALUE_COLUMN
+                        + " = ? WHERE " + IdGeneration.SEGMENT_COLUMN + " = ?",
+                current + count + IdGeneration.ALLOCATION_SIZE, segment);
+        return current + 1;
+    }
+
+    // ========== BATCH INSERTS ==========
+
+    public void insertAuthors(List<AuthorInsert> authors, int batchSize) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO authors (id, firstname, lastname, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                authors, batchSize, (ps, author) -> {
+                    ps.setLong(1, author.id());
+                    ps.setString(2, author.firstName());
+                    ps.setString(3, author.lastName());
+                    ps.setTimestamp(4, now);
+                    ps.setTimestamp(5, now);
+                });
+    }
+
+    public void insertBooks(List<BookInsert> books, int batchSize) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO books (id, isbn, title, publisher, publication_year, genre, description, " +
+                        "total_copies, available_copies, status, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                books, batchSize, (ps, book) -> {
+                    ps.setLong(1, book.id());
+                    ps.setString(2, book.isbn());
+                    ps.setString(3, book.title());
+                    ps.setString(4, book.publisher());
+                    ps.setInt(5, book.publicationYear());
+                    ps.setString(6, book.genre());
+                    ps.setString(7, book.description());
+                    ps.setInt(8, book.copies());
+                    ps.setInt(9, book.copies());
+                    ps.setString(10, book.status());
+                    ps.setTimestamp(11, now);
+                    ps.setTimestamp(12, now);
+                });
+    }
+
+    public void insertBookAuthors(List<BookAuthorInsert> links, int batchSize) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO book_authors (book_id, author_id) VALUES (?, ?)",
+                links, batchSize, (ps, link) -> {
+                    ps.setLong(1, link.bookId());
+                    ps.setLong(2, link.authorId());
+                });
+    }
+}
@@ -0,0 +1,21 @@
+package com.JohnBravos.bookhub_manager.repository;
+
+import com.JohnBravos.bookhub_manager.model.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Integer> {
+
+    @Query("SELECT v.version FROM CatalogVersion v WHERE v.id = " + CatalogVersion.SINGLETON)
+    Optional<Long> findCurrent();
+
+    // 0 αν λείπει το row (το δημιουργεί το V5)
+    @Modifying
+    @Transactional
+    @Query("UPDATE CatalogVersion v SET v.version = v.version + 1 WHERE v.id = " + CatalogVersion.SINGLETON)
+    int increment();
+}
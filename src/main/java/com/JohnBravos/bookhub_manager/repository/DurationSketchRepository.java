@@ -0,0 +1,8 @@
+package com.JohnBravos.bookhub_manager.repository;
+
+import com.JohnBravos.bookhub_manager.model.DurationSketch;
+import com.JohnBravos.bookhub_manager.model.DurationSketchId;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface DurationSketchRepository extends JpaRepository<DurationSketch, DurationSketchId> {
+}
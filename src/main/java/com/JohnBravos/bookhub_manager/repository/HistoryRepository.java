@@ -0,0 +1,175 @@
+package com.JohnBravos.bookhub_manager.repository;
+
+import com.JohnBravos.bookhub_manager.config.MetricNames;
+import com.JohnBravos.bookhub_manager.core.exceptions.custom.BadRequestException;
+import com.JohnBravos.bookhub_manager.core.fields.FieldSelection;
+import com.JohnBravos.bookhub_manager.repository.projection.LoanRow;
+import com.JohnBravos.bookhub_manager.repository.projection.ReservationRow;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * History reads ενός χρήστη: UNION ALL του hot πίνακα με το archive σε derived root,
+ * ώστε το paging και το sort να γίνονται στη βάση πάνω στο ενιαίο αποτέλεσμα.
+ * Τα operational queries μένουν στα LoanRepository/ReservationRepository και δεν βλέπουν ποτέ το archive.
+ */
+@Repository
+@Timed(MetricNames.JDBC)
+public class HistoryRepository {
+
+    private static final List<String> LOAN_SORTS = List.of("id", "loanDate", "dueDate", "returnDate", "status");
+    private static final List<String> RESERVATION_SORTS = List.of("id", "reservationDate", "expiryDate", "status");
+
+    // Ο derived root: ίδιες στήλες από hot και archive, με bookId/userId αντί για associations
+    private static final String LOAN_UNION = "(" +
+            "SELECT l.id AS id, l.book.id AS bookId, l.user.id AS userId, l.loanDate AS loanDate, l.dueDate AS dueDate, " +
+            "l.returnDate AS returnDate, l.status AS status FROM Loan l WHERE l.user.id = :userId " +
+            "UNION ALL " +
+            "SELECT a.id, a.book.id, a.user.id, a.loanDate, a.dueDate, a.returnDate, a.status " +
+            "FROM ArchivedLoan a WHERE a.user.id = :userId" +
+            ") h";
+
+    private static final String RESERVATION_UNION = "(" +
+            "SELECT r.id AS id, r.book.id AS bookId, r.user.id AS userId, r.reservationDate AS reservationDate, " +
+            "r.expiryDate AS expiryDate, r.status AS status FROM Reservation r WHERE r.user.id = :userId " +
+            "UNION ALL " +
+            "SELECT a.id, a.book.id, a.user.id, a.reservationDate, a.expiryDate, a.status " +
+            "FROM ArchivedReservation a WHERE a.user.id = :userId" +
+            ") h";
+
+    private static final String LOAN_HISTORY = "SELECT new com.JohnBravos.bookhub_manager.repository.projection.LoanRow(" +
+            "h.id, h.loanDate, h.dueDate, h.returnDate, h.status, " +
+            BookRepository.BOOK_COLUMNS + ", " + UserRepository.USER_COLUMNS + ") FROM " + LOAN_UNION +
+            " JOIN Book b ON b.id = h.bookId JOIN User u ON u.id = h.userId";
+
+    private static final String RESERVATION_HISTORY = "SELECT new com.JohnBravos.bookhub_manager.repository.projection.ReservationRow(" +
+            "h.id, h.reservationDate, h.expiryDate, h.status, " +
+            BookRepository.BOOK_COLUMNS + ", " + UserRepository.USER_COLUMNS + ") FROM " + RESERVATION_UNION +
+            " JOIN Book b ON b.id = h.bookId JOIN User u ON u.id = h.userId";
+
+    private static final String LOAN_COUNTS = "SELECT COUNT(l) FROM Loan l WHERE l.user.id = :userId";
+    private static final String ARCHIVED_LOAN_COUNTS = "SELECT COUNT(a) FROM ArchivedLoan a WHERE a.user.id = :userId";
+    private static final String RESERVATION_COUNTS = "SELECT COUNT(r) FROM Reservation r WHERE r.user.id = :userId";
+    private static final String ARCHIVED_RESERVATION_COUNTS = "SELECT COUNT(a) FROM ArchivedReservation a WHERE a.user.id = :userId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // ========== LOANS ==========
+
+    public Page<LoanRow> findLoanRowsByUserId(Long userId, Pageable pageable) {
+        List<LoanRow> rows = page(entityManager.createQuery(LOAN_HISTORY + orderBy(pageable.getSort(), LOAN_SORTS), LoanRow.class)
+                .setParameter("userId", userId), pageable);
+        return PageableExecutionUtils.getPage(rows, pageable, () ->
+                count(LOAN_COUNTS, userId) + count(ARCHIVED_LOAN_COUNTS, userId));
+    }
+
+    // fields=: μόνο τα ζητούμενα columns, με join στο book/user μόνο αν ζητηθεί κάποιο πεδίο τους
+    public Page<Map<String, Object>> findLoanRowsByUserId(Long userId, FieldSelection selection, Pageable pageable) {
+        return sparsePage(LOAN_UNION, LOAN_SORTS, userId, selection, pageable,
+                () -> count(LOAN_COUNTS, userId) + count(ARCHIVED_LOAN_COUNTS, userId));
+    }
+
+    // ========== RESERVATIONS ==========
+
+    public Page<ReservationRow> findReservationRowsByUserId(Long userId, Pageable pageable) {
+        List<ReservationRow> rows = page(entityManager.createQuery(
+                RESERVATION_HISTORY + orderBy(pageable.getSort(), RESERVATION_SORTS), ReservationRow.class)
+                .setParameter("userId", userId), pageable);
+        return PageableExecutionUtils.getPage(rows, pageable, () ->
+                count(RESERVATION_COUNTS, userId) + count(ARCHIVED_RESERVATION_COUNTS, userId));
+    }
+
+    public Page<Map<String, Object>> findReservationRowsByUserId(Long userId, FieldSelection selection, Pageable pageable) {
+        return sparsePage(RESERVATION_UNION, RESERVATION_SORTS, userId, selection, pageable,
+                () -> count(RESERVATION_COUNTS, userId) + count(ARCHIVED_RESERVATION_COUNTS, userId));
+    }
+
+    // ========== HELPERS ==========
+
+    // Flat rows (column path -> τιμή) όπως το SparseFieldRepository, πάνω στον ενιαίο derived root
+    private Page<Map<String, Object>> sparsePage(String union, List<String> sorts, Long userId,
+                                                 FieldSelection selection, Pageable pageable, LongSupplier total) {
+        List<String> columns = selection.columns();
+        List<String> selections = new ArrayList<>(columns.size());
+        boolean joinBook = false;
+        boolean joinUser = false;
+        for (String column : columns) {
+            if (column.equals("book.id")) {
+                selections.add("h.bookId");
+            } else if (column.equals("user.id")) {
+                selections.add("h.userId");
+            } else if (column.startsWith("book.")) {
+                selections.add("b." + column.substring("book.".length()));
+                joinBook = true;
+            } else if (column.startsWith("user.")) {
+                selections.add("u." + column.substring("user.".length()));
+                joinUser = true;
+            } else {
+                selections.add("h." + column);
+            }
+        }
+
+        String jpql = "SELECT " + String.join(", ", selections) + " FROM " + union
+                + (joinBook ? " JOIN Book b ON b.id = h.bookId" : "")
+                + (joinUser ? " JOIN User u ON u.id = h.userId" : "")
+                + orderBy(pageable.getSort(), sorts);
+        List<Tuple> tuples = page(entityManager.createQuery(jpql, Tuple.class).setParameter("userId", userId), pageable);
+
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                row.put(columns.get(i), tuple.get(i));
+            }
+            rows.add(row);
+        }
+        return PageableExecutionUtils.getPage(rows, pageable, total);
+    }
+
+    private static <T> List<T> page(TypedQuery<T> query, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query.getResultList();
+    }
+
+    private long count(String jpql, Long userId) {
+        return entityManager.createQuery(jpql, Long.class)
+                .setParameter("userId", userId)
+                .getSingleResult();
+    }
+
+    // Sort μόνο σε στήλες του derived root, με το id ως tie-breaker για σταθερό paging
+    private static String orderBy(Sort sort, List<String> allowed) {
+        List<String> orders = new ArrayList<>();
+        boolean byId = false;
+        for (Sort.Order order : sort) {
+            if (!allowed.contains(order.getProperty())) {
+                throw new BadRequestException("Cannot sort history by '" + order.getProperty()
+                        + "'. Allowed: " + String.join(", ", allowed));
+            }
+            byId |= order.getProperty().equals("id");
+            orders.add("h." + order.getProperty() + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        if (!byId) {
+            orders.add("h.id ASC");
+        }
+        return " ORDER BY " + String.join(", ", orders);
+    }
+}
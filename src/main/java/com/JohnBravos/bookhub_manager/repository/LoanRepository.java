@@ -4,8 +4,12 @@ import com.JohnBravos.bookhub_manager.core.enums.LoanStatus;
 import com.JohnBravos.bookhub_manager.model.Book;
 import com.JohnBravos.bookhub_manager.model.Loan;
 import com.JohnBravos.bookhub_manager.model.User;
+import com.JohnBravos.bookhub_manager.repository.projection.GenreCount;
+import com.JohnBravos.bookhub_manager.repository.projection.LoanRow;
+import com.JohnBravos.bookhub_manager.repository.projection.UserActivitySummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,6 +20,11 @@ import java.util.List;
 import java.util.Optional;
 
 public interface LoanRepository extends JpaRepository<Loan, Long> {
+
+    String LOAN_ROW = "SELECT new com.JohnBravos.bookhub_manager.repository.projection.LoanRow(l.id, l.loanDate, l.dueDate, l.returnDate, l.status, " +
+            BookRepository.BOOK_COLUMNS + ", " + UserRepository.USER_COLUMNS + ") " +
+            "FROM Loan l JOIN l.book b JOIN l.user u ";
+
     // All loans by a user
     List<Loan> findByUser(User user);
 
@@ -23,6 +32,7 @@ public interface LoanRepository extends JpaRepository<Loan, Long> {
     List<Loan> findByBook(Book book);
 
     // Loans by status
+    @EntityGraph(Loan.WITH_BOOK_AND_USER)
     Page<Loan> findByStatus(LoanStatus status, Pageable pageable);
 
     // Active loans of a user
@@ -32,9 +42,11 @@ public interface LoanRepository extends JpaRepository<Loan, Long> {
     List<Loan> findByBookAndStatus(Book book, LoanStatus status);
 
     // Loans by User ID
+    @EntityGraph(Loan.WITH_BOOK_AND_USER)
     Page<Loan> findByUserId(Long userId, Pageable pageable);
 
     // Loans by book ID
+    @EntityGraph(Loan.WITH_BOOK_AND_USER)
     List<Loan> findByBookId(Long bookId);
 
     // Active loans by User ID
@@ -45,6 +57,7 @@ public interface LoanRepository extends JpaRepository<Loan, Long> {
 
     // Overdue loans (dueDate < τώρα και status = ACTIVE)
     @Query("SELECT l FROM Loan l WHERE l.dueDate < :currentDate AND l.status = 'ACTIVE'")
+    @EntityGraph(Loan.WITH_BOOK_AND_USER)
     List<Loan> findOverdueLoans(@Param("currentDate") LocalDate currentDate);
 
     // Loans that expires in specific date
@@ -67,14 +80,37 @@ public interface LoanRepository extends JpaRepository<Loan, Long> {
     // Count loans by status
     long countByStatus(LoanStatus status);
 
+    // Count loans grouped by status (one query for all statuses)
+    @Query("SELECT l.status, COUNT(l) FROM Loan l GROUP BY l.status")
+    List<Object[]> countGroupedByStatus();
+
+    // Rollup backfill - loans per loan day and genre
+    @Query("SELECT l.loanDate, b.genre, COUNT(l) FROM Loan l JOIN l.book b GROUP BY l.loanDate, b.genre")
+    List<Object[]> countCreatedByDayAndGenre();
+
+    // Rollup backfill - returns per day and genre (count, late returns, total loan days)
+    @Query("SELECT CAST(l.returnDate AS LocalDate), b.genre, COUNT(l), " +
+            "SUM(CASE WHEN CAST(l.returnDate AS LocalDate) > l.dueDate THEN 1 ELSE 0 END), " +
+            "SUM(datediff(day, l.loanDate, l.returnDate)) " +
+            "FROM Loan l JOIN l.book b WHERE l.returnDate IS NOT NULL " +
+            "GROUP BY CAST(l.returnDate AS LocalDate), b.genre")
+    List<Object[]> summarizeReturnsByDayAndGenre();
+
+    // Duration sketch backfill - histogram of loan durations (days) per book
+    @Query("SELECT l.book.id, datediff(day, l.loanDate, l.returnDate), COUNT(l) FROM Loan l " +
+            "WHERE l.returnDate IS NOT NULL GROUP BY l.book.id, datediff(day, l.loanDate, l.returnDate)")
+    List<Object[]> countLoanDurationsByBook();
+
     // Count active loans of a user
     long countByUserAndStatus(User user, LoanStatus status);
 
     // Most recent loans (by loan date)
+    @EntityGraph(Loan.WITH_BOOK_AND_USER)
     List<Loan> findTop10ByOrderByLoanDateDesc();
 
     // Loans that must be returned soon (next 3 days)
     @Query("SELECT l FROM Loan l WHERE l.dueDate BETWEEN :startDate AND :endDate AND l.status = 'ACTIVE'")
+    @EntityGraph(Loan.WITH_BOOK_AND_USER)
     List<Loan> findLoansDueSoon(@Param("startDate") LocalDateTime startDate,
                                 @Param("endDate") LocalDateTime endDate);
 
@@ -83,7 +119,7 @@ public interface LoanRepository extends JpaRepository<Loan, Long> {
     Optional<Loan> findLatestActiveLoanByUserAndBook(@Param("userId") Long userId, @Param("bookId") Long bookId);
 
     // Statistics - average days time of loans
-    @Query("SELECT AVG(DATEDIFF(l.returnDate, l.loanDate)) FROM Loan l WHERE l.returnDate IS NOT NULL")
+    @Query("SELECT AVG(datediff(day, l.loanDate, l.returnDate)) FROM Loan l WHERE l.returnDate IS NOT NULL")
     Double findAverageLoanDuration();
 
     @Query("SELECT COUNT(l) FROM Loan l WHERE l.user.id = :userId AND l.status = :status")
@@ -93,7 +129,57 @@ public interface LoanRepository extends JpaRepository<Loan, Long> {
     int countByUserId(@Param("userId") Long userId);
 
     @Query("SELECT l FROM Loan l WHERE l.user.id = :userId AND l.status = :status")
+    @EntityGraph(Loan.WITH_BOOK_AND_USER)
     List<Loan> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") LoanStatus status);
 
+    // User activity in one round trip (conditional aggregation over loans + reservation and archive subqueries)
+    @Query("SELECT COUNT(l) AS totalLoans, " +
+            "COALESCE(SUM(CASE WHEN l.status = 'ACTIVE' THEN 1 ELSE 0 END), 0) AS activeLoans, " +
+            "COALESCE(SUM(CASE WHEN l.status = 'OVERDUE' THEN 1 ELSE 0 END), 0) AS overdueLoans, " +
+            "COALESCE(SUM(CASE WHEN l.status = 'RETURNED' THEN 1 ELSE 0 END), 0) AS returnedLoans, " +
+            "(SELECT COUNT(r) FROM Reservation r WHERE r.user.id = :userId) AS totalReservations, " +
+            "(SELECT COUNT(a) FROM ArchivedLoan a WHERE a.user.id = :userId) AS archivedLoans, " +
+            "(SELECT COUNT(a) FROM ArchivedLoan a WHERE a.user.id = :userId AND a.status = 'RETURNED') AS archivedReturnedLoans, " +
+            "(SELECT COUNT(a) FROM ArchivedReservation a WHERE a.user.id = :userId) AS archivedReservations " +
+            "FROM Loan l WHERE l.user.id = :userId")
+    UserActivitySummary summarizeUserActivity(@Param("userId") Long userId);
+
+    // Genre histogram of a user's loans (most borrowed first)
+    @Query("SELECT b.genre AS genre, COUNT(l) AS count FROM Loan l JOIN l.book b " +
+            "WHERE l.user.id = :userId GROUP BY b.genre ORDER BY COUNT(l) DESC")
+    List<GenreCount> countLoansByGenreForUser(@Param("userId") Long userId);
+
     boolean existsByUserIdAndDueDateBeforeAndStatus(Long id, LocalDate now, LoanStatus loanStatus);
+
+    // ========== FETCH PLANS ==========
+
+    @Override
+    @EntityGraph(Loan.WITH_BOOK_AND_USER)
+    Optional<Loan> findById(Long id);
+
+    @Override
+    @EntityGraph(Loan.WITH_BOOK_AND_USER)
+    Page<Loan> findAll(Pageable pageable);
+
+    // ========== ROW PROJECTIONS (list endpoints, χωρίς managed entities) ==========
+
+    @Query(value = LOAN_ROW, countQuery = "SELECT COUNT(l) FROM Loan l")
+    Page<LoanRow> findAllRows(Pageable pageable);
+
+    @Query(value = LOAN_ROW + "WHERE l.status = :status",
+            countQuery = "SELECT COUNT(l) FROM Loan l WHERE l.status = :status")
+    Page<LoanRow> findRowsByStatus(@Param("status") LoanStatus status, Pageable pageable);
+
+    @Query(value = LOAN_ROW + "WHERE u.id = :userId",
+            countQuery = "SELECT COUNT(l) FROM Loan l WHERE l.user.id = :userId")
+    Page<LoanRow> findRowsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(LOAN_ROW + "WHERE b.id = :bookId")
+    List<LoanRow> findRowsByBookId(@Param("bookId") Long bookId);
+
+    @Query(LOAN_ROW + "WHERE l.dueDate < :currentDate AND l.status = 'ACTIVE'")
+    List<LoanRow> findOverdueRows(@Param("currentDate") LocalDate currentDate);
+
+    @Query(LOAN_ROW + "WHERE l.dueDate BETWEEN :startDate AND :endDate AND l.status = 'ACTIVE'")
+    List<LoanRow> findRowsDueBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 }
@@ -4,17 +4,25 @@ import com.JohnBravos.bookhub_manager.core.enums.ReservationStatus;
 import com.JohnBravos.bookhub_manager.model.Book;
 import com.JohnBravos.bookhub_manager.model.Reservation;
 import com.JohnBravos.bookhub_manager.model.User;
+import com.JohnBravos.bookhub_manager.repository.projection.ReservationRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+
+    String RESERVATION_ROW = "SELECT new com.JohnBravos.bookhub_manager.repository.projection.ReservationRow(r.id, r.reservationDate, r.expiryDate, r.status, " +
+            BookRepository.BOOK_COLUMNS + ", " + UserRepository.USER_COLUMNS + ") " +
+            "FROM Reservation r JOIN r.book b JOIN r.user u ";
+
     // Reservations by user
     List<Reservation> findByUser(User user);
 
@@ -22,6 +30,7 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     List<Reservation> findByBook(Book book);
 
     // Reservations by status
+    @EntityGraph(Reservation.WITH_BOOK_AND_USER)
     Page<Reservation> findByStatus(ReservationStatus status, Pageable pageable);
 
     // Active reservations of a user
@@ -31,9 +40,11 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     List<Reservation> findByBookAndStatus(Book book, ReservationStatus status);
 
     // Reservations by user ID
+    @EntityGraph(Reservation.WITH_BOOK_AND_USER)
     Page<Reservation> findByUserId(Long userId, Pageable pageable);
 
     // Reservations by book ID
+    @EntityGraph(Reservation.WITH_BOOK_AND_USER)
     List<Reservation> findByBookId(Long bookId);
 
     // Active reservations by user ID
@@ -44,10 +55,12 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
 
     // Expired reservations (expiryDate < now and status = ACTIVE)
     @Query("SELECT r FROM Reservation r WHERE r.expiryDate < :currentDate AND r.status = 'ACTIVE'")
+    @EntityGraph(Reservation.WITH_BOOK_AND_USER)
     List<Reservation> findExpiredReservations(@Param("currentDate") LocalDate currentDate);
 
     // Reservations that expires soon (next 24 ώρες)
     @Query("SELECT r FROM Reservation r WHERE r.expiryDate BETWEEN :startDate AND :endDate AND r.status = 'ACTIVE'")
+    @EntityGraph(Reservation.WITH_BOOK_AND_USER)
     List<Reservation> findReservationsExpiringSoon(@Param("startDate") LocalDate startDate,
                                                    @Param("endDate") LocalDate endDate);
 
@@ -67,6 +80,7 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
 
     // Active reservations for a book (for waiting list)
     @Query("SELECT r FROM Reservation r WHERE r.book.id = :bookId AND r.status = 'ACTIVE' ORDER BY r.reservationDate ASC")
+    @EntityGraph(Reservation.WITH_BOOK_AND_USER)
     List<Reservation> findActiveReservationsByBookOrderByDate(@Param("bookId") Long bookId);
 
     // Next reservation in a row for a book
@@ -76,6 +90,14 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     // Count reservations by status
     long countByStatus(ReservationStatus status);
 
+    // Count reservations grouped by status (one query for all statuses)
+    @Query("SELECT r.status, COUNT(r) FROM Reservation r GROUP BY r.status")
+    List<Object[]> countGroupedByStatus();
+
+    // Rollup backfill - reservations per reservation day and genre
+    @Query("SELECT r.reservationDate, b.genre, COUNT(r) FROM Reservation r JOIN r.book b GROUP BY r.reservationDate, b.genre")
+    List<Object[]> countCreatedByDayAndGenre();
+
     // Count active reservations for a user
     long countByUserAndStatus(User user, ReservationStatus status);
 
@@ -104,5 +126,45 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     int countByUserId(@Param("userId") Long userId);
 
     @Query("SELECT r FROM Reservation r WHERE r.user.id = :userId AND r.status = :status")
+    @EntityGraph(Reservation.WITH_BOOK_AND_USER)
     List<Reservation> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") ReservationStatus status);
+
+    // Reservations of a user in any of the given statuses
+    @EntityGraph(Reservation.WITH_BOOK_AND_USER)
+    List<Reservation> findByUserIdAndStatusIn(Long userId, Collection<ReservationStatus> statuses);
+
+    // ========== FETCH PLANS ==========
+
+    @Override
+    @EntityGraph(Reservation.WITH_BOOK_AND_USER)
+    Optional<Reservation> findById(Long id);
+
+    @Override
+    @EntityGraph(Reservation.WITH_BOOK_AND_USER)
+    Page<Reservation> findAll(Pageable pageable);
+
+    // ========== ROW PROJECTIONS (list endpoints, χωρίς managed entities) ==========
+
+    @Query(value = RESERVATION_ROW, countQuery = "SELECT COUNT(r) FROM Reservation r")
+    Page<ReservationRow> findAllRows(Pageable pageable);
+
+    @Query(value = RESERVATION_ROW + "WHERE r.status = :status",
+            countQuery = "SELECT COUNT(r) FROM Reservation r WHERE r.status = :status")
+    Page<ReservationRow> findRowsByStatus(@Param("status") ReservationStatus status, Pageable pageable);
+
+    @Query(value = RESERVATION_ROW + "WHERE u.id = :userId",
+            countQuery = "SELECT COUNT(r) FROM Reservation r WHERE r.user.id = :userId")
+    Page<ReservationRow> findRowsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(RESERVATION_ROW + "WHERE b.id = :bookId")
+    List<ReservationRow> findRowsByBookId(@Param("bookId") Long bookId);
+
+    @Query(RESERVATION_ROW + "WHERE r.expiryDate < :currentDate AND r.status = 'ACTIVE'")
+    List<ReservationRow> findExpiredRows(@Param("currentDate") LocalDate currentDate);
+
+    @Query(RESERVATION_ROW + "WHERE r.expiryDate BETWEEN :startDate AND :endDate AND r.status = 'ACTIVE'")
+    List<ReservationRow> findRowsExpiringBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query(RESERVATION_ROW + "WHERE b.id = :bookId AND r.status = 'ACTIVE' ORDER BY r.reservationDate ASC")
+    List<ReservationRow> findActiveRowsByBookOrderByDate(@Param("bookId") Long bookId);
 }
@@ -0,0 +1,115 @@
+package com.JohnBravos.bookhub_manager.repository;
+
+import com.JohnBravos.bookhub_manager.config.MetricNames;
+import com.JohnBravos.bookhub_manager.core.fields.FieldSelection;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tuple queries μόνο με τα columns ενός FieldSelection. Το book/user γίνεται join μόνο
+ * όταν ζητηθεί κάποιο πεδίο τους, οπότε {@code fields=id,dueDate} διαβάζει μόνο τον πίνακα loans.
+ */
+@Repository
+@Timed(MetricNames.JDBC)
+public class SparseFieldRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Επιστρέφει flat rows (column path -> τιμή) με τη σειρά του {@link FieldSelection#columns()}.
+     * Τα filters είναι ισότητες πάνω σε attribute paths (π.χ. "status", "user.id").
+     */
+    public Page<Map<String, Object>> findPage(FieldSelection selection, Map<String, Object> filters, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        Class<?> entityClass = selection.resource().entityClass();
+        List<String> columns = selection.columns();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(entityClass);
+        Map<String, Join<?, ?>> joins = new HashMap<>();
+
+        List<Selection<?>> selections = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            selections.add(select(root, joins, column));
+        }
+        query.multiselect(selections)
+                .where(predicates(cb, root, filters))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(pageable.getPageSize());
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : typed.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                row.put(columns.get(i), tuple.get(i));
+            }
+            rows.add(row);
+        }
+
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(entityClass, filters));
+    }
+
+    private long count(Class<?> entityClass, Map<String, Object> filters) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<?> root = query.from(entityClass);
+        query.select(cb.count(root)).where(predicates(cb, root, filters));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // Nested πεδίο (book.title) -> inner join στο association, ένα ανά association
+    private static Path<?> select(Root<?> root, Map<String, Join<?, ?>> joins, String column) {
+        int dot = column.indexOf('.');
+        if (dot < 0) {
+            return root.get(column);
+        }
+        String association = column.substring(0, dot);
+        if (column.endsWith(".id") && !joins.containsKey(association)) {
+            // Το FK της στήλης αρκεί, χωρίς join
+            return root.get(association).get("id");
+        }
+        From<?, ?> join = joins.computeIfAbsent(association, name -> root.join(name));
+        return join.get(column.substring(dot + 1));
+    }
+
+    // Τα filters σε FK (user.id) δεν χρειάζονται join
+    private static Predicate[] predicates(CriteriaBuilder cb, Root<?> root, Map<String, Object> filters) {
+        List<Predicate> predicates = new ArrayList<>(filters.size());
+        filters.forEach((attribute, value) -> {
+            Path<?> path = root;
+            for (String part : attribute.split("\\.")) {
+                path = path.get(part);
+            }
+            predicates.add(cb.equal(path, value));
+        });
+        return predicates.toArray(Predicate[]::new);
+    }
+}
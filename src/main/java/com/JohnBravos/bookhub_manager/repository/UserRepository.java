@@ -14,6 +14,10 @@ import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    // Select list για UserRow (alias u) - χρησιμοποιείται και στα loan/reservation row queries
+    String USER_COLUMNS = "u.id, u.firstName, u.lastName, u.username, u.email, u.phoneNumber, " +
+            "u.role, u.status, u.createdAt, u.updatedAt";
+
     // User by email
     Optional<User> findByEmail(String email);
 
@@ -0,0 +1,15 @@
+package com.JohnBravos.bookhub_manager.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Ένας author ενός βιβλίου (bookId) - φορτώνονται μαζικά για μια σελίδα βιβλίων
+public record AuthorRow(
+        Long bookId,
+        Long id,
+        String firstName,
+        String lastName,
+        String nationality,
+        String biography,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
@@ -0,0 +1,8 @@
+package com.JohnBravos.bookhub_manager.repository.projection;
+
+public interface BookCirculationCounts {
+    Long getBookId();
+    Long getActiveLoans();
+    Long getTotalTimesBorrowed();
+    Long getPendingReservations();
+}
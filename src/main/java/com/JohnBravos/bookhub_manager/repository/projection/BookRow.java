@@ -0,0 +1,21 @@
+package com.JohnBravos.bookhub_manager.repository.projection;
+
+import com.JohnBravos.bookhub_manager.core.enums.BookStatus;
+
+import java.time.LocalDateTime;
+
+// Flat στήλες ενός βιβλίου (χωρίς authors) για list endpoints, χωρίς managed entity
+public record BookRow(
+        Long id,
+        String title,
+        String isbn,
+        String publisher,
+        Integer publicationYear,
+        String genre,
+        String description,
+        Integer totalCopies,
+        Integer availableCopies,
+        BookStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
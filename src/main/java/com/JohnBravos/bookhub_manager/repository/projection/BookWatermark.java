@@ -0,0 +1,10 @@
+package com.JohnBravos.bookhub_manager.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Watermark ενός βιβλίου μαζί με το πιο πρόσφατο updatedAt των authors του (περιέχονται στο BookResponse).
+ */
+public interface BookWatermark extends Watermark {
+    LocalDateTime getAuthorsUpdated();
+}
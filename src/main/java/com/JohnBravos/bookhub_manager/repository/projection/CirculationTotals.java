@@ -0,0 +1,10 @@
+package com.JohnBravos.bookhub_manager.repository.projection;
+
+public interface CirculationTotals {
+    String getGenre();
+    long getLoansCreated();
+    long getLoansReturned();
+    long getLoansOverdue();
+    long getReservationsCreated();
+    long getLoanDaysTotal();
+}
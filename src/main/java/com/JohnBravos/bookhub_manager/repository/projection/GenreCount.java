@@ -0,0 +1,9 @@
+package com.JohnBravos.bookhub_manager.repository.projection;
+
+/**
+ * Μία γραμμή από ιστόγραμμα loans ανά genre.
+ */
+public interface GenreCount {
+    String getGenre();
+    long getCount();
+}
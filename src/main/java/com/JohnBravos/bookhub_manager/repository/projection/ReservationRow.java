@@ -0,0 +1,35 @@
+package com.JohnBravos.bookhub_manager.repository.projection;
+
+import com.JohnBravos.bookhub_manager.core.enums.BookStatus;
+import com.JohnBravos.bookhub_manager.core.enums.ReservationStatus;
+import com.JohnBravos.bookhub_manager.core.enums.UserRole;
+import com.JohnBravos.bookhub_manager.core.enums.UserStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record ReservationRow(
+        Long id,
+        LocalDate reservationDate,
+        LocalDate expiryDate,
+        ReservationStatus status,
+        BookRow book,
+        UserRow user
+) {
+
+    /**
+     * Constructor για JPQL constructor expressions (ReservationRepository.RESERVATION_ROW) - flat στήλες reservation, book, user.
+     */
+    public ReservationRow(Long id, LocalDate reservationDate, LocalDate expiryDate, ReservationStatus status,
+                          Long bookId, String title, String isbn, String publisher, Integer publicationYear, String genre,
+                          String description, Integer totalCopies, Integer availableCopies, BookStatus bookStatus,
+                          LocalDateTime bookCreatedAt, LocalDateTime bookUpdatedAt,
+                          Long userId, String firstName, String lastName, String username, String email, String phoneNumber,
+                          UserRole role, UserStatus userStatus, LocalDateTime userCreatedAt, LocalDateTime userUpdatedAt) {
+        this(id, reservationDate, expiryDate, status,
+                new BookRow(bookId, title, isbn, publisher, publicationYear, genre, description,
+                        totalCopies, availableCopies, bookStatus, bookCreatedAt, bookUpdatedAt),
+                new UserRow(userId, firstName, lastName, username, email, phoneNumber,
+                        role, userStatus, userCreatedAt, userUpdatedAt));
+    }
+}
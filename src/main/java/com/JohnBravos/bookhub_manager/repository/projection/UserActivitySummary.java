@@ -0,0 +1,16 @@
+package com.JohnBravos.bookhub_manager.repository.projection;
+
+/**
+ * Συγκεντρωτικά στοιχεία δραστηριότητας ενός χρήστη (loans + reservations, live και archived)
+ * από ένα aggregate query.
+ */
+public interface UserActivitySummary {
+    long getTotalLoans();
+    long getActiveLoans();
+    long getOverdueLoans();
+    long getReturnedLoans();
+    long getTotalReservations();
+    long getArchivedLoans();
+    long getArchivedReturnedLoans();
+    long getArchivedReservations();
+}
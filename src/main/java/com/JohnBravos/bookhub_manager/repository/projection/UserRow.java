@@ -0,0 +1,20 @@
+package com.JohnBravos.bookhub_manager.repository.projection;
+
+import com.JohnBravos.bookhub_manager.core.enums.UserRole;
+import com.JohnBravos.bookhub_manager.core.enums.UserStatus;
+
+import java.time.LocalDateTime;
+
+// Flat στήλες ενός χρήστη για list endpoints (χωρίς password)
+public record UserRow(
+        Long id,
+        String firstName,
+        String lastName,
+        String username,
+        String email,
+        String phoneNumber,
+        UserRole role,
+        UserStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
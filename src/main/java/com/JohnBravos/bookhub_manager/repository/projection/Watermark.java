@@ -0,0 +1,11 @@
+package com.JohnBravos.bookhub_manager.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Πλήθος γραμμών και πιο πρόσφατο updatedAt - αλλάζει σε κάθε insert, update ή delete.
+ */
+public interface Watermark {
+    long getCount();
+    LocalDateTime getLastUpdated();
+}
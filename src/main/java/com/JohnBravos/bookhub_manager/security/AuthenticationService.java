@@ -10,6 +10,7 @@ import com.JohnBravos.bookhub_manager.dto.Response.LoginResponse;
 import com.JohnBravos.bookhub_manager.dto.Response.RegisterResponse;
 import com.JohnBravos.bookhub_manager.model.User;
 import com.JohnBravos.bookhub_manager.repository.UserRepository;
+import com.JohnBravos.bookhub_manager.service.stats.SystemCounters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +31,7 @@ public class AuthenticationService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final SystemCounters systemCounters;
 
     @Autowired
     private final AuthenticationManager authenticationManager;
@@ -61,6 +63,7 @@ public class AuthenticationService {
 
         // ΒΗΜΑ 3: ΑΠΟΘΗΚΕΥΣΗ ΣΤΗ ΒΑΣΗ
         User savedUser = userRepository.save(user);
+        systemCounters.userCreated();
         log.info("User registered successfully with ID: {}", savedUser.getId());
 
         // ΒΗΜΑ 4: ΕΠΙΣΤΡΟΦΗ ΑΠΑΝΤΗΣΗΣ
@@ -1,5 +1,7 @@
 package com.JohnBravos.bookhub_manager.security;
 
+import com.JohnBravos.bookhub_manager.core.jfr.JwtVerifyEvent;
+import com.JohnBravos.bookhub_manager.core.jfr.UserDetailsLoadEvent;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -39,6 +41,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        JwtVerifyEvent verifyEvent = JwtVerifyEvent.start();
         try {
             // ΒΗΜΑ 1: ΕΞΑΓΩΓΗ ΤΟΚΕΝ ΑΠΟ ΤΟ HEADER
             log.info("---- JWT Filter triggered for path: {} ----", request.getServletPath());
@@ -51,11 +54,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 jwtToken = authHeader.substring(7);  // Αφαιρούμε το "Bearer "
+                verifyEvent.token();
                 log.debug("JWT Token extracted: {}", jwtToken != null ?
                         jwtToken.substring(0, Math.min(jwtToken.length(), 20)) + "..." : "null");
 
                 // ΒΗΜΑ 2: ΕΞΑΓΩΓΗ USERNAME ΑΠΟ TOKEN
                 username = jwtUtil.extractUsername(jwtToken);
+                verifyEvent.username(username);
                 log.debug("Username extracted from token: {}", username);
 
             }
@@ -64,13 +69,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
                     // ΒΗΜΑ 4: ΦΟΡΤΩΣΗ ΣΤΟΙΧΕΙΩΝ ΧΡΗΣΤΗ ΑΠΟ ΒΑΣΗ
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    final String tokenUsername = username;
+                    UserDetails userDetails = UserDetailsLoadEvent.start(tokenUsername)
+                            .record(() -> userDetailsService.loadUserByUsername(tokenUsername));
                     log.debug("User details loader for: {}", username);
                     log.info("Extracted username from token: {}", username);
 
 
                     // ΒΗΜΑ 5: ΕΛΕΓΧΟΣ ΕΓΚΥΡΟΤΗΤΑΣ ΤΟΚΕΝ
-                    if (jwtUtil.validateToken(jwtToken, userDetails)) {
+                    boolean valid = jwtUtil.validateToken(jwtToken, userDetails);
+                    verifyEvent.valid(valid);
+                    if (valid) {
                         log.debug("Token validated successfully for user: {}", username);
 
                         // ΒΗΜΑ 6: ΔΗΜΙΟΥΡΓΙΑ AUTHENTICATION OBJECT
@@ -96,9 +105,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 // ΒΗΜΑ 9: ΣΥΝΕΧΙΣΗ ΣΤΟ ΕΠΟΜΕΝΟ FILTER
 
         } catch (Exception e) {
+            verifyEvent.failed(e);
             log.error("Error processing JWT authentication: {}", e.getMessage());
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             return;
+        } finally {
+            verifyEvent.finish();
         }
         filterChain.doFilter(request, response);
     }
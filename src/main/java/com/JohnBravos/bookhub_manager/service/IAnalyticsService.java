@@ -0,0 +1,17 @@
+package com.JohnBravos.bookhub_manager.service;
+
+import com.JohnBravos.bookhub_manager.core.enums.RollupGranularity;
+import com.JohnBravos.bookhub_manager.dto.Response.CirculationPointResponse;
+import com.JohnBravos.bookhub_manager.dto.Response.GenreCirculationResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface IAnalyticsService {
+
+    // Circulation time series (όλα τα genres αν genre == null)
+    List<CirculationPointResponse> getCirculationSeries(RollupGranularity granularity, LocalDate from, LocalDate to, String genre);
+
+    // Circulation totals per genre
+    List<GenreCirculationResponse> getCirculationByGenre(LocalDate from, LocalDate to);
+}
@@ -9,6 +9,7 @@ import com.JohnBravos.bookhub_manager.dto.Response.SearchBookRequest;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.Map;
 
 public interface IBookService {
 
@@ -18,8 +19,10 @@ public interface IBookService {
     // READ
     BookResponse getBookById(Long id);
     BookDetailsResponse getBookDetails(Long bookId);
+    Page<BookDetailsResponse> getBookDetailsPage(int page, int size, String sort);
     List<BookResponse> getAllBooks();
     Page<BookResponse> getAllBooks(int page, int size, String sort);
+    Page<Map<String, Object>> getAllBooks(int page, int size, String sort, String fields);
     List<BookResponse> getAvailableBooks();
     List<BookResponse> searchBooks(SearchBookRequest searchRequest);
     List<BookResponse> getBooksByAuthor(Long authorId);
@@ -0,0 +1,17 @@
+package com.JohnBravos.bookhub_manager.service;
+
+import com.JohnBravos.bookhub_manager.core.enums.ImportFormat;
+import com.JohnBravos.bookhub_manager.dto.Response.ImportProgressResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+public interface ICatalogImportService {
+
+    // Ξεκινά import στο background και επιστρέφει αμέσως το job
+    ImportProgressResponse startImport(MultipartFile file, ImportFormat format);
+
+    ImportProgressResponse getProgress(String jobId);
+
+    List<ImportProgressResponse> getJobs();
+}
@@ -0,0 +1,8 @@
+package com.JohnBravos.bookhub_manager.service;
+
+import com.JohnBravos.bookhub_manager.dto.Response.DashboardResponse;
+
+public interface IDashboardService {
+
+    DashboardResponse getDashboard();
+}
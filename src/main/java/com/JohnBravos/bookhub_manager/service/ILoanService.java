@@ -8,6 +8,7 @@ import com.JohnBravos.bookhub_manager.dto.Response.LoanResponse;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.Map;
 
 public interface ILoanService {
 
@@ -22,11 +23,14 @@ public interface ILoanService {
     LoanResponse getLoanById(Long id);
     Page<LoanResponse> getAllLoans(int page, int size, String sort, String status);
     Page<LoanResponse> getLoansByUser(Long userId, int page, int size, String sort);
+    Page<Map<String, Object>> getAllLoans(int page, int size, String sort, String status, String fields);
+    Page<Map<String, Object>> getLoansByUser(Long userId, int page, int size, String sort, String fields);
     List<LoanResponse> getLoansByBook(Long bookId);
     Page<LoanResponse> getLoansByStatus(LoanStatus status, int page, int size, String sort);
     Page<LoanResponse> getActiveLoans(int page, int size, String sort);
     List<LoanResponse> getOverdueLoans();
     List<LoanResponse> getLoansDueSoon();
+    List<LoanResponse> getRecentLoans();
 
     // UPDATE
     LoanResponse updateLoan(Long loanId, UpdateLoanRequest request);
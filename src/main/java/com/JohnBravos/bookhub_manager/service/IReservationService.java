@@ -7,6 +7,7 @@ import com.JohnBravos.bookhub_manager.dto.Response.ReservationResponse;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.Map;
 
 public interface IReservationService {
 
@@ -21,6 +22,8 @@ public interface IReservationService {
     ReservationResponse getReservationById(Long id);
     Page<ReservationResponse> getAllReservations(int page, int size, String sort, String status);
     Page<ReservationResponse> getReservationsByUser(Long userId, int page, int size, String sort);
+    Page<Map<String, Object>> getAllReservations(int page, int size, String sort, String status, String fields);
+    Page<Map<String, Object>> getReservationsByUser(Long userId, int page, int size, String sort, String fields);
     List<ReservationResponse> getReservationsByBook(Long bookId);
     Page<ReservationResponse> getReservationsByStatus(ReservationStatus status, int page, int size, String sort);
     Page<ReservationResponse> getActiveReservations(int page, int size, String sort);
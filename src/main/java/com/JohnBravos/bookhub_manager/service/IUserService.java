@@ -11,6 +11,7 @@ import com.JohnBravos.bookhub_manager.dto.Response.UserStatisticsResponse;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.Map;
 
 public interface IUserService {
 
@@ -24,6 +25,7 @@ public interface IUserService {
     UserProfileResponse getCurrentUserProfile();
     List<UserResponse> getAllUsers();
     Page<UserResponse> getAllUsers(int page, int size, String sort);
+    Page<Map<String, Object>> getAllUsers(int page, int size, String sort, String fields);
     List<UserResponse> getUsersByRole(UserRole role);
     List<UserResponse> searchUsersByName(String name);
 
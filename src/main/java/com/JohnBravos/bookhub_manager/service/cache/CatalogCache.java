@@ -0,0 +1,77 @@
+package com.JohnBravos.bookhub_manager.service.cache;
+
+import com.JohnBravos.bookhub_manager.config.CacheNames;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalidation των caches καταλόγου ({@link CacheNames}). Οι λίστες ανά author/genre περιέχουν
+ * availableCopies και ονόματα authors, οπότε καθαρίζονται ολόκληρες σε κάθε σχετική αλλαγή.
+ * Μέσα σε transaction το eviction γίνεται μετά το commit (transaction-aware cache manager).
+ * Κάθε αλλαγή αυξάνει την έκδοση των ETags μετά το commit ({@link CatalogVersions}) και
+ * ακυρώνει τις έτοιμες σελίδες του καταλόγου ({@link CatalogPageCache}).
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogCache {
+
+    private final CacheManager cacheManager;
+    private final CatalogVersions catalogVersions;
+    private final CatalogPageCache catalogPageCache;
+
+    // Στοιχεία, αντίτυπα ή status ενός βιβλίου (και διαγραφή)
+    public void bookChanged(Long bookId) {
+        evict(CacheNames.BOOK_BY_ID, bookId);
+        clearBookLists();
+    }
+
+    public void bookAdded() {
+        clearBookLists();
+    }
+
+    // Ο author περιέχεται σε κάθε BookResponse των βιβλίων του
+    public void authorChanged(Long authorId) {
+        evict(CacheNames.AUTHOR_BY_ID, authorId);
+        clear(CacheNames.ALL_AUTHORS);
+        clear(CacheNames.BOOK_BY_ID);
+        clearBookLists();
+    }
+
+    public void authorAdded() {
+        clear(CacheNames.ALL_AUTHORS);
+        catalogChanged();
+    }
+
+    // Bulk import: νέοι authors και νέα βιβλία σε υπάρχοντες authors/genres
+    public void catalogImported() {
+        clear(CacheNames.ALL_AUTHORS);
+        clearBookLists();
+    }
+
+    private void clearBookLists() {
+        clear(CacheNames.BOOKS_BY_AUTHOR);
+        clear(CacheNames.BOOKS_BY_GENRE);
+        catalogChanged();
+    }
+
+    private void catalogChanged() {
+        catalogVersions.changed();
+        catalogPageCache.invalidate();
+    }
+
+    private void evict(String name, Object key) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
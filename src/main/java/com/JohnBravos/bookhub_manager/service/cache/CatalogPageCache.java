@@ -0,0 +1,62 @@
+package com.JohnBravos.bookhub_manager.service.cache;
+
+import com.JohnBravos.bookhub_manager.core.utils.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Έτοιμα response bodies (JSON και gzip) για τις πιο συχνές σελίδες του public καταλόγου.
+ * Γεμίζει και σερβίρεται από το {@link com.JohnBravos.bookhub_manager.core.http.CatalogPageCacheFilter}.
+ * Κάθε αλλαγή καταλόγου ({@link CatalogCache}) το αδειάζει μετά το commit. Οι αλλαγές άλλων
+ * instances φαίνονται μετά το TTL.
+ */
+@Component
+public class CatalogPageCache {
+
+    public record CachedPage(byte[] body, byte[] gzipped, String contentType, String etag, String cacheControl) {}
+
+    private final Cache<String, CachedPage> pages;
+
+    // Μια σελίδα που άρχισε να παράγεται πριν από invalidation δεν αποθηκεύεται
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CatalogPageCache(MeterRegistry meterRegistry,
+                            @Value("${catalog.page-cache.max-entries:200}") long maxEntries,
+                            @Value("${catalog.page-cache.ttl-seconds:10}") long ttlSeconds) {
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "catalogPages");
+    }
+
+    public CachedPage get(String key) {
+        return pages.getIfPresent(key);
+    }
+
+    // Διαβάζεται πριν παραχθεί η σελίδα και περνά στο put
+    public long generation() {
+        return invalidations.get();
+    }
+
+    public void put(String key, long generation, CachedPage page) {
+        if (invalidations.get() == generation) {
+            pages.put(key, page);
+        }
+    }
+
+    public void invalidate() {
+        AfterCommit.run(() -> {
+            invalidations.incrementAndGet();
+            pages.invalidateAll();
+        });
+    }
+}
@@ -0,0 +1,126 @@
+package com.JohnBravos.bookhub_manager.service.cache;
+
+import com.JohnBravos.bookhub_manager.core.utils.AfterCommit;
+import com.JohnBravos.bookhub_manager.repository.AuthorRepository;
+import com.JohnBravos.bookhub_manager.repository.BookRepository;
+import com.JohnBravos.bookhub_manager.repository.CatalogVersionRepository;
+import com.JohnBravos.bookhub_manager.repository.projection.BookWatermark;
+import com.JohnBravos.bookhub_manager.repository.projection.Watermark;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Strong ETags για τα endpoints καταλόγου. Οι λίστες παίρνουν την έκδοση του
+ * {@link com.JohnBravos.bookhub_manager.model.CatalogVersion}, που αυξάνεται μετά το commit κάθε
+ * αλλαγής ({@link CatalogCache}) - ένα COUNT/MAX(updatedAt) δεν αλλάζει πάντα (π.χ. delete + insert,
+ * ίδιο timestamp, JDBC writes χωρίς updatedAt). Ένα βιβλίο ή author παίρνει το updatedAt της γραμμής του.
+ * <p>
+ * Η έκδοση κρατιέται για λίγο στη μνήμη. Οι αλλαγές αυτού του instance την ακυρώνουν μετά το commit,
+ * οι αλλαγές άλλων instances φαίνονται μετά το TTL.
+ */
+@Slf4j
+@Component
+@Transactional(readOnly = true)
+public class CatalogVersions {
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final CatalogVersionRepository catalogVersionRepository;
+    // Δικό του σύντομο transaction, ανεξάρτητο από αυτό που μόλις έκανε commit
+    private final TransactionTemplate incrementTransaction;
+
+    public CatalogVersions(BookRepository bookRepository,
+                           AuthorRepository authorRepository,
+                           CatalogVersionRepository catalogVersionRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.incrementTransaction = new TransactionTemplate(transactionManager);
+        this.incrementTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Value("${http.etag.catalog-watermark-ttl-ms:1000}")
+    private long catalogWatermarkTtlMs;
+
+    private volatile CachedTag catalog;
+
+    // Όπως στο UserActivityCache: μια έκδοση που διαβάστηκε πριν από invalidation δεν αποθηκεύεται
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private record CachedTag(String tag, long expiresAt) {}
+
+    // Βιβλία και authors: οι λίστες βιβλίων περιέχουν τους authors και αντίστροφα (with-books)
+    public String catalogTag() {
+        long now = System.nanoTime();
+        CachedTag cached = catalog;
+        if (cached != null && cached.expiresAt() - now > 0) {
+            return cached.tag();
+        }
+
+        long generation = invalidations.get();
+        String tag = "c-" + Long.toHexString(catalogVersionRepository.findCurrent().orElse(0L));
+        if (invalidations.get() == generation) {
+            catalog = new CachedTag(tag, now + TimeUnit.MILLISECONDS.toNanos(catalogWatermarkTtlMs));
+        }
+        return tag;
+    }
+
+    // null όταν το βιβλίο δεν υπάρχει (το 404 το δίνει το service)
+    public String bookTag(Long bookId) {
+        BookWatermark watermark = bookRepository.findWatermarkById(bookId);
+        if (watermark == null || watermark.getCount() == 0) {
+            return null;
+        }
+        return "b-" + bookId + "-" + encode(watermark.getLastUpdated()) + "-" + encode(watermark.getAuthorsUpdated());
+    }
+
+    public String authorTag(Long authorId) {
+        Watermark watermark = authorRepository.findWatermarkById(authorId);
+        if (watermark == null || watermark.getCount() == 0) {
+            return null;
+        }
+        return "a-" + authorId + "-" + encode(watermark.getLastUpdated());
+    }
+
+    /**
+     * Νέα έκδοση καταλόγου μετά το commit της αλλαγής, σε δικό της transaction. Το row lock κρατιέται
+     * μόνο για το UPDATE, όχι για όλο το approve / return. Για λίγο μετά το commit το ETag είναι το
+     * προηγούμενο· ένα rollback δεν αλλάζει την έκδοση. Το row το δημιουργεί το V5.
+     */
+    public void changed() {
+        AfterCommit.run(() -> {
+            try {
+                Integer updated = incrementTransaction.execute(status -> catalogVersionRepository.increment());
+                if (updated == null || updated == 0) {
+                    log.warn("catalog_version row is missing - catalog ETags will not change");
+                }
+            } catch (RuntimeException e) {
+                // Η αλλαγή έχει ήδη γίνει commit - το ETag θα αλλάξει με την επόμενη
+                log.warn("Could not increment the catalog version: {}", e.getMessage());
+            }
+            invalidations.incrementAndGet();
+            catalog = null;
+        });
+    }
+
+    // Microseconds (DATETIME(6)) σε hex
+    private static String encode(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return "0";
+        }
+        long micros = TimeUnit.SECONDS.toMicros(timestamp.toEpochSecond(ZoneOffset.UTC))
+                + TimeUnit.NANOSECONDS.toMicros(timestamp.getNano());
+        return Long.toHexString(micros);
+    }
+}
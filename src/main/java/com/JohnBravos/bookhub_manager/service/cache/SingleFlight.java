@@ -0,0 +1,89 @@
+package com.JohnBravos.bookhub_manager.service.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Request coalescing: ταυτόχρονες κλήσεις με το ίδιο (name, key) μοιράζονται έναν υπολογισμό.
+ * Ο πρώτος τρέχει το loader σε δικό του read-only transaction, οι υπόλοιποι περιμένουν το
+ * αποτέλεσμα (ή το ίδιο exception) χωρίς να πιάσουν connection. Τίποτα δεν κρατιέται μετά το
+ * τέλος του υπολογισμού - για caching υπάρχουν τα {@code @Cacheable}.
+ * <p>
+ * Όποιος έρθει όσο τρέχει ο υπολογισμός παίρνει το αποτέλεσμά του, άρα μπορεί να δει
+ * δεδομένα το πολύ έναν υπολογισμό παλιότερα. Οι μέθοδοι που το χρησιμοποιούν δεν πρέπει να
+ * εξαρτώνται από τον τρέχοντα χρήστη.
+ * <p>
+ * Metric: {@code singleflight.coalesced{name}} - κλήσεις που δεν έτρεξαν δικό τους query.
+ */
+@Component
+public class SingleFlight {
+
+    private record Key(String name, Object key) {}
+
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final TransactionTemplate readOnly;
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlight(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object key, Supplier<T> loader) {
+        Key flightKey = new Key(name, key);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, mine);
+
+        if (existing != null) {
+            coalesced(name).increment();
+            return (T) await(existing);
+        }
+
+        try {
+            T result = readOnly.execute(status -> loader.get());
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, mine);
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private Counter coalesced(String name) {
+        return Counter.builder("singleflight.coalesced")
+                .tag("name", name)
+                .description("Calls that joined an identical in-flight computation")
+                .register(meterRegistry);
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.JohnBravos.bookhub_manager.service.impl;
 
+import com.JohnBravos.bookhub_manager.config.MetricNames;
 import com.JohnBravos.bookhub_manager.core.exceptions.custom.AuthorNotFoundException;
 import com.JohnBravos.bookhub_manager.core.exceptions.custom.CannotDeleteException;
 import com.JohnBravos.bookhub_manager.dto.Request.CreateAuthorRequest;
@@ -8,9 +9,13 @@ import com.JohnBravos.bookhub_manager.dto.Response.AuthorResponse;
 import com.JohnBravos.bookhub_manager.mapper.AuthorMapper;
 import com.JohnBravos.bookhub_manager.model.Author;
 import com.JohnBravos.bookhub_manager.repository.AuthorRepository;
+import com.JohnBravos.bookhub_manager.config.CacheNames;
 import com.JohnBravos.bookhub_manager.service.IAuthorService;
+import com.JohnBravos.bookhub_manager.service.cache.CatalogCache;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -24,10 +29,12 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed(MetricNames.SERVICE)
 public class AuthorService implements IAuthorService {
 
     private final AuthorRepository authorRepository;
     private final AuthorMapper authorMapper;
+    private final CatalogCache catalogCache;
 
     @Override
     @Transactional
@@ -43,12 +50,14 @@ public class AuthorService implements IAuthorService {
                 .build();
 
         Author savedAuthor = authorRepository.save(author);
+        catalogCache.authorAdded();
         log.info("Author created successfully with ID: {}", savedAuthor.getId());
 
         return authorMapper.toResponse(savedAuthor);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheNames.AUTHOR_BY_ID, sync = true)
     public AuthorResponse getAuthorById(Long id) {
         log.debug("Fetching author by ID: {}", id);
         Author author = authorRepository.findById(id)
@@ -57,6 +66,7 @@ public class AuthorService implements IAuthorService {
     }
 
     @Override
+    @Cacheable(CacheNames.ALL_AUTHORS)
     public List<AuthorResponse> getAllAuthors() {
         log.debug("Fetching all authors");
         return authorMapper.toResponseList(authorRepository.findAll());
@@ -107,6 +117,7 @@ public class AuthorService implements IAuthorService {
 
         authorMapper.updateEntity(request, author);
         Author updatedAuthor = authorRepository.save(author);
+        catalogCache.authorChanged(authorId);
 
         log.info("Author updated successfully with ID: {}", authorId);
         return authorMapper.toResponse(updatedAuthor);
@@ -121,6 +132,7 @@ public class AuthorService implements IAuthorService {
 
         validateAuthorCanBeDeleted(author);
         authorRepository.delete(author);
+        catalogCache.authorChanged(authorId);
         log.info("Author deleted successfully with ID: {}", authorId);
     }
 
@@ -1,23 +1,44 @@
 package com.JohnBravos.bookhub_manager.service.impl;
 
+import com.JohnBravos.bookhub_manager.config.MetricNames;
 import com.JohnBravos.bookhub_manager.core.enums.BookStatus;
+import com.JohnBravos.bookhub_manager.core.enums.DurationMetric;
+import com.JohnBravos.bookhub_manager.core.fields.FieldSelection;
+import com.JohnBravos.bookhub_manager.core.jfr.BookSearchEvent;
+import com.JohnBravos.bookhub_manager.core.fields.SparseResource;
 import com.JohnBravos.bookhub_manager.core.exceptions.custom.AuthorNotFoundException;
 import com.JohnBravos.bookhub_manager.core.exceptions.custom.BookNotFoundException;
+import com.JohnBravos.bookhub_manager.core.exceptions.custom.CannotDeleteException;
 import com.JohnBravos.bookhub_manager.core.exceptions.custom.DuplicateIsbnException;
+import com.JohnBravos.bookhub_manager.core.utils.SortParams;
 import com.JohnBravos.bookhub_manager.dto.Request.CreateBookRequest;
 import com.JohnBravos.bookhub_manager.dto.Request.UpdateBookRequest;
 import com.JohnBravos.bookhub_manager.dto.Response.BookDetailsResponse;
 import com.JohnBravos.bookhub_manager.dto.Response.BookResponse;
 import com.JohnBravos.bookhub_manager.dto.Response.SearchBookRequest;
 import com.JohnBravos.bookhub_manager.mapper.BookMapper;
+import com.JohnBravos.bookhub_manager.mapper.ProjectionMapper;
 import com.JohnBravos.bookhub_manager.model.Author;
 import com.JohnBravos.bookhub_manager.model.Book;
+import com.JohnBravos.bookhub_manager.repository.ArchivedLoanRepository;
+import com.JohnBravos.bookhub_manager.repository.ArchivedReservationRepository;
 import com.JohnBravos.bookhub_manager.repository.AuthorRepository;
 import com.JohnBravos.bookhub_manager.repository.BookRepository;
+import com.JohnBravos.bookhub_manager.repository.SparseFieldRepository;
+import com.JohnBravos.bookhub_manager.repository.projection.BookCirculationCounts;
+import com.JohnBravos.bookhub_manager.config.CacheNames;
 import com.JohnBravos.bookhub_manager.service.IBookService;
+import com.JohnBravos.bookhub_manager.service.cache.CatalogCache;
+import com.JohnBravos.bookhub_manager.service.cache.SingleFlight;
+import com.JohnBravos.bookhub_manager.service.stats.DurationHistogram;
+import com.JohnBravos.bookhub_manager.service.stats.DurationSketches;
+import com.JohnBravos.bookhub_manager.service.stats.SystemCounters;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -25,17 +46,29 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed(MetricNames.SERVICE)
 public class BookService implements IBookService {
 
     private final BookRepository bookRepository;
     private final AuthorRepository authorRepository;
+    private final ArchivedLoanRepository archivedLoanRepository;
+    private final ArchivedReservationRepository archivedReservationRepository;
     private final BookMapper bookMapper;
+    private final ProjectionMapper projectionMapper;
+    private final SparseFieldRepository sparseFieldRepository;
+    private final SystemCounters systemCounters;
+    private final DurationSketches durationSketches;
+    private final CatalogCache catalogCache;
+    private final SingleFlight singleFlight;
 
     @Override
     @Transactional
@@ -77,11 +110,14 @@ public class BookService implements IBookService {
         book.setStatus(request.totalCopies() > 0 ? BookStatus.AVAILABLE : BookStatus.BORROWED);
 
         Book savedBook = bookRepository.save(book);
+        systemCounters.bookCreated(savedBook.getAvailableCopies());
+        catalogCache.bookAdded();
         return bookMapper.toResponse(savedBook);
     }
 
 
         @Override
+        @Cacheable(cacheNames = CacheNames.BOOK_BY_ID, sync = true)
         public BookResponse getBookById(Long id) {
             log.debug("Fetching book by ID: {}", id);
             Book book = bookRepository.findById(id)
@@ -90,19 +126,27 @@ public class BookService implements IBookService {
         }
 
         @Override
+        @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
         public BookDetailsResponse getBookDetails(Long bookId) {
-            Book book = bookRepository.findById(bookId)
-                    .orElseThrow(() -> new BookNotFoundException(bookId));
+            // Ταυτόχρονα requests για το ίδιο βιβλίο μοιράζονται ένα load
+            return singleFlight.execute("bookDetails", bookId, () -> {
+                Book book = bookRepository.findById(bookId)
+                        .orElseThrow(() -> new BookNotFoundException(bookId));
 
-            return BookDetailsResponse.builder()
-                    .book(bookMapper.toResponse(book))
-                    .activeLoansCount(0)
-                    .pendingReservationsCount(0)
-                    .isAvailable(book.getAvailableCopies() > 0)
-                    .estimatedWaitDays(0)
-                    .totalTimesBorrowed(0)
-                    .averageLoanDuration(0.0)
-                    .build();
+                return toDetails(book, loadCirculationCounts(List.of(bookId)).get(bookId));
+            });
+        }
+
+        @Override
+        public Page<BookDetailsResponse> getBookDetailsPage(int page, int size, String sort) {
+            Page<Book> booksPage = bookRepository.findAll(PageRequest.of(page, size, SortParams.parse(sort)));
+
+            // Ένα GROUP BY query για όλη τη σελίδα αντί για N queries
+            List<Long> bookIds = booksPage.map(Book::getId).getContent();
+            Map<Long, BookCirculationCounts> counts = bookIds.isEmpty() ? Map.of() : loadCirculationCounts(bookIds);
+            durationSketches.preload(bookIds);
+
+            return booksPage.map(book -> toDetails(book, counts.get(book.getId())));
         }
 
         @Override
@@ -126,41 +170,58 @@ public class BookService implements IBookService {
 
                 Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortField));
 
-                Page<Book> booksPage = bookRepository.findAll(pageable);
-
-                return booksPage.map(bookMapper::toResponse);
+                return projectionMapper.toBookResponses(bookRepository.findAllRows(pageable));
         }
 
+    @Override
+    public Page<Map<String, Object>> getAllBooks(int page, int size, String sort, String fields) {
+        log.debug("Fetching books with fields: {}", fields);
+        FieldSelection selection = FieldSelection.parse(SparseResource.BOOK, fields);
+        Pageable pageable = PageRequest.of(page, size, SparseResource.BOOK.sort(sort));
+        return projectionMapper.toSparse(sparseFieldRepository.findPage(selection, Map.of(), pageable), selection);
+    }
+
         @Override
         public List<BookResponse> getAvailableBooks() {
             log.debug("Fetching available books");
-            return bookMapper.toResponseList(bookRepository.findAvailableBooksForLoan());
+            return projectionMapper.toBookResponses(bookRepository.findAvailableRowsForLoan());
         }
 
         @Override
         public List<BookResponse> searchBooks(SearchBookRequest searchRequest) {
             log.debug("Searching books with query: {}", searchRequest.query());
 
+            BookSearchEvent event = BookSearchEvent.start(searchRequest.query());
+            return event.record(() -> {
+                List<BookResponse> books = findBooks(searchRequest);
+                event.results(books.size());
+                return books;
+            });
+        }
+
+        private List<BookResponse> findBooks(SearchBookRequest searchRequest) {
             if (searchRequest.query() != null && !searchRequest.query().isEmpty()) {
-                return bookMapper.toResponseList(bookRepository.searchBooks(searchRequest.query()));
+                return projectionMapper.toBookResponses(bookRepository.searchRows(searchRequest.query()));
             }
 
             return getAllBooks();
         }
 
         @Override
+        @Cacheable(CacheNames.BOOKS_BY_AUTHOR)
         public List<BookResponse> getBooksByAuthor(Long authorId) {
             log.debug("Fetching books by author ID: {}", authorId);
             if (!authorRepository.existsById(authorId)) {
                 throw new AuthorNotFoundException(authorId);
             }
-            return bookMapper.toResponseList(bookRepository.findByAuthorId(authorId));
+            return projectionMapper.toBookResponses(bookRepository.findRowsByAuthorId(authorId));
         }
 
         @Override
+        @Cacheable(CacheNames.BOOKS_BY_GENRE)
         public List<BookResponse> getBooksByGenre(String genre) {
             log.debug("Fetching books by genre: {}", genre);
-            return bookMapper.toResponseList(bookRepository.findByGenreContainingIgnoreCase(genre));
+            return projectionMapper.toBookResponses(bookRepository.findRowsByGenreContaining(genre));
         }
 
 
@@ -178,6 +239,8 @@ public class BookService implements IBookService {
                     throw new AuthorNotFoundException("One or more authors not found");
                 }
                 book.setAuthors(authors);
+                // Αλλαγή μόνο στη συλλογή δεν κάνει update στο books row - το updatedAt είναι το ETag watermark
+                book.setUpdatedAt(LocalDateTime.now());
             }
 
             // Calculate borrowed copies BEFORE any changes
@@ -202,9 +265,11 @@ public class BookService implements IBookService {
                 
                 book.setTotalCopies(newTotal);
                 book.setAvailableCopies(newAvailable);
+                systemCounters.availableCopiesChanged(newAvailable - oldAvailableCopies);
             }
 
             Book updatedBook = bookRepository.save(book);
+            catalogCache.bookChanged(bookId);
             log.info("📊 After save - Total: {}, Available: {}", updatedBook.getTotalCopies(), updatedBook.getAvailableCopies());
 
             log.info("Book updated successfully with ID: {}", bookId);
@@ -220,6 +285,7 @@ public class BookService implements IBookService {
 
             book.setStatus(newStatus);
             Book updatedBook = bookRepository.save(book);
+            catalogCache.bookChanged(bookId);
 
             log.info("Book status updated successfully for book ID: {}", bookId);
             return bookMapper.toResponse(updatedBook);
@@ -238,9 +304,11 @@ public class BookService implements IBookService {
                  bookId, book.getTotalCopies(), book.getAvailableCopies(), borrowedCopies);
         
         // Set new total and recalculate available based on borrowed count
+        int oldAvailable = book.getAvailableCopies();
         book.setTotalCopies(newTotalCopies);
         int newAvailable = newTotalCopies - borrowedCopies;
         book.setAvailableCopies(newAvailable);
+        systemCounters.availableCopiesChanged(newAvailable - oldAvailable);
         
         log.info("📊 AFTER SET - ID: {}, Total: {}, Available: {}", 
                  bookId, book.getTotalCopies(), book.getAvailableCopies());
@@ -253,6 +321,7 @@ public class BookService implements IBookService {
         }
 
         Book updatedBook = bookRepository.save(book);
+        catalogCache.bookChanged(bookId);
         
         log.info("📊 AFTER SAVE - ID: {}, Total: {}, Available: {}", 
                  bookId, updatedBook.getTotalCopies(), updatedBook.getAvailableCopies());
@@ -269,7 +338,13 @@ public class BookService implements IBookService {
                 .orElseThrow(() -> new BookNotFoundException(bookId));
 
         // TODO: Add business rules (e.g., cannot delete book with active loans)
+        if (archivedLoanRepository.existsByBookId(bookId) || archivedReservationRepository.existsByBookId(bookId)) {
+            throw new CannotDeleteException("book", "Book has archived loan or reservation history");
+        }
         bookRepository.delete(book);
+        catalogCache.bookChanged(bookId);
+        // Cascades σε loans/reservations, οπότε ξαναμετράμε από τη βάση
+        systemCounters.reconcileAfterCommit();
         log.info("Book deleted successfully with ID: {}", bookId);
     }
 
@@ -289,5 +364,34 @@ public class BookService implements IBookService {
                 .orElseThrow(() -> new BookNotFoundException(bookId));
         return book.getAvailableCopies();
     }
-}
 
+
+    private Map<Long, BookCirculationCounts> loadCirculationCounts(List<Long> bookIds) {
+        Map<Long, BookCirculationCounts> counts = new HashMap<>();
+        for (BookCirculationCounts row : bookRepository.countCirculationByBookIds(bookIds)) {
+            counts.put(row.getBookId(), row);
+        }
+        return counts;
+    }
+
+    // counts == null σημαίνει ότι το βιβλίο δεν έχει ούτε loans ούτε reservations
+    private BookDetailsResponse toDetails(Book book, BookCirculationCounts counts) {
+        boolean available = book.getAvailableCopies() > 0;
+        DurationHistogram loanDurations = durationSketches.forBook(DurationMetric.LOAN_DURATION, book.getId());
+        DurationHistogram waits = durationSketches.forBookOrGlobal(DurationMetric.RESERVATION_WAIT, book.getId());
+
+        return BookDetailsResponse.builder()
+                .book(bookMapper.toResponse(book))
+                .activeLoansCount(counts == null ? 0 : counts.getActiveLoans().intValue())
+                .pendingReservationsCount(counts == null ? 0 : counts.getPendingReservations().intValue())
+                .isAvailable(available)
+                .estimatedWaitDays(available ? 0 : (int) Math.ceil(waits.quantile(0.5)))
+                .totalTimesBorrowed(counts == null ? 0 : counts.getTotalTimesBorrowed().intValue())
+                .averageLoanDuration(loanDurations.mean())
+                .loanDurationP50(loanDurations.quantile(0.5))
+                .loanDurationP90(loanDurations.quantile(0.9))
+                .waitDaysP50(waits.quantile(0.5))
+                .waitDaysP90(waits.quantile(0.9))
+                .build();
+    }
+}
@@ -0,0 +1,351 @@
+package com.JohnBravos.bookhub_manager.service.impl;
+
+import com.JohnBravos.bookhub_manager.core.enums.BookStatus;
+import com.JohnBravos.bookhub_manager.core.enums.ImportFormat;
+import com.JohnBravos.bookhub_manager.core.enums.ImportStatus;
+import com.JohnBravos.bookhub_manager.core.exceptions.custom.BadRequestException;
+import com.JohnBravos.bookhub_manager.core.exceptions.custom.ImportJobNotFoundException;
+import com.JohnBravos.bookhub_manager.dto.Response.ImportProgressResponse;
+import com.JohnBravos.bookhub_manager.repository.CatalogImportRepository;
+import com.JohnBravos.bookhub_manager.repository.CatalogImportRepository.AuthorInsert;
+import com.JohnBravos.bookhub_manager.repository.CatalogImportRepository.BookAuthorInsert;
+import com.JohnBravos.bookhub_manager.repository.CatalogImportRepository.BookInsert;
+import com.JohnBravos.bookhub_manager.service.ICatalogImportService;
+import com.JohnBravos.bookhub_manager.service.cache.CatalogCache;
+import com.JohnBravos.bookhub_manager.service.importer.CatalogImportJob;
+import com.JohnBravos.bookhub_manager.service.importer.CatalogRecord;
+import com.JohnBravos.bookhub_manager.service.importer.CatalogRecord.AuthorName;
+import com.JohnBravos.bookhub_manager.service.importer.CatalogRecordReader;
+import com.JohnBravos.bookhub_manager.service.stats.SystemCounters;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk import καταλόγου (CSV ή MARC-like) σε ένα background thread.
+ * Το αρχείο διαβάζεται streaming και γράφεται σε chunks: ένα transaction ανά chunk με JDBC batches
+ * για authors, books και book_authors. Τα υπάρχοντα ISBN και authors φορτώνονται μία φορά στην αρχή,
+ * οπότε η μνήμη εξαρτάται από το πλήθος των διακριτών ISBN/authors και όχι από το μέγεθος του αρχείου.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogImportService implements ICatalogImportService {
+
+    private static final Pattern ISBN = Pattern.compile("^(?:\\d{9}[\\dX]|97[89]\\d{10})$");
+    private static final int MAX_TITLE = 255;
+    private static final int MAX_DESCRIPTION = 1000;
+
+    private final CatalogImportRepository importRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SystemCounters systemCounters;
+    private final CatalogCache catalogCache;
+
+    // Ένα import τη φορά - τα ISBN/authors που φορτώθηκαν στη μνήμη ισχύουν για όλο το αρχείο
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, CatalogImportJob> jobs = new LinkedHashMap<>();
+
+    // Εγγραφές ανά transaction
+    @Value("${catalog.import.chunk-size:5000}")
+    private int chunkSize;
+
+    // Statements ανά JDBC batch
+    @Value("${catalog.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${catalog.import.retained-jobs:20}")
+    private int retainedJobs;
+
+    @Override
+    public ImportProgressResponse startImport(MultipartFile file, ImportFormat format) {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("Import file is empty");
+        }
+
+        Path upload;
+        try {
+            // Το multipart stream κλείνει με το request, οπότε το import διαβάζει από temp αρχείο
+            upload = Files.createTempFile("catalog-import-", ".tmp");
+            file.transferTo(upload);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store import upload", e);
+        }
+
+        CatalogImportJob job = new CatalogImportJob(
+                UUID.randomUUID().toString(), file.getOriginalFilename(), format, file.getSize());
+        register(job);
+
+        log.info("Queued catalog import {} ({}, {} bytes)", job.getId(), format, file.getSize());
+        executor.submit(() -> run(job, upload));
+        return job.toResponse();
+    }
+
+    @Override
+    public ImportProgressResponse getProgress(String jobId) {
+        CatalogImportJob job;
+        synchronized (jobs) {
+            job = jobs.get(jobId);
+        }
+        if (job == null) {
+            throw new ImportJobNotFoundException(jobId);
+        }
+        return job.toResponse();
+    }
+
+    @Override
+    public List<ImportProgressResponse> getJobs() {
+        synchronized (jobs) {
+            return jobs.values().stream().map(CatalogImportJob::toResponse).toList();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ========== IMPORT ==========
+
+    private void run(CatalogImportJob job, Path upload) {
+        job.started();
+        try (InputStream in = new CountingInputStream(Files.newInputStream(upload), job.getBytesRead());
+             CatalogRecordReader reader = CatalogRecordReader.open(job.getFormat(),
+                     new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16))) {
+
+            Set<String> isbns = new HashSet<>();
+            importRepository.forEachIsbn(isbn -> isbns.add(normalizeIsbn(isbn)));
+            Map<String, Long> authorIds = new HashMap<>();
+            importRepository.forEachAuthor(row ->
+                    authorIds.putIfAbsent(AuthorName.key((String) row[1], (String) row[2]), (Long) row[0]));
+            log.info("Import {}: preloaded {} ISBNs and {} authors", job.getId(), isbns.size(), authorIds.size());
+
+            List<CatalogRecord> chunk = new ArrayList<>(chunkSize);
+            CatalogRecord record;
+            while ((record = reader.next()) != null) {
+                job.getRecordsRead().incrementAndGet();
+
+                CatalogRecord valid = validate(record, job);
+                if (valid == null) {
+                    continue;
+                }
+                // Διπλότυπα τόσο με τη βάση όσο και μέσα στο ίδιο αρχείο
+                if (!isbns.add(valid.isbn())) {
+                    job.getDuplicates().incrementAndGet();
+                    continue;
+                }
+
+                chunk.add(valid);
+                if (chunk.size() >= chunkSize) {
+                    write(chunk, authorIds, job);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                write(chunk, authorIds, job);
+            }
+
+            job.finished(ImportStatus.COMPLETED);
+            log.info("Import {} completed: {} books, {} authors, {} duplicates, {} invalid",
+                    job.getId(), job.getBooksImported(), job.getAuthorsCreated(), job.getDuplicates(), job.getInvalid());
+        } catch (Exception e) {
+            // Τα chunks που έχουν ήδη γίνει commit παραμένουν - ένα νέο import τα βλέπει ως duplicates
+            log.error("Import {} failed: {}", job.getId(), e.getMessage(), e);
+            job.error("Import aborted: " + e.getMessage());
+            job.finished(ImportStatus.FAILED);
+        } finally {
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                log.warn("Could not delete import upload {}: {}", upload, e.getMessage());
+            }
+        }
+    }
+
+    private void write(List<CatalogRecord> chunk, Map<String, Long> authorIds, CatalogImportJob job) {
+        // Νέοι authors του chunk, μία φορά ο καθένας
+        Map<String, AuthorName> missing = new LinkedHashMap<>();
+        for (CatalogRecord record : chunk) {
+            for (AuthorName author : record.authors()) {
+                if (!authorIds.containsKey(author.key())) {
+                    missing.putIfAbsent(author.key(), author);
+                }
+            }
+        }
+
+        Map<String, Long> created = new HashMap<>();
+        List<AuthorInsert> authors = new ArrayList<>(missing.size());
+        if (!missing.isEmpty()) {
+            long nextAuthorId = importRepository.reserveIds("authors", missing.size());
+            for (Map.Entry<String, AuthorName> entry : missing.entrySet()) {
+                long id = nextAuthorId++;
+                created.put(entry.getKey(), id);
+                authors.add(new AuthorInsert(id, entry.getValue().firstName(), entry.getValue().lastName()));
+            }
+        }
+
+        long nextBookId = importRepository.reserveIds("books", chunk.size());
+        List<BookInsert> books = new ArrayList<>(chunk.size());
+        List<BookAuthorInsert> links = new ArrayList<>();
+        long copies = 0;
+        for (CatalogRecord record : chunk) {
+            long bookId = nextBookId++;
+            int bookCopies = record.totalCopies();
+            copies += bookCopies;
+            books.add(new BookInsert(bookId, record.isbn(), record.title(), record.publisher(),
+                    record.publicationYear(), record.genre(), record.description(), bookCopies,
+                    initialStatus(bookCopies).name()));
+
+            Set<Long> bookAuthors = new LinkedHashSet<>();
+            for (AuthorName author : record.authors()) {
+                Long authorId = authorIds.get(author.key());
+                bookAuthors.add(authorId != null ? authorId : created.get(author.key()));
+            }
+            for (Long authorId : bookAuthors) {
+                links.add(new BookAuthorInsert(bookId, authorId));
+            }
+        }
+
+        long totalCopies = copies;
+        transactionTemplate.executeWithoutResult(status -> {
+            importRepository.insertAuthors(authors, batchSize);
+            importRepository.insertBooks(books, batchSize);
+            importRepository.insertBookAuthors(links, batchSize);
+            systemCounters.booksImported(books.size(), totalCopies);
+            catalogCache.catalogImported();
+        });
+
+        authorIds.putAll(created);
+        job.getAuthorsCreated().addAndGet(authors.size());
+        job.getBooksImported().addAndGet(books.size());
+        log.debug("Import {}: wrote chunk of {} books", job.getId(), books.size());
+    }
+
+    // Επιστρέφει την εγγραφή με κανονικοποιημένο ISBN/defaults, ή null αν απορρίπτεται
+    private static CatalogRecord validate(CatalogRecord record, CatalogImportJob job) {
+        if (record.error() != null) {
+            job.rejected(record.line(), record.error());
+            return null;
+        }
+
+        String isbn = normalizeIsbn(record.isbn());
+        String problem = null;
+        if (isbn == null || !ISBN.matcher(isbn).matches()) {
+            problem = "Invalid ISBN '" + record.isbn() + "'";
+        } else if (isBlank(record.title()) || record.title().length() > MAX_TITLE) {
+            problem = "Title is required (max " + MAX_TITLE + " characters)";
+        } else if (isBlank(record.publisher()) || isBlank(record.genre()) || record.publicationYear() == null) {
+            problem = "Publisher, genre and publication year are required";
+        } else if (record.totalCopies() != null && record.totalCopies() < 0) {
+            problem = "Total copies cannot be negative";
+        } else if (record.description() != null && record.description().length() > MAX_DESCRIPTION) {
+            problem = "Description exceeds " + MAX_DESCRIPTION + " characters";
+        }
+        if (problem != null) {
+            job.rejected(record.line(), problem);
+            return null;
+        }
+
+        return new CatalogRecord(record.line(), isbn, record.title(), record.authors(), record.publisher(),
+                record.publicationYear(), record.genre(), record.description(),
+                record.totalCopies() == null ? 1 : record.totalCopies(), null);
+    }
+
+    // Εγγραφή χωρίς αντίτυπα (totalCopies=0) δεν είναι δανεισμένη: μένει εκτός κυκλοφορίας
+    // μέχρι να οριστούν αντίτυπα (updateBookCopies)
+    private static BookStatus initialStatus(int copies) {
+        return copies > 0 ? BookStatus.AVAILABLE : BookStatus.UNDER_MAINTENANCE;
+    }
+
+    // "ISBN 978-0-547-92822-7" -> "9780547928227"
+    private static String normalizeIsbn(String isbn) {
+        if (isbn == null) {
+            return null;
+        }
+        StringBuilder normalized = new StringBuilder(13);
+        for (char c : isbn.toUpperCase().replace("ISBN", "").toCharArray()) {
+            if (Character.isDigit(c) || c == 'X') {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private void register(CatalogImportJob job) {
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            // Κρατά μόνο τα πιο πρόσφατα ολοκληρωμένα jobs
+            Iterator<CatalogImportJob> oldest = jobs.values().iterator();
+            while (jobs.size() > retainedJobs && oldest.hasNext()) {
+                if (oldest.next().isDone()) {
+                    oldest.remove();
+                }
+            }
+        }
+    }
+
+    // Μετρά τα bytes που διαβάστηκαν για το ποσοστό προόδου
+    private static class CountingInputStream extends FilterInputStream {
+
+        private final AtomicLong counter;
+
+        CountingInputStream(InputStream in, AtomicLong counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                counter.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                counter.addAndGet(n);
+            }
+            return n;
+        }
+    }
+}
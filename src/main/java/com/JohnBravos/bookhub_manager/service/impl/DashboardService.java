@@ -0,0 +1,121 @@
+package com.JohnBravos.bookhub_manager.service.impl;
+
+import com.JohnBravos.bookhub_manager.config.DashboardConfig;
+import com.JohnBravos.bookhub_manager.core.enums.DashboardSectionStatus;
+import com.JohnBravos.bookhub_manager.dto.Response.DashboardResponse;
+import com.JohnBravos.bookhub_manager.dto.Response.DashboardSection;
+import com.JohnBravos.bookhub_manager.service.IDashboardService;
+import com.JohnBravos.bookhub_manager.service.ILoanService;
+import com.JohnBravos.bookhub_manager.service.IReservationService;
+import com.JohnBravos.bookhub_manager.service.IUserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Όλα τα δεδομένα του admin dashboard σε ένα request. Τα τμήματα τρέχουν παράλληλα στον
+ * {@code dashboardExecutor}, το καθένα με το δικό του timeout ({@code dashboard.sections.<name>.timeout-ms}).
+ * Ό,τι δεν προλάβει ή αποτύχει επιστρέφεται ως μη διαθέσιμο και τα υπόλοιπα κανονικά.
+ * <p>
+ * Χωρίς {@code @Transactional}: κάθε τμήμα ανοίγει το δικό του read-only transaction στο thread του.
+ */
+@Slf4j
+@Service
+public class DashboardService implements IDashboardService {
+
+    private final IUserService userService;
+    private final ILoanService loanService;
+    private final IReservationService reservationService;
+    private final Executor executor;
+    private final Environment environment;
+    private final long defaultTimeoutMs;
+    private final int activeLoansSize;
+
+    public DashboardService(IUserService userService,
+                            ILoanService loanService,
+                            IReservationService reservationService,
+                            @Qualifier(DashboardConfig.DASHBOARD_EXECUTOR) Executor executor,
+                            Environment environment,
+                            @Value("${dashboard.timeout-ms:2000}") long defaultTimeoutMs,
+                            @Value("${dashboard.active-loans.size:10}") int activeLoansSize) {
+        this.userService = userService;
+        this.loanService = loanService;
+        this.reservationService = reservationService;
+        this.executor = executor;
+        this.environment = environment;
+        this.defaultTimeoutMs = defaultTimeoutMs;
+        this.activeLoansSize = activeLoansSize;
+    }
+
+    @Override
+    public DashboardResponse getDashboard() {
+        long started = System.nanoTime();
+
+        var systemStats = section("systemStats", userService::getSystemStatistics);
+        var userStats = section("userStats", userService::getUserStatistics);
+        var activeLoans = section("activeLoans", () -> loanService.getActiveLoans(0, activeLoansSize, "dueDate,asc"));
+        var overdueLoans = section("overdueLoans", loanService::getOverdueLoans);
+        var expiringReservations = section("expiringReservations", reservationService::getReservationsExpiringSoon);
+        var recentLoans = section("recentLoans", loanService::getRecentLoans);
+
+        // Κανένα join δεν κρατά περισσότερο από το timeout του τμήματός του
+        DashboardResponse.DashboardResponseBuilder response = DashboardResponse.builder()
+                .systemStats(systemStats.join())
+                .userStats(userStats.join())
+                .activeLoans(activeLoans.join())
+                .overdueLoans(overdueLoans.join())
+                .expiringReservations(expiringReservations.join())
+                .recentLoans(recentLoans.join());
+
+        boolean partial = Stream.of(systemStats, userStats, activeLoans, overdueLoans, expiringReservations, recentLoans)
+                .anyMatch(section -> !section.join().isOk());
+        long elapsedMs = elapsedMs(started);
+        if (partial) {
+            log.warn("Dashboard returned partial results after {} ms", elapsedMs);
+        }
+        return response.partial(partial).elapsedMs(elapsedMs).build();
+    }
+
+    private <T> CompletableFuture<DashboardSection<T>> section(String name, Supplier<T> query) {
+        long started = System.nanoTime();
+        long timeoutMs = environment.getProperty("dashboard.sections." + name + ".timeout-ms", Long.class, defaultTimeoutMs);
+
+        try {
+            return CompletableFuture.supplyAsync(query, executor)
+                    .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                    .handle((data, error) -> {
+                        if (error == null) {
+                            return DashboardSection.<T>ok(data, elapsedMs(started));
+                        }
+                        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                        if (cause instanceof TimeoutException) {
+                            log.warn("Dashboard section '{}' timed out after {} ms", name, timeoutMs);
+                            return DashboardSection.<T>unavailable(DashboardSectionStatus.TIMEOUT,
+                                    "Timed out after " + timeoutMs + " ms", elapsedMs(started));
+                        }
+                        log.error("Dashboard section '{}' failed: {}", name, cause.getMessage(), cause);
+                        return DashboardSection.<T>unavailable(DashboardSectionStatus.FAILED,
+                                "Section could not be loaded", elapsedMs(started));
+                    });
+        } catch (RejectedExecutionException e) {
+            log.warn("Dashboard section '{}' rejected - executor is full", name);
+            return CompletableFuture.completedFuture(DashboardSection.<T>unavailable(DashboardSectionStatus.REJECTED,
+                    "Too many dashboard requests in progress", 0));
+        }
+    }
+
+    private static long elapsedMs(long startedNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+    }
+}
@@ -1,57 +1,79 @@
 package com.JohnBravos.bookhub_manager.service.impl;
 
 
+import com.JohnBravos.bookhub_manager.config.MetricNames;
 import com.JohnBravos.bookhub_manager.core.enums.LoanStatus;
+import com.JohnBravos.bookhub_manager.core.fields.FieldSelection;
+import com.JohnBravos.bookhub_manager.core.jfr.LoanOperationEvent;
+import com.JohnBravos.bookhub_manager.core.fields.SparseResource;
 import com.JohnBravos.bookhub_manager.core.exceptions.custom.*;
+import com.JohnBravos.bookhub_manager.core.utils.SortParams;
 import com.JohnBravos.bookhub_manager.dto.Request.CreateLoanRequest;
 import com.JohnBravos.bookhub_manager.dto.Request.ReturnLoanRequest;
 import com.JohnBravos.bookhub_manager.dto.Request.UpdateLoanRequest;
 import com.JohnBravos.bookhub_manager.dto.Response.LoanResponse;
 import com.JohnBravos.bookhub_manager.mapper.LoanMapper;
+import com.JohnBravos.bookhub_manager.mapper.ProjectionMapper;
 import com.JohnBravos.bookhub_manager.model.Book;
 import com.JohnBravos.bookhub_manager.model.Loan;
 import com.JohnBravos.bookhub_manager.model.User;
 import com.JohnBravos.bookhub_manager.repository.BookRepository;
+import com.JohnBravos.bookhub_manager.repository.HistoryRepository;
 import com.JohnBravos.bookhub_manager.repository.LoanRepository;
+import com.JohnBravos.bookhub_manager.repository.SparseFieldRepository;
 import com.JohnBravos.bookhub_manager.repository.UserRepository;
 import com.JohnBravos.bookhub_manager.service.ILoanService;
+import com.JohnBravos.bookhub_manager.service.cache.CatalogCache;
+import com.JohnBravos.bookhub_manager.service.stats.CirculationRollupRecorder;
+import com.JohnBravos.bookhub_manager.service.stats.DurationSketches;
+import com.JohnBravos.bookhub_manager.service.stats.SystemCounters;
+import com.JohnBravos.bookhub_manager.service.stats.UserActivityCache;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed(MetricNames.SERVICE)
 public class LoanService implements ILoanService {
 
     private final LoanRepository loanRepository;
     private final BookRepository bookRepository;
     private final UserRepository userRepository;
     private final LoanMapper loanMapper;
+    private final ProjectionMapper projectionMapper;
+    private final SparseFieldRepository sparseFieldRepository;
+    private final HistoryRepository historyRepository;
+    private final SystemCounters systemCounters;
+    private final UserActivityCache userActivityCache;
+    private final CirculationRollupRecorder circulationRollups;
+    private final DurationSketches durationSketches;
+    private final CatalogCache catalogCache;
 
-    private Sort buildSort(String sort) {
-        String[] sortParams = sort.split(",");
-        String sortBy = sortParams[0];
-        Sort.Direction direction = (sortParams.length > 1 && sortParams[1].equalsIgnoreCase("desc"))
-                ? Sort.Direction.DESC
-                : Sort.Direction.ASC;
-        return Sort.by(direction, sortBy);
-    }
 
     @Override
     @Transactional
     public LoanResponse createLoan(CreateLoanRequest request) {
+        LoanOperationEvent event = LoanOperationEvent.start(LoanOperationEvent.CREATE, null);
+        event.ids(request.userId(), request.bookId());
+        return event.record(() -> doCreateLoan(request, event));
+    }
+
+    private LoanResponse doCreateLoan(CreateLoanRequest request, LoanOperationEvent event) {
         log.info("Creating new loan for user ID: {} and book ID: {}",
                 request.userId(), request.bookId());
 
@@ -80,6 +102,10 @@ public class LoanService implements ILoanService {
         // bookRepository.save(book);
 
         Loan savedLoan = loanRepository.save(loan);
+        event.loan(savedLoan);
+        systemCounters.loanCreated(savedLoan.getStatus());
+        circulationRollups.loanCreated(savedLoan);
+        userActivityCache.invalidate(loan.getUser().getId());
         log.info("Loan created successfully with ID: {}", savedLoan.getId());
 
         return loanMapper.toResponse(savedLoan);
@@ -88,6 +114,11 @@ public class LoanService implements ILoanService {
     @Override
     @Transactional
     public LoanResponse approveLoan(Long loanId) {
+        LoanOperationEvent event = LoanOperationEvent.start(LoanOperationEvent.APPROVE, loanId);
+        return event.record(() -> doApproveLoan(loanId, event));
+    }
+
+    private LoanResponse doApproveLoan(Long loanId, LoanOperationEvent event) {
         log.info("Approving loan with ID: {}", loanId);
         Loan loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new LoanNotFoundException(loanId));
@@ -102,10 +133,16 @@ public class LoanService implements ILoanService {
 
         // Update book availability
         Book book = loan.getBook();
+        int availableBefore = book.getAvailableCopies();
         book.borrowCopy();
         bookRepository.save(book);
+        catalogCache.bookChanged(book.getId());
 
         Loan approvedLoan = loanRepository.save(loan);
+        event.loan(approvedLoan);
+        systemCounters.loanStatusChanged(LoanStatus.PENDING, LoanStatus.ACTIVE);
+        systemCounters.availableCopiesChanged(book.getAvailableCopies() - availableBefore);
+        userActivityCache.invalidate(loan.getUser().getId());
         log.info("Loan approved successfully with ID: {}", loanId);
 
         return loanMapper.toResponse(approvedLoan);
@@ -125,6 +162,8 @@ public class LoanService implements ILoanService {
         // Update loan status to REJECTED
         loan.setStatus(LoanStatus.REJECTED);
         Loan rejectedLoan = loanRepository.save(loan);
+        systemCounters.loanStatusChanged(LoanStatus.PENDING, LoanStatus.REJECTED);
+        userActivityCache.invalidate(loan.getUser().getId());
         log.info("Loan rejected successfully with ID: {}", loanId);
 
         return loanMapper.toResponse(rejectedLoan);
@@ -175,20 +214,17 @@ public class LoanService implements ILoanService {
     @Override
     public Page<LoanResponse> getAllLoans(int page, int size, String sort, String status) {
         log.debug("Fetching all loans");
-        Pageable pageable = PageRequest.of(page, size, buildSort(sort));
+        Pageable pageable = PageRequest.of(page, size, SortParams.parse(sort));
 
         if ("ALL".equalsIgnoreCase(status)) {
-            return loanRepository.findAll(pageable)
-                    .map(loanMapper::toResponse);
+            return projectionMapper.toLoanResponses(loanRepository.findAllRows(pageable));
         } else {
             try {
                 LoanStatus loanStatus = LoanStatus.valueOf(status.toUpperCase());
-                return loanRepository.findByStatus(loanStatus, pageable)
-                        .map(loanMapper::toResponse);
+                return projectionMapper.toLoanResponses(loanRepository.findRowsByStatus(loanStatus, pageable));
             } catch (IllegalArgumentException e) {
                 log.warn("Invalid loan status: {}", status);
-                return loanRepository.findAll(pageable)
-                        .map(loanMapper::toResponse);
+                return projectionMapper.toLoanResponses(loanRepository.findAllRows(pageable));
             }
         }
     }
@@ -199,9 +235,38 @@ public class LoanService implements ILoanService {
         if (!userRepository.existsById(userId)) {
             throw new UserNotFoundException(userId);
         }
-        Pageable pageable = PageRequest.of(page, size, buildSort(sort));
-        return loanRepository.findByUserId(userId, pageable)
-                .map(loanMapper::toResponse);
+        // History endpoint: περιλαμβάνει και τα archived loans
+        Pageable pageable = PageRequest.of(page, size, SortParams.parse(sort));
+        return projectionMapper.toLoanResponses(historyRepository.findLoanRowsByUserId(userId, pageable));
+    }
+
+    @Override
+    public Page<Map<String, Object>> getAllLoans(int page, int size, String sort, String status, String fields) {
+        log.debug("Fetching all loans with fields: {}", fields);
+        FieldSelection selection = FieldSelection.parse(SparseResource.LOAN, fields);
+        Map<String, Object> filters = new HashMap<>();
+
+        if (!"ALL".equalsIgnoreCase(status)) {
+            try {
+                filters.put("status", LoanStatus.valueOf(status.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                log.warn("Invalid loan status: {}", status);
+            }
+        }
+
+        Pageable pageable = PageRequest.of(page, size, SparseResource.LOAN.sort(sort));
+        return projectionMapper.toSparse(sparseFieldRepository.findPage(selection, filters, pageable), selection);
+    }
+
+    @Override
+    public Page<Map<String, Object>> getLoansByUser(Long userId, int page, int size, String sort, String fields) {
+        log.debug("Fetching loans for user ID: {} with fields: {}", userId, fields);
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+        FieldSelection selection = FieldSelection.parse(SparseResource.LOAN, fields);
+        Pageable pageable = PageRequest.of(page, size, SparseResource.LOAN.sort(sort));
+        return projectionMapper.toSparse(historyRepository.findLoanRowsByUserId(userId, selection, pageable), selection);
     }
 
     @Override
@@ -210,36 +275,40 @@ public class LoanService implements ILoanService {
         if (!bookRepository.existsById(bookId)) {
             throw new BookNotFoundException(bookId);
         }
-        return loanMapper.toResponseList(loanRepository.findByBookId(bookId));
+        return projectionMapper.toLoanResponses(loanRepository.findRowsByBookId(bookId));
     }
 
     @Override
     public Page<LoanResponse> getLoansByStatus(LoanStatus status, int page, int size, String sort) {
         log.debug("Fetching loans by status: {}", status);
-        Pageable pageable = PageRequest.of(page, size, buildSort(sort));
-        return loanRepository.findByStatus(status, pageable)
-                .map(loanMapper::toResponse);
+        Pageable pageable = PageRequest.of(page, size, SortParams.parse(sort));
+        return projectionMapper.toLoanResponses(loanRepository.findRowsByStatus(status, pageable));
     }
 
     @Override
     public Page<LoanResponse> getActiveLoans(int page, int size, String sort) {
         log.debug("Fetching active loans with pagination - page: {}, size: {}, sort: {}", page, size, sort);
-        Pageable pageable = PageRequest.of(page, size, buildSort(sort));
-        return loanRepository.findByStatus(LoanStatus.ACTIVE, pageable)
-                .map(loanMapper::toResponse);
+        Pageable pageable = PageRequest.of(page, size, SortParams.parse(sort));
+        return projectionMapper.toLoanResponses(loanRepository.findRowsByStatus(LoanStatus.ACTIVE, pageable));
     }
 
     @Override
     public List<LoanResponse> getOverdueLoans() {
         log.debug("Fetching overdue loans");
-        return loanMapper.toResponseList(loanRepository.findOverdueLoans(LocalDate.now()));
+        return projectionMapper.toLoanResponses(loanRepository.findOverdueRows(LocalDate.now()));
     }
 
     public List<LoanResponse> getLoansDueSoon() {
         log.debug("Fetching loans due soon");
-        LocalDateTime startDate = LocalDateTime.now();
-        LocalDateTime endDate = LocalDateTime.now().plusDays(3);    // Due in next 3 days
-        return loanMapper.toResponseList(loanRepository.findLoansDueSoon(startDate, endDate));
+        LocalDate startDate = LocalDate.now();
+        LocalDate endDate = LocalDate.now().plusDays(3);    // Due in next 3 days
+        return projectionMapper.toLoanResponses(loanRepository.findRowsDueBetween(startDate, endDate));
+    }
+
+    @Override
+    public List<LoanResponse> getRecentLoans() {
+        log.debug("Fetching 10 most recent loans");
+        return loanMapper.toResponseList(loanRepository.findTop10ByOrderByLoanDateDesc());
     }
 
     @Override
@@ -282,10 +351,17 @@ public class LoanService implements ILoanService {
     @Override
     @Transactional
     public LoanResponse returnLoan(ReturnLoanRequest request) {
+        LoanOperationEvent event = LoanOperationEvent.start(LoanOperationEvent.RETURN, request.loanId());
+        return event.record(() -> doReturnLoan(request, event));
+    }
+
+    private LoanResponse doReturnLoan(ReturnLoanRequest request, LoanOperationEvent event) {
         log.info("Returning loan with ID: {}", request.loanId());
         Loan loan = loanRepository.findById(request.loanId())
                 .orElseThrow(() -> new LoanNotFoundException(request.loanId()));
 
+        LoanStatus previousStatus = loan.getStatus();
+
         // Business Logic for returning book
         loan.setReturnDate(LocalDateTime.now());
         loan.setStatus(LoanStatus.RETURNED);
@@ -294,8 +370,15 @@ public class LoanService implements ILoanService {
         Book book = loan.getBook();
         book.setAvailableCopies(book.getAvailableCopies() + 1);
         bookRepository.save(book);
+        catalogCache.bookChanged(book.getId());
 
         Loan returnedLoan = loanRepository.save(loan);
+        event.loan(returnedLoan);
+        systemCounters.loanStatusChanged(previousStatus, LoanStatus.RETURNED);
+        systemCounters.availableCopiesChanged(1);
+        circulationRollups.loanReturned(returnedLoan, previousStatus);
+        durationSketches.loanReturned(returnedLoan);
+        userActivityCache.invalidate(loan.getUser().getId());
         log.info("Book returned successfully for loan ID: {}", request.loanId());
 
         return loanMapper.toResponse(returnedLoan);
@@ -314,6 +397,8 @@ public class LoanService implements ILoanService {
         }
 
         loanRepository.delete(loan);
+        systemCounters.loanDeleted(loan.getStatus());
+        userActivityCache.invalidate(loan.getUser().getId());
         log.info("Loan deleted successfully with ID: {}", loanId);
     }
 
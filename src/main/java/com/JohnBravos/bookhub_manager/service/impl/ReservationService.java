@@ -1,55 +1,78 @@
 package com.JohnBravos.bookhub_manager.service.impl;
 
+import com.JohnBravos.bookhub_manager.config.MetricNames;
 import com.JohnBravos.bookhub_manager.core.enums.BookStatus;
 import com.JohnBravos.bookhub_manager.core.enums.ReservationStatus;
+import com.JohnBravos.bookhub_manager.core.fields.FieldSelection;
+import com.JohnBravos.bookhub_manager.core.jfr.ReservationOperationEvent;
+import com.JohnBravos.bookhub_manager.core.fields.SparseResource;
 import com.JohnBravos.bookhub_manager.core.exceptions.custom.*;
+import com.JohnBravos.bookhub_manager.core.utils.SortParams;
 import com.JohnBravos.bookhub_manager.dto.Request.CreateReservationRequest;
 import com.JohnBravos.bookhub_manager.dto.Request.UpdateReservationRequest;
 import com.JohnBravos.bookhub_manager.dto.Response.ReservationResponse;
+import com.JohnBravos.bookhub_manager.mapper.ProjectionMapper;
 import com.JohnBravos.bookhub_manager.mapper.ReservationMapper;
 import com.JohnBravos.bookhub_manager.model.Book;
 import com.JohnBravos.bookhub_manager.model.Reservation;
 import com.JohnBravos.bookhub_manager.model.User;
 import com.JohnBravos.bookhub_manager.repository.BookRepository;
+import com.JohnBravos.bookhub_manager.repository.HistoryRepository;
 import com.JohnBravos.bookhub_manager.repository.ReservationRepository;
+import com.JohnBravos.bookhub_manager.repository.SparseFieldRepository;
 import com.JohnBravos.bookhub_manager.repository.UserRepository;
 import com.JohnBravos.bookhub_manager.service.IReservationService;
+import com.JohnBravos.bookhub_manager.service.cache.SingleFlight;
+import com.JohnBravos.bookhub_manager.service.stats.CirculationRollupRecorder;
+import com.JohnBravos.bookhub_manager.service.stats.DurationSketches;
+import com.JohnBravos.bookhub_manager.service.stats.SystemCounters;
+import com.JohnBravos.bookhub_manager.service.stats.UserActivityCache;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.security.core.parameters.P;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed(MetricNames.SERVICE)
 public class ReservationService implements IReservationService {
 
     private final ReservationRepository reservationRepository;
     private final BookRepository bookRepository;
     private final UserRepository userRepository;
     private final ReservationMapper reservationMapper;
+    private final ProjectionMapper projectionMapper;
+    private final SparseFieldRepository sparseFieldRepository;
+    private final HistoryRepository historyRepository;
+    private final SystemCounters systemCounters;
+    private final UserActivityCache userActivityCache;
+    private final CirculationRollupRecorder circulationRollups;
+    private final DurationSketches durationSketches;
+    private final SingleFlight singleFlight;
 
-    private Sort buildSort(String sort) {
-        String[] sortParams = sort.split(",");
-        String sortBy = sortParams[0];
-        Sort.Direction direction = sortParams.length > 1 && sortParams[1].equalsIgnoreCase("desc")
-                ? Sort.Direction.DESC
-                : Sort.Direction.ASC;
-        return Sort.by(direction, sortBy);
-    }
 
     @Override
     @Transactional
     public ReservationResponse createReservation(CreateReservationRequest request) {
+        ReservationOperationEvent event = ReservationOperationEvent.start(ReservationOperationEvent.CREATE, null);
+        event.ids(request.userId(), request.bookId());
+        return event.record(() -> doCreateReservation(request, event));
+    }
+
+    private ReservationResponse doCreateReservation(CreateReservationRequest request, ReservationOperationEvent event) {
         log.debug("Creating new reservation for user ID: {} and book ID: {}", request.userId(), request.bookId());
 
         // Validate user and book exist
@@ -74,12 +97,16 @@ public class ReservationService implements IReservationService {
 
         // Calculate queue position
         int queuePosition = calculateQueuePosition(book.getId());
+        event.queuePosition(queuePosition);
 
         Reservation savedReservation = reservationRepository.save(reservation);
+        event.reservation(savedReservation);
+        systemCounters.reservationCreated(savedReservation.getStatus());
+        circulationRollups.reservationCreated(savedReservation);
+        userActivityCache.invalidate(reservation.getUser().getId());
         log.info("Reservation created successfully with ID: {} (position in queue: {})", savedReservation.getId(), queuePosition);
 
         return reservationMapper.toResponse(savedReservation);
-
     }
 
     @Override
@@ -95,6 +122,8 @@ public class ReservationService implements IReservationService {
 
         reservation.setStatus(ReservationStatus.ACTIVE);
         Reservation approvedReservation = reservationRepository.save(reservation);
+        systemCounters.reservationStatusChanged(ReservationStatus.PENDING, ReservationStatus.ACTIVE);
+        userActivityCache.invalidate(reservation.getUser().getId());
 
         log.info("Reservation approved successfully with ID: {}", reservationId);
         return reservationMapper.toResponse(approvedReservation);
@@ -113,6 +142,8 @@ public class ReservationService implements IReservationService {
 
         reservation.setStatus(ReservationStatus.REJECTED);
         Reservation rejectedReservation = reservationRepository.save(reservation);
+        systemCounters.reservationStatusChanged(ReservationStatus.PENDING, ReservationStatus.REJECTED);
+        userActivityCache.invalidate(reservation.getUser().getId());
         log.info("Reservation rejected successfully with ID: {}", reservationId);
         return reservationMapper.toResponse(rejectedReservation);
     }
@@ -149,16 +180,15 @@ public class ReservationService implements IReservationService {
     @Override
     public Page<ReservationResponse> getAllReservations(int page, int size, String sort, String status) {
         log.debug("Fetching all reservations");
-        Pageable pageable = PageRequest.of(page, size, buildSort(sort));
+        Pageable pageable = PageRequest.of(page, size, SortParams.parse(sort));
 
         if ("ALL".equalsIgnoreCase(status)) {
-            return reservationRepository.findAll(pageable)
-                    .map(reservationMapper::toResponse);
+            return projectionMapper.toReservationResponses(reservationRepository.findAllRows(pageable));
         } else {
             try {
                 ReservationStatus reservationStatus = ReservationStatus.valueOf(status.toUpperCase());
-                return reservationRepository.findByStatus(reservationStatus, pageable)
-                        .map(reservationMapper::toResponse);
+                return projectionMapper.toReservationResponses(
+                        reservationRepository.findRowsByStatus(reservationStatus, pageable));
             } catch (IllegalArgumentException e) {
                 throw new InvalidReservationStatusException(status);
             }
@@ -171,9 +201,39 @@ public class ReservationService implements IReservationService {
         if (!userRepository.existsById(userId)) {
             throw new UserNotFoundException(userId);
         }
-        Pageable pageable = PageRequest.of(page, size, buildSort(sort));
-        return reservationRepository.findByUserId(userId, pageable)
-                .map(reservationMapper::toResponse);
+        // History endpoint: περιλαμβάνει και τις archived κρατήσεις
+        Pageable pageable = PageRequest.of(page, size, SortParams.parse(sort));
+        return projectionMapper.toReservationResponses(historyRepository.findReservationRowsByUserId(userId, pageable));
+    }
+
+    @Override
+    public Page<Map<String, Object>> getAllReservations(int page, int size, String sort, String status, String fields) {
+        log.debug("Fetching all reservations with fields: {}", fields);
+        FieldSelection selection = FieldSelection.parse(SparseResource.RESERVATION, fields);
+        Map<String, Object> filters = new HashMap<>();
+
+        if (!"ALL".equalsIgnoreCase(status)) {
+            try {
+                filters.put("status", ReservationStatus.valueOf(status.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidReservationStatusException(status);
+            }
+        }
+
+        Pageable pageable = PageRequest.of(page, size, SparseResource.RESERVATION.sort(sort));
+        return projectionMapper.toSparse(sparseFieldRepository.findPage(selection, filters, pageable), selection);
+    }
+
+    @Override
+    public Page<Map<String, Object>> getReservationsByUser(Long userId, int page, int size, String sort, String fields) {
+        log.debug("Fetching reservations for user ID: {} with fields: {}", userId, fields);
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+        FieldSelection selection = FieldSelection.parse(SparseResource.RESERVATION, fields);
+        Pageable pageable = PageRequest.of(page, size, SparseResource.RESERVATION.sort(sort));
+        return projectionMapper.toSparse(
+                historyRepository.findReservationRowsByUserId(userId, selection, pageable), selection);
     }
 
     @Override
@@ -182,29 +242,28 @@ public class ReservationService implements IReservationService {
         if (!bookRepository.existsById(bookId)) {
             throw new BookNotFoundException(bookId);
         }
-        return reservationMapper.toResponseList(reservationRepository.findByBookId(bookId));
+        return projectionMapper.toReservationResponses(reservationRepository.findRowsByBookId(bookId));
     }
 
     @Override
     public Page<ReservationResponse> getReservationsByStatus(ReservationStatus status, int page, int size, String sort) {
         log.debug("Fetching reservations by status: {}", status);
-        Pageable pageable = PageRequest.of(page, size, buildSort(sort));
-        return reservationRepository.findByStatus(status, pageable)
-                .map(reservationMapper::toResponse);
+        Pageable pageable = PageRequest.of(page, size, SortParams.parse(sort));
+        return projectionMapper.toReservationResponses(reservationRepository.findRowsByStatus(status, pageable));
     }
 
     @Override
     public Page<ReservationResponse> getActiveReservations(int page, int size, String sort) {
         log.debug("Fetching active reservations with pagination - page: {}, size: {}, sort {}", page, size, sort);
-        Pageable pageable = PageRequest.of(page, size, buildSort(sort));
-        return reservationRepository.findByStatus(ReservationStatus.ACTIVE, pageable)
-                .map(reservationMapper::toResponse);
+        Pageable pageable = PageRequest.of(page, size, SortParams.parse(sort));
+        return projectionMapper.toReservationResponses(
+                reservationRepository.findRowsByStatus(ReservationStatus.ACTIVE, pageable));
     }
 
     @Override
     public List<ReservationResponse> getExpiredReservations() {
         log.debug("Fetching expired reservations");
-        return reservationMapper.toResponseList(reservationRepository.findExpiredReservations(LocalDate.now()));
+        return projectionMapper.toReservationResponses(reservationRepository.findExpiredRows(LocalDate.now()));
     }
 
     public List<ReservationResponse> getReservationsExpiringSoon() {
@@ -212,18 +271,21 @@ public class ReservationService implements IReservationService {
         LocalDate startDate = LocalDate.now();
         LocalDate endDate = LocalDate.now().plusDays(1); // Expiring in the next 24 hours
 
-        return reservationMapper.toResponseList(reservationRepository.findReservationsExpiringSoon(startDate, endDate));
+        return projectionMapper.toReservationResponses(reservationRepository.findRowsExpiringBetween(startDate, endDate));
     }
 
     @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<ReservationResponse> getReservationQueueForBook(Long bookId) {
         log.debug("Fetching reservation queue for book ID: {}", bookId);
-        if (!bookRepository.existsById(bookId)) {
-            throw new BookNotFoundException(bookId);
-        }
-        return reservationMapper.toResponseList(
-                reservationRepository.findActiveReservationsByBookOrderByDate(bookId)
-        );
+        return singleFlight.execute("reservationQueue", bookId, () -> {
+            if (!bookRepository.existsById(bookId)) {
+                throw new BookNotFoundException(bookId);
+            }
+            return List.copyOf(projectionMapper.toReservationResponses(
+                    reservationRepository.findActiveRowsByBookOrderByDate(bookId)
+            ));
+        });
     }
 
     @Override
@@ -263,8 +325,11 @@ public class ReservationService implements IReservationService {
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new ReservationNotFoundException(reservationId));
 
+        ReservationStatus previousStatus = reservation.getStatus();
         reservation.setStatus(ReservationStatus.CANCELLED);
         Reservation cancelledReservation = reservationRepository.save(reservation);
+        systemCounters.reservationStatusChanged(previousStatus, ReservationStatus.CANCELLED);
+        userActivityCache.invalidate(reservation.getUser().getId());
 
         log.info("Reservation cancelled successfully with ID: {}", reservationId);
 
@@ -274,12 +339,22 @@ public class ReservationService implements IReservationService {
     @Override
     @Transactional
     public ReservationResponse fulfillReservation(Long reservationId) {
+        ReservationOperationEvent event = ReservationOperationEvent.start(ReservationOperationEvent.FULFIL, reservationId);
+        return event.record(() -> doFulfillReservation(reservationId, event));
+    }
+
+    private ReservationResponse doFulfillReservation(Long reservationId, ReservationOperationEvent event) {
         log.info("Fulfilling reservation with ID: {}", reservationId);
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new ReservationNotFoundException(reservationId));
 
+        ReservationStatus previousStatus = reservation.getStatus();
         reservation.setStatus(ReservationStatus.FULFILLED);
         Reservation fulfilledReservation = reservationRepository.save(reservation);
+        event.reservation(fulfilledReservation);
+        systemCounters.reservationStatusChanged(previousStatus, ReservationStatus.FULFILLED);
+        durationSketches.reservationFulfilled(fulfilledReservation);
+        userActivityCache.invalidate(reservation.getUser().getId());
 
         log.info("Reservation fulfilled successfully with ID: {}", reservationId);
         return reservationMapper.toResponse(fulfilledReservation);
@@ -298,6 +373,8 @@ public class ReservationService implements IReservationService {
 
         reservation.setStatus(ReservationStatus.READY);
         Reservation readyReservation = reservationRepository.save(reservation);
+        systemCounters.reservationStatusChanged(ReservationStatus.ACTIVE, ReservationStatus.READY);
+        userActivityCache.invalidate(reservation.getUser().getId());
         log.info("Reservation marked as READY successfully with ID: {}", reservationId);
         return reservationMapper.toResponse(readyReservation);
     }
@@ -315,6 +392,8 @@ public class ReservationService implements IReservationService {
         }
 
         reservationRepository.delete(reservation);
+        systemCounters.reservationDeleted(reservation.getStatus());
+        userActivityCache.invalidate(reservation.getUser().getId());
         log.info("Reservation deleted successfully with ID: {}", reservationId);
     }
 
@@ -1,22 +1,36 @@
 package com.JohnBravos.bookhub_manager.service.impl;
 
+import com.JohnBravos.bookhub_manager.config.MetricNames;
 import com.JohnBravos.bookhub_manager.core.enums.LoanStatus;
 import com.JohnBravos.bookhub_manager.core.enums.ReservationStatus;
 import com.JohnBravos.bookhub_manager.core.enums.UserRole;
 import com.JohnBravos.bookhub_manager.core.enums.UserStatus;
+import com.JohnBravos.bookhub_manager.core.fields.FieldSelection;
+import com.JohnBravos.bookhub_manager.core.fields.SparseResource;
+import com.JohnBravos.bookhub_manager.core.exceptions.custom.CannotDeleteException;
 import com.JohnBravos.bookhub_manager.core.exceptions.custom.DuplicateEmailException;
 import com.JohnBravos.bookhub_manager.core.exceptions.custom.DuplicateUsernameException;
 import com.JohnBravos.bookhub_manager.core.exceptions.custom.UserNotFoundException;
 import com.JohnBravos.bookhub_manager.dto.Request.CreateUserRequest;
 import com.JohnBravos.bookhub_manager.dto.Request.UpdateUserRequest;
 import com.JohnBravos.bookhub_manager.dto.Response.*;
+import com.JohnBravos.bookhub_manager.mapper.LoanMapper;
+import com.JohnBravos.bookhub_manager.mapper.ProjectionMapper;
+import com.JohnBravos.bookhub_manager.mapper.ReservationMapper;
 import com.JohnBravos.bookhub_manager.mapper.UserMapper;
 import com.JohnBravos.bookhub_manager.model.User;
+import com.JohnBravos.bookhub_manager.repository.ArchivedLoanRepository;
+import com.JohnBravos.bookhub_manager.repository.ArchivedReservationRepository;
 import com.JohnBravos.bookhub_manager.repository.BookRepository;
 import com.JohnBravos.bookhub_manager.repository.LoanRepository;
 import com.JohnBravos.bookhub_manager.repository.ReservationRepository;
+import com.JohnBravos.bookhub_manager.repository.SparseFieldRepository;
 import com.JohnBravos.bookhub_manager.repository.UserRepository;
 import com.JohnBravos.bookhub_manager.service.IUserService;
+import com.JohnBravos.bookhub_manager.service.stats.SystemCounters;
+import com.JohnBravos.bookhub_manager.service.stats.UserActivityCache;
+import com.JohnBravos.bookhub_manager.service.stats.UserActivityStats;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -37,14 +51,27 @@ import java.util.Map;
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed(MetricNames.SERVICE)
 public class UserService implements IUserService {
 
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
     private final LoanRepository loanRepository;
     private final ReservationRepository reservationRepository;
+    private final ArchivedLoanRepository archivedLoanRepository;
+    private final ArchivedReservationRepository archivedReservationRepository;
     private final UserMapper userMapper;
+    private final LoanMapper loanMapper;
+    private final ReservationMapper reservationMapper;
+    private final ProjectionMapper projectionMapper;
+    private final SparseFieldRepository sparseFieldRepository;
     private final PasswordEncoder passwordEncoder;
+    private final SystemCounters systemCounters;
+    private final UserActivityCache userActivityCache;
+
+    // Reservations που εμφανίζονται ως "τρέχουσες" στο profile
+    private static final List<ReservationStatus> CURRENT_RESERVATION_STATUSES =
+            List.of(ReservationStatus.PENDING, ReservationStatus.ACTIVE, ReservationStatus.READY);
 
     @Override
     @Transactional
@@ -74,12 +101,14 @@ public class UserService implements IUserService {
         user.setStatus(UserStatus.ACTIVE);
 
         User savedUser = userRepository.save(user);
+        systemCounters.userCreated();
         log.info("User registered successfully with ID: {}", savedUser.getId());
 
         return userMapper.toResponse(savedUser);
     }
 
     @Override
+    @Transactional
     public UserResponse createUser(CreateUserRequest request) {
         log.info("Admin creating user: {}", request.email());
 
@@ -102,6 +131,7 @@ public class UserService implements IUserService {
                 .build();
 
         User savedUser = userRepository.save(user);
+        systemCounters.userCreated();
         return userMapper.toResponse(savedUser);
     }
 
@@ -118,15 +148,7 @@ public class UserService implements IUserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
-        return UserProfileResponse.builder()
-                .user(userMapper.toResponse(user))
-                .activeLoansCount(0)
-                .totalLoansCount(0)
-                .totalReservationsCount(0)
-                .booksReadCount(0)
-                .favoriteGenre("Unknown")
-                .averageRating(0.0)
-                .build();
+        return buildProfile(user);
     }
 
     @Override
@@ -139,7 +161,7 @@ public class UserService implements IUserService {
         User user = userRepository.findByUsername(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
 
-        return userMapper.toProfileResponse(user);
+        return buildProfile(user);
     }
 
     @Override
@@ -165,6 +187,13 @@ public class UserService implements IUserService {
         return users.map(userMapper::toResponse);
     }
 
+    @Override
+    public Page<Map<String, Object>> getAllUsers(int page, int size, String sort, String fields) {
+        FieldSelection selection = FieldSelection.parse(SparseResource.USER, fields);
+        Pageable pageable = PageRequest.of(page, size, SparseResource.USER.sort(sort));
+        return projectionMapper.toSparse(sparseFieldRepository.findPage(selection, Map.of(), pageable), selection);
+    }
+
     @Override
     public List<UserResponse> getUsersByRole(UserRole role) {
         log.debug("Fetching users by role: {}", role);
@@ -201,6 +230,7 @@ public class UserService implements IUserService {
     }
 
     @Override
+    @Transactional
     public UserProfileResponse updateCurrentUserProfile(UpdateUserRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
@@ -211,7 +241,7 @@ public class UserService implements IUserService {
         userMapper.updateEntity(request, user);
         User updatedUser = userRepository.save(user);
 
-        return userMapper.toProfileResponse(updatedUser); // ✅ Και εδώ!
+        return buildProfile(updatedUser);
     }
 
     @Override
@@ -249,7 +279,13 @@ public class UserService implements IUserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
+        if (archivedLoanRepository.existsByUserId(userId) || archivedReservationRepository.existsByUserId(userId)) {
+            throw new CannotDeleteException("user", "User has archived loan or reservation history");
+        }
         userRepository.delete(user);
+        // Cascades σε loans/reservations, οπότε ξαναμετράμε από τη βάση
+        systemCounters.reconcileAfterCommit();
+        userActivityCache.invalidate(userId);
         log.info("User deleted successfully with ID: {}", userId);
     }
 
@@ -289,49 +325,40 @@ public class UserService implements IUserService {
     }
     @Override
     public SystemStatsResponse getSystemStatistics() {
-        log.info("Fetching system statistics");
-        long totalUsers = userRepository.count();
-        long totalBooks = bookRepository.count();
-        long activeLoans = loanRepository.countByStatus(LoanStatus.ACTIVE);
-        long totalLoans = loanRepository.count();
-        long overdueLoans = loanRepository.countByStatus(LoanStatus.OVERDUE);
-        long totalReservations = reservationRepository.count();
-        long pendingReservations = reservationRepository.countByStatus(ReservationStatus.PENDING);
-        
-        // Calculate available books
-        long availableBooks = bookRepository.count(); // This would need to be calculated based on copies
-        
-        return new SystemStatsResponse(
-            totalUsers,
-            totalBooks,
-            availableBooks,
-            activeLoans,
-            totalLoans,
-            overdueLoans,
-            totalReservations,
-            pendingReservations
-        );
+        log.debug("Fetching system statistics from in-memory counters");
+        return systemCounters.snapshot();
     }
 
     @Override
     public UserStatisticsResponse getUserStatistics(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("User not found");
+        }
 
-        long activeLoans = loanRepository.countByUserIdAndStatus(userId, LoanStatus.ACTIVE);
-        long totalBorrowed = loanRepository.countByUserId(userId);
-        long totalReservations = reservationRepository.countByUserId(userId);
-        long overdueCount = loanRepository.countByUserIdAndStatus(userId, LoanStatus.OVERDUE);
+        UserActivityStats stats = userActivityCache.get(userId);
 
         return UserStatisticsResponse.builder()
-                .activeLoans(activeLoans)
-                .totalBorrowed(totalBorrowed)
-                .totalReservations(totalReservations)
-                .overdueCount(overdueCount)
+                .activeLoans(stats.activeLoans())
+                .totalBorrowed(stats.totalLoans())
+                .totalReservations(stats.totalReservations())
+                .overdueCount(stats.overdueLoans())
                 .build();
     }
 
+    private UserProfileResponse buildProfile(User user) {
+        UserActivityStats stats = userActivityCache.get(user.getId());
+
+        return userMapper.toProfileResponse(
+                user,
+                stats,
+                loanMapper.toResponseList(loanRepository.findByUserIdAndStatus(user.getId(), LoanStatus.ACTIVE)),
+                reservationMapper.toResponseList(
+                        reservationRepository.findByUserIdAndStatusIn(user.getId(), CURRENT_RESERVATION_STATUSES))
+        );
+    }
+
     @Override
+    @Transactional
     public void changePasswordForCurrentUser(String newPassword) {
         UserProfileResponse currentProfile = getCurrentUserProfile();
         User user = userRepository.findById(currentProfile.user().id())
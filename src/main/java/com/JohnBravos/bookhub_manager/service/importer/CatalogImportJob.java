@@ -0,0 +1,97 @@
+package com.JohnBravos.bookhub_manager.service.importer;
+
+import com.JohnBravos.bookhub_manager.core.enums.ImportFormat;
+import com.JohnBravos.bookhub_manager.core.enums.ImportStatus;
+import com.JohnBravos.bookhub_manager.dto.Response.ImportProgressResponse;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Η πρόοδος ενός import. Γράφεται από το import thread και διαβάζεται από το progress endpoint.
+ */
+@Getter
+public class CatalogImportJob {
+
+    // Τα πρώτα N σφάλματα κρατιούνται για το response, τα υπόλοιπα μόνο μετριούνται
+    private static final int MAX_ERRORS = 50;
+
+    private final String id;
+    private final String fileName;
+    private final ImportFormat format;
+    private final long bytesTotal;
+
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong recordsRead = new AtomicLong();
+    private final AtomicLong booksImported = new AtomicLong();
+    private final AtomicLong authorsCreated = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private final List<String> errors = new ArrayList<>();
+
+    private volatile ImportStatus status = ImportStatus.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    public CatalogImportJob(String id, String fileName, ImportFormat format, long bytesTotal) {
+        this.id = id;
+        this.fileName = fileName;
+        this.format = format;
+        this.bytesTotal = bytesTotal;
+    }
+
+    public void started() {
+        startedAt = LocalDateTime.now();
+        status = ImportStatus.RUNNING;
+    }
+
+    public void finished(ImportStatus result) {
+        finishedAt = LocalDateTime.now();
+        status = result;
+    }
+
+    public void rejected(long line, String reason) {
+        invalid.incrementAndGet();
+        error("Line " + line + ": " + reason);
+    }
+
+    public synchronized void error(String message) {
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(message);
+        }
+    }
+
+    public boolean isDone() {
+        return status == ImportStatus.COMPLETED || status == ImportStatus.FAILED;
+    }
+
+    public synchronized ImportProgressResponse toResponse() {
+        long read = bytesRead.get();
+        long records = recordsRead.get();
+        double seconds = startedAt == null ? 0
+                : Duration.between(startedAt, finishedAt != null ? finishedAt : LocalDateTime.now()).toMillis() / 1000.0;
+
+        return ImportProgressResponse.builder()
+                .jobId(id)
+                .fileName(fileName)
+                .format(format)
+                .status(status)
+                .bytesTotal(bytesTotal)
+                .bytesRead(read)
+                .percent(bytesTotal == 0 ? 0 : Math.min(100.0, read * 100.0 / bytesTotal))
+                .recordsRead(records)
+                .booksImported(booksImported.get())
+                .authorsCreated(authorsCreated.get())
+                .duplicates(duplicates.get())
+                .invalid(invalid.get())
+                .recordsPerSecond(seconds > 0 ? records / seconds : 0)
+                .errors(List.copyOf(errors))
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.JohnBravos.bookhub_manager.service.importer;
+
+import java.util.List;
+
+/**
+ * Μία εγγραφή καταλόγου όπως διαβάστηκε από το αρχείο, πριν το validation.
+ * Το error συμπληρώνεται από τον reader όταν η γραμμή δεν μπορεί να διαβαστεί (π.χ. μη αριθμητικό έτος).
+ */
+public record CatalogRecord(
+        long line,
+        String isbn,
+        String title,
+        List<AuthorName> authors,
+        String publisher,
+        Integer publicationYear,
+        String genre,
+        String description,
+        Integer totalCopies,
+        String error
+) {
+
+    public record AuthorName(String firstName, String lastName) {
+
+        // Κλειδί σύγκρισης με τους υπάρχοντες authors (case-insensitive)
+        public String key() {
+            return AuthorName.key(firstName, lastName);
+        }
+
+        public static String key(String firstName, String lastName) {
+            return firstName.trim().toLowerCase() + "|" + lastName.trim().toLowerCase();
+        }
+    }
+
+    public static CatalogRecord invalid(long line, String error) {
+        return new CatalogRecord(line, null, null, List.of(), null, null, null, null, null, error);
+    }
+}
@@ -0,0 +1,23 @@
+package com.JohnBravos.bookhub_manager.service.importer;
+
+import com.JohnBravos.bookhub_manager.core.enums.ImportFormat;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Διαβάζει εγγραφές καταλόγου μία-μία από stream, χωρίς να κρατά το αρχείο στη μνήμη.
+ */
+public interface CatalogRecordReader extends Closeable {
+
+    // Η επόμενη εγγραφή ή null στο τέλος του αρχείου
+    CatalogRecord next() throws IOException;
+
+    static CatalogRecordReader open(ImportFormat format, BufferedReader reader) {
+        return switch (format) {
+            case CSV -> new CsvCatalogReader(reader);
+            case MARC -> new MarcCatalogReader(reader);
+        };
+    }
+}
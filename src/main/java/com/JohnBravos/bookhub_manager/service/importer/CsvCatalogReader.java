@@ -0,0 +1,140 @@
+package com.JohnBravos.bookhub_manager.service.importer;
+
+import com.JohnBravos.bookhub_manager.service.importer.CatalogRecord.AuthorName;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV με στήλες: isbn,title,authors,publisher,publicationYear,genre,totalCopies,description.
+ * Οι authors χωρίζονται με ';' ("Ursula Le Guin;Isaac Asimov"), τα πεδία μπορούν να είναι σε "quotes"
+ * (και να περιέχουν κόμματα, "" ή αλλαγές γραμμής). Μια πρώτη γραμμή που ξεκινά με "isbn" θεωρείται header.
+ */
+class CsvCatalogReader implements CatalogRecordReader {
+
+    private static final int COLUMNS = 8;
+
+    private final BufferedReader reader;
+    private long line = 0;
+
+    CsvCatalogReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public CatalogRecord next() throws IOException {
+        List<String> fields;
+        long start;
+        do {
+            start = line + 1;
+            fields = readFields();
+            if (fields == null) {
+                return null;
+            }
+        } while (isBlank(fields) || (start == 1 && fields.get(0).trim().equalsIgnoreCase("isbn")));
+
+        if (fields.size() < COLUMNS - 1) {
+            return CatalogRecord.invalid(start, "Expected " + COLUMNS + " columns, found " + fields.size());
+        }
+
+        try {
+            return new CatalogRecord(
+                    start,
+                    fields.get(0).trim(),
+                    fields.get(1).trim(),
+                    parseAuthors(fields.get(2)),
+                    fields.get(3).trim(),
+                    parseInt(fields.get(4)),
+                    fields.get(5).trim(),
+                    fields.size() > 7 ? emptyToNull(fields.get(7).trim()) : null,
+                    parseInt(fields.get(6)),
+                    null
+            );
+        } catch (NumberFormatException e) {
+            return CatalogRecord.invalid(start, "Invalid number: " + e.getMessage());
+        }
+    }
+
+    // Μία λογική εγγραφή - μπορεί να εκτείνεται σε πολλές γραμμές αν ένα quoted πεδίο περιέχει newline
+    private List<String> readFields() throws IOException {
+        String current = reader.readLine();
+        if (current == null) {
+            return null;
+        }
+        line++;
+
+        List<String> fields = new ArrayList<>(COLUMNS);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            for (int i = 0; i < current.length(); i++) {
+                char c = current.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < current.length() && current.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (!quoted) {
+                break;
+            }
+            current = reader.readLine();
+            if (current == null) {
+                break;
+            }
+            line++;
+            field.append('\n');
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+
+    static List<AuthorName> parseAuthors(String value) {
+        List<AuthorName> authors = new ArrayList<>();
+        for (String name : value.split(";")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int space = trimmed.lastIndexOf(' ');
+            authors.add(space < 0
+                    ? new AuthorName("", trimmed)
+                    : new AuthorName(trimmed.substring(0, space).trim(), trimmed.substring(space + 1)));
+        }
+        return authors;
+    }
+
+    private static Integer parseInt(String value) {
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : Integer.valueOf(trimmed);
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static boolean isBlank(List<String> fields) {
+        return fields.size() == 1 && fields.get(0).isBlank();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
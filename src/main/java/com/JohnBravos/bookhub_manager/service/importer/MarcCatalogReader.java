@@ -0,0 +1,98 @@
+package com.JohnBravos.bookhub_manager.service.importer;
+
+import com.JohnBravos.bookhub_manager.service.importer.CatalogRecord.AuthorName;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Απλοποιημένο MARC-like format (mnemonic): μία γραμμή "=TAG  value" ανά πεδίο, κενή γραμμή ανάμεσα στις εγγραφές.
+ * <pre>
+ * =020  9780547928227        ISBN
+ * =100  Tolkien, J. R. R.    κύριος author ("Last, First")
+ * =700  Anderson, Douglas    επιπλέον authors
+ * =245  The Hobbit           title
+ * =260  Mariner Books        publisher
+ * =264  2012                 έτος έκδοσης
+ * =650  Fantasy              genre
+ * =520  ...                  description
+ * =949  3                    αντίτυπα
+ * </pre>
+ * Άγνωστα tags αγνοούνται.
+ */
+class MarcCatalogReader implements CatalogRecordReader {
+
+    private final BufferedReader reader;
+    private long line = 0;
+
+    MarcCatalogReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public CatalogRecord next() throws IOException {
+        String isbn = null, title = null, publisher = null, genre = null, description = null;
+        String year = null, copies = null;
+        List<AuthorName> authors = new ArrayList<>();
+        long start = 0;
+
+        String current;
+        while ((current = reader.readLine()) != null) {
+            line++;
+            if (current.isBlank()) {
+                if (start > 0) {
+                    break;
+                }
+                continue;
+            }
+            if (start == 0) {
+                start = line;
+            }
+            if (current.length() < 5 || current.charAt(0) != '=') {
+                continue;
+            }
+
+            String tag = current.substring(1, 4);
+            String value = current.substring(4).trim();
+            switch (tag) {
+                case "020" -> isbn = value;
+                case "100", "700" -> authors.add(parseAuthor(value));
+                case "245" -> title = value;
+                case "260" -> publisher = value;
+                case "264" -> year = value;
+                case "650" -> genre = value;
+                case "520" -> description = value;
+                case "949" -> copies = value;
+                default -> { }
+            }
+        }
+
+        if (start == 0) {
+            return null;
+        }
+
+        try {
+            return new CatalogRecord(start, isbn, title, authors, publisher,
+                    year == null ? null : Integer.valueOf(year),
+                    genre, description,
+                    copies == null ? null : Integer.valueOf(copies),
+                    null);
+        } catch (NumberFormatException e) {
+            return CatalogRecord.invalid(start, "Invalid number: " + e.getMessage());
+        }
+    }
+
+    private static AuthorName parseAuthor(String value) {
+        int comma = value.indexOf(',');
+        return comma < 0
+                ? new AuthorName("", value)
+                : new AuthorName(value.substring(comma + 1).trim(), value.substring(0, comma).trim());
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,62 @@
+package com.JohnBravos.bookhub_manager.service.stats;
+
+import com.JohnBravos.bookhub_manager.config.MetricNames;
+import com.JohnBravos.bookhub_manager.core.enums.LoanStatus;
+import com.JohnBravos.bookhub_manager.core.enums.ReservationStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Micrometer counters για τα business events ({@code bookhub.loans.events{event=approved}},
+ * {@code bookhub.reservations.events{event=expired}} κ.λπ.). Καλείται από το {@link SystemCounters}
+ * μετά το commit, άρα μετρά μόνο ό,τι πραγματικά έγινε.
+ * <p>
+ * Το event είναι η νέα κατάσταση, εκτός από PENDING -> ACTIVE που μετρά ως {@code approved}.
+ */
+@Component
+public class BusinessMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public BusinessMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        // Εγγραφή με 0 ώστε τα βασικά events να υπάρχουν στο /actuator/metrics πριν συμβούν
+        for (String event : new String[]{"created", "approved", "returned", "overdue"}) {
+            counter(MetricNames.LOAN_EVENTS, event);
+        }
+        for (String event : new String[]{"created", "approved", "fulfilled", "cancelled", "expired"}) {
+            counter(MetricNames.RESERVATION_EVENTS, event);
+        }
+    }
+
+    public void loanCreated() {
+        counter(MetricNames.LOAN_EVENTS, "created").increment();
+    }
+
+    public void loanStatusChanged(LoanStatus from, LoanStatus to) {
+        String event = from == LoanStatus.PENDING && to == LoanStatus.ACTIVE ? "approved" : key(to);
+        counter(MetricNames.LOAN_EVENTS, event).increment();
+    }
+
+    public void reservationCreated() {
+        counter(MetricNames.RESERVATION_EVENTS, "created").increment();
+    }
+
+    public void reservationStatusChanged(ReservationStatus from, ReservationStatus to) {
+        String event = from == ReservationStatus.PENDING && to == ReservationStatus.ACTIVE ? "approved" : key(to);
+        counter(MetricNames.RESERVATION_EVENTS, event).increment();
+    }
+
+    private Counter counter(String name, String event) {
+        return Counter.builder(name)
+                .tag("event", event)
+                .register(meterRegistry);
+    }
+
+    private static String key(Enum<?> status) {
+        return status.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,181 @@
+package com.JohnBravos.bookhub_manager.service.stats;
+
+import com.JohnBravos.bookhub_manager.core.enums.LoanStatus;
+import com.JohnBravos.bookhub_manager.core.enums.RollupGranularity;
+import com.JohnBravos.bookhub_manager.model.CirculationRollup;
+import com.JohnBravos.bookhub_manager.model.CirculationRollupId;
+import com.JohnBravos.bookhub_manager.model.Loan;
+import com.JohnBravos.bookhub_manager.model.Reservation;
+import com.JohnBravos.bookhub_manager.repository.CirculationRollupRepository;
+import com.JohnBravos.bookhub_manager.repository.LoanRepository;
+import com.JohnBravos.bookhub_manager.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Γράφει τα deltas κυκλοφορίας στα rollup tables μέσα στο ίδιο transaction με την αλλαγή του
+ * loan/reservation (ένα upsert ανά bucket, στο beforeCommit), οπότε ένα rollback ή ένα crash
+ * δεν αφήνει τα rollups να αποκλίνουν από τα δεδομένα. Τα buckets γράφονται πάντα με την ίδια
+ * σειρά και κλειδώνονται μόνο για τη διάρκεια του commit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CirculationRollupRecorder {
+
+    // Σταθερή σειρά locks ανάμεσα σε transactions (χωρίς deadlocks στα buckets συνόλων)
+    private static final Comparator<CirculationRollupId> BUCKET_ORDER =
+            Comparator.comparing(CirculationRollupId::getGranularity)
+                    .thenComparing(CirculationRollupId::getBucketStart)
+                    .thenComparing(CirculationRollupId::getGenre);
+
+    private final CirculationRollupRepository rollupRepository;
+    private final LoanRepository loanRepository;
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${stats.rollups.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    // ========== EVENTS ==========
+
+    public void loanCreated(Loan loan) {
+        record(LocalDateTime.now(), loan.getBook().getGenre(), new Delta(1, 0, 0, 0, 0));
+    }
+
+    public void loanReturned(Loan loan, LoanStatus previousStatus) {
+        LocalDateTime returnedAt = loan.getReturnDate();
+        boolean late = previousStatus == LoanStatus.OVERDUE
+                || returnedAt.toLocalDate().isAfter(loan.getDueDate());
+        long days = ChronoUnit.DAYS.between(loan.getLoanDate(), returnedAt.toLocalDate());
+
+        record(returnedAt, loan.getBook().getGenre(), new Delta(0, 1, late ? 1 : 0, 0, days));
+    }
+
+    public void reservationCreated(Reservation reservation) {
+        record(LocalDateTime.now(), reservation.getBook().getGenre(), new Delta(0, 0, 0, 1, 0));
+    }
+
+    private void record(LocalDateTime time, String genre, Delta delta) {
+        Map<CirculationRollupId, Delta> buckets = new TreeMap<>(BUCKET_ORDER);
+        accumulate(buckets, time, genre, delta, RollupGranularity.values());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    increment(buckets);
+                }
+            });
+        } else {
+            transactionTemplate.executeWithoutResult(status -> increment(buckets));
+        }
+    }
+
+    // ========== BACKFILL ==========
+
+    /**
+     * Γεμίζει τα DAY/MONTH rollups από τα υπάρχοντα loans/reservations την πρώτη φορά που τρέχει η εφαρμογή.
+     * Τα ιστορικά δεδομένα έχουν μόνο ημερομηνία, οπότε τα HOUR rollups ξεκινούν από εδώ και πέρα.
+     * <p>
+     * Όλα τα buckets γράφονται με απλό INSERT σε ένα transaction: αν ξεκινήσουν μαζί πολλά instances,
+     * ή γραφτεί στο μεταξύ κάποιο event, το primary key αφήνει να γίνει commit μόνο ένα backfill
+     * χωρίς διπλομετρήσεις.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!backfillOnStartup || rollupRepository.count() > 0) {
+            return;
+        }
+
+        log.info("Circulation rollups are empty - backfilling from existing loans and reservations");
+        Map<CirculationRollupId, Delta> batch = new TreeMap<>(BUCKET_ORDER);
+
+        for (Object[] row : loanRepository.countCreatedByDayAndGenre()) {
+            accumulate(batch, ((LocalDate) row[0]).atStartOfDay(), (String) row[1],
+                    new Delta(count(row[2]), 0, 0, 0, 0), RollupGranularity.DAY, RollupGranularity.MONTH);
+        }
+        for (Object[] row : loanRepository.summarizeReturnsByDayAndGenre()) {
+            accumulate(batch, ((LocalDate) row[0]).atStartOfDay(), (String) row[1],
+                    new Delta(0, count(row[2]), count(row[3]), 0, count(row[4])), RollupGranularity.DAY, RollupGranularity.MONTH);
+        }
+        for (Object[] row : reservationRepository.countCreatedByDayAndGenre()) {
+            accumulate(batch, ((LocalDate) row[0]).atStartOfDay(), (String) row[1],
+                    new Delta(0, 0, 0, count(row[2]), 0), RollupGranularity.DAY, RollupGranularity.MONTH);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach((key, delta) ->
+                    rollupRepository.insert(
+                            key.getGranularity().name(),
+                            key.getBucketStart(),
+                            key.getGenre(),
+                            delta.loansCreated(),
+                            delta.loansReturned(),
+                            delta.loansOverdue(),
+                            delta.reservationsCreated(),
+                            delta.loanDays())));
+            log.info("Backfilled {} circulation rollup buckets", batch.size());
+        } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+            log.info("Circulation rollups were written concurrently (another instance or live events) - backfill skipped");
+        }
+    }
+
+    // ========== HELPERS ==========
+
+    private void increment(Map<CirculationRollupId, Delta> buckets) {
+        buckets.forEach((key, delta) ->
+                rollupRepository.increment(
+                        key.getGranularity().name(),
+                        key.getBucketStart(),
+                        key.getGenre(),
+                        delta.loansCreated(),
+                        delta.loansReturned(),
+                        delta.loansOverdue(),
+                        delta.reservationsCreated(),
+                        delta.loanDays()));
+    }
+
+    // Κάθε event μετράει στο bucket του genre του και στο bucket με τα σύνολα
+    private static void accumulate(Map<CirculationRollupId, Delta> target, LocalDateTime time, String genre,
+                                   Delta delta, RollupGranularity... granularities) {
+        for (RollupGranularity granularity : granularities) {
+            LocalDateTime bucket = granularity.bucketOf(time);
+            target.merge(new CirculationRollupId(granularity, bucket, genre), delta, Delta::plus);
+            target.merge(new CirculationRollupId(granularity, bucket, CirculationRollup.ALL_GENRES), delta, Delta::plus);
+        }
+    }
+
+    private static long count(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    private record Delta(long loansCreated, long loansReturned, long loansOverdue,
+                         long reservationsCreated, long loanDays) {
+
+        Delta plus(Delta other) {
+            return new Delta(
+                    loansCreated + other.loansCreated,
+                    loansReturned + other.loansReturned,
+                    loansOverdue + other.loansOverdue,
+                    reservationsCreated + other.reservationsCreated,
+                    loanDays + other.loanDays);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.JohnBravos.bookhub_manager.service.stats;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Mergeable histogram διάρκειας σε ημέρες, σε στυλ HDR: ακριβή buckets για 0-63 ημέρες
+ * και 8 λογαριθμικά sub-buckets ανά δύναμη του 2 μέχρι ~4096 ημέρες (~12% σχετικό σφάλμα).
+ * Σταθερή μνήμη (120 counters) ανεξάρτητα από το πλήθος των δειγμάτων.
+ */
+public class DurationHistogram {
+
+    private static final int EXACT_BUCKETS = 64;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MIN_EXPONENT = 6;      // 2^6 = EXACT_BUCKETS
+    private static final int MAX_EXPONENT = 12;
+    static final int BUCKETS = EXACT_BUCKETS + (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long totalCount;
+    private long totalDays;
+
+    public synchronized void record(long days) {
+        long value = Math.max(0, days);
+        counts[indexOf(value)]++;
+        totalCount++;
+        totalDays += value;
+    }
+
+    public synchronized void record(long days, long occurrences) {
+        long value = Math.max(0, days);
+        counts[indexOf(value)] += occurrences;
+        totalCount += occurrences;
+        totalDays += value * occurrences;
+    }
+
+    public void merge(DurationHistogram other) {
+        long[] otherCounts;
+        long otherTotal;
+        long otherDays;
+        synchronized (other) {
+            otherCounts = other.counts.clone();
+            otherTotal = other.totalCount;
+            otherDays = other.totalDays;
+        }
+        synchronized (this) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += otherCounts[i];
+            }
+            totalCount += otherTotal;
+            totalDays += otherDays;
+        }
+    }
+
+    public synchronized long count() {
+        return totalCount;
+    }
+
+    public synchronized double mean() {
+        return totalCount == 0 ? 0.0 : (double) totalDays / totalCount;
+    }
+
+    // Εκτίμηση του quantile q (0..1) - 0 αν δεν υπάρχουν δείγματα
+    public synchronized double quantile(double q) {
+        if (totalCount == 0) {
+            return 0.0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return midpointOf(i);
+            }
+        }
+        return midpointOf(BUCKETS - 1);
+    }
+
+    // ========== PERSISTENCE ==========
+
+    // Μόνο τα μη μηδενικά buckets: (index, count)
+    public synchronized byte[] toBytes() {
+        int nonZero = 0;
+        for (long c : counts) {
+            if (c != 0) {
+                nonZero++;
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(nonZero * (Short.BYTES + Long.BYTES));
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] != 0) {
+                buffer.putShort((short) i);
+                buffer.putLong(counts[i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    public static DurationHistogram fromBytes(byte[] data, long totalCount, long totalDays) {
+        DurationHistogram histogram = new DurationHistogram();
+        if (data != null) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.remaining() >= Short.BYTES + Long.BYTES) {
+                int index = buffer.getShort();
+                long count = buffer.getLong();
+                if (index >= 0 && index < BUCKETS) {
+                    histogram.counts[index] = count;
+                }
+            }
+        }
+        histogram.totalCount = totalCount;
+        histogram.totalDays = totalDays;
+        return histogram;
+    }
+
+    synchronized long totalDays() {
+        return totalDays;
+    }
+
+    // ========== BUCKETS ==========
+
+    private static int indexOf(long days) {
+        if (days < EXACT_BUCKETS) {
+            return (int) days;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(days);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int subBucket = (int) (days >> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return EXACT_BUCKETS + (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    private static double midpointOf(int index) {
+        if (index < EXACT_BUCKETS) {
+            return index;
+        }
+        int exponent = MIN_EXPONENT + (index - EXACT_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (index - EXACT_BUCKETS) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lower = (SUB_BUCKETS + subBucket) * width;
+        return lower + (width - 1) / 2.0;
+    }
+}
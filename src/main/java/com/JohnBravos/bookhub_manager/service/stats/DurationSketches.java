@@ -0,0 +1,273 @@
+package com.JohnBravos.bookhub_manager.service.stats;
+
+import com.JohnBravos.bookhub_manager.core.enums.DurationMetric;
+import com.JohnBravos.bookhub_manager.core.utils.AfterCommit;
+import com.JohnBravos.bookhub_manager.model.DurationSketch;
+import com.JohnBravos.bookhub_manager.model.DurationSketchId;
+import com.JohnBravos.bookhub_manager.model.Loan;
+import com.JohnBravos.bookhub_manager.model.Reservation;
+import com.JohnBravos.bookhub_manager.repository.DurationSketchRepository;
+import com.JohnBravos.bookhub_manager.repository.LoanRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Quantile sketches (DurationHistogram) για διάρκεια δανεισμού και χρόνο αναμονής κρατήσεων,
+ * ανά βιβλίο και συνολικά. Ενημερώνονται σε κάθε επιστροφή/fulfilment και αποθηκεύονται περιοδικά,
+ * ώστε τα book details να μη σκανάρουν ιστορικά loans.
+ * <p>
+ * Τα sketches κρατιούνται σε bounded Caffeine cache ({@code stats.sketches.max-entries}) και
+ * φορτώνονται έξω από κάθε lock. Ένα βιβλίο χωρίς sketch στη βάση δεν αποκτά δικό του histogram
+ * μέχρι να καταγραφεί δείγμα (μένει ως {@link #NONE}). Όσα έχουν μη αποθηκευμένες εγγραφές μένουν
+ * και στο {@code dirty} μέχρι το flush, ώστε ένα eviction να μην τις χάνει.
+ */
+@Slf4j
+@Component
+public class DurationSketches {
+
+    // Κοινό, πάντα άδειο: "δεν υπάρχει sketch" χωρίς histogram ανά βιβλίο. Δεν γράφεται ποτέ.
+    private static final DurationHistogram NONE = new DurationHistogram();
+
+    private final DurationSketchRepository sketchRepository;
+    private final LoanRepository loanRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Cache<DurationSketchId, DurationHistogram> sketches;
+    private final Map<DurationSketchId, DurationHistogram> dirty = new ConcurrentHashMap<>();
+
+    // Κάτω από αυτό το πλήθος δειγμάτων ενός βιβλίου χρησιμοποιείται το global sketch
+    @Value("${stats.sketches.min-samples:5}")
+    private long minSamples;
+
+    @Value("${stats.sketches.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    public DurationSketches(DurationSketchRepository sketchRepository,
+                            LoanRepository loanRepository,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${stats.sketches.max-entries:10000}") long maxEntries) {
+        this.sketchRepository = sketchRepository;
+        this.loanRepository = loanRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.sketches = Caffeine.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    // ========== EVENTS ==========
+
+    public void loanReturned(Loan loan) {
+        long days = ChronoUnit.DAYS.between(loan.getLoanDate(), loan.getReturnDate().toLocalDate());
+        Long bookId = loan.getBook().getId();
+        AfterCommit.run(() -> record(DurationMetric.LOAN_DURATION, bookId, days));
+    }
+
+    public void reservationFulfilled(Reservation reservation) {
+        long days = ChronoUnit.DAYS.between(reservation.getReservationDate(), LocalDate.now());
+        Long bookId = reservation.getBook().getId();
+        AfterCommit.run(() -> record(DurationMetric.RESERVATION_WAIT, bookId, days));
+    }
+
+    private void record(DurationMetric metric, Long bookId, long days) {
+        for (DurationSketchId id : List.of(new DurationSketchId(metric, bookId), globalId(metric))) {
+            DurationHistogram histogram = writable(id);
+            histogram.record(days);
+            dirty.put(id, histogram);
+        }
+    }
+
+    // ========== READ ==========
+
+    // Άδειο (όχι cached ανά βιβλίο) αν το βιβλίο δεν έχει δείγματα
+    public DurationHistogram forBook(DurationMetric metric, Long bookId) {
+        return lookup(new DurationSketchId(metric, bookId));
+    }
+
+    public DurationHistogram global(DurationMetric metric) {
+        return lookup(globalId(metric));
+    }
+
+    // Sketch του βιβλίου αν έχει αρκετά δείγματα, αλλιώς το global
+    public DurationHistogram forBookOrGlobal(DurationMetric metric, Long bookId) {
+        DurationHistogram book = forBook(metric, bookId);
+        return book.count() >= minSamples ? book : global(metric);
+    }
+
+    // Φορτώνει με ένα query τα sketches που λείπουν για μια σελίδα βιβλίων
+    public void preload(Collection<Long> bookIds) {
+        List<DurationSketchId> missing = new ArrayList<>();
+        for (DurationMetric metric : DurationMetric.values()) {
+            for (Long bookId : bookIds) {
+                addIfMissing(missing, new DurationSketchId(metric, bookId));
+            }
+            addIfMissing(missing, globalId(metric));
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Map<DurationSketchId, DurationSketch> found = new HashMap<>();
+        for (DurationSketch sketch : sketchRepository.findAllById(missing)) {
+            found.put(sketch.getId(), sketch);
+        }
+        for (DurationSketchId id : missing) {
+            DurationSketch s = found.get(id);
+            sketches.asMap().putIfAbsent(id, s == null ? NONE : toHistogram(s));
+        }
+    }
+
+    private void addIfMissing(List<DurationSketchId> missing, DurationSketchId id) {
+        if (sketches.getIfPresent(id) == null && !dirty.containsKey(id)) {
+            missing.add(id);
+        }
+    }
+
+    // Cache, μετά οι μη αποθηκευμένες εγγραφές, μετά η βάση. Το query τρέχει έξω από το cache
+    // (σε ταυτόχρονα misses μπορεί να γίνει δύο φορές, κρατιέται το πρώτο)
+    private DurationHistogram lookup(DurationSketchId id) {
+        DurationHistogram histogram = sketches.getIfPresent(id);
+        if (histogram != null) {
+            return histogram;
+        }
+        histogram = dirty.get(id);
+        if (histogram != null) {
+            return histogram;
+        }
+        DurationHistogram loaded = load(id);
+        DurationHistogram existing = sketches.asMap().putIfAbsent(id, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    // Το histogram στο οποίο γράφεται ένα δείγμα - το NONE αντικαθίσταται από νέο histogram
+    private DurationHistogram writable(DurationSketchId id) {
+        while (true) {
+            DurationHistogram histogram = lookup(id);
+            if (histogram != NONE) {
+                return histogram;
+            }
+            DurationHistogram created = new DurationHistogram();
+            if (sketches.asMap().replace(id, NONE, created)) {
+                return created;
+            }
+        }
+    }
+
+    private DurationHistogram load(DurationSketchId id) {
+        return sketchRepository.findById(id)
+                .map(DurationSketches::toHistogram)
+                .orElse(NONE);
+    }
+
+    private static DurationHistogram toHistogram(DurationSketch sketch) {
+        return DurationHistogram.fromBytes(sketch.getBuckets(), sketch.getTotalCount(), sketch.getTotalDays());
+    }
+
+    private static DurationSketchId globalId(DurationMetric metric) {
+        return new DurationSketchId(metric, DurationSketch.GLOBAL);
+    }
+
+    // ========== PERSISTENCE ==========
+
+    @Scheduled(fixedDelayString = "${stats.sketches.flush-interval-ms:60000}")
+    @PreDestroy
+    public synchronized void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<DurationSketchId, DurationHistogram> batch = new HashMap<>();
+        List<DurationSketch> rows = new ArrayList<>();
+        for (DurationSketchId id : new ArrayList<>(dirty.keySet())) {
+            DurationHistogram histogram = dirty.get(id);
+            if (histogram == null) {
+                continue;
+            }
+            // Πίσω στο cache πριν φύγει από το dirty: τα επόμενα δείγματα πάνε στο ίδιο histogram
+            sketches.put(id, histogram);
+            dirty.remove(id, histogram);
+            batch.put(id, histogram);
+            rows.add(toEntity(id, histogram, now));
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> sketchRepository.saveAll(rows));
+            log.debug("Persisted {} duration sketches", rows.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to persist duration sketches, will retry: {}", e.getMessage());
+            batch.forEach(dirty::putIfAbsent);
+        }
+    }
+
+    /**
+     * Χτίζει τα loan duration sketches από τα ιστορικά loans την πρώτη φορά (ένα GROUP BY, όχι ανά loan).
+     * Ο χρόνος αναμονής δεν αποθηκευόταν ιστορικά, οπότε τα wait sketches ξεκινούν άδεια.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!backfillOnStartup || sketchRepository.count() > 0) {
+            return;
+        }
+
+        log.info("Duration sketches are empty - backfilling loan durations from returned loans");
+        Map<DurationSketchId, DurationHistogram> built = new HashMap<>();
+        DurationSketchId globalId = globalId(DurationMetric.LOAN_DURATION);
+
+        for (Object[] row : loanRepository.countLoanDurationsByBook()) {
+            long bookId = ((Number) row[0]).longValue();
+            long days = row[1] == null ? 0 : ((Number) row[1]).longValue();
+            long occurrences = ((Number) row[2]).longValue();
+
+            built.computeIfAbsent(new DurationSketchId(DurationMetric.LOAN_DURATION, bookId), id -> new DurationHistogram())
+                    .record(days, occurrences);
+            built.computeIfAbsent(globalId, id -> new DurationHistogram()).record(days, occurrences);
+        }
+
+        // Στο ίδιο histogram με τα live δείγματα (όχι put + merge), ώστε να μη χαθεί κανένα
+        // (η βάση είναι άδεια, οπότε χωρίς load ανά βιβλίο)
+        built.forEach((id, histogram) -> {
+            DurationHistogram target = dirty.get(id);
+            if (target == null) {
+                target = sketches.asMap().merge(id, histogram, (live, backfilled) -> {
+                    if (live == NONE) {
+                        return backfilled;
+                    }
+                    live.merge(backfilled);
+                    return live;
+                });
+            } else {
+                target.merge(histogram);
+            }
+            dirty.put(id, target);
+        });
+
+        flush();
+        log.info("Backfilled {} duration sketches", built.size());
+    }
+
+    private static DurationSketch toEntity(DurationSketchId id, DurationHistogram histogram, LocalDateTime now) {
+        return DurationSketch.builder()
+                .id(id)
+                .buckets(histogram.toBytes())
+                .totalCount(histogram.count())
+                .totalDays(histogram.totalDays())
+                .updatedAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,257 @@
+package com.JohnBravos.bookhub_manager.service.stats;
+
+import com.JohnBravos.bookhub_manager.core.enums.LoanStatus;
+import com.JohnBravos.bookhub_manager.core.enums.ReservationStatus;
+import com.JohnBravos.bookhub_manager.core.utils.AfterCommit;
+import com.JohnBravos.bookhub_manager.dto.Response.SystemStatsResponse;
+import com.JohnBravos.bookhub_manager.repository.ArchivedLoanRepository;
+import com.JohnBravos.bookhub_manager.repository.ArchivedReservationRepository;
+import com.JohnBravos.bookhub_manager.repository.BookRepository;
+import com.JohnBravos.bookhub_manager.repository.LoanRepository;
+import com.JohnBravos.bookhub_manager.repository.ReservationRepository;
+import com.JohnBravos.bookhub_manager.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * In-memory counters για τα system statistics.
+ * Γεμίζουν μία φορά από τη βάση, ενημερώνονται από τα state transitions των services
+ * (μόνο μετά το commit) και συγχρονίζονται περιοδικά με τη βάση για να διορθωθεί τυχόν drift.
+ * Το reconcile δεν κάνει reset: προσθέτει τη διαφορά βάσης - counter (όπως ήταν πριν από το query),
+ * ώστε τα deltas που φτάνουν ενώ τρέχει να μη χάνονται.
+ * Τα ίδια transitions τροφοδοτούν και τα Micrometer counters του {@link BusinessMetrics}.
+ */
+@Slf4j
+@Component
+public class SystemCounters {
+
+    private final UserRepository userRepository;
+    private final BookRepository bookRepository;
+    private final LoanRepository loanRepository;
+    private final ReservationRepository reservationRepository;
+    private final ArchivedLoanRepository archivedLoanRepository;
+    private final ArchivedReservationRepository archivedReservationRepository;
+    private final BusinessMetrics businessMetrics;
+    // Και για τις κλήσεις μέσα από την ίδια την κλάση (seed / snapshot / after-commit), που δεν περνούν από proxy
+    private final TransactionTemplate readOnly;
+
+    private final LongAdder totalUsers = new LongAdder();
+    private final LongAdder totalBooks = new LongAdder();
+    private final LongAdder availableCopies = new LongAdder();
+    private final Map<LoanStatus, LongAdder> loansByStatus = newCounters(LoanStatus.class);
+    private final Map<ReservationStatus, LongAdder> reservationsByStatus = newCounters(ReservationStatus.class);
+
+    private volatile boolean seeded = false;
+
+    public SystemCounters(UserRepository userRepository,
+                          BookRepository bookRepository,
+                          LoanRepository loanRepository,
+                          ReservationRepository reservationRepository,
+                          ArchivedLoanRepository archivedLoanRepository,
+                          ArchivedReservationRepository archivedReservationRepository,
+                          BusinessMetrics businessMetrics,
+                          PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.bookRepository = bookRepository;
+        this.loanRepository = loanRepository;
+        this.reservationRepository = reservationRepository;
+        this.archivedLoanRepository = archivedLoanRepository;
+        this.archivedReservationRepository = archivedReservationRepository;
+        this.businessMetrics = businessMetrics;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    // ========== READ ==========
+
+    public SystemStatsResponse snapshot() {
+        if (!seeded) {
+            reconcile();
+        }
+
+        return new SystemStatsResponse(
+                totalUsers.sum(),
+                totalBooks.sum(),
+                availableCopies.sum(),
+                loansByStatus.get(LoanStatus.ACTIVE).sum(),
+                sum(loansByStatus),
+                loansByStatus.get(LoanStatus.OVERDUE).sum(),
+                sum(reservationsByStatus),
+                reservationsByStatus.get(ReservationStatus.PENDING).sum()
+        );
+    }
+
+    // ========== STATE TRANSITIONS ==========
+
+    public void userCreated() {
+        AfterCommit.run(totalUsers::increment);
+    }
+
+    public void bookCreated(int copies) {
+        AfterCommit.run(() -> {
+            totalBooks.increment();
+            availableCopies.add(copies);
+        });
+    }
+
+    // Bulk import: ένα update για όλο το chunk αντί για bookCreated ανά βιβλίο
+    public void booksImported(long books, long copies) {
+        AfterCommit.run(() -> {
+            totalBooks.add(books);
+            availableCopies.add(copies);
+        });
+    }
+
+    public void availableCopiesChanged(int delta) {
+        if (delta != 0) {
+            AfterCommit.run(() -> availableCopies.add(delta));
+        }
+    }
+
+    public void loanCreated(LoanStatus status) {
+        AfterCommit.run(() -> {
+            loansByStatus.get(status).increment();
+            businessMetrics.loanCreated();
+        });
+    }
+
+    public void loanStatusChanged(LoanStatus from, LoanStatus to) {
+        if (from != to) {
+            AfterCommit.run(() -> {
+                loansByStatus.get(from).decrement();
+                loansByStatus.get(to).increment();
+                businessMetrics.loanStatusChanged(from, to);
+            });
+        }
+    }
+
+    public void loanDeleted(LoanStatus status) {
+        AfterCommit.run(() -> loansByStatus.get(status).decrement());
+    }
+
+    public void reservationCreated(ReservationStatus status) {
+        AfterCommit.run(() -> {
+            reservationsByStatus.get(status).increment();
+            businessMetrics.reservationCreated();
+        });
+    }
+
+    public void reservationStatusChanged(ReservationStatus from, ReservationStatus to) {
+        if (from != to) {
+            AfterCommit.run(() -> {
+                reservationsByStatus.get(from).decrement();
+                reservationsByStatus.get(to).increment();
+                businessMetrics.reservationStatusChanged(from, to);
+            });
+        }
+    }
+
+    public void reservationDeleted(ReservationStatus status) {
+        AfterCommit.run(() -> reservationsByStatus.get(status).decrement());
+    }
+
+    /**
+     * Για αλλαγές με cascades (π.χ. διαγραφή βιβλίου ή χρήστη μαζί με loans/reservations)
+     * είναι πιο ασφαλές να ξαναμετρήσουμε από τη βάση παρά να υπολογίσουμε τα deltas.
+     */
+    public void reconcileAfterCommit() {
+        AfterCommit.run(this::reconcile);
+    }
+
+    // ========== RECONCILIATION ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${stats.counters.reconcile-interval-ms:300000}",
+            initialDelayString = "${stats.counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        log.debug("Reconciling system counters with the database");
+
+        readOnly.executeWithoutResult(status -> {
+            correct(totalUsers, userRepository::count);
+            correct(totalBooks, bookRepository::count);
+            correct(availableCopies, bookRepository::sumAvailableCopies);
+
+            // Τα totals περιλαμβάνουν και τα archived rows (το archiving μόνο τα μετακινεί)
+            correct(loansByStatus, () -> {
+                Map<LoanStatus, Long> counts = new EnumMap<>(LoanStatus.class);
+                mergeCounts(counts, loanRepository.countGroupedByStatus());
+                mergeCounts(counts, archivedLoanRepository.countGroupedByStatus());
+                return counts;
+            });
+            correct(reservationsByStatus, () -> {
+                Map<ReservationStatus, Long> counts = new EnumMap<>(ReservationStatus.class);
+                mergeCounts(counts, reservationRepository.countGroupedByStatus());
+                mergeCounts(counts, archivedReservationRepository.countGroupedByStatus());
+                return counts;
+            });
+        });
+
+        seeded = true;
+    }
+
+    // ========== HELPERS ==========
+
+    /**
+     * Διορθώνει τον counter κατά (τιμή βάσης - τιμή του counter πριν από το query). Ένα delta που
+     * εφαρμόζεται όσο τρέχει το query μένει στον counter, αντί να το σβήσει ένα reset.
+     */
+    private static void correct(LongAdder counter, LongSupplier query) {
+        long before = counter.sum();
+        long drift = query.getAsLong() - before;
+        if (drift != 0) {
+            counter.add(drift);
+        }
+    }
+
+    private static <E extends Enum<E>> void correct(Map<E, LongAdder> counters, Supplier<Map<E, Long>> query) {
+        Map<E, Long> before = new HashMap<>();
+        counters.forEach((key, counter) -> before.put(key, counter.sum()));
+        Map<E, Long> actual = query.get();
+        counters.forEach((key, counter) -> {
+            long drift = actual.getOrDefault(key, 0L) - before.get(key);
+            if (drift != 0) {
+                counter.add(drift);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Enum<E>> void mergeCounts(Map<E, Long> counts, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            counts.merge((E) row[0], (Long) row[1], Long::sum);
+        }
+    }
+
+    private static long sum(Map<?, LongAdder> counters) {
+        long total = 0;
+        for (LongAdder counter : counters.values()) {
+            total += counter.sum();
+        }
+        return total;
+    }
+
+    private static <E extends Enum<E>> Map<E, LongAdder> newCounters(Class<E> type) {
+        Map<E, LongAdder> counters = new EnumMap<>(type);
+        for (E value : List.of(type.getEnumConstants())) {
+            counters.put(value, new LongAdder());
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,91 @@
+package com.JohnBravos.bookhub_manager.service.stats;
+
+import com.JohnBravos.bookhub_manager.core.utils.AfterCommit;
+import com.JohnBravos.bookhub_manager.repository.ArchivedLoanRepository;
+import com.JohnBravos.bookhub_manager.repository.LoanRepository;
+import com.JohnBravos.bookhub_manager.repository.projection.GenreCount;
+import com.JohnBravos.bookhub_manager.repository.projection.UserActivitySummary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Short-lived cache ανά χρήστη για τα στατιστικά του profile (bounded Caffeine, expireAfterWrite).
+ * Κάθε αλλαγή σε loan/reservation ενός χρήστη κάνει invalidate μόνο τη δική του εγγραφή, μετά το commit.
+ * Ένα invalidate που πέφτει πάνω σε load του ίδιου χρήστη περιμένει να τελειώσει και το αφαιρεί,
+ * οπότε δεν μένουν αποθηκευμένα στατιστικά από πριν την αλλαγή.
+ */
+@Slf4j
+@Component
+public class UserActivityCache {
+
+    private final LoanRepository loanRepository;
+    private final ArchivedLoanRepository archivedLoanRepository;
+
+    private final Cache<Long, UserActivityStats> entries;
+
+    public UserActivityCache(LoanRepository loanRepository,
+                             ArchivedLoanRepository archivedLoanRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${stats.user-activity.ttl-seconds:30}") long ttlSeconds,
+                             @Value("${stats.user-activity.max-entries:10000}") long maxEntries) {
+        this.loanRepository = loanRepository;
+        this.archivedLoanRepository = archivedLoanRepository;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "userActivity");
+    }
+
+    public UserActivityStats get(Long userId) {
+        return entries.get(userId, this::load);
+    }
+
+    public void invalidate(Long userId) {
+        AfterCommit.run(() -> entries.invalidate(userId));
+    }
+
+    private UserActivityStats load(Long userId) {
+        log.debug("Loading activity statistics for user ID: {}", userId);
+        // Τα archived rows είναι πάντα κλειστά (RETURNED/REJECTED), οπότε αφορούν μόνο τα totals
+        UserActivitySummary summary = loanRepository.summarizeUserActivity(userId);
+        long archivedLoans = summary.getArchivedLoans();
+
+        Map<String, Long> merged = new HashMap<>();
+        for (GenreCount genre : loanRepository.countLoansByGenreForUser(userId)) {
+            merged.merge(genre.getGenre(), genre.getCount(), Long::sum);
+        }
+        if (archivedLoans > 0) {
+            for (GenreCount genre : archivedLoanRepository.countLoansByGenreForUser(userId)) {
+                merged.merge(genre.getGenre(), genre.getCount(), Long::sum);
+            }
+        }
+
+        // Most borrowed first
+        Map<String, Long> loansByGenre = new LinkedHashMap<>();
+        merged.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(genre -> loansByGenre.put(genre.getKey(), genre.getValue()));
+
+        return UserActivityStats.builder()
+                .totalLoans(summary.getTotalLoans() + archivedLoans)
+                .activeLoans(summary.getActiveLoans())
+                .overdueLoans(summary.getOverdueLoans())
+                .returnedLoans(summary.getReturnedLoans() + summary.getArchivedReturnedLoans())
+                .totalReservations(summary.getTotalReservations() + summary.getArchivedReservations())
+                .favoriteGenre(loansByGenre.isEmpty() ? "N/A" : loansByGenre.keySet().iterator().next())
+                .loansByGenre(loansByGenre)
+                .build();
+    }
+}
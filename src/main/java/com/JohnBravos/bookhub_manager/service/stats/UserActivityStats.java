@@ -0,0 +1,18 @@
+package com.JohnBravos.bookhub_manager.service.stats;
+
+import lombok.Builder;
+
+import java.util.Map;
+
+@Builder
+public record UserActivityStats(
+        long totalLoans,
+        long activeLoans,
+        long overdueLoans,
+        long returnedLoans,
+        long totalReservations,
+
+        // Genre histogram (most borrowed first)
+        String favoriteGenre,
+        Map<String, Long> loansByGenre
+) {}
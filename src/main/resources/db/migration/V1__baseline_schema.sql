@@ -0,0 +1,108 @@
+-- Baseline: το schema όπως το δημιουργούσε μέχρι τώρα το hibernate ddl-auto.
+-- Σε υπάρχουσες βάσεις δεν εκτελείται (spring.flyway.baseline-version=1).
+
+CREATE TABLE IF NOT EXISTS id_sequences (
+    sequence_name VARCHAR(64) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS authors (
+    id          BIGINT       NOT NULL,
+    firstname   VARCHAR(100) NOT NULL,
+    lastname    VARCHAR(100) NOT NULL,
+    nationality VARCHAR(255),
+    birth_date  DATE,
+    biography   TEXT,
+    created_at  DATETIME(6)  NOT NULL,
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS books (
+    id               BIGINT        NOT NULL,
+    isbn             VARCHAR(20)   NOT NULL,
+    title            VARCHAR(255)  NOT NULL,
+    publisher        VARCHAR(255)  NOT NULL,
+    publication_year INT           NOT NULL,
+    genre            VARCHAR(255)  NOT NULL,
+    description      VARCHAR(1000),
+    total_copies     INT           NOT NULL,
+    available_copies INT           NOT NULL,
+    status           VARCHAR(20)   NOT NULL,
+    created_at       DATETIME(6)   NOT NULL,
+    updated_at       DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_books_isbn UNIQUE (isbn)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS book_authors (
+    book_id   BIGINT NOT NULL,
+    author_id BIGINT NOT NULL,
+    CONSTRAINT fk_book_authors_book FOREIGN KEY (book_id) REFERENCES books (id),
+    CONSTRAINT fk_book_authors_author FOREIGN KEY (author_id) REFERENCES authors (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS users (
+    id           BIGINT       NOT NULL,
+    username     VARCHAR(255) NOT NULL,
+    email        VARCHAR(255) NOT NULL,
+    password     VARCHAR(255) NOT NULL,
+    first_name   VARCHAR(100) NOT NULL,
+    last_name    VARCHAR(100) NOT NULL,
+    phone_number VARCHAR(255) NOT NULL,
+    role         VARCHAR(20)  NOT NULL,
+    status       VARCHAR(20)  NOT NULL,
+    created_at   DATETIME(6)  NOT NULL,
+    updated_at   DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS loans (
+    id          BIGINT      NOT NULL,
+    book_id     BIGINT      NOT NULL,
+    user_id     BIGINT      NOT NULL,
+    loan_date   DATE        NOT NULL,
+    due_date    DATE        NOT NULL,
+    return_date DATETIME(6),
+    status      VARCHAR(20) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_loans_book FOREIGN KEY (book_id) REFERENCES books (id),
+    CONSTRAINT fk_loans_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS reservation (
+    id               BIGINT      NOT NULL,
+    book_id          BIGINT      NOT NULL,
+    user_id          BIGINT      NOT NULL,
+    reservation_date DATE        NOT NULL,
+    expiry_date      DATE        NOT NULL,
+    status           VARCHAR(20) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_reservation_book FOREIGN KEY (book_id) REFERENCES books (id),
+    CONSTRAINT fk_reservation_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS circulation_rollups (
+    granularity          VARCHAR(10)  NOT NULL,
+    bucket_start         DATETIME(6)  NOT NULL,
+    genre                VARCHAR(255) NOT NULL,
+    loans_created        BIGINT       NOT NULL,
+    loans_returned       BIGINT       NOT NULL,
+    loans_overdue        BIGINT       NOT NULL,
+    reservations_created BIGINT       NOT NULL,
+    loan_days_total      BIGINT       NOT NULL,
+    PRIMARY KEY (granularity, bucket_start, genre)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS duration_sketches (
+    metric      VARCHAR(20) NOT NULL,
+    book_id     BIGINT      NOT NULL,
+    buckets     MEDIUMBLOB  NOT NULL,
+    total_count BIGINT      NOT NULL,
+    total_days  BIGINT      NOT NULL,
+    updated_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (metric, book_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,34 @@
+-- Composite indexes για τα repository queries. Το leading column είναι πάντα αυτό της ισότητας
+-- (user_id/book_id/status) και ακολουθεί το range ή το ORDER BY του query.
+-- Τα FKs του hibernate (book_id, user_id) καλύπτονται από τα αντίστοιχα composite indexes.
+
+-- LoanRepository: findRowsByUserId, countByUserIdAndStatus, existsActiveLoanByUserAndBook, summarizeUserActivity
+CREATE INDEX idx_loans_user_status ON loans (user_id, status);
+
+-- LoanRepository: findRowsByBookId, findByBookIdAndStatus, BookRepository.countCirculationByBookIds
+CREATE INDEX idx_loans_book_status ON loans (book_id, status);
+
+-- LoanRepository: findRowsByStatus, findOverdueRows, findRowsDueBetween, countGroupedByStatus
+CREATE INDEX idx_loans_status_due ON loans (status, due_date);
+
+-- ReservationRepository: findActiveRowsByBookOrderByDate, findNextReservationInQueue, findQueuePosition,
+-- countActiveReservationsByBook
+CREATE INDEX idx_reservation_book_status_date ON reservation (book_id, status, reservation_date);
+
+-- ReservationRepository: findRowsByUserId, findByUserIdAndStatusIn, existsActiveReservationByUserAndBook
+CREATE INDEX idx_reservation_user_status ON reservation (user_id, status);
+
+-- ReservationRepository: findRowsByStatus, findExpiredRows, findRowsExpiringBetween
+CREATE INDEX idx_reservation_status_expiry ON reservation (status, expiry_date);
+
+-- BookRepository: findAvailableRowsForLoan, countByStatus
+CREATE INDEX idx_books_status_available ON books (status, available_copies);
+
+-- BookRepository: findByGenre
+CREATE INDEX idx_books_genre ON books (genre);
+
+-- BookRepository: findRowsByAuthorId (author -> books). Το (book_id) μένει από το FK για το findAuthorRowsByBookIds
+CREATE INDEX idx_book_authors_author_book ON book_authors (author_id, book_id);
+
+-- AuthorRepository: findByFirstNameAndLastName, existsByFirstNameAndLastName
+CREATE INDEX idx_authors_name ON authors (lastname, firstname);
@@ -0,0 +1,36 @@
+-- Cold storage για τα κλειστά loans/reservations (βλ. CirculationArchiver).
+-- Ίδιες στήλες με τους hot πίνακες + archived_at. Τα ids διατηρούνται, δεν υπάρχει generator.
+-- Τα FKs είναι RESTRICT: ένα delete book/user δεν σβήνει σιωπηλά ιστορικό (το ελέγχει και το service).
+-- Μόνο τα history endpoints και τα per-user stats διαβάζουν από εδώ, οπότε αρκεί ένα index ανά user.
+
+CREATE TABLE loans_archive (
+    id          BIGINT      NOT NULL,
+    book_id     BIGINT      NOT NULL,
+    user_id     BIGINT      NOT NULL,
+    loan_date   DATE        NOT NULL,
+    due_date    DATE        NOT NULL,
+    return_date DATETIME(6),
+    status      VARCHAR(20) NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_loans_archive_user_date (user_id, loan_date),
+    CONSTRAINT fk_loans_archive_book FOREIGN KEY (book_id) REFERENCES books (id) ON DELETE RESTRICT,
+    CONSTRAINT fk_loans_archive_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE RESTRICT
+) ENGINE = InnoDB;
+
+CREATE TABLE reservation_archive (
+    id               BIGINT      NOT NULL,
+    book_id          BIGINT      NOT NULL,
+    user_id          BIGINT      NOT NULL,
+    reservation_date DATE        NOT NULL,
+    expiry_date      DATE        NOT NULL,
+    status           VARCHAR(20) NOT NULL,
+    archived_at      DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_reservation_archive_user_date (user_id, reservation_date),
+    CONSTRAINT fk_reservation_archive_book FOREIGN KEY (book_id) REFERENCES books (id) ON DELETE RESTRICT,
+    CONSTRAINT fk_reservation_archive_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE RESTRICT
+) ENGINE = InnoDB;
+
+-- Για το batch select του archiver: closed rows με το παλαιότερο return_date πρώτα
+CREATE INDEX idx_loans_status_returned ON loans (status, return_date);
@@ -0,0 +1,3 @@
+-- ETag watermarks (CatalogVersions): MAX(updated_at) απαντάται από το index χωρίς scan του πίνακα
+CREATE INDEX idx_books_updated_at ON books (updated_at);
+CREATE INDEX idx_authors_updated_at ON authors (updated_at);
@@ -0,0 +1,10 @@
+-- Έκδοση του καταλόγου για τα ETags των λιστών (βλ. CatalogVersions). Ένα row, αυξάνεται
+-- μετά το commit κάθε αλλαγής βιβλίων/authors/αντιτύπων.
+
+CREATE TABLE catalog_version (
+    id      INT    NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT INTO catalog_version (id, version) VALUES (1, 0);
@@ -0,0 +1,256 @@
+package com.JohnBravos.bookhub_manager;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import eu.rekawek.toxiproxy.Proxy;
+import eu.rekawek.toxiproxy.ToxiproxyClient;
+import eu.rekawek.toxiproxy.model.ToxicDirection;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.ToxiproxyContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ίδιο workload ({@code GET /books/details}, χωρίς caches, αρκετά queries ανά request) με
+ * platform threads (Tomcat pool 200) και με virtual threads + connection limiter, πάνω σε MySQL
+ * με τεχνητό latency (toxiproxy), ώστε ο χρόνος να περνά blocked στη βάση όπως στην παραγωγή.
+ * Καταγράφει throughput και p50/p99 για τα δύο modes και ελέγχει ότι κανένα mode δεν αποτυγχάνει
+ * (error rate) και ότι με τον limiter κανένα request δεν περιμένει connection μέσα στο Hikari.
+ * <pre>
+ * mvn -Pjava21 test -Dtest=VirtualThreadLoadTest -Dloadtest=true [-Dloadtest.clients=1000 -Dloadtest.seconds=30 -Dloadtest.db-latency-ms=5]
+ * </pre>
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@Testcontainers(disabledWithoutDocker = true)
+class VirtualThreadLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 1000);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 5));
+    private static final Duration MEASURE = Duration.ofSeconds(Long.getLong("loadtest.seconds", 20));
+    private static final long DB_LATENCY_MS = Long.getLong("loadtest.db-latency-ms", 5);
+    private static final int BOOKS = 2_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int POOL_SIZE = 10;
+    private static final long LIMITER_TIMEOUT_MS = 2_000;
+    // Μη-200 responses (π.χ. 503 από timeout του limiter) ως ποσοστό όλων των requests
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+
+    private static final Network network = Network.newNetwork();
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withNetwork(network)
+            .withNetworkAliases("mysql");
+
+    @Container
+    static ToxiproxyContainer toxiproxy = new ToxiproxyContainer("ghcr.io/shopify/toxiproxy:2.5.0")
+            .withNetwork(network);
+
+    private static Proxy proxy;
+    private static String jdbcUrl;
+
+    private record Result(String mode, long requests, long errors, double seconds, long[] latenciesMicros,
+                          int maxAwaitingConnection) {
+
+        double throughput() {
+            return requests / seconds;
+        }
+
+        double errorRate() {
+            long total = requests + errors;
+            return total == 0 ? 0 : (double) errors / total;
+        }
+
+        double percentileMillis(double percentile) {
+            if (latenciesMicros.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * latenciesMicros.length) - 1;
+            return latenciesMicros[Math.max(index, 0)] / 1000.0;
+        }
+    }
+
+    @BeforeAll
+    static void proxyDatabase() throws IOException {
+        ToxiproxyClient client = new ToxiproxyClient(toxiproxy.getHost(), toxiproxy.getControlPort());
+        proxy = client.createProxy("mysql", "0.0.0.0:8666", "mysql:3306");
+        jdbcUrl = "jdbc:mysql://" + toxiproxy.getHost() + ":" + toxiproxy.getMappedPort(8666) + "/" + mysql.getDatabaseName();
+    }
+
+    @Test
+    void virtualThreadsAgainstPlatformThreadBaseline() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        for (Result result : List.of(platform, virtual)) {
+            log.info("{}: {} req/s, p50 {} ms, p99 {} ms, {} errors ({}%), max {} waiting in Hikari",
+                    result.mode(), String.format("%.1f", result.throughput()),
+                    String.format("%.1f", result.percentileMillis(0.50)), String.format("%.1f", result.percentileMillis(0.99)),
+                    result.errors(), String.format("%.2f", result.errorRate() * 100), result.maxAwaitingConnection());
+        }
+
+        for (Result result : List.of(platform, virtual)) {
+            assertThat(result.requests()).as("%s requests", result.mode()).isPositive();
+            assertThat(result.errorRate()).as("%s error rate", result.mode()).isLessThanOrEqualTo(MAX_ERROR_RATE);
+        }
+        // Με τον limiter η αναμονή γίνεται στο semaphore (με timeout), όχι μέσα στο Hikari
+        assertThat(virtual.maxAwaitingConnection()).as("threads waiting inside Hikari with the limiter").isZero();
+        // Η αναμονή για connection φράσσεται από το timeout του limiter: ούτε ένα request πάνω από αυτό + το request
+        assertThat(virtual.percentileMillis(0.99)).as("virtual p99 ms").isLessThan(LIMITER_TIMEOUT_MS * 2.0);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(BookhubManagerApplication.class)
+                .properties(
+                        "server.port=0",
+                        "server.servlet.context-path=/api",
+                        "spring.datasource.url=" + jdbcUrl,
+                        "spring.datasource.username=" + mysql.getUsername(),
+                        "spring.datasource.password=" + mysql.getPassword(),
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.flyway.enabled=true",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "datasource.limiter.enabled=" + virtualThreads,
+                        "datasource.limiter.acquire-timeout-ms=" + LIMITER_TIMEOUT_MS,
+                        "jwt.secret=load-test-secret-load-test-secret-load-test-secret",
+                        "jwt.expiration=3600000",
+                        "catalog.page-cache.enabled=false",
+                        "logging.level.com.JohnBravos.bookhub_manager=WARN")
+                .run()) {
+            seed(app.getBean(JdbcTemplate.class));
+            proxy.toxics().latency("latency", ToxicDirection.DOWNSTREAM, DB_LATENCY_MS);
+
+            int port = ((ServletWebServerApplicationContext) app).getWebServer().getPort();
+            HikariPoolMXBean pool = app.getBean(DataSource.class).unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            String mode = virtualThreads ? "virtual" : "platform";
+            drive(port, WARMUP, mode, pool);
+            return drive(port, MEASURE, mode, pool);
+        } finally {
+            for (var toxic : proxy.toxics().getAll()) {
+                toxic.remove();
+            }
+        }
+    }
+
+    private Result drive(int port, Duration duration, String mode, HikariPoolMXBean pool) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        int pages = BOOKS / PAGE_SIZE;
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        // Δειγματοληψία των threads που περιμένουν connection μέσα στο Hikari
+        AtomicInteger maxAwaiting = new AtomicInteger();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> maxAwaiting.accumulateAndGet(pool.getThreadsAwaitingConnection(), Math::max),
+                0, 10, TimeUnit.MILLISECONDS);
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<long[]>> workers = new ArrayList<>(CLIENTS);
+            for (int i = 0; i < CLIENTS; i++) {
+                workers.add(clients.submit(() -> {
+                    List<Long> latencies = new ArrayList<>();
+                    long errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        int page = ThreadLocalRandom.current().nextInt(pages);
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                                        + "/api/books/details?page=" + page + "&size=" + PAGE_SIZE))
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                latencies.add((System.nanoTime() - sent) / 1_000);
+                            } else {
+                                errors++;
+                            }
+                        } catch (IOException e) {
+                            errors++;
+                        }
+                    }
+                    // Τελευταίο στοιχείο: πλήθος errors
+                    long[] result = new long[latencies.size() + 1];
+                    for (int j = 0; j < latencies.size(); j++) {
+                        result[j] = latencies.get(j);
+                    }
+                    result[latencies.size()] = errors;
+                    return result;
+                }));
+            }
+
+            List<long[]> results = new ArrayList<>(CLIENTS);
+            for (Future<long[]> worker : workers) {
+                results.add(worker.get());
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long errors = results.stream().mapToLong(r -> r[r.length - 1]).sum();
+            long[] latencies = results.stream()
+                    .flatMapToLong(r -> Arrays.stream(r, 0, r.length - 1))
+                    .sorted()
+                    .toArray();
+            return new Result(mode, latencies.length, errors, seconds, latencies, maxAwaiting.get());
+        } finally {
+            clients.shutdownNow();
+            sampler.shutdownNow();
+        }
+    }
+
+    // Μία φορά: το schema το φτιάχνει το Flyway στο πρώτο start
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Long.class) > 0) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> books = IntStream.rangeClosed(1, BOOKS)
+                .mapToObj(i -> new Object[]{1_000_000L + i, String.format("979%010d", i), "Load Test Book " + i,
+                        "Publisher", 2000 + i % 25, "Genre " + i % 20, 3, 3, "AVAILABLE", now, now})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO books (id, isbn, title, publisher, publication_year, genre, "
+                + "total_copies, available_copies, status, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", books);
+    }
+}
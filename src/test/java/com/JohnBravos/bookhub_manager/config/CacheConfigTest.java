@@ -0,0 +1,62 @@
+package com.JohnBravos.bookhub_manager.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheConfigTest {
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("cache.specs." + CacheNames.BOOKS_BY_GENRE, "maximumSize=2");
+        cacheManager = new CacheConfig().cacheManager(environment);
+    }
+
+    @Test
+    void onlyDeclaredCachesExist() {
+        assertThat(cacheManager.getCacheNames()).containsExactlyInAnyOrderElementsOf(CacheNames.ALL);
+        assertThat(cacheManager.getCache("unknown")).isNull();
+    }
+
+    @Test
+    void cacheIsBoundedBySpec() {
+        org.springframework.cache.Cache cache = cacheManager.getCache(CacheNames.BOOKS_BY_GENRE);
+        for (int i = 0; i < 100; i++) {
+            cache.put("genre-" + i, "value");
+        }
+
+        Cache<?, ?> nativeCache = nativeCache(cache);
+        nativeCache.cleanUp();
+        assertThat(nativeCache.estimatedSize()).isLessThanOrEqualTo(2);
+        assertThat(nativeCache.stats().evictionCount()).isPositive();
+    }
+
+    @Test
+    void evictionInsideTransactionIsAppliedAfterCommit() {
+        org.springframework.cache.Cache cache = cacheManager.getCache(CacheNames.BOOK_BY_ID);
+        cache.put(1L, "book");
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:cache-config;DB_CLOSE_DELAY=-1");
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status -> {
+            cache.evict(1L);
+            assertThat(cache.get(1L)).isNotNull();
+        });
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    private static Cache<?, ?> nativeCache(org.springframework.cache.Cache cache) {
+        return (Cache<?, ?>) ((TransactionAwareCacheDecorator) cache).getTargetCache().getNativeCache();
+    }
+}
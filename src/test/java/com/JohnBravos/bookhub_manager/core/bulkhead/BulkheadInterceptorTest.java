@@ -0,0 +1,114 @@
+package com.JohnBravos.bookhub_manager.core.bulkhead;
+
+import com.JohnBravos.bookhub_manager.core.datasource.BulkheadDataSource;
+import com.JohnBravos.bookhub_manager.core.enums.BulkheadType;
+import com.JohnBravos.bookhub_manager.core.exceptions.custom.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadInterceptorTest {
+
+    @Bulkhead(BulkheadType.CIRCULATION)
+    static class DeskController {
+        public void checkout() {
+        }
+
+        @Bulkhead(BulkheadType.REPORTING)
+        public void report() {
+        }
+    }
+
+    private SimpleMeterRegistry meterRegistry;
+    private BulkheadRegistry registry;
+    private MockEnvironment environment;
+    private BulkheadInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new BulkheadRegistry(Map.of(
+                BulkheadType.CIRCULATION, new BulkheadRegistry.Limits(10, 0, 5, 0),
+                BulkheadType.CATALOG, new BulkheadRegistry.Limits(10, 0, 5, 0),
+                BulkheadType.REPORTING, new BulkheadRegistry.Limits(1, 0, 1, 0)), meterRegistry);
+        environment = new MockEnvironment();
+        interceptor = new BulkheadInterceptor(registry, environment);
+    }
+
+    @AfterEach
+    void clearContext() {
+        BulkheadContext.clear();
+    }
+
+    @Test
+    void fullReportingBulkheadDoesNotBlockCirculation() throws Exception {
+        MockHttpServletRequest report = new MockHttpServletRequest();
+        assertThat(interceptor.preHandle(report, new MockHttpServletResponse(), handler("report"))).isTrue();
+        assertThat(BulkheadContext.current()).isEqualTo(BulkheadType.REPORTING);
+
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                handler("report"))).isInstanceOf(BulkheadFullException.class);
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                handler("checkout"))).isTrue();
+        assertThat(rejected("reporting", "requests")).isEqualTo(1.0);
+
+        interceptor.afterCompletion(report, new MockHttpServletResponse(), handler("report"), null);
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                handler("report"))).isTrue();
+    }
+
+    @Test
+    void propertiesOverrideAnnotations() throws Exception {
+        assertThat(interceptor.resolve(handler("checkout"))).isEqualTo(BulkheadType.CIRCULATION);
+        assertThat(interceptor.resolve(handler("report"))).isEqualTo(BulkheadType.REPORTING);
+
+        environment.setProperty("bulkhead.controllers.DeskController", "catalog");
+        environment.setProperty("bulkhead.controllers.DeskController.report", "none");
+        assertThat(interceptor.resolve(handler("checkout"))).isEqualTo(BulkheadType.CATALOG);
+        assertThat(interceptor.resolve(handler("report"))).isNull();
+    }
+
+    @Test
+    void connectionsAreLimitedPerBulkhead() throws Exception {
+        DataSource dataSource = new BulkheadDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:bulkhead;DB_CLOSE_DELAY=-1", "sa", ""), () -> registry);
+
+        BulkheadContext.set(BulkheadType.REPORTING);
+        Connection held = dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(rejected("reporting", "connections")).isEqualTo(1.0);
+
+        // Άλλο bulkhead ή χωρίς bulkhead: δεν επηρεάζονται
+        BulkheadContext.set(BulkheadType.CIRCULATION);
+        dataSource.getConnection().close();
+        BulkheadContext.clear();
+        dataSource.getConnection().close();
+
+        held.close();
+        BulkheadContext.set(BulkheadType.REPORTING);
+        dataSource.getConnection().close();
+    }
+
+    private HandlerMethod handler(String method) throws NoSuchMethodException {
+        return new HandlerMethod(new DeskController(), method);
+    }
+
+    private double rejected(String bulkhead, String resource) {
+        return meterRegistry.get("bulkhead.rejected").tag("bulkhead", bulkhead).tag("resource", resource)
+                .counter().count();
+    }
+}
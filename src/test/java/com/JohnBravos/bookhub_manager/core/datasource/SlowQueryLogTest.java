@@ -0,0 +1,64 @@
+package com.JohnBravos.bookhub_manager.core.datasource;
+
+import com.JohnBravos.bookhub_manager.core.datasource.SlowQueryLog.QueryStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SlowQueryLogTest {
+
+    @Test
+    void literalsAndInListsAreNormalized() {
+        assertThat(SqlFingerprint.of("select b1_0.id from books b1_0 where b1_0.id in (1, 2, 3) and b1_0.title = 'O''Reilly' limit 10"))
+                .isEqualTo("select b1_0.id from books b1_0 where b1_0.id in (?+) and b1_0.title = ? limit ?");
+        assertThat(SqlFingerprint.of("select b1_0.id from books b1_0 where b1_0.id in (?, ?) and b1_0.title = ? limit ?"))
+                .isEqualTo("select b1_0.id from books b1_0 where b1_0.id in (?+) and b1_0.title = ? limit ?");
+        assertThat(SqlFingerprint.of("INSERT INTO authors (id, firstname) VALUES (?, ?), (?, ?)"))
+                .isEqualTo("INSERT INTO authors (id, firstname) VALUES (?+)");
+    }
+
+    @Test
+    void aggregatesPerFingerprint() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ofMillis(50), 100);
+
+        for (int i = 0; i < 99; i++) {
+            slowQueryLog.record("select * from loans where id = " + i, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        slowQueryLog.record("select * from loans where id = 1000", TimeUnit.MILLISECONDS.toNanos(100));
+        slowQueryLog.record("select count(*) from books", TimeUnit.MILLISECONDS.toNanos(2));
+
+        List<QueryStats> top = slowQueryLog.top(10, Comparator.comparingDouble(QueryStats::totalMs).reversed());
+        assertThat(top).hasSize(2);
+
+        QueryStats loans = top.get(0);
+        assertThat(loans.fingerprint()).isEqualTo("select * from loans where id = ?");
+        assertThat(loans.count()).isEqualTo(100);
+        assertThat(loans.slowCount()).isEqualTo(1);
+        assertThat(loans.totalMs()).isCloseTo(199.0, within(0.001));
+        assertThat(loans.maxMs()).isCloseTo(100.0, within(0.001));
+        // 99 από τα 100 είναι ~1 ms: το p99 μένει στο bucket του 1 ms (±19%)
+        assertThat(loans.p99Ms()).isBetween(1.0, 1.25);
+        assertThat(loans.lastSlowCaller()).startsWith("core.datasource.SlowQueryLogTest");
+    }
+
+    @Test
+    void tableIsBounded() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ofSeconds(1), 2);
+        slowQueryLog.record("select 1 from a", 1000);
+        slowQueryLog.record("select 1 from b", 1000);
+        slowQueryLog.record("select 1 from c", 1000);
+        slowQueryLog.record("select 1 from d", 1000);
+
+        List<QueryStats> top = slowQueryLog.top(10, Comparator.comparingLong(QueryStats::count).reversed());
+        assertThat(top).extracting(QueryStats::fingerprint)
+                .containsExactlyInAnyOrder(SlowQueryLog.OTHER, "select ? from a", "select ? from b");
+        assertThat(top.get(0).fingerprint()).isEqualTo(SlowQueryLog.OTHER);
+        assertThat(top.get(0).count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,64 @@
+package com.JohnBravos.bookhub_manager.core.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementStatsDataSourceTest {
+
+    private StatementStatsDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new StatementStatsDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:sqlstats;DB_CLOSE_DELAY=-1", "sa", ""), null);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS items (id BIGINT PRIMARY KEY, name VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM items");
+        jdbcTemplate.batchUpdate("INSERT INTO items (id, name) VALUES (?, ?)",
+                List.of(new Object[]{1L, "a"}, new Object[]{2L, "b"}, new Object[]{3L, "c"}));
+    }
+
+    @AfterEach
+    void unbind() {
+        SqlRequestStats.unbind();
+    }
+
+    @Test
+    void countsStatementsRowsAndRepeatedQueries() {
+        SqlRequestStats stats = SqlRequestStats.bind();
+
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", Long.class);
+        // Ένα query ανά γραμμή - το μοτίβο του N+1
+        for (Long id : ids) {
+            jdbcTemplate.queryForObject("SELECT name FROM items WHERE id = ?", String.class, id);
+        }
+
+        assertThat(stats.getStatements()).isEqualTo(4);
+        assertThat(stats.getRows()).isEqualTo(6);
+        assertThat(stats.repeatedStatements(3))
+                .containsExactly(new SqlRequestStats.RepeatedStatement("SELECT name FROM items WHERE id = ?", 3));
+        assertThat(stats.repeatedStatements(4)).isEmpty();
+    }
+
+    @Test
+    void connectionsOutsideARequestAreNotProxied() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection).isNotInstanceOf(ConnectionProxy.class);
+        }
+
+        SqlRequestStats.bind();
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection).isInstanceOf(ConnectionProxy.class);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.JohnBravos.bookhub_manager.core.http;
+
+import com.JohnBravos.bookhub_manager.service.cache.CatalogPageCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogPageCacheFilterTest {
+
+    private static final String BODY = "{\"success\":true,\"data\":{\"content\":[]}}";
+
+    private CatalogPageCache pageCache;
+    private CatalogPageCacheFilter filter;
+    private AtomicInteger controllerCalls;
+
+    @BeforeEach
+    void setUp() {
+        pageCache = new CatalogPageCache(new SimpleMeterRegistry(), 100, 60);
+        filter = new CatalogPageCacheFilter(pageCache);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "maxPages", 5);
+        ReflectionTestUtils.setField(filter, "maxPageSize", 50);
+        ReflectionTestUtils.setField(filter, "sortFields", Set.of("title"));
+        controllerCalls = new AtomicInteger();
+    }
+
+    @Test
+    void secondRequestIsServedWithoutTheController() throws Exception {
+        MockHttpServletResponse first = get(request("page", "0", "sort", "title,asc"));
+        MockHttpServletResponse second = get(request("sort", "title"));
+
+        assertThat(controllerCalls).hasValue(1);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo(BODY);
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo("\"c-1\"");
+        assertThat(second.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=5, public");
+    }
+
+    @Test
+    void hitIsServedGzippedWhenAccepted() throws Exception {
+        get(request("sort", "title,asc"));
+
+        MockHttpServletRequest request = request("sort", "title,asc");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8");
+        MockHttpServletResponse response = get(request);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(BODY);
+    }
+
+    @Test
+    void matchingIfNoneMatchOnHitReturns304() throws Exception {
+        get(request("sort", "title,asc"));
+
+        MockHttpServletRequest request = request("sort", "title,asc");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"c-1\"");
+
+        assertThat(get(request).getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+    }
+
+    @Test
+    void invalidationForcesANewRender() throws Exception {
+        get(request("sort", "title,asc"));
+        pageCache.invalidate();
+        get(request("sort", "title,asc"));
+
+        assertThat(controllerCalls).hasValue(2);
+    }
+
+    @Test
+    void coldPagesAndOtherSortsAreNotCached() throws Exception {
+        get(request("page", "7", "sort", "title,asc"));
+        get(request("page", "7", "sort", "title,asc"));
+        get(request("sort", "createdAt,desc"));
+        get(request("sort", "createdAt,desc"));
+        get(request("sort", "title,asc", "fields", "id,title"));
+        get(request("sort", "title,asc", "fields", "id,title"));
+
+        assertThat(controllerCalls).hasValue(6);
+    }
+
+    private MockHttpServletResponse get(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            controllerCalls.incrementAndGet();
+            HttpServletResponse http = (HttpServletResponse) res;
+            http.setStatus(HttpServletResponse.SC_OK);
+            http.setContentType("application/json");
+            http.setHeader(HttpHeaders.ETAG, "\"c-1\"");
+            http.setHeader(HttpHeaders.CACHE_CONTROL, "max-age=5, public");
+            http.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+        });
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String... params) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        request.setContextPath("/api");
+        request.setServletPath("/books");
+        for (int i = 0; i < params.length; i += 2) {
+            request.addParameter(params[i], params[i + 1]);
+        }
+        return request;
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
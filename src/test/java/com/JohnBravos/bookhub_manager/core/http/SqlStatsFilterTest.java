@@ -0,0 +1,109 @@
+package com.JohnBravos.bookhub_manager.core.http;
+
+import com.JohnBravos.bookhub_manager.config.MetricNames;
+import com.JohnBravos.bookhub_manager.core.datasource.SqlRequestStats;
+import com.JohnBravos.bookhub_manager.core.datasource.StatementStatsDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatsFilterTest {
+
+    private static final String ROUTE = "/books/{id}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcTemplate jdbcTemplate;
+    private SqlStatsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jdbcTemplate = new JdbcTemplate(new StatementStatsDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:sqlstatsfilter;DB_CLOSE_DELAY=-1", "sa", ""), null));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS items (id BIGINT PRIMARY KEY, name VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM items");
+        jdbcTemplate.batchUpdate("INSERT INTO items (id, name) VALUES (?, ?)",
+                List.of(new Object[]{1L, "a"}, new Object[]{2L, "b"}, new Object[]{3L, "c"}));
+        // budget 3 statements, N+1 από 3 ίδια statements
+        filter = new SqlStatsFilter(meterRegistry, 3, 3);
+    }
+
+    @Test
+    void requestWithinBudgetRecordsMetricsWithoutWarnings() throws Exception {
+        handle((request, response) -> jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", Long.class));
+
+        assertThat(meterRegistry.get(MetricNames.REQUEST_SQL_STATEMENTS).tag("uri", ROUTE).summary().totalAmount())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(MetricNames.REQUEST_SQL_ROWS).tag("uri", ROUTE).summary().totalAmount())
+                .isEqualTo(3);
+        assertThat(meterRegistry.find(MetricNames.REQUEST_SQL_BUDGET_EXCEEDED).counter()).isNull();
+        assertThat(meterRegistry.find(MetricNames.REQUEST_SQL_REPEATED).counter()).isNull();
+    }
+
+    @Test
+    void databaseTimeIsRecordedBelowOneMillisecond() throws Exception {
+        handle((request, response) -> jdbcTemplate.queryForObject("SELECT name FROM items WHERE id = ?", String.class, 1L));
+
+        // Ένα query στην H2 παίρνει κλάσματα του ms - με truncation σε ms θα γραφόταν 0
+        Timer time = meterRegistry.get(MetricNames.REQUEST_SQL_TIME).tag("uri", ROUTE).timer();
+        assertThat(time.count()).isEqualTo(1);
+        assertThat(time.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+    }
+
+    @Test
+    void repeatedStatementIsReportedAsPossibleNPlusOne() throws Exception {
+        handle((request, response) -> {
+            List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", Long.class);
+            for (Long id : ids) {
+                jdbcTemplate.queryForObject("SELECT name FROM items WHERE id = ?", String.class, id);
+            }
+        });
+
+        assertThat(counter(MetricNames.REQUEST_SQL_REPEATED).count()).isEqualTo(1);
+        // 4 statements > budget 3
+        assertThat(counter(MetricNames.REQUEST_SQL_BUDGET_EXCEEDED).count()).isEqualTo(1);
+    }
+
+    @Test
+    void distinctStatementsOverBudgetAreNotReportedAsNPlusOne() throws Exception {
+        handle((request, response) -> {
+            for (long id = 1; id <= 4; id++) {
+                jdbcTemplate.queryForList("SELECT name FROM items WHERE id = " + id, String.class);
+            }
+        });
+
+        assertThat(counter(MetricNames.REQUEST_SQL_BUDGET_EXCEEDED).count()).isEqualTo(1);
+        assertThat(meterRegistry.find(MetricNames.REQUEST_SQL_REPEATED).counter()).isNull();
+    }
+
+    @Test
+    void requestWithoutStatementsIsNotRecorded() throws Exception {
+        handle((request, response) -> { });
+
+        assertThat(meterRegistry.find(MetricNames.REQUEST_SQL_STATEMENTS).summary()).isNull();
+        assertThat(SqlRequestStats.current()).isNull();
+    }
+
+    private void handle(FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ROUTE);
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+
+    private Counter counter(String name) {
+        return meterRegistry.get(name).tags("method", "GET", "uri", ROUTE).counter();
+    }
+}
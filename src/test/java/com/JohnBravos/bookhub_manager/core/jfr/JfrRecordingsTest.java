@@ -0,0 +1,129 @@
+package com.JohnBravos.bookhub_manager.core.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JfrRecordingsTest {
+
+    private static final String NAME = "jfr-recordings-test";
+    private static final Duration MAX_DURATION = Duration.ofMinutes(5);
+    private static final long MAX_SIZE_BYTES = 10 * 1024 * 1024;
+
+    @TempDir
+    Path dumpDirectory;
+
+    @TempDir
+    Path downloads;
+
+    private JfrRecordings recordings;
+
+    @AfterEach
+    void stopRecording() {
+        recordings.stop(NAME);
+    }
+
+    @Test
+    void recordsBookhubEventsAndDumpsThem() throws Exception {
+        recordings = new JfrRecordings(dumpDirectory, MAX_DURATION, MAX_SIZE_BYTES);
+        recordings.start(NAME, "default", null);
+
+        LoanOperationEvent loan = LoanOperationEvent.start(LoanOperationEvent.APPROVE, 42L);
+        assertThatThrownBy(() -> loan.record(() -> {
+            throw new IllegalStateException("not pending");
+        })).isInstanceOf(IllegalStateException.class);
+
+        JwtVerifyEvent anonymous = JwtVerifyEvent.start();
+        anonymous.finish();
+
+        JwtVerifyEvent verify = JwtVerifyEvent.start();
+        verify.token();
+        verify.username("alice");
+        verify.valid(true);
+        verify.finish();
+
+        Path file = downloads.resolve(NAME + ".jfr");
+        try (InputStream snapshot = recordings.snapshot(NAME).orElseThrow()) {
+            Files.copy(snapshot, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        // Το snapshot δεν μένει στο dump directory
+        try (Stream<Path> files = Files.list(dumpDirectory)) {
+            assertThat(files).isEmpty();
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().startsWith("bookhub."))
+                .toList();
+
+        assertThat(events).extracting(e -> e.getEventType().getName())
+                .containsExactlyInAnyOrder("bookhub.LoanOperation", "bookhub.JwtVerify");
+        RecordedEvent loanEvent = byName(events, "bookhub.LoanOperation");
+        assertThat(loanEvent.getString("operation")).isEqualTo("APPROVE");
+        assertThat(loanEvent.getLong("loanId")).isEqualTo(42L);
+        assertThat(loanEvent.getString("failure")).isEqualTo("IllegalStateException");
+        assertThat(byName(events, "bookhub.JwtVerify").getString("username")).isEqualTo("alice");
+    }
+
+    @Test
+    void rejectsDuplicateNamesAndUnknownSettings() {
+        recordings = new JfrRecordings(dumpDirectory, MAX_DURATION, MAX_SIZE_BYTES);
+        recordings.start(NAME, "default", null);
+
+        assertThatThrownBy(() -> recordings.start(NAME, "default", null)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> recordings.start("other", "no-such-settings", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsNamesOutsideTheAllowedCharacters() {
+        recordings = new JfrRecordings(dumpDirectory, MAX_DURATION, MAX_SIZE_BYTES);
+
+        assertThatThrownBy(() -> recordings.start("../etc/passwd", "default", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> recordings.snapshot("a b")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> recordings.stop("")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void adHocRecordingsAreBoundedInDurationAndSize() {
+        recordings = new JfrRecordings(dumpDirectory, MAX_DURATION, MAX_SIZE_BYTES);
+
+        JfrRecordings.RecordingInfo unbounded = recordings.start(NAME, "default", null);
+        assertThat(unbounded.duration()).isEqualTo(MAX_DURATION);
+        assertThat(unbounded.maxAge()).isEqualTo(MAX_DURATION);
+        assertThat(unbounded.maxSizeBytes()).isEqualTo(MAX_SIZE_BYTES);
+        recordings.stop(NAME);
+
+        assertThat(recordings.start(NAME, "default", Duration.ofHours(12)).duration()).isEqualTo(MAX_DURATION);
+        recordings.stop(NAME);
+
+        assertThat(recordings.start(NAME, "default", Duration.ofMinutes(1)).duration()).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void stopWritesTheRecordingAndRemovesIt() {
+        recordings = new JfrRecordings(dumpDirectory, MAX_DURATION, MAX_SIZE_BYTES);
+        recordings.start(NAME, "default", null);
+
+        assertThat(recordings.stop(NAME)).hasValueSatisfying(file -> assertThat(file).exists());
+        assertThat(recordings.recordings()).noneMatch(r -> r.name().equals(NAME));
+        assertThat(recordings.stop(NAME)).isEmpty();
+    }
+
+    private static RecordedEvent byName(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,99 @@
+package com.JohnBravos.bookhub_manager.repository;
+
+import com.JohnBravos.bookhub_manager.core.enums.BookStatus;
+import com.JohnBravos.bookhub_manager.model.Author;
+import com.JohnBravos.bookhub_manager.model.Book;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Second-level cache του καταλόγου. Κάθε κλήση repository είναι δικό της transaction
+ * (NOT_SUPPORTED), όπως στα services, ώστε τα entries να μπαίνουν στο cache μετά το commit.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.uri=hibernate-l2.conf"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogCacheTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+    private Long bookId;
+    private Long authorId;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+
+        authorId = authorRepository.save(Author.builder()
+                .firstName("Cached")
+                .lastName("Author")
+                .build()).getId();
+        bookId = bookRepository.save(Book.builder()
+                .isbn("9780000000001")
+                .title("Uncached Book")
+                .publisher("Publisher")
+                .publicationYear(2020)
+                .genre("Fiction")
+                .totalCopies(1)
+                .availableCopies(1)
+                .status(BookStatus.AVAILABLE)
+                .build()).getId();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    @Test
+    void authorFindByIdIsServedFromSecondLevelCache() {
+        authorRepository.findById(authorId).orElseThrow();
+
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void booksAlwaysReadCurrentCopiesFromTheDatabase() {
+        bookRepository.findById(bookId).orElseThrow();
+        assertThat(sessionFactory.getCache().containsEntity(Book.class, bookId)).isFalse();
+
+        // Όπως ένας δανεισμός σε άλλο instance: update που δεν περνά από αυτό το SessionFactory
+        jdbcTemplate.update("UPDATE books SET available_copies = 0 WHERE id = ?", bookId);
+
+        assertThat(bookRepository.findById(bookId).orElseThrow().getAvailableCopies()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isZero();
+    }
+}
@@ -0,0 +1,62 @@
+package com.JohnBravos.bookhub_manager.repository;
+
+import com.JohnBravos.bookhub_manager.core.enums.BookStatus;
+import com.JohnBravos.bookhub_manager.model.Book;
+import com.JohnBravos.bookhub_manager.model.IdGeneration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Τα ids που δεσμεύει το import δεν πρέπει να συμπέσουν με τα pooled blocks του Hibernate.
+ */
+@DataJpaTest
+@Import(CatalogImportRepository.class)
+class CatalogImportRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private CatalogImportRepository importRepository;
+
+    @Test
+    void reservedRangeDoesNotOverlapHibernateBlocks() {
+        // Το row του id_sequences δημιουργείται από το πρώτο insert του Hibernate
+        List<Long> ids = new ArrayList<>();
+        ids.add(persistBook(0).getId());
+
+        int count = 10;
+        long first = importRepository.reserveIds("books", count);
+        long last = first + count - 1;
+
+        // Αρκετά inserts για να εξαντληθεί το τρέχον block και να δεσμευτεί νέο από τον πίνακα
+        for (int i = 1; i <= IdGeneration.ALLOCATION_SIZE * 2; i++) {
+            ids.add(persistBook(i).getId());
+        }
+
+        assertThat(ids).doesNotHaveDuplicates()
+                .allSatisfy(id -> assertThat(id < first || id > last).isTrue());
+        assertThat(importRepository.reserveIds("books", count)).isGreaterThan(ids.stream().mapToLong(Long::longValue).max().orElseThrow());
+    }
+
+    private Book persistBook(int n) {
+        return em.persist(Book.builder()
+                .isbn(String.format("978%010d", n))
+                .title("Book " + n)
+                .publisher("Publisher")
+                .publicationYear(2020)
+                .genre("Fiction")
+                .totalCopies(1)
+                .availableCopies(1)
+                .status(BookStatus.AVAILABLE)
+                .build());
+    }
+}
@@ -0,0 +1,262 @@
+package com.JohnBravos.bookhub_manager.repository;
+
+import com.JohnBravos.bookhub_manager.core.enums.BookStatus;
+import com.JohnBravos.bookhub_manager.core.enums.LoanStatus;
+import com.JohnBravos.bookhub_manager.core.enums.ReservationStatus;
+import com.JohnBravos.bookhub_manager.core.enums.UserRole;
+import com.JohnBravos.bookhub_manager.core.enums.UserStatus;
+import com.JohnBravos.bookhub_manager.core.fields.FieldSelection;
+import com.JohnBravos.bookhub_manager.core.fields.SparseResource;
+import com.JohnBravos.bookhub_manager.mapper.AuthorMapper;
+import com.JohnBravos.bookhub_manager.mapper.BookMapper;
+import com.JohnBravos.bookhub_manager.mapper.LoanMapper;
+import com.JohnBravos.bookhub_manager.mapper.ProjectionMapper;
+import com.JohnBravos.bookhub_manager.mapper.ReservationMapper;
+import com.JohnBravos.bookhub_manager.mapper.UserMapper;
+import com.JohnBravos.bookhub_manager.model.Author;
+import com.JohnBravos.bookhub_manager.model.Book;
+import com.JohnBravos.bookhub_manager.model.Loan;
+import com.JohnBravos.bookhub_manager.model.Reservation;
+import com.JohnBravos.bookhub_manager.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ελέγχει ότι κάθε list endpoint (repository query + mapper) εκτελεί σταθερό αριθμό statements,
+ * ανεξάρτητα από το πλήθος των γραμμών της σελίδας.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({LoanMapper.class, ReservationMapper.class, BookMapper.class, UserMapper.class, AuthorMapper.class,
+        ProjectionMapper.class, SparseFieldRepository.class})
+class FetchPlanStatementCountTest {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int BOOKS = 10;
+    private static final int USERS = 5;
+    private static final int ROWS = 60;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private LoanMapper loanMapper;
+
+    @Autowired
+    private ReservationMapper reservationMapper;
+
+    @Autowired
+    private BookMapper bookMapper;
+
+    @Autowired
+    private ProjectionMapper projectionMapper;
+
+    @Autowired
+    private SparseFieldRepository sparseFieldRepository;
+
+    private Statistics statistics;
+    private Long userId;
+    private Long bookId;
+
+    @BeforeEach
+    void setUp() {
+        List<Author> authors = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            authors.add(em.persist(Author.builder().firstName("Author").lastName("No" + i).build()));
+        }
+
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            books.add(em.persist(Book.builder()
+                    .isbn(String.format("97800000000%02d", i))
+                    .title("Book " + i)
+                    .publisher("Publisher")
+                    .publicationYear(2020)
+                    .genre(i % 2 == 0 ? "Fiction" : "Science")
+                    .totalCopies(5)
+                    .availableCopies(5)
+                    .status(BookStatus.AVAILABLE)
+                    .authors(new ArrayList<>(List.of(authors.get(i % 3), authors.get((i + 1) % 3))))
+                    .build()));
+        }
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(em.persist(User.builder()
+                    .username("member" + i)
+                    .email("member" + i + "@bookhub.test")
+                    .password("secret")
+                    .firstName("Member")
+                    .lastName("No" + i)
+                    .phoneNumber("0000000000")
+                    .role(UserRole.MEMBER)
+                    .status(UserStatus.ACTIVE)
+                    .build()));
+        }
+
+        for (int i = 0; i < ROWS; i++) {
+            Book book = books.get(i % BOOKS);
+            User user = users.get(i % USERS);
+            em.persist(Loan.builder()
+                    .book(book)
+                    .user(user)
+                    .loanDate(LocalDate.now().minusDays(3))
+                    .dueDate(LocalDate.now().plusDays(11))
+                    .status(LoanStatus.ACTIVE)
+                    .build());
+            em.persist(Reservation.builder()
+                    .book(book)
+                    .user(user)
+                    .reservationDate(LocalDate.now())
+                    .expiryDate(LocalDate.now().plusDays(7))
+                    .status(ReservationStatus.PENDING)
+                    .build());
+        }
+
+        userId = users.get(0).getId();
+        bookId = books.get(0).getId();
+
+        em.flush();
+        em.clear();
+
+        statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    // Full page: select (loan + book + user) + count + authors batch
+    @Test
+    void allLoansPage() {
+        assertThat(loanMapper.toResponseList(
+                loanRepository.findAll(PageRequest.of(0, PAGE_SIZE)).getContent())).hasSize(PAGE_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void loansByStatusPage() {
+        assertThat(loanMapper.toResponseList(
+                loanRepository.findByStatus(LoanStatus.ACTIVE, PageRequest.of(0, PAGE_SIZE)).getContent())).hasSize(PAGE_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    // Partial first page: Spring Data παραλείπει το count query
+    @Test
+    void loansByUserPage() {
+        assertThat(loanMapper.toResponseList(
+                loanRepository.findByUserId(userId, PageRequest.of(0, PAGE_SIZE)).getContent())).hasSize(ROWS / USERS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void loansByBook() {
+        assertThat(loanMapper.toResponseList(loanRepository.findByBookId(bookId))).hasSize(ROWS / BOOKS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void allReservationsPage() {
+        assertThat(reservationMapper.toResponseList(
+                reservationRepository.findAll(PageRequest.of(0, PAGE_SIZE)).getContent())).hasSize(PAGE_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void reservationsByStatusPage() {
+        assertThat(reservationMapper.toResponseList(
+                reservationRepository.findByStatus(ReservationStatus.PENDING, PageRequest.of(0, PAGE_SIZE)).getContent())).hasSize(PAGE_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void reservationsByUserPage() {
+        assertThat(reservationMapper.toResponseList(
+                reservationRepository.findByUserId(userId, PageRequest.of(0, PAGE_SIZE)).getContent())).hasSize(ROWS / USERS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    // Books page: select + authors batch (χωρίς in-memory pagination)
+    @Test
+    void booksPage() {
+        assertThat(bookRepository.findAll(PageRequest.of(0, PAGE_SIZE)).map(bookMapper::toResponse).getContent())
+                .hasSize(BOOKS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    // ========== ROW PROJECTIONS ==========
+
+    // Rows page: select (rows) + count + authors batch
+    @Test
+    void loanRowsPage() {
+        assertThat(projectionMapper.toLoanResponses(loanRepository.findAllRows(PageRequest.of(0, PAGE_SIZE))))
+                .hasSize(PAGE_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void reservationRowsByBook() {
+        assertThat(projectionMapper.toReservationResponses(reservationRepository.findRowsByBookId(bookId)))
+                .hasSize(ROWS / BOOKS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void bookRowsPage() {
+        assertThat(projectionMapper.toBookResponses(bookRepository.findAllRows(PageRequest.of(0, PAGE_SIZE))))
+                .hasSize(BOOKS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    // ========== SPARSE FIELDSETS ==========
+
+    // Μόνο ο πίνακας loans: select + count, χωρίς authors
+    @Test
+    void sparseLoansWithoutJoins() {
+        FieldSelection selection = FieldSelection.parse(SparseResource.LOAN, "dueDate,daysOverdue,user.id");
+        List<Map<String, Object>> loans = projectionMapper.toSparse(
+                sparseFieldRepository.findPage(selection, Map.of(), PageRequest.of(0, PAGE_SIZE)), selection).getContent();
+
+        assertThat(loans).hasSize(PAGE_SIZE);
+        assertThat(loans.get(0)).containsOnlyKeys("id", "dueDate", "daysOverdue", "user");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    // Partial page χωρίς count + ένα authors batch
+    @Test
+    void sparseLoansByUserWithAuthors() {
+        FieldSelection selection = FieldSelection.parse(SparseResource.LOAN, "book.title,book.authors");
+        List<Map<String, Object>> loans = projectionMapper.toSparse(
+                sparseFieldRepository.findPage(selection, Map.of("user.id", userId), PageRequest.of(0, PAGE_SIZE)),
+                selection).getContent();
+
+        assertThat(loans).hasSize(ROWS / USERS);
+        assertThat((Map<String, ?>) loans.get(0).get("book")).containsOnlyKeys("title", "authors");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
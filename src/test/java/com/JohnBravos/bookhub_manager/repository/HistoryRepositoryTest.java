@@ -0,0 +1,147 @@
+package com.JohnBravos.bookhub_manager.repository;
+
+import com.JohnBravos.bookhub_manager.core.enums.BookStatus;
+import com.JohnBravos.bookhub_manager.core.enums.LoanStatus;
+import com.JohnBravos.bookhub_manager.core.enums.UserRole;
+import com.JohnBravos.bookhub_manager.core.enums.UserStatus;
+import com.JohnBravos.bookhub_manager.core.fields.FieldSelection;
+import com.JohnBravos.bookhub_manager.core.fields.SparseResource;
+import com.JohnBravos.bookhub_manager.model.Book;
+import com.JohnBravos.bookhub_manager.model.Loan;
+import com.JohnBravos.bookhub_manager.model.User;
+import com.JohnBravos.bookhub_manager.repository.projection.LoanRow;
+import com.JohnBravos.bookhub_manager.repository.projection.UserActivitySummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Τα history reads ενώνουν hot και archived rows, ενώ τα operational queries βλέπουν μόνο τα hot.
+ */
+@DataJpaTest
+@Import(HistoryRepository.class)
+class HistoryRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private HistoryRepository historyRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        Book book = em.persist(Book.builder()
+                .isbn("9780000000001")
+                .title("Archived Book")
+                .publisher("Publisher")
+                .publicationYear(2020)
+                .genre("Fiction")
+                .totalCopies(2)
+                .availableCopies(1)
+                .status(BookStatus.AVAILABLE)
+                .build());
+        User user = em.persist(User.builder()
+                .username("member")
+                .email("member@bookhub.test")
+                .password("secret")
+                .firstName("Member")
+                .lastName("One")
+                .phoneNumber("0000000000")
+                .role(UserRole.MEMBER)
+                .status(UserStatus.ACTIVE)
+                .build());
+        em.persist(Loan.builder()
+                .book(book)
+                .user(user)
+                .loanDate(LocalDate.now().minusDays(3))
+                .dueDate(LocalDate.now().plusDays(11))
+                .status(LoanStatus.ACTIVE)
+                .build());
+        em.flush();
+
+        // Όπως το γράφει ο CirculationArchiver (INSERT ... SELECT), χωρίς entity
+        LocalDate loanDate = LocalDate.now().minusYears(2);
+        em.getEntityManager().createNativeQuery("INSERT INTO loans_archive " +
+                        "(id, book_id, user_id, loan_date, due_date, return_date, status, archived_at) " +
+                        "VALUES (1000000, ?, ?, ?, ?, ?, 'RETURNED', ?)")
+                .setParameter(1, book.getId())
+                .setParameter(2, user.getId())
+                .setParameter(3, loanDate)
+                .setParameter(4, loanDate.plusDays(14))
+                .setParameter(5, loanDate.plusDays(10).atStartOfDay())
+                .setParameter(6, LocalDateTime.now())
+                .executeUpdate();
+        em.clear();
+
+        userId = user.getId();
+    }
+
+    @Test
+    void loanHistoryIncludesArchivedLoans() {
+        Page<LoanRow> page = historyRepository.findLoanRowsByUserId(userId,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "loanDate")));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(LoanRow::status)
+                .containsExactly(LoanStatus.ACTIVE, LoanStatus.RETURNED);
+        assertThat(page.getContent().get(1).book().title()).isEqualTo("Archived Book");
+
+        // Το hot set δεν περιέχει το archived loan
+        assertThat(loanRepository.findRowsByUserId(userId, PageRequest.of(0, 10)).getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void activitySummaryCountsArchivedRowsInTheSameQuery() {
+        UserActivitySummary summary = loanRepository.summarizeUserActivity(userId);
+
+        assertThat(summary.getTotalLoans()).isEqualTo(1);
+        assertThat(summary.getActiveLoans()).isEqualTo(1);
+        assertThat(summary.getArchivedLoans()).isEqualTo(1);
+        assertThat(summary.getArchivedReturnedLoans()).isEqualTo(1);
+        assertThat(summary.getArchivedReservations()).isZero();
+    }
+
+    @Test
+    void loanHistoryPagesOverTheUnion() {
+        Page<LoanRow> first = historyRepository.findLoanRowsByUserId(userId,
+                PageRequest.of(0, 1, Sort.by("loanDate")));
+        Page<LoanRow> second = historyRepository.findLoanRowsByUserId(userId,
+                PageRequest.of(1, 1, Sort.by("loanDate")));
+
+        assertThat(first.getTotalPages()).isEqualTo(2);
+        assertThat(first.getContent().get(0).status()).isEqualTo(LoanStatus.RETURNED);
+        assertThat(second.getContent().get(0).status()).isEqualTo(LoanStatus.ACTIVE);
+    }
+
+    @Test
+    void sparseHistorySelectsOnlyTheRequestedColumns() {
+        FieldSelection selection = FieldSelection.parse(SparseResource.LOAN, "status,book.title,user.id");
+
+        Page<Map<String, Object>> page = historyRepository.findLoanRowsByUserId(userId, selection,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "loanDate")));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent().get(0)).containsOnlyKeys("id", "status", "book.title", "user.id");
+        assertThat(page.getContent()).extracting(row -> row.get("status"))
+                .containsExactly(LoanStatus.ACTIVE, LoanStatus.RETURNED);
+        assertThat(page.getContent().get(1)).containsEntry("book.title", "Archived Book")
+                .containsEntry("user.id", userId);
+    }
+}
@@ -0,0 +1,192 @@
+package com.JohnBravos.bookhub_manager.repository;
+
+import com.JohnBravos.bookhub_manager.core.enums.LoanStatus;
+import com.JohnBravos.bookhub_manager.core.enums.ReservationStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongFunction;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Τρέχει τα hot repository queries σε MySQL με το schema των migrations (V1 + V2 indexes)
+ * και κάνει EXPLAIN σε κάθε SELECT που εκτελέστηκε. Αποτυγχάνει αν κάποιο κάνει full table scan (type=ALL).
+ * Τα LIKE '%x%' queries (searchRows, findRowsByGenreContaining) δεν μπαίνουν - δεν γίνεται να χρησιμοποιήσουν index.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryPlanTest {
+
+    private static final int AUTHORS = 500;
+    private static final int BOOKS = 2_000;
+    private static final int USERS = 500;
+    private static final int LOANS = 20_000;
+    private static final int RESERVATIONS = 10_000;
+    private static final int GENRES = 20;
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withUrlParam("queryInterceptors", StatementCaptureInterceptor.class.getName());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @BeforeEach
+    void seed() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Long.class) > 0) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        LocalDate today = LocalDate.now();
+
+        batch("INSERT INTO authors (id, firstname, lastname, created_at) VALUES (?, ?, ?, ?)", AUTHORS,
+                i -> new Object[]{i, "First" + i, "Last" + i, now});
+        batch("INSERT INTO books (id, isbn, title, publisher, publication_year, genre, total_copies, " +
+                        "available_copies, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", BOOKS,
+                i -> new Object[]{i, String.format("978%010d", i), "Book " + i, "Publisher", 2000 + i % 25,
+                        "Genre " + i % GENRES, 3, i % 2, i % 5 == 0 ? "AVAILABLE" : "BORROWED", now});
+        batch("INSERT INTO book_authors (book_id, author_id) VALUES (?, ?)", BOOKS,
+                i -> new Object[]{i, 1 + i % AUTHORS});
+        batch("INSERT INTO users (id, username, email, password, first_name, last_name, phone_number, role, " +
+                        "status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", USERS,
+                i -> new Object[]{i, "member" + i, "member" + i + "@bookhub.test", "secret", "Member", "No" + i,
+                        "0000000000", "MEMBER", "ACTIVE", now});
+        // Όπως σε μια βάση σε λειτουργία: τα ιστορικά rows (RETURNED/FULFILLED) είναι η πλειονότητα
+        batch("INSERT INTO loans (id, book_id, user_id, loan_date, due_date, return_date, status) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)", LOANS,
+                i -> {
+                    LocalDate loanDate = today.minusDays(i % 720);
+                    String status = switch ((int) (i % 10)) {
+                        case 0 -> "ACTIVE";
+                        case 1 -> "OVERDUE";
+                        case 2 -> "PENDING";
+                        default -> "RETURNED";
+                    };
+                    Timestamp returned = "RETURNED".equals(status)
+                            ? Timestamp.valueOf(loanDate.plusDays(10).atStartOfDay()) : null;
+                    return new Object[]{i, 1 + i % BOOKS, 1 + i % USERS, Date.valueOf(loanDate),
+                            Date.valueOf(loanDate.plusDays(14)), returned, status};
+                });
+        batch("INSERT INTO reservation (id, book_id, user_id, reservation_date, expiry_date, status) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)", RESERVATIONS,
+                i -> {
+                    LocalDate reservationDate = today.minusDays(i % 360);
+                    String status = switch ((int) (i % 10)) {
+                        case 0 -> "ACTIVE";
+                        case 1 -> "PENDING";
+                        case 2 -> "READY";
+                        case 3 -> "CANCELLED";
+                        default -> "FULFILLED";
+                    };
+                    return new Object[]{i, 1 + i % BOOKS, 1 + i % USERS, Date.valueOf(reservationDate),
+                            Date.valueOf(reservationDate.plusDays(7)), status};
+                });
+
+        jdbcTemplate.execute("ANALYZE TABLE authors, books, book_authors, users, loans, reservation");
+    }
+
+    @Test
+    void hotQueriesUseIndexes() {
+        LocalDate today = LocalDate.now();
+        List<Long> bookIds = LongStream.rangeClosed(1, 50).boxed().toList();
+
+        Map<String, Runnable> hotQueries = new LinkedHashMap<>();
+        hotQueries.put("loans.findRowsByStatus", () -> loanRepository.findRowsByStatus(LoanStatus.ACTIVE,
+                PageRequest.of(0, 20, Sort.by("dueDate"))));
+        hotQueries.put("loans.findRowsByUserId", () -> loanRepository.findRowsByUserId(7L, PageRequest.of(0, 20)));
+        hotQueries.put("loans.findRowsByBookId", () -> loanRepository.findRowsByBookId(7L));
+        hotQueries.put("loans.findOverdueRows", () -> loanRepository.findOverdueRows(today));
+        hotQueries.put("loans.findRowsDueBetween", () -> loanRepository.findRowsDueBetween(today, today.plusDays(3)));
+        hotQueries.put("loans.existsActiveLoanByUserAndBook", () -> loanRepository.existsActiveLoanByUserAndBook(7L, 7L));
+        hotQueries.put("loans.countByUserIdAndStatus", () -> loanRepository.countByUserIdAndStatus(7L, LoanStatus.ACTIVE));
+        hotQueries.put("loans.findLatestActiveLoanByUserAndBook", () -> loanRepository.findLatestActiveLoanByUserAndBook(7L, 7L));
+        hotQueries.put("loans.summarizeUserActivity", () -> loanRepository.summarizeUserActivity(7L));
+        hotQueries.put("loans.countLoansByGenreForUser", () -> loanRepository.countLoansByGenreForUser(7L));
+        hotQueries.put("reservations.findRowsByStatus", () -> reservationRepository.findRowsByStatus(
+                ReservationStatus.ACTIVE, PageRequest.of(0, 20)));
+        hotQueries.put("reservations.findRowsByUserId", () -> reservationRepository.findRowsByUserId(7L, PageRequest.of(0, 20)));
+        hotQueries.put("reservations.findActiveRowsByBookOrderByDate", () -> reservationRepository.findActiveRowsByBookOrderByDate(7L));
+        hotQueries.put("reservations.findNextReservationInQueue", () -> reservationRepository.findNextReservationInQueue(7L));
+        hotQueries.put("reservations.findQueuePosition", () -> reservationRepository.findQueuePosition(7L, today));
+        hotQueries.put("reservations.countActiveReservationsByBook", () -> reservationRepository.countActiveReservationsByBook(7L));
+        hotQueries.put("reservations.findExpiredRows", () -> reservationRepository.findExpiredRows(today));
+        hotQueries.put("reservations.findRowsExpiringBetween", () -> reservationRepository.findRowsExpiringBetween(today, today.plusDays(3)));
+        hotQueries.put("reservations.existsActiveReservationByUserAndBook", () -> reservationRepository.existsActiveReservationByUserAndBook(7L, 7L));
+        hotQueries.put("reservations.findByUserIdAndStatusIn", () -> reservationRepository.findByUserIdAndStatusIn(7L,
+                List.of(ReservationStatus.PENDING, ReservationStatus.ACTIVE)));
+        hotQueries.put("books.findAvailableRowsForLoan", () -> bookRepository.findAvailableRowsForLoan());
+        hotQueries.put("books.findRowsByAuthorId", () -> bookRepository.findRowsByAuthorId(7L));
+        hotQueries.put("books.findAuthorRowsByBookIds", () -> bookRepository.findAuthorRowsByBookIds(bookIds));
+        hotQueries.put("books.countCirculationByBookIds", () -> bookRepository.countCirculationByBookIds(bookIds));
+        hotQueries.put("books.findByIsbn", () -> bookRepository.findByIsbn("9780000000007"));
+        hotQueries.put("books.findByGenre", () -> bookRepository.findByGenre("Genre 7"));
+        hotQueries.put("authors.findByFirstNameAndLastName", () -> authorRepository.findByFirstNameAndLastName("First7", "Last7"));
+
+        List<String> fullScans = new ArrayList<>();
+        hotQueries.forEach((name, query) -> {
+            List<String> statements = StatementCaptureInterceptor.capture(query);
+            assertThat(statements).as(name).isNotEmpty();
+
+            for (String sql : statements) {
+                for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + sql)) {
+                    // <derived2>/<union..>: scan του materialized αποτελέσματος, όχι πίνακα
+                    String table = String.valueOf(row.get("table"));
+                    if ("ALL".equals(row.get("type")) && !table.startsWith("<")) {
+                        fullScans.add(name + ": full scan on " + table + " (" + row.get("rows")
+                                + " rows) in [" + sql + "]");
+                    }
+                }
+            }
+        });
+
+        assertThat(fullScans).isEmpty();
+    }
+
+    private void batch(String sql, int count, LongFunction<Object[]> row) {
+        List<Object[]> args = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            args.add(row.apply(i));
+        }
+        jdbcTemplate.batchUpdate(sql, args);
+    }
+}
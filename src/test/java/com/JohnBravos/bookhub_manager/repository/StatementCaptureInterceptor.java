@@ -0,0 +1,65 @@
+package com.JohnBravos.bookhub_manager.repository;
+
+import com.mysql.cj.MysqlConnection;
+import com.mysql.cj.Query;
+import com.mysql.cj.interceptors.QueryInterceptor;
+import com.mysql.cj.log.Log;
+import com.mysql.cj.protocol.Resultset;
+import com.mysql.cj.protocol.ServerSession;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Connector/J interceptor (url param {@code queryInterceptors}) που κρατά τα SELECT με τις τιμές
+ * των parameters, ώστε να τρέξει EXPLAIN στο ίδιο ακριβώς SQL που έστειλε το hibernate.
+ */
+public class StatementCaptureInterceptor implements QueryInterceptor {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+    private static volatile boolean capturing;
+
+    static List<String> capture(Runnable action) {
+        STATEMENTS.clear();
+        capturing = true;
+        try {
+            action.run();
+        } finally {
+            capturing = false;
+        }
+        return List.copyOf(STATEMENTS);
+    }
+
+    @Override
+    public QueryInterceptor init(MysqlConnection conn, Properties props, Log log) {
+        return this;
+    }
+
+    @Override
+    public <T extends Resultset> T preProcess(Supplier<String> sql, Query interceptedQuery) {
+        if (capturing) {
+            String statement = sql.get();
+            if (statement != null && statement.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+                STATEMENTS.add(statement);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean executeTopLevelOnly() {
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    @Override
+    public <T extends Resultset> T postProcess(Supplier<String> sql, Query interceptedQuery,
+                                               T originalResultSet, ServerSession serverSession) {
+        return null;
+    }
+}
@@ -0,0 +1,180 @@
+package com.JohnBravos.bookhub_manager.service.cache;
+
+import com.JohnBravos.bookhub_manager.core.enums.BookStatus;
+import com.JohnBravos.bookhub_manager.model.Author;
+import com.JohnBravos.bookhub_manager.model.Book;
+import com.JohnBravos.bookhub_manager.model.CatalogVersion;
+import com.JohnBravos.bookhub_manager.repository.AuthorRepository;
+import com.JohnBravos.bookhub_manager.repository.BookRepository;
+import com.JohnBravos.bookhub_manager.repository.CatalogVersionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Τα ETags αλλάζουν με κάθε αλλαγή που φαίνεται στο response. Η έκδοση του καταλόγου αυξάνεται μετά
+ * το commit, οπότε το test κάνει πραγματικά commits (χωρίς test transaction) και καθαρίζει στο τέλος.
+ * Η έκδοση δεν κρατιέται στη μνήμη (TTL 0).
+ */
+@DataJpaTest(properties = "http.etag.catalog-watermark-ttl-ms=0")
+@Import(CatalogVersions.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogVersionsTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    private Long bookId;
+    private Long authorId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Στο prod το row το δημιουργεί το V5
+            em.persist(new CatalogVersion(CatalogVersion.SINGLETON, 0));
+            Author author = em.persist(Author.builder()
+                    .firstName("Ursula")
+                    .lastName("Le Guin")
+                    .build());
+            Book book = em.persist(Book.builder()
+                    .isbn("9780000000001")
+                    .title("Earthsea")
+                    .publisher("Publisher")
+                    .publicationYear(1968)
+                    .genre("Fantasy")
+                    .totalCopies(2)
+                    .availableCopies(2)
+                    .status(BookStatus.AVAILABLE)
+                    .authors(new ArrayList<>(List.of(author)))
+                    .build());
+            authorId = author.getId();
+            bookId = book.getId();
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        catalogVersionRepository.deleteAll();
+    }
+
+    @Test
+    void tagsAreStableWithoutChanges() {
+        assertThat(catalogVersions.catalogTag()).isEqualTo(catalogVersions.catalogTag());
+        assertThat(catalogVersions.bookTag(bookId)).isEqualTo(catalogVersions.bookTag(bookId));
+    }
+
+    @Test
+    void unknownIdsHaveNoTag() {
+        assertThat(catalogVersions.bookTag(-1L)).isNull();
+        assertThat(catalogVersions.authorTag(-1L)).isNull();
+    }
+
+    @Test
+    void borrowingACopyChangesBookAndCatalogTagsAfterCommit() {
+        String bookTag = catalogVersions.bookTag(bookId);
+        String catalogTag = catalogVersions.catalogTag();
+
+        // Όπως το LoanService: αλλαγή του entity και CatalogCache.bookChanged στο ίδιο transaction
+        transactionTemplate.executeWithoutResult(status -> {
+            em.find(Book.class, bookId).borrowCopy();
+            catalogVersions.changed();
+            em.flush();
+            // Κανένα lock στο catalog_version όσο κρατάει το transaction της αλλαγής
+            assertThat(catalogVersions.catalogTag()).isEqualTo(catalogTag);
+        });
+
+        assertThat(catalogVersions.bookTag(bookId)).isNotEqualTo(bookTag);
+        assertThat(catalogVersions.catalogTag()).isNotEqualTo(catalogTag);
+    }
+
+    @Test
+    void rolledBackChangeKeepsTheCatalogTag() {
+        String catalogTag = catalogVersions.catalogTag();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            catalogVersions.changed();
+            status.setRollbackOnly();
+        });
+
+        assertThat(catalogVersions.catalogTag()).isEqualTo(catalogTag);
+    }
+
+    @Test
+    void catalogVersionAdvancesOnEveryChange() {
+        String first = catalogVersions.catalogTag();
+        catalogVersions.changed();
+        String second = catalogVersions.catalogTag();
+        catalogVersions.changed();
+
+        assertThat(second).isNotEqualTo(first);
+        assertThat(catalogVersions.catalogTag()).isNotEqualTo(second).isNotEqualTo(first);
+    }
+
+    @Test
+    void renamingAnAuthorChangesTheTagsOfTheirBooks() {
+        String bookTag = catalogVersions.bookTag(bookId);
+        String authorTag = catalogVersions.authorTag(authorId);
+
+        transactionTemplate.executeWithoutResult(status -> em.find(Author.class, authorId).setLastName("K. Le Guin"));
+
+        assertThat(catalogVersions.bookTag(bookId)).isNotEqualTo(bookTag);
+        assertThat(catalogVersions.authorTag(authorId)).isNotEqualTo(authorTag);
+    }
+
+    @Test
+    void replacingABookChangesTheCatalogTag() {
+        Long otherId = transactionTemplate.execute(status -> em.persist(book("9780000000002", "Other")).getId());
+        String catalogTag = catalogVersions.catalogTag();
+
+        // Ίδιο πλήθος βιβλίων πριν και μετά
+        transactionTemplate.executeWithoutResult(status -> {
+            em.remove(em.find(Book.class, otherId));
+            em.persist(book("9780000000003", "Replacement"));
+            catalogVersions.changed();
+        });
+
+        assertThat(catalogVersions.catalogTag()).isNotEqualTo(catalogTag);
+    }
+
+    private static Book book(String isbn, String title) {
+        return Book.builder()
+                .isbn(isbn)
+                .title(title)
+                .publisher("Publisher")
+                .publicationYear(2000)
+                .genre("Fantasy")
+                .totalCopies(1)
+                .availableCopies(1)
+                .status(BookStatus.AVAILABLE)
+                .build();
+    }
+}
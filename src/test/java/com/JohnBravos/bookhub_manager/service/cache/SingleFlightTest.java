@@ -0,0 +1,96 @@
+package com.JohnBravos.bookhub_manager.service.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(new DataSourceTransactionManager(
+                new DriverManagerDataSource("jdbc:h2:mem:singleflight;DB_CLOSE_DELAY=-1", "sa", "")), meterRegistry);
+    }
+
+    @Test
+    void concurrentIdenticalCallsShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("bookDetails", 1L, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "book-1";
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<String> follower = executor.submit(() -> singleFlight.execute("bookDetails", 1L, () -> {
+                loads.incrementAndGet();
+                return "other";
+            }));
+            // Διαφορετικό key: δικό του load
+            assertThat(singleFlight.execute("bookDetails", 2L, () -> "book-2")).isEqualTo("book-2");
+
+            waitForCoalesced(1);
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("book-1");
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("book-1");
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(singleFlight.inFlightCount()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failureIsSharedAndNotRemembered() {
+        assertThatThrownBy(() -> singleFlight.execute("reservationQueue", 7L, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.execute("reservationQueue", 7L, () -> "ok")).isEqualTo("ok");
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    private void waitForCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalesced() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(coalesced()).isEqualTo(expected);
+    }
+
+    private double coalesced() {
+        var counter = meterRegistry.find("singleflight.coalesced").tag("name", "bookDetails").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.JohnBravos.bookhub_manager.service.impl;
+
+import com.JohnBravos.bookhub_manager.core.enums.ImportFormat;
+import com.JohnBravos.bookhub_manager.core.enums.ImportStatus;
+import com.JohnBravos.bookhub_manager.dto.Response.ImportProgressResponse;
+import com.JohnBravos.bookhub_manager.repository.CatalogImportRepository;
+import com.JohnBravos.bookhub_manager.repository.CatalogImportRepository.AuthorInsert;
+import com.JohnBravos.bookhub_manager.repository.CatalogImportRepository.BookAuthorInsert;
+import com.JohnBravos.bookhub_manager.repository.CatalogImportRepository.BookInsert;
+import com.JohnBravos.bookhub_manager.service.cache.CatalogCache;
+import com.JohnBravos.bookhub_manager.service.stats.SystemCounters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Το import με mocked JDBC repository: chunks, ids από το reserveIds, διπλότυπα και totalCopies=0.
+ */
+class CatalogImportServiceTest {
+
+    private static final String HEADER = "isbn,title,authors,publisher,publicationYear,genre,totalCopies,description\n";
+
+    private final CatalogImportRepository importRepository = mock(CatalogImportRepository.class);
+    private final SystemCounters systemCounters = mock(SystemCounters.class);
+    private CatalogImportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CatalogImportService(importRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), systemCounters, mock(CatalogCache.class));
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "batchSize", 100);
+        ReflectionTestUtils.setField(service, "retainedJobs", 20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void writesEachChunkWithTheIdsItReserved() throws InterruptedException {
+        when(importRepository.reserveIds(eq("books"), anyInt())).thenReturn(100L, 200L, 300L);
+        when(importRepository.reserveIds(eq("authors"), anyInt())).thenReturn(10L, 20L, 30L);
+
+        ImportProgressResponse result = importCsv(
+                "9780000000001,First,Ann Smith;Bob Jones,Pub,2001,Fiction,2,\n" +
+                "9780000000002,Second,Ann Smith,Pub,2002,Fiction,1,\n" +
+                "9780000000003,Third,Bob Jones;Cy Young,Pub,2003,Fiction,3,\n" +
+                "9780000000004,Fourth,Cy Young,Pub,2004,Fiction,,\n" +
+                "9780000000005,Fifth,Ann Smith,Pub,2005,Fiction,1,\n");
+
+        assertThat(result.status()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(result.booksImported()).isEqualTo(5);
+        assertThat(result.authorsCreated()).isEqualTo(3);
+
+        ArgumentCaptor<List<BookInsert>> books = listCaptor();
+        verify(importRepository, times(3)).insertBooks(books.capture(), eq(100));
+        assertThat(books.getAllValues()).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(books.getAllValues().get(0)).extracting(BookInsert::id).containsExactly(100L, 101L);
+        assertThat(books.getAllValues().get(1)).extracting(BookInsert::id).containsExactly(200L, 201L);
+        assertThat(books.getAllValues().get(2)).extracting(BookInsert::id).containsExactly(300L);
+        // Χωρίς totalCopies -> 1 αντίτυπο
+        assertThat(books.getAllValues().get(1).get(1).copies()).isEqualTo(1);
+
+        // Κάθε author δημιουργείται μία φορά, στο chunk όπου εμφανίζεται πρώτη φορά
+        ArgumentCaptor<List<AuthorInsert>> authors = listCaptor();
+        verify(importRepository, times(3)).insertAuthors(authors.capture(), eq(100));
+        assertThat(authors.getAllValues().get(0)).extracting(AuthorInsert::id).containsExactly(10L, 11L);
+        assertThat(authors.getAllValues().get(1)).extracting(AuthorInsert::id).containsExactly(20L);
+        assertThat(authors.getAllValues().get(2)).isEmpty();
+        verify(importRepository, times(2)).reserveIds(eq("authors"), anyInt());
+
+        ArgumentCaptor<List<BookAuthorInsert>> links = listCaptor();
+        verify(importRepository, times(3)).insertBookAuthors(links.capture(), eq(100));
+        assertThat(links.getAllValues().get(1)).containsExactly(
+                new BookAuthorInsert(200L, 11L), new BookAuthorInsert(200L, 20L), new BookAuthorInsert(201L, 20L));
+        assertThat(links.getAllValues().get(2)).containsExactly(new BookAuthorInsert(300L, 10L));
+
+        verify(systemCounters).booksImported(2, 3);
+        verify(systemCounters).booksImported(2, 4);
+        verify(systemCounters).booksImported(1, 1);
+    }
+
+    @Test
+    void skipsDuplicatesFromTheDatabaseAndWithinTheFile() throws InterruptedException {
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(0);
+            consumer.accept("978-0-00-000000-1");
+            return null;
+        }).when(importRepository).forEachIsbn(any());
+        doAnswer(invocation -> {
+            Consumer<Object[]> consumer = invocation.getArgument(0);
+            consumer.accept(new Object[]{7L, "ann", "SMITH"});
+            return null;
+        }).when(importRepository).forEachAuthor(any());
+        when(importRepository.reserveIds(eq("books"), anyInt())).thenReturn(100L);
+
+        ImportProgressResponse result = importCsv(
+                "9780000000001,Existing,Ann Smith,Pub,2001,Fiction,1,\n" +
+                "9780000000002,New,Ann Smith,Pub,2002,Fiction,1,\n" +
+                "ISBN 978-0-00-000000-2,Same Isbn,Ann Smith,Pub,2002,Fiction,1,\n" +
+                "123,Bad Isbn,Ann Smith,Pub,2002,Fiction,1,\n");
+
+        assertThat(result.booksImported()).isEqualTo(1);
+        assertThat(result.duplicates()).isEqualTo(2);
+        assertThat(result.invalid()).isEqualTo(1);
+        assertThat(result.authorsCreated()).isZero();
+
+        ArgumentCaptor<List<BookInsert>> books = listCaptor();
+        verify(importRepository).insertBooks(books.capture(), anyInt());
+        assertThat(books.getValue()).extracting(BookInsert::isbn).containsExactly("9780000000002");
+        ArgumentCaptor<List<BookAuthorInsert>> links = listCaptor();
+        verify(importRepository).insertBookAuthors(links.capture(), anyInt());
+        assertThat(links.getValue()).containsExactly(new BookAuthorInsert(100L, 7L));
+        verify(importRepository, times(0)).reserveIds(eq("authors"), anyInt());
+    }
+
+    @Test
+    void booksWithoutCopiesAreNotMarkedBorrowed() throws InterruptedException {
+        when(importRepository.reserveIds(eq("books"), anyInt())).thenReturn(100L);
+        when(importRepository.reserveIds(eq("authors"), anyInt())).thenReturn(10L);
+
+        importCsv("9780000000001,Catalogued Only,Ann Smith,Pub,2001,Fiction,0,\n" +
+                "9780000000002,On Shelf,Ann Smith,Pub,2001,Fiction,2,\n");
+
+        ArgumentCaptor<List<BookInsert>> books = listCaptor();
+        verify(importRepository).insertBooks(books.capture(), anyInt());
+        assertThat(books.getValue()).extracting(BookInsert::status)
+                .containsExactly("UNDER_MAINTENANCE", "AVAILABLE");
+        verify(systemCounters).booksImported(2, 2);
+    }
+
+    private ImportProgressResponse importCsv(String rows) throws InterruptedException {
+        MockMultipartFile file = new MockMultipartFile("file", "catalog.csv", "text/csv",
+                (HEADER + rows).getBytes(StandardCharsets.UTF_8));
+        String jobId = service.startImport(file, ImportFormat.CSV).jobId();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        ImportProgressResponse progress = service.getProgress(jobId);
+        while (progress.status() != ImportStatus.COMPLETED && progress.status() != ImportStatus.FAILED
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            progress = service.getProgress(jobId);
+        }
+        assertThat(progress.status()).isEqualTo(ImportStatus.COMPLETED);
+        return progress;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> ArgumentCaptor<List<T>> listCaptor() {
+        return (ArgumentCaptor) ArgumentCaptor.forClass(List.class);
+    }
+}
@@ -0,0 +1,74 @@
+package com.JohnBravos.bookhub_manager.service.impl;
+
+import com.JohnBravos.bookhub_manager.core.enums.DashboardSectionStatus;
+import com.JohnBravos.bookhub_manager.dto.Response.DashboardResponse;
+import com.JohnBravos.bookhub_manager.dto.Response.SystemStatsResponse;
+import com.JohnBravos.bookhub_manager.service.ILoanService;
+import com.JohnBravos.bookhub_manager.service.IReservationService;
+import com.JohnBravos.bookhub_manager.service.IUserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardServiceTest {
+
+    private final IUserService userService = mock(IUserService.class);
+    private final ILoanService loanService = mock(ILoanService.class);
+    private final IReservationService reservationService = mock(IReservationService.class);
+    private ExecutorService executor;
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(6);
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("dashboard.sections.overdueLoans.timeout-ms", "100");
+        dashboardService = new DashboardService(userService, loanService, reservationService,
+                executor, environment, 2000, 10);
+
+        when(userService.getSystemStatistics()).thenReturn(new SystemStatsResponse());
+        when(userService.getUserStatistics()).thenReturn(Map.of("totalUsers", 3L));
+        when(loanService.getActiveLoans(anyInt(), anyInt(), anyString())).thenReturn(Page.empty());
+        when(reservationService.getReservationsExpiringSoon()).thenReturn(List.of());
+        when(loanService.getRecentLoans()).thenThrow(new IllegalStateException("db down"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void slowAndFailingSectionsDoNotHoldBackTheRest() {
+        when(loanService.getOverdueLoans()).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return List.of();
+        });
+
+        long started = System.currentTimeMillis();
+        DashboardResponse dashboard = dashboardService.getDashboard();
+
+        assertThat(System.currentTimeMillis() - started).isLessThan(2_000);
+        assertThat(dashboard.partial()).isTrue();
+        assertThat(dashboard.systemStats().status()).isEqualTo(DashboardSectionStatus.OK);
+        assertThat(dashboard.userStats().data()).isEqualTo(Map.of("totalUsers", 3L));
+        assertThat(dashboard.activeLoans().isOk()).isTrue();
+        assertThat(dashboard.expiringReservations().isOk()).isTrue();
+        assertThat(dashboard.overdueLoans().status()).isEqualTo(DashboardSectionStatus.TIMEOUT);
+        assertThat(dashboard.recentLoans().status()).isEqualTo(DashboardSectionStatus.FAILED);
+        assertThat(dashboard.recentLoans().data()).isNull();
+    }
+}
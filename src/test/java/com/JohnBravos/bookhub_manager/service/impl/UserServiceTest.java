@@ -0,0 +1,76 @@
+package com.JohnBravos.bookhub_manager.service.impl;
+
+import com.JohnBravos.bookhub_manager.dto.Request.CreateUserRequest;
+import com.JohnBravos.bookhub_manager.mapper.LoanMapper;
+import com.JohnBravos.bookhub_manager.mapper.ProjectionMapper;
+import com.JohnBravos.bookhub_manager.mapper.ReservationMapper;
+import com.JohnBravos.bookhub_manager.mapper.UserMapper;
+import com.JohnBravos.bookhub_manager.repository.SparseFieldRepository;
+import com.JohnBravos.bookhub_manager.repository.UserRepository;
+import com.JohnBravos.bookhub_manager.service.stats.SystemCounters;
+import com.JohnBravos.bookhub_manager.service.stats.UserActivityCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Το UserService είναι {@code @Transactional(readOnly = true)} σε επίπεδο class. Με το pooled TABLE
+ * generator το INSERT γίνεται στο flush, που δεν τρέχει ποτέ σε read-only transaction - οι writes
+ * πρέπει να έχουν δικό τους {@code @Transactional}. Χωρίς test transaction, ώστε να γίνει πραγματικό commit.
+ */
+@DataJpaTest
+@Import(UserService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private UserMapper userMapper;
+    @MockitoBean
+    private LoanMapper loanMapper;
+    @MockitoBean
+    private ReservationMapper reservationMapper;
+    @MockitoBean
+    private ProjectionMapper projectionMapper;
+    @MockitoBean
+    private SparseFieldRepository sparseFieldRepository;
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+    @MockitoBean
+    private SystemCounters systemCounters;
+    @MockitoBean
+    private UserActivityCache userActivityCache;
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createUserWritesTheRow() {
+        when(passwordEncoder.encode(anyString())).thenReturn("encoded");
+
+        userService.createUser(new CreateUserRequest("Maria", "Papadopoulou", "mariap",
+                "maria@example.com", "secret123", "6912345678"));
+
+        assertThat(userRepository.existsByEmail("maria@example.com")).isTrue();
+        assertThat(userRepository.count()).isEqualTo(1);
+        verify(systemCounters).userCreated();
+    }
+}
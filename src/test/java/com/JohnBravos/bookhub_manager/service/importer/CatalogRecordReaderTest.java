@@ -0,0 +1,79 @@
+package com.JohnBravos.bookhub_manager.service.importer;
+
+import com.JohnBravos.bookhub_manager.core.enums.ImportFormat;
+import com.JohnBravos.bookhub_manager.service.importer.CatalogRecord.AuthorName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogRecordReaderTest {
+
+    @Test
+    void csvWithHeaderQuotesAndMultilineDescription() throws IOException {
+        String csv = """
+                isbn,title,authors,publisher,publicationYear,genre,totalCopies,description
+                978-0-547-92822-7,"The Hobbit, or There and Back Again",J. R. R. Tolkien;Christopher Tolkien,Mariner,2012,Fantasy,3,"first
+                second ""quoted""\"
+                9780000000001,Bad Year,Someone,Publisher,abc,Fiction,1,
+                """;
+
+        List<CatalogRecord> records = readAll(ImportFormat.CSV, csv);
+
+        assertThat(records).hasSize(2);
+        CatalogRecord hobbit = records.get(0);
+        assertThat(hobbit.line()).isEqualTo(2);
+        assertThat(hobbit.title()).isEqualTo("The Hobbit, or There and Back Again");
+        assertThat(hobbit.authors()).containsExactly(
+                new AuthorName("J. R. R.", "Tolkien"), new AuthorName("Christopher", "Tolkien"));
+        assertThat(hobbit.totalCopies()).isEqualTo(3);
+        assertThat(hobbit.description()).isEqualTo("first\nsecond \"quoted\"");
+
+        assertThat(records.get(1).error()).startsWith("Invalid number");
+        assertThat(records.get(1).line()).isEqualTo(4);
+    }
+
+    @Test
+    void marcRecordsSeparatedByBlankLines() throws IOException {
+        String marc = """
+                =020  9780547928227
+                =100  Tolkien, J. R. R.
+                =245  The Hobbit
+                =260  Mariner Books
+                =264  2012
+                =650  Fantasy
+                =999  ignored
+
+                =020  9780441172719
+                =100  Herbert, Frank
+                =245  Dune
+                =949  4
+                """;
+
+        List<CatalogRecord> records = readAll(ImportFormat.MARC, marc);
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).authors()).containsExactly(new AuthorName("J. R. R.", "Tolkien"));
+        assertThat(records.get(0).publicationYear()).isEqualTo(2012);
+        assertThat(records.get(0).totalCopies()).isNull();
+        assertThat(records.get(1).title()).isEqualTo("Dune");
+        assertThat(records.get(1).totalCopies()).isEqualTo(4);
+        assertThat(records.get(1).line()).isEqualTo(9);
+    }
+
+    private static List<CatalogRecord> readAll(ImportFormat format, String content) throws IOException {
+        List<CatalogRecord> records = new ArrayList<>();
+        try (CatalogRecordReader reader = CatalogRecordReader.open(format, new BufferedReader(new StringReader(content)))) {
+            CatalogRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,34 @@
+package com.JohnBravos.bookhub_manager.service.stats;
+
+import com.JohnBravos.bookhub_manager.config.MetricNames;
+import com.JohnBravos.bookhub_manager.core.enums.LoanStatus;
+import com.JohnBravos.bookhub_manager.core.enums.ReservationStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BusinessMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BusinessMetrics businessMetrics = new BusinessMetrics(meterRegistry);
+
+    @Test
+    void transitionsAreCountedAsEvents() {
+        businessMetrics.loanCreated();
+        businessMetrics.loanStatusChanged(LoanStatus.PENDING, LoanStatus.ACTIVE);
+        businessMetrics.loanStatusChanged(LoanStatus.ACTIVE, LoanStatus.RETURNED);
+        businessMetrics.loanStatusChanged(LoanStatus.OVERDUE, LoanStatus.RETURNED);
+        businessMetrics.reservationStatusChanged(ReservationStatus.ACTIVE, ReservationStatus.EXPIRED);
+
+        assertThat(count(MetricNames.LOAN_EVENTS, "created")).isEqualTo(1);
+        assertThat(count(MetricNames.LOAN_EVENTS, "approved")).isEqualTo(1);
+        assertThat(count(MetricNames.LOAN_EVENTS, "returned")).isEqualTo(2);
+        assertThat(count(MetricNames.RESERVATION_EVENTS, "expired")).isEqualTo(1);
+        assertThat(count(MetricNames.RESERVATION_EVENTS, "fulfilled")).isZero();
+    }
+
+    private double count(String name, String event) {
+        return meterRegistry.get(name).tag("event", event).counter().count();
+    }
+}
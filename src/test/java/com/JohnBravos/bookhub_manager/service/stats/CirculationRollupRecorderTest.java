@@ -0,0 +1,139 @@
+package com.JohnBravos.bookhub_manager.service.stats;
+
+import com.JohnBravos.bookhub_manager.core.enums.LoanStatus;
+import com.JohnBravos.bookhub_manager.model.Book;
+import com.JohnBravos.bookhub_manager.model.CirculationRollup;
+import com.JohnBravos.bookhub_manager.model.Loan;
+import com.JohnBravos.bookhub_manager.repository.CirculationRollupRepository;
+import com.JohnBravos.bookhub_manager.repository.LoanRepository;
+import com.JohnBravos.bookhub_manager.repository.ReservationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CirculationRollupRecorderTest {
+
+    private final CirculationRollupRepository rollupRepository = mock(CirculationRollupRepository.class);
+    private final LoanRepository loanRepository = mock(LoanRepository.class);
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private CirculationRollupRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new CirculationRollupRecorder(rollupRepository, loanRepository, reservationRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(recorder, "backfillOnStartup", true);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rolledBackLoansAreNotCounted() {
+        TransactionSynchronizationManager.initSynchronization();
+        recorder.loanCreated(loan());
+        // Rollback: το beforeCommit δεν καλείται ποτέ
+        TransactionSynchronizationManager.clearSynchronization();
+
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void committedLoansAreWrittenInTheSameTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        recorder.loanCreated(loan());
+        verifyNoInteractions(rollupRepository);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+
+        // HOUR / DAY / MONTH, για το genre και για τα σύνολα
+        verify(rollupRepository, times(6)).increment(anyString(), any(), anyString(),
+                eq(1L), eq(0L), eq(0L), eq(0L), eq(0L));
+        verify(rollupRepository, times(3)).increment(anyString(), any(), eq(CirculationRollup.ALL_GENRES),
+                anyLong(), anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void lateReturnsCountLoanDaysAndOverdue() {
+        Loan loan = loan();
+        loan.setLoanDate(LocalDate.of(2024, 3, 1));
+        loan.setDueDate(LocalDate.of(2024, 3, 15));
+        loan.setReturnDate(LocalDateTime.of(2024, 3, 21, 10, 30));
+
+        recorder.loanReturned(loan, LoanStatus.ACTIVE);
+
+        verify(rollupRepository).increment(eq("DAY"), eq(LocalDateTime.of(2024, 3, 21, 0, 0)), eq("Fantasy"),
+                eq(0L), eq(1L), eq(1L), eq(0L), eq(20L));
+    }
+
+    @Test
+    void backfillSkipsWhenRollupsExist() {
+        when(rollupRepository.count()).thenReturn(5L);
+
+        recorder.backfill();
+
+        verify(loanRepository, never()).countCreatedByDayAndGenre();
+        verify(rollupRepository, never()).insert(anyString(), any(), anyString(),
+                anyLong(), anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void backfillInsertsDayAndMonthBuckets() {
+        when(loanRepository.countCreatedByDayAndGenre())
+                .thenReturn(List.<Object[]>of(new Object[]{LocalDate.of(2024, 3, 2), "Fantasy", 4L}));
+
+        recorder.backfill();
+
+        verify(rollupRepository).insert(eq("DAY"), eq(LocalDateTime.of(2024, 3, 2, 0, 0)), eq("Fantasy"),
+                eq(4L), eq(0L), eq(0L), eq(0L), eq(0L));
+        verify(rollupRepository).insert(eq("MONTH"), eq(LocalDateTime.of(2024, 3, 1, 0, 0)),
+                eq(CirculationRollup.ALL_GENRES), eq(4L), eq(0L), eq(0L), eq(0L), eq(0L));
+        verify(rollupRepository, never()).increment(anyString(), any(), anyString(),
+                anyLong(), anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void concurrentBackfillLosesOnThePrimaryKeyInsteadOfDoubleCounting() {
+        when(loanRepository.countCreatedByDayAndGenre())
+                .thenReturn(List.<Object[]>of(new Object[]{LocalDate.of(2024, 3, 2), "Fantasy", 4L}));
+        doThrow(new DataIntegrityViolationException("Duplicate entry"))
+                .when(rollupRepository).insert(anyString(), any(), anyString(),
+                        anyLong(), anyLong(), anyLong(), anyLong(), anyLong());
+
+        assertThatCode(recorder::backfill).doesNotThrowAnyException();
+    }
+
+    private static Loan loan() {
+        Loan loan = Loan.builder()
+                .book(Book.builder().genre("Fantasy").build())
+                .build();
+        loan.setLoanDate(LocalDate.now());
+        return loan;
+    }
+}
@@ -0,0 +1,87 @@
+package com.JohnBravos.bookhub_manager.service.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+class DurationHistogramTest {
+
+    @Test
+    void emptyHistogramReportsZero() {
+        DurationHistogram histogram = new DurationHistogram();
+
+        assertThat(histogram.count()).isZero();
+        assertThat(histogram.mean()).isZero();
+        assertThat(histogram.quantile(0.5)).isZero();
+    }
+
+    @Test
+    void quantilesAreExactBelowSixtyFourDays() {
+        DurationHistogram histogram = new DurationHistogram();
+        for (int day = 1; day <= 60; day++) {
+            histogram.record(day);
+        }
+
+        assertThat(histogram.quantile(0.5)).isEqualTo(30.0);
+        assertThat(histogram.quantile(0.9)).isEqualTo(54.0);
+        assertThat(histogram.quantile(1.0)).isEqualTo(60.0);
+        assertThat(histogram.mean()).isCloseTo(30.5, within(1e-9));
+    }
+
+    @Test
+    void longDurationsStayWithinTheRelativeError() {
+        DurationHistogram histogram = new DurationHistogram();
+        for (int day = 1; day <= 1000; day++) {
+            histogram.record(day);
+        }
+
+        assertThat(histogram.quantile(0.5)).isCloseTo(500.0, withinPercentage(12));
+        assertThat(histogram.quantile(0.9)).isCloseTo(900.0, withinPercentage(12));
+        assertThat(histogram.quantile(0.99)).isCloseTo(990.0, withinPercentage(12));
+    }
+
+    @Test
+    void negativeAndHugeValuesAreClamped() {
+        DurationHistogram histogram = new DurationHistogram();
+        histogram.record(-3);
+        histogram.record(1_000_000);
+
+        assertThat(histogram.quantile(0.5)).isZero();
+        assertThat(histogram.quantile(1.0)).isGreaterThan(4000.0);
+    }
+
+    @Test
+    void mergeEqualsRecordingEverythingInOne() {
+        DurationHistogram first = new DurationHistogram();
+        DurationHistogram second = new DurationHistogram();
+        DurationHistogram all = new DurationHistogram();
+        for (int day = 0; day < 200; day++) {
+            (day % 2 == 0 ? first : second).record(day);
+            all.record(day);
+        }
+
+        first.merge(second);
+
+        assertThat(first.count()).isEqualTo(all.count());
+        assertThat(first.mean()).isEqualTo(all.mean());
+        for (double q : new double[]{0.1, 0.5, 0.9, 0.99}) {
+            assertThat(first.quantile(q)).isEqualTo(all.quantile(q));
+        }
+    }
+
+    @Test
+    void bytesRoundTrip() {
+        DurationHistogram histogram = new DurationHistogram();
+        histogram.record(3, 10);
+        histogram.record(150);
+
+        DurationHistogram restored = DurationHistogram.fromBytes(histogram.toBytes(), histogram.count(), histogram.totalDays());
+
+        assertThat(restored.count()).isEqualTo(11);
+        assertThat(restored.mean()).isEqualTo(histogram.mean());
+        assertThat(restored.quantile(0.5)).isEqualTo(3.0);
+        assertThat(restored.quantile(1.0)).isEqualTo(histogram.quantile(1.0));
+    }
+}
@@ -0,0 +1,80 @@
+package com.JohnBravos.bookhub_manager.service.stats;
+
+import com.JohnBravos.bookhub_manager.core.enums.DurationMetric;
+import com.JohnBravos.bookhub_manager.model.Book;
+import com.JohnBravos.bookhub_manager.model.Loan;
+import com.JohnBravos.bookhub_manager.repository.DurationSketchRepository;
+import com.JohnBravos.bookhub_manager.repository.LoanRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DurationSketchesTest {
+
+    private final DurationSketchRepository sketchRepository = mock(DurationSketchRepository.class);
+    private final LoanRepository loanRepository = mock(LoanRepository.class);
+    private DurationSketches sketches;
+
+    @BeforeEach
+    void setUp() {
+        sketches = new DurationSketches(sketchRepository, loanRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 100);
+        ReflectionTestUtils.setField(sketches, "minSamples", 2L);
+        ReflectionTestUtils.setField(sketches, "backfillOnStartup", true);
+    }
+
+    @Test
+    void booksWithoutSamplesShareOneEmptySketchAndFallBackToGlobal() {
+        sketches.loanReturned(loan(1L, 10));
+        sketches.loanReturned(loan(1L, 20));
+
+        DurationHistogram unknown = sketches.forBook(DurationMetric.LOAN_DURATION, 7L);
+        assertThat(unknown.count()).isZero();
+        assertThat(sketches.forBook(DurationMetric.LOAN_DURATION, 8L)).isSameAs(unknown);
+        assertThat(sketches.forBookOrGlobal(DurationMetric.LOAN_DURATION, 7L).count()).isEqualTo(2);
+        assertThat(sketches.forBookOrGlobal(DurationMetric.LOAN_DURATION, 1L).count()).isEqualTo(2);
+    }
+
+    @Test
+    void samplesForAPreloadedEmptyBookGetTheirOwnSketch() {
+        sketches.preload(List.of(3L));
+        sketches.loanReturned(loan(3L, 5));
+
+        assertThat(sketches.forBook(DurationMetric.LOAN_DURATION, 3L).count()).isEqualTo(1);
+        assertThat(sketches.forBook(DurationMetric.LOAN_DURATION, 4L).count()).isZero();
+    }
+
+    @Test
+    void backfillKeepsSamplesRecordedBeforeIt() {
+        sketches.loanReturned(loan(1L, 10));
+        when(loanRepository.countLoanDurationsByBook())
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 4L, 3L}));
+
+        DurationHistogram live = sketches.forBook(DurationMetric.LOAN_DURATION, 1L);
+        sketches.backfill();
+        sketches.loanReturned(loan(1L, 12));
+
+        assertThat(sketches.forBook(DurationMetric.LOAN_DURATION, 1L)).isSameAs(live);
+        assertThat(live.count()).isEqualTo(5);
+        assertThat(sketches.global(DurationMetric.LOAN_DURATION).count()).isEqualTo(5);
+    }
+
+    private static Loan loan(Long bookId, int days) {
+        LocalDate loanDate = LocalDate.of(2024, 1, 1);
+        Loan loan = Loan.builder().book(Book.builder().id(bookId).build()).build();
+        loan.setLoanDate(loanDate);
+        loan.setReturnDate(LocalDateTime.of(loanDate.plusDays(days), LocalTime.NOON));
+        return loan;
+    }
+}
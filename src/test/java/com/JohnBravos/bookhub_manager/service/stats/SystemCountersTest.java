@@ -0,0 +1,115 @@
+package com.JohnBravos.bookhub_manager.service.stats;
+
+import com.JohnBravos.bookhub_manager.core.enums.LoanStatus;
+import com.JohnBravos.bookhub_manager.dto.Response.SystemStatsResponse;
+import com.JohnBravos.bookhub_manager.repository.ArchivedLoanRepository;
+import com.JohnBravos.bookhub_manager.repository.ArchivedReservationRepository;
+import com.JohnBravos.bookhub_manager.repository.BookRepository;
+import com.JohnBravos.bookhub_manager.repository.LoanRepository;
+import com.JohnBravos.bookhub_manager.repository.ReservationRepository;
+import com.JohnBravos.bookhub_manager.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SystemCountersTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final LoanRepository loanRepository = mock(LoanRepository.class);
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final ArchivedLoanRepository archivedLoanRepository = mock(ArchivedLoanRepository.class);
+    private final ArchivedReservationRepository archivedReservationRepository = mock(ArchivedReservationRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private SystemCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new SystemCounters(userRepository, bookRepository, loanRepository, reservationRepository,
+                archivedLoanRepository, archivedReservationRepository,
+                new BusinessMetrics(new SimpleMeterRegistry()), transactionManager);
+        counters.reconcile();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rolledBackWorkIsNotCounted() {
+        TransactionSynchronizationManager.initSynchronization();
+        counters.userCreated();
+        counters.loanCreated(LoanStatus.PENDING);
+        // Rollback: οι synchronizations απορρίπτονται χωρίς afterCommit
+        TransactionSynchronizationManager.clearSynchronization();
+
+        SystemStatsResponse stats = counters.snapshot();
+        assertThat(stats.getTotalUsers()).isZero();
+        assertThat(stats.getTotalLoans()).isZero();
+    }
+
+    @Test
+    void committedWorkIsCountedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        counters.userCreated();
+        counters.loanCreated(LoanStatus.PENDING);
+        counters.loanStatusChanged(LoanStatus.PENDING, LoanStatus.ACTIVE);
+
+        assertThat(counters.snapshot().getTotalUsers()).isZero();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        SystemStatsResponse stats = counters.snapshot();
+        assertThat(stats.getTotalUsers()).isEqualTo(1);
+        assertThat(stats.getTotalLoans()).isEqualTo(1);
+        assertThat(stats.getActiveLoans()).isEqualTo(1);
+    }
+
+    @Test
+    void reconcileCorrectsDriftFromTheDatabase() {
+        when(userRepository.count()).thenReturn(4L);
+        when(loanRepository.countGroupedByStatus()).thenReturn(List.<Object[]>of(new Object[]{LoanStatus.ACTIVE, 2L}));
+        when(archivedLoanRepository.countGroupedByStatus())
+                .thenReturn(List.<Object[]>of(new Object[]{LoanStatus.RETURNED, 3L}));
+
+        counters.reconcile();
+
+        SystemStatsResponse stats = counters.snapshot();
+        assertThat(stats.getTotalUsers()).isEqualTo(4);
+        assertThat(stats.getActiveLoans()).isEqualTo(2);
+        assertThat(stats.getTotalLoans()).isEqualTo(5);
+        verify(transactionManager, atLeastOnce()).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void reconcileKeepsDeltasThatCommitWhileItRuns() {
+        // Το insert γίνεται commit μετά το COUNT (η βάση λέει 4) αλλά πριν τελειώσει το reconcile
+        when(userRepository.count()).thenAnswer(invocation -> {
+            counters.userCreated();
+            return 4L;
+        });
+
+        counters.reconcile();
+
+        assertThat(counters.snapshot().getTotalUsers()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,44 @@
+package com.JohnBravos.bookhub_manager.service.stats;
+
+import com.JohnBravos.bookhub_manager.repository.ArchivedLoanRepository;
+import com.JohnBravos.bookhub_manager.repository.LoanRepository;
+import com.JohnBravos.bookhub_manager.repository.projection.UserActivitySummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserActivityCacheTest {
+
+    private final LoanRepository loanRepository = mock(LoanRepository.class);
+    private final ArchivedLoanRepository archivedLoanRepository = mock(ArchivedLoanRepository.class);
+    private final UserActivityCache cache = new UserActivityCache(loanRepository, archivedLoanRepository,
+            new SimpleMeterRegistry(), 60, 100);
+
+    @BeforeEach
+    void setUp() {
+        UserActivitySummary summary = mock(UserActivitySummary.class);
+        when(summary.getTotalLoans()).thenReturn(3L);
+        when(loanRepository.summarizeUserActivity(anyLong())).thenReturn(summary);
+    }
+
+    @Test
+    void invalidatingOneUserKeepsTheOthersCached() {
+        cache.get(1L);
+        cache.get(2L);
+
+        cache.invalidate(1L);
+        cache.get(1L);
+        cache.get(2L);
+
+        verify(loanRepository, times(2)).summarizeUserActivity(1L);
+        verify(loanRepository, times(1)).summarizeUserActivity(2L);
+        assertThat(cache.get(2L).totalLoans()).isEqualTo(3);
+    }
+}